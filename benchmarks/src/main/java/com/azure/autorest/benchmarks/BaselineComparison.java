@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JMH results of a change, written with {@code -rf json -rff <file>}, to the baseline results, e.g.
+ * the results of {@code main} measured on the same machine.
+ * <p>
+ * Prints the score of each benchmark in both results, and the change. A change worse than the threshold, in percent
+ * (10 by default), is marked as a regression, and makes the process exit with 1. Scores are only comparable when both
+ * results are measured on the same machine and JDK.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar com.azure.autorest.benchmarks.BaselineComparison <baseline> <results>
+ * [threshold]}
+ */
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline json> <results json> [threshold percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, JsonNode> baseline = readResults(args[0]);
+        Map<String, JsonNode> results = readResults(args[1]);
+
+        boolean regression = false;
+        System.out.println(String.format("%1$-80s %2$15s %3$15s %4$10s", "Benchmark", "Baseline", "Current", "Change"));
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode result = entry.getValue();
+            double score = result.path("primaryMetric").path("score").asDouble();
+            String unit = result.path("primaryMetric").path("scoreUnit").asText();
+            JsonNode baselineResult = baseline.get(entry.getKey());
+            if (baselineResult == null) {
+                System.out.println(String.format("%1$-80s %2$15s %3$15.3f %4$10s %5$s",
+                    entry.getKey(), "-", score, "new", unit));
+                continue;
+            }
+            double baselineScore = baselineResult.path("primaryMetric").path("score").asDouble();
+            double change = baselineScore == 0 ? 0 : (score - baselineScore) / baselineScore * 100;
+            // throughput is better when higher, the time modes are better when lower
+            boolean higherIsBetter = "thrpt".equals(result.path("mode").asText());
+            double worse = higherIsBetter ? -change : change;
+            boolean isRegression = worse > threshold;
+            regression |= isRegression;
+            System.out.println(String.format("%1$-80s %2$15.3f %3$15.3f %4$+9.1f%% %5$s%6$s",
+                entry.getKey(), baselineScore, score, change, unit, isRegression ? " REGRESSION" : ""));
+        }
+        for (String key : baseline.keySet()) {
+            if (!results.containsKey(key)) {
+                System.out.println(String.format("%1$-80s %2$15s %3$15s %4$10s", key, "", "-", "removed"));
+            }
+        }
+        System.exit(regression ? 1 : 0);
+    }
+
+    /*
+     * Reads the results by the name of the benchmark and its parameters.
+     */
+    private static Map<String, JsonNode> readResults(String path) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(Paths.get(path).toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                .replace(BaselineComparison.class.getPackage().getName() + ".", ""));
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            if (!params.isEmpty()) {
+                key.append(params);
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
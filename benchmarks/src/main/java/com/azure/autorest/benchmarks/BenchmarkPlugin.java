@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.benchmarks;
+
+import com.azure.autorest.extension.base.jsonrpc.Connection;
+import com.azure.autorest.extension.base.model.Message;
+import com.azure.autorest.extension.base.plugin.NewPlugin;
+import com.azure.autorest.extension.base.plugin.SessionContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The plugin host of the benchmarks, which answers the settings from a map instead of the AutoRest core.
+ */
+class BenchmarkPlugin extends NewPlugin {
+
+    private final Map<String, Object> settings;
+
+    private BenchmarkPlugin(Map<String, Object> settings) {
+        super(new Connection(new ByteArrayOutputStream(), new ByteArrayInputStream(new byte[0])),
+                "benchmark", "benchmark");
+        this.settings = settings;
+    }
+
+    /**
+     * Creates a session whose JavaSettings are the settings, and the defaults of vanilla generation.
+     *
+     * @param settings the settings.
+     * @return the session.
+     */
+    static SessionContext createSession(Map<String, Object> settings) {
+        Map<String, Object> allSettings = new HashMap<>();
+        allSettings.put("namespace", "com.azure.benchmarks.generated");
+        allSettings.put("sync-methods", "all");
+        allSettings.put("add-context-parameter", true);
+        allSettings.put("context-client-method-parameter", true);
+        allSettings.put("client-side-validations", true);
+        allSettings.put("client-logger", true);
+        allSettings.put("generate-client-interfaces", true);
+        allSettings.put("required-parameter-client-methods", true);
+        allSettings.putAll(settings);
+        return new SessionContext(new BenchmarkPlugin(allSettings));
+    }
+
+    @Override
+    public boolean processInternal() {
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T getValue(Type type, String key) {
+        return (T) settings.get(key);
+    }
+
+    @Override
+    public void message(Message message) {
+    }
+}
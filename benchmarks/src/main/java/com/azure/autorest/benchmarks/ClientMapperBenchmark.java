@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.benchmarks;
+
+import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelLoader;
+import com.azure.autorest.extension.base.plugin.SessionContext;
+import com.azure.autorest.mapper.Mappers;
+import com.azure.autorest.model.clientmodel.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of the mapping stage, {@code ClientMapper.map}, from the code model to the client model, with
+ * {@code parallel-mapping} and {@code generator-parallelism} of 1 (sequential) and of 4.
+ * <p>
+ * The mappers cache their results for the session, so each fork maps the code model once in a new session, as the
+ * generator does. Use a large code model for a meaningful comparison, e.g. the code model of an ARM spec given by the
+ * {@code codemodel.dir} system property, as in {@link CodeModelParseBenchmark}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class ClientMapperBenchmark {
+
+    @Param({"code-model-locks.yaml"})
+    public String codeModel;
+
+    @Param({"1", "4"})
+    public String parallelism;
+
+    private CodeModel model;
+    private SessionContext session;
+
+    @Setup
+    public void setup() throws IOException {
+        model = CodeModelLoader.load(CodeModelParseBenchmark.readCodeModel(codeModel));
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("parallel-mapping", true);
+        settings.put("generator-parallelism", parallelism);
+        session = BenchmarkPlugin.createSession(settings);
+    }
+
+    @Benchmark
+    public Client map() throws Exception {
+        return session.call(() -> Mappers.getClientMapper().map(model));
+    }
+}
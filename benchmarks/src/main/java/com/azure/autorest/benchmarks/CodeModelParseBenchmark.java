@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.benchmarks;
+
+import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelCustomConstructor;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelJsonReader;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelJsonWriter;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.introspector.PropertyUtils;
+import org.yaml.snakeyaml.representer.Representer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse throughput of the code model YAML, as read by the plugins.
+ * <p>
+ * {@code reflective} is the SnakeYAML constructor with introspected properties (as before the binders),
+ * {@code binders} is the same constructor with the precompiled property binders, and {@code streaming} is the
+ * event driven {@link CodeModelLoader}. {@code json} reads the same code model written by
+ * {@link CodeModelJsonWriter}, as with {@code code-model-format: json}. Run with {@code -prof gc} for the allocation
+ * rate.
+ * <p>
+ * The code model is a file bundled in the resources, or a file under the directory given by the
+ * {@code codemodel.dir} system property, e.g. code models of vanilla-tests or azure-tests dumped by modelerfour.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodeModelParseBenchmark {
+
+    @Param({"code-model-locks.yaml"})
+    public String codeModel;
+
+    private String yaml;
+    private String json;
+
+    @Setup
+    public void setup() throws IOException {
+        yaml = readCodeModel(codeModel);
+        json = CodeModelJsonWriter.write(CodeModelLoader.load(yaml));
+    }
+
+    @Benchmark
+    public CodeModel reflective() {
+        Constructor constructor = new CodeModelCustomConstructor();
+        PropertyUtils propertyUtils = new PropertyUtils();
+        propertyUtils.setSkipMissingProperties(true);
+        constructor.setPropertyUtils(propertyUtils);
+        return new Yaml(constructor, new Representer()).loadAs(yaml, CodeModel.class);
+    }
+
+    @Benchmark
+    public CodeModel binders() {
+        return new Yaml(new CodeModelCustomConstructor(), new Representer()).loadAs(yaml, CodeModel.class);
+    }
+
+    @Benchmark
+    public CodeModel streaming() {
+        return CodeModelLoader.load(yaml);
+    }
+
+    @Benchmark
+    public CodeModel json() {
+        return CodeModelJsonReader.read(json);
+    }
+
+    /**
+     * Reads the code model file under the directory of the {@code codemodel.dir} system property if set, or else from
+     * the resources.
+     *
+     * @param name the name of the code model file.
+     * @return the code model.
+     * @throws IOException if the file cannot be read.
+     */
+    static String readCodeModel(String name) throws IOException {
+        String directory = System.getProperty("codemodel.dir");
+        if (directory != null) {
+            return new String(Files.readAllBytes(Paths.get(directory, name)), StandardCharsets.UTF_8);
+        } else {
+            return readResource(name);
+        }
+    }
+
+    static String readResource(String name) {
+        try (InputStream inputStream = CodeModelParseBenchmark.class.getClassLoader().getResourceAsStream(name)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Resource not found: " + name);
+            }
+            byte[] buffer = new byte[8192];
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
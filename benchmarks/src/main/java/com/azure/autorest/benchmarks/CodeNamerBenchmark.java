@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.benchmarks;
+
+import com.azure.autorest.extension.base.model.codemodel.ChoiceValue;
+import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelLoader;
+import com.azure.autorest.extension.base.model.codemodel.ObjectSchema;
+import com.azure.autorest.extension.base.model.codemodel.Property;
+import com.azure.autorest.extension.base.model.codemodel.Schemas;
+import com.azure.autorest.util.CodeNamer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of the {@link CodeNamer} conversions the mappers call for every name, on the names of the code model:
+ * {@code toCamelCase} and {@code toPascalCase} on the serialized names of the properties and the names of the object
+ * schemas, and {@code getEnumMemberName} on the values of the choices.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodeNamerBenchmark {
+
+    @Param({"code-model-locks.yaml"})
+    public String codeModel;
+
+    private String[] names;
+    private String[] enumValues;
+
+    @Setup
+    public void setup() throws IOException {
+        CodeModel model = CodeModelLoader.load(CodeModelParseBenchmark.readCodeModel(codeModel));
+        Schemas schemas = model.getSchemas();
+        List<String> nameList = new ArrayList<>();
+        for (ObjectSchema objectSchema : schemas.getObjects()) {
+            nameList.add(objectSchema.getLanguage().getDefault().getName());
+            if (objectSchema.getProperties() != null) {
+                for (Property property : objectSchema.getProperties()) {
+                    nameList.add(property.getSerializedName());
+                }
+            }
+        }
+        List<String> enumValueList = new ArrayList<>();
+        schemas.getChoices().forEach(choice -> addValues(enumValueList, choice.getChoices()));
+        schemas.getSealedChoices().forEach(choice -> addValues(enumValueList, choice.getChoices()));
+
+        names = nameList.toArray(new String[0]);
+        enumValues = enumValueList.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void toCamelCase(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(CodeNamer.toCamelCase(name));
+        }
+    }
+
+    @Benchmark
+    public void toPascalCase(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(CodeNamer.toPascalCase(name));
+        }
+    }
+
+    @Benchmark
+    public void getEnumMemberName(Blackhole blackhole) {
+        for (String enumValue : enumValues) {
+            blackhole.consume(CodeNamer.getEnumMemberName(enumValue));
+        }
+    }
+
+    private static void addValues(List<String> values, List<ChoiceValue> choices) {
+        for (ChoiceValue choice : choices) {
+            values.add(choice.getValue());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.benchmarks;
+
+import com.azure.autorest.model.javamodel.JavaFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of the line emission of {@code JavaFileContents}, without the templates: a model class in the shape written by
+ * {@code ModelTemplate}, with word wrapped javadoc, annotations, and a getter and a fluent setter per property.
+ * {@code emit} only emits the lines, {@code emitAndToString} also gets the source, as the formatter does. Run with
+ * {@code -prof gc} for the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JavaFileContentsBenchmark {
+
+    private static final int WORD_WRAP_WIDTH = 120;
+    private static final String DESCRIPTION = "The description of the property, long enough to be wrapped onto "
+        + "more than one line of the javadoc comment, as the descriptions in the swagger specs of the services often "
+        + "are.";
+
+    @Param({"10", "100"})
+    public int propertyCount;
+
+    private String[] propertyNames;
+
+    @Setup
+    public void setup() {
+        propertyNames = new String[propertyCount];
+        for (int i = 0; i < propertyCount; ++i) {
+            propertyNames[i] = "property" + i;
+        }
+    }
+
+    @Benchmark
+    public JavaFile emit() {
+        return writeModel();
+    }
+
+    @Benchmark
+    public String emitAndToString() {
+        return writeModel().getContents().toString();
+    }
+
+    private JavaFile writeModel() {
+        JavaFile javaFile = new JavaFile("src/main/java/com/azure/benchmarks/generated/models/Model.java");
+        javaFile.declarePackage("com.azure.benchmarks.generated.models");
+        javaFile.line();
+        javaFile.declareImport("com.azure.core.annotation.Fluent", "com.fasterxml.jackson.annotation.JsonProperty");
+        javaFile.line();
+        javaFile.javadocComment(WORD_WRAP_WIDTH, comment -> comment.description(DESCRIPTION));
+        javaFile.annotation("Fluent");
+        javaFile.publicFinalClass("Model", classBlock -> {
+            for (String propertyName : propertyNames) {
+                classBlock.javadocComment(WORD_WRAP_WIDTH, comment -> comment.description(DESCRIPTION));
+                classBlock.annotation(String.format("JsonProperty(value = \"%1$s\")", propertyName));
+                classBlock.privateMemberVariable("String", propertyName);
+            }
+            for (String propertyName : propertyNames) {
+                String pascalName = Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+                classBlock.javadocComment(WORD_WRAP_WIDTH, comment -> {
+                    comment.description(String.format("Get the %1$s property: %2$s", propertyName, DESCRIPTION));
+                    comment.methodReturns(String.format("the %1$s value.", propertyName));
+                });
+                classBlock.publicMethod(String.format("String get%1$s()", pascalName),
+                    methodBlock -> methodBlock.methodReturn(String.format("this.%1$s", propertyName)));
+
+                classBlock.javadocComment(WORD_WRAP_WIDTH, comment -> {
+                    comment.description(String.format("Set the %1$s property: %2$s", propertyName, DESCRIPTION));
+                    comment.param(propertyName, String.format("the %1$s value to set.", propertyName));
+                    comment.methodReturns("the Model object itself.");
+                });
+                classBlock.publicMethod(String.format("Model set%1$s(String %2$s)", pascalName, propertyName),
+                    methodBlock -> {
+                        methodBlock.line("this.%1$s = %2$s;", propertyName, propertyName);
+                        methodBlock.methodReturn("this");
+                    });
+            }
+        });
+        return javaFile;
+    }
+}
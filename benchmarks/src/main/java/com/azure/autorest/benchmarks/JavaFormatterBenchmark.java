@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.benchmarks;
+
+import com.azure.autorest.extension.base.plugin.SessionContext;
+import com.azure.autorest.extension.base.util.JavaFormatterService;
+import com.azure.autorest.model.javamodel.JavaFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Time of google-java-format, formatting the Java files written by every template of {@link TemplateBenchmark} from the
+ * code model, one after another on one thread. The time of the format stage of the generator is about this time
+ * divided by {@code generator-parallelism}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JavaFormatterBenchmark {
+
+    @Param({"code-model-locks.yaml"})
+    public String codeModel;
+
+    private List<String> sources;
+
+    @Setup
+    public void setup() throws Exception {
+        if (!JavaFormatterService.isAvailable()) {
+            throw new IllegalStateException("google-java-format is not on the class path");
+        }
+        SessionContext session = TemplateBenchmark.createSession();
+        List<JavaFile> javaFiles = TemplateBenchmark.writeAll(session, TemplateBenchmark.mapClient(session, codeModel));
+        sources = javaFiles.stream()
+            .map(javaFile -> javaFile.getContents().toString())
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void format(Blackhole blackhole) throws Exception {
+        for (String source : sources) {
+            blackhole.consume(JavaFormatterService.format(source));
+        }
+    }
+}
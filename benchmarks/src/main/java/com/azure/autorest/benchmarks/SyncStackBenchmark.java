@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.benchmarks;
+
+import com.azure.core.annotation.ExpectedResponses;
+import com.azure.core.annotation.Get;
+import com.azure.core.annotation.Host;
+import com.azure.core.annotation.HostParam;
+import com.azure.core.annotation.ServiceInterface;
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeader;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.rest.Response;
+import com.azure.core.http.rest.RestProxy;
+import com.azure.core.util.Context;
+import com.azure.core.util.FluxUtil;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a sync client method against a local stand-in server, in the two shapes written by
+ * {@code ClientMethodTemplate}: {@code blockOnAsync} blocks on the Mono of the async proxy method, as the sync methods
+ * do by default, {@code syncStack} calls the sync proxy method, as they do with {@code --sync-stack}. Both send the
+ * request with the same blocking {@code HttpURLConnection} client, so the difference is the Reactor assembly and the
+ * blocking of the async path. Run with {@code -t} for concurrent callers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SyncStackBenchmark {
+
+    private static final byte[] RESPONSE_BODY = "\"The response of the stand-in server.\""
+        .getBytes(StandardCharsets.UTF_8);
+
+    @Host("{$host}")
+    @ServiceInterface(name = "SyncStackBenchmark")
+    private interface StandInService {
+        @Get("/string")
+        @ExpectedResponses({200})
+        Mono<Response<String>> getString(@HostParam("$host") String host, Context context);
+
+        @Get("/string")
+        @ExpectedResponses({200})
+        Response<String> getStringSync(@HostParam("$host") String host, Context context);
+    }
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private StandInService service;
+    private String host;
+
+    @Setup
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/string", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE_BODY);
+            }
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        host = "http://localhost:" + server.getAddress().getPort();
+
+        HttpPipeline pipeline = new HttpPipelineBuilder().httpClient(new UrlConnectionHttpClient()).build();
+        service = RestProxy.create(StandInService.class, pipeline);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public String blockOnAsync() {
+        return FluxUtil.withContext(context -> service.getString(host, context))
+            .flatMap(res -> res.getValue() != null ? Mono.just(res.getValue()) : Mono.<String>empty())
+            .block();
+    }
+
+    @Benchmark
+    public String syncStack() {
+        return service.getStringSync(host, Context.NONE).getValue();
+    }
+
+    /*
+     * Sends the requests, which have no body, with a blocking HttpURLConnection, and buffers the responses.
+     */
+    private static final class UrlConnectionHttpClient implements HttpClient {
+        @Override
+        public Mono<HttpResponse> send(HttpRequest request) {
+            return Mono.fromCallable(() -> {
+                HttpURLConnection connection = (HttpURLConnection) request.getUrl().openConnection();
+                connection.setRequestMethod(request.getHttpMethod().name());
+                for (HttpHeader header : request.getHeaders()) {
+                    connection.setRequestProperty(header.getName(), header.getValue());
+                }
+                int statusCode = connection.getResponseCode();
+                HttpHeaders headers = new HttpHeaders();
+                for (Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+                    if (header.getKey() != null) {
+                        headers.put(header.getKey(), String.join(",", header.getValue()));
+                    }
+                }
+                byte[] body;
+                try (InputStream stream = statusCode < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                    body = readAllBytes(stream);
+                }
+                return new BufferedHttpResponse(request, statusCode, headers, body);
+            });
+        }
+
+        private static byte[] readAllBytes(InputStream stream) throws IOException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            if (stream != null) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+            }
+            return output.toByteArray();
+        }
+    }
+
+    private static final class BufferedHttpResponse extends HttpResponse {
+        private final int statusCode;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        private BufferedHttpResponse(HttpRequest request, int statusCode, HttpHeaders headers, byte[] body) {
+            super(request);
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String getHeaderValue(String name) {
+            return headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.defer(() -> Flux.just(ByteBuffer.wrap(body)));
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.just(body);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return getBodyAsString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return Mono.fromSupplier(() -> new String(body, charset));
+        }
+    }
+}
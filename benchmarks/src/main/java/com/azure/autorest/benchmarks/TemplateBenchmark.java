@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.benchmarks;
+
+import com.azure.autorest.extension.base.model.codemodel.CodeModelLoader;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionContext;
+import com.azure.autorest.mapper.Mappers;
+import com.azure.autorest.model.clientmodel.AsyncSyncClient;
+import com.azure.autorest.model.clientmodel.Client;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.autorest.model.javamodel.JavaFileFactory;
+import com.azure.autorest.template.IJavaTemplate;
+import com.azure.autorest.template.Templates;
+import com.azure.autorest.util.ClientModelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of each template of {@code DefaultTemplateFactory} that writes a Java file, writing all the models of the
+ * client model it applies to, e.g. {@code Model} writes every {@code ClientModel}.
+ * <p>
+ * The templates of a part of a file, i.e. {@code ProxyTemplate}, {@code ClientMethodTemplate} and
+ * {@code WrapperClientMethodTemplate}, are measured in the templates of the clients that use them. The templates of
+ * fluent and of the pom are not measured, as vanilla generation does not use them. Run with {@code -prof gc} for the
+ * allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateBenchmark {
+
+    static final String[] TEMPLATES = {
+        "ServiceClient", "ServiceClientInterface", "ServiceClientBuilder", "ServiceAsyncClient", "ServiceSyncClient",
+        "MethodGroup", "MethodGroupInterface", "Model", "Enum", "Exception", "Response", "XmlSequenceWrapper",
+        "PackageInfo"
+    };
+
+    @Param({"code-model-locks.yaml"})
+    public String codeModel;
+
+    @Param({"ServiceClient", "ServiceClientInterface", "ServiceClientBuilder", "ServiceAsyncClient",
+        "ServiceSyncClient", "MethodGroup", "MethodGroupInterface", "Model", "Enum", "Exception", "Response",
+        "XmlSequenceWrapper", "PackageInfo"})
+    public String template;
+
+    private SessionContext session;
+    private IJavaTemplate<Object, JavaFile> javaTemplate;
+    private List<?> models;
+
+    @Setup
+    public void setup() throws Exception {
+        session = createSession();
+        Client client = mapClient(session, codeModel);
+        javaTemplate = getTemplate(template);
+        models = getModels(client, template);
+    }
+
+    @Benchmark
+    public void write(Blackhole blackhole) throws Exception {
+        session.call(() -> {
+            JavaFileFactory javaFileFactory = new JavaFileFactory(JavaSettings.getInstance());
+            for (Object model : models) {
+                JavaFile javaFile = newJavaFile(javaFileFactory);
+                javaTemplate.write(model, javaFile);
+                blackhole.consume(javaFile);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Creates a session with the settings of the vanilla generation, and with sync and async clients, so that every
+     * template has models to write.
+     *
+     * @return the session.
+     */
+    static SessionContext createSession() {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("generate-sync-async-clients", true);
+        return BenchmarkPlugin.createSession(settings);
+    }
+
+    /**
+     * Maps the code model to the client model, in the session.
+     *
+     * @param session the session.
+     * @param codeModel the name of the code model file.
+     * @return the client model.
+     * @throws Exception if the code model cannot be read or mapped.
+     */
+    static Client mapClient(SessionContext session, String codeModel) throws Exception {
+        String yaml = CodeModelParseBenchmark.readCodeModel(codeModel);
+        return session.call(() -> Mappers.getClientMapper().map(CodeModelLoader.load(yaml)));
+    }
+
+    /**
+     * Writes every model of the client model with every template, in the session, as the generator does before
+     * formatting.
+     *
+     * @param session the session.
+     * @param client the client model.
+     * @return the Java files.
+     * @throws Exception if a template fails.
+     */
+    static List<JavaFile> writeAll(SessionContext session, Client client) throws Exception {
+        return session.call(() -> {
+            JavaFileFactory javaFileFactory = new JavaFileFactory(JavaSettings.getInstance());
+            List<JavaFile> javaFiles = new ArrayList<>();
+            for (String template : TEMPLATES) {
+                IJavaTemplate<Object, JavaFile> javaTemplate = getTemplate(template);
+                for (Object model : getModels(client, template)) {
+                    JavaFile javaFile = newJavaFile(javaFileFactory);
+                    javaTemplate.write(model, javaFile);
+                    javaFiles.add(javaFile);
+                }
+            }
+            return javaFiles;
+        });
+    }
+
+    private static JavaFile newJavaFile(JavaFileFactory javaFileFactory) {
+        return javaFileFactory.createSourceFile(JavaSettings.getInstance().getPackage(), "Benchmark");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IJavaTemplate<Object, JavaFile> getTemplate(String template) {
+        IJavaTemplate<?, JavaFile> javaTemplate;
+        switch (template) {
+            case "ServiceClient":
+                javaTemplate = Templates.getServiceClientTemplate();
+                break;
+            case "ServiceClientInterface":
+                javaTemplate = Templates.getServiceClientInterfaceTemplate();
+                break;
+            case "ServiceClientBuilder":
+                javaTemplate = Templates.getServiceClientBuilderTemplate();
+                break;
+            case "ServiceAsyncClient":
+                javaTemplate = Templates.getServiceAsyncClientTemplate();
+                break;
+            case "ServiceSyncClient":
+                javaTemplate = Templates.getServiceSyncClientTemplate();
+                break;
+            case "MethodGroup":
+                javaTemplate = Templates.getMethodGroupTemplate();
+                break;
+            case "MethodGroupInterface":
+                javaTemplate = Templates.getMethodGroupInterfaceTemplate();
+                break;
+            case "Model":
+                javaTemplate = Templates.getModelTemplate();
+                break;
+            case "Enum":
+                javaTemplate = Templates.getEnumTemplate();
+                break;
+            case "Exception":
+                javaTemplate = Templates.getExceptionTemplate();
+                break;
+            case "Response":
+                javaTemplate = Templates.getResponseTemplate();
+                break;
+            case "XmlSequenceWrapper":
+                javaTemplate = Templates.getXmlSequenceWrapperTemplate();
+                break;
+            case "PackageInfo":
+                javaTemplate = Templates.getPackageInfoTemplate();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown template: " + template);
+        }
+        return (IJavaTemplate<Object, JavaFile>) javaTemplate;
+    }
+
+    private static List<?> getModels(Client client, String template) {
+        switch (template) {
+            case "ServiceClient":
+            case "ServiceClientInterface":
+            case "ServiceClientBuilder":
+                return Collections.singletonList(client.getServiceClient());
+            case "ServiceAsyncClient":
+            case "ServiceSyncClient":
+                List<AsyncSyncClient> asyncClients = new ArrayList<>();
+                List<AsyncSyncClient> syncClients = new ArrayList<>();
+                ClientModelUtil.getAsyncSyncClients(client.getServiceClient(), asyncClients, syncClients);
+                return "ServiceAsyncClient".equals(template) ? asyncClients : syncClients;
+            case "MethodGroup":
+            case "MethodGroupInterface":
+                return client.getServiceClient().getMethodGroupClients();
+            case "Model":
+                return client.getModels();
+            case "Enum":
+                return client.getEnums();
+            case "Exception":
+                return client.getExceptions();
+            case "Response":
+                return client.getResponseModels();
+            case "XmlSequenceWrapper":
+                return client.getXmlSequenceWrappers();
+            case "PackageInfo":
+                return client.getPackageInfos();
+            default:
+                throw new IllegalArgumentException("Unknown template: " + template);
+        }
+    }
+}
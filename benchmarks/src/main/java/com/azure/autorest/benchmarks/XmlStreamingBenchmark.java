@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.benchmarks;
+
+import com.azure.core.util.DateTimeRfc1123;
+import com.azure.core.util.serializer.JacksonAdapter;
+import com.azure.core.util.serializer.SerializerAdapter;
+import com.azure.core.util.serializer.SerializerEncoding;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+import com.fasterxml.jackson.dataformat.xml.deser.FromXmlParser;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import org.codehaus.stax2.XMLStreamReader2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization through the {@code JacksonAdapter} of a large XML list payload, in the two shapes of model written by
+ * {@code ModelTemplate} with {@code --enable-xml}: {@code jackson*} binds the annotated models, with the wrapper class
+ * of the wrapped list, {@code stream*} calls the {@code toXml} and {@code fromXml} methods written with
+ * {@code --stream-style-serialization}, which write and read the elements one by one on the StAX writer and reader.
+ * The models are hand-written stand-ins in the generated shapes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XmlStreamingBenchmark {
+
+    @Param({"5000"})
+    public int blobCount;
+
+    private SerializerAdapter serializer;
+    private JacksonResults jacksonResults;
+    private StreamResults streamResults;
+    private String xml;
+
+    @Setup
+    public void setup() throws IOException {
+        serializer = JacksonAdapter.createDefaultSerializerAdapter();
+        OffsetDateTime lastModified = OffsetDateTime.of(2020, 10, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        List<JacksonBlob> jacksonBlobs = new ArrayList<>();
+        List<StreamBlob> streamBlobs = new ArrayList<>();
+        for (int i = 0; i < blobCount; i++) {
+            String name = "container/directory/blob-" + i;
+            String etag = "0x8D8" + Integer.toHexString(i * 7919);
+            jacksonBlobs.add(new JacksonBlob().setName(name).setEtag(etag).setContentLength((long) i * 1024)
+                .setLastModified(lastModified).setSnapshot(i % 10 == 0 ? "2020-10-01T12:00:00Z" : null));
+            streamBlobs.add(new StreamBlob().setName(name).setEtag(etag).setContentLength((long) i * 1024)
+                .setLastModified(lastModified).setSnapshot(i % 10 == 0 ? "2020-10-01T12:00:00Z" : null));
+        }
+        jacksonResults = new JacksonResults().setBlobs(jacksonBlobs);
+        streamResults = new StreamResults().setBlobs(streamBlobs);
+        xml = serializer.serialize(jacksonResults, SerializerEncoding.XML);
+        if (!xml.equals(serializer.serialize(streamResults, SerializerEncoding.XML))) {
+            throw new IllegalStateException("The two shapes of model serialize to different XML.");
+        }
+    }
+
+    @Benchmark
+    public String jacksonSerialize() throws IOException {
+        return serializer.serialize(jacksonResults, SerializerEncoding.XML);
+    }
+
+    @Benchmark
+    public String streamSerialize() throws IOException {
+        return serializer.serialize(streamResults, SerializerEncoding.XML);
+    }
+
+    @Benchmark
+    public JacksonResults jacksonDeserialize() throws IOException {
+        return serializer.deserialize(xml, JacksonResults.class, SerializerEncoding.XML);
+    }
+
+    @Benchmark
+    public StreamResults streamDeserialize() throws IOException {
+        return serializer.deserialize(xml, StreamResults.class, SerializerEncoding.XML);
+    }
+
+    @JacksonXmlRootElement(localName = "Blob")
+    static final class JacksonBlob {
+        @JacksonXmlProperty(localName = "Snapshot", isAttribute = true)
+        private String snapshot;
+
+        @JsonProperty(value = "Name")
+        private String name;
+
+        @JsonProperty(value = "Etag")
+        private String etag;
+
+        @JsonProperty(value = "Content-Length")
+        private Long contentLength;
+
+        @JsonProperty(value = "Last-Modified")
+        private DateTimeRfc1123 lastModified;
+
+        JacksonBlob setSnapshot(String snapshot) {
+            this.snapshot = snapshot;
+            return this;
+        }
+
+        JacksonBlob setName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        JacksonBlob setEtag(String etag) {
+            this.etag = etag;
+            return this;
+        }
+
+        JacksonBlob setContentLength(Long contentLength) {
+            this.contentLength = contentLength;
+            return this;
+        }
+
+        JacksonBlob setLastModified(OffsetDateTime lastModified) {
+            this.lastModified = lastModified == null ? null : new DateTimeRfc1123(lastModified);
+            return this;
+        }
+    }
+
+    @JacksonXmlRootElement(localName = "EnumerationResults")
+    static final class JacksonResults {
+        private static final class BlobsWrapper {
+            @JacksonXmlProperty(localName = "Blob")
+            private final List<JacksonBlob> items;
+
+            @JsonCreator
+            private BlobsWrapper(@JacksonXmlProperty(localName = "Blob") List<JacksonBlob> items) {
+                this.items = items;
+            }
+        }
+
+        @JsonProperty(value = "Blobs")
+        private BlobsWrapper blobs;
+
+        JacksonResults setBlobs(List<JacksonBlob> blobs) {
+            this.blobs = new BlobsWrapper(blobs);
+            return this;
+        }
+    }
+
+    @JsonSerialize(using = StreamBlob.Serializer.class)
+    @JsonDeserialize(using = StreamBlob.Deserializer.class)
+    @JacksonXmlRootElement(localName = "Blob")
+    static final class StreamBlob {
+        private String snapshot;
+        private String name;
+        private String etag;
+        private Long contentLength;
+        private DateTimeRfc1123 lastModified;
+
+        StreamBlob setSnapshot(String snapshot) {
+            this.snapshot = snapshot;
+            return this;
+        }
+
+        StreamBlob setName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        StreamBlob setEtag(String etag) {
+            this.etag = etag;
+            return this;
+        }
+
+        StreamBlob setContentLength(Long contentLength) {
+            this.contentLength = contentLength;
+            return this;
+        }
+
+        StreamBlob setLastModified(OffsetDateTime lastModified) {
+            this.lastModified = lastModified == null ? null : new DateTimeRfc1123(lastModified);
+            return this;
+        }
+
+        void toXml(XMLStreamWriter writer, String elementName) throws XMLStreamException {
+            writer.writeStartElement(elementName);
+            if (this.snapshot != null) {
+                writer.writeAttribute("Snapshot", this.snapshot);
+            }
+            writeElement(writer, "Name", this.name);
+            writeElement(writer, "Etag", this.etag);
+            writeElement(writer, "Content-Length", this.contentLength == null ? null
+                : String.valueOf(this.contentLength));
+            writeElement(writer, "Last-Modified", this.lastModified == null ? null : this.lastModified.toString());
+            writer.writeEndElement();
+        }
+
+        static StreamBlob fromXml(XMLStreamReader reader) throws XMLStreamException {
+            StreamBlob deserialized = new StreamBlob();
+            deserialized.snapshot = reader.getAttributeValue(null, "Snapshot");
+            while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+                String elementName = reader.getLocalName();
+                if ("Name".equals(elementName)) {
+                    deserialized.name = reader.getElementText();
+                } else if ("Etag".equals(elementName)) {
+                    deserialized.etag = reader.getElementText();
+                } else if ("Content-Length".equals(elementName)) {
+                    String text = reader.getElementText();
+                    if (!text.isEmpty()) {
+                        deserialized.contentLength = Long.parseLong(text);
+                    }
+                } else if ("Last-Modified".equals(elementName)) {
+                    String text = reader.getElementText();
+                    if (!text.isEmpty()) {
+                        deserialized.lastModified = new DateTimeRfc1123(text);
+                    }
+                } else {
+                    skipElement(reader);
+                }
+            }
+            return deserialized;
+        }
+
+        static final class Serializer extends JsonSerializer<StreamBlob> {
+            @Override
+            public void serialize(StreamBlob value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+                try {
+                    value.toXml(staxWriter(generator), "Blob");
+                } catch (XMLStreamException e) {
+                    throw new JsonGenerationException(e, generator);
+                }
+            }
+        }
+
+        static final class Deserializer extends JsonDeserializer<StreamBlob> {
+            @Override
+            public StreamBlob deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                try {
+                    return fromXml(staxReader(parser));
+                } catch (XMLStreamException e) {
+                    throw new JsonParseException(parser, e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    @JsonSerialize(using = StreamResults.Serializer.class)
+    @JsonDeserialize(using = StreamResults.Deserializer.class)
+    @JacksonXmlRootElement(localName = "EnumerationResults")
+    static final class StreamResults {
+        private List<StreamBlob> blobs = new ArrayList<>();
+
+        StreamResults setBlobs(List<StreamBlob> blobs) {
+            this.blobs = blobs;
+            return this;
+        }
+
+        void toXml(XMLStreamWriter writer) throws XMLStreamException {
+            writer.writeStartElement("EnumerationResults");
+            if (this.blobs != null) {
+                writer.writeStartElement("Blobs");
+                for (StreamBlob element : this.blobs) {
+                    if (element != null) {
+                        element.toXml(writer, "Blob");
+                    }
+                }
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+        }
+
+        /*
+         * Reads the results from their start element, or, if atStartElement is false, from their first child element
+         * or their end element.
+         */
+        static StreamResults readXml(XMLStreamReader reader, boolean atStartElement) throws XMLStreamException {
+            StreamResults deserialized = new StreamResults();
+            int event = atStartElement ? nextElement(reader) : reader.getEventType();
+            while (event == XMLStreamConstants.START_ELEMENT) {
+                if ("Blobs".equals(reader.getLocalName())) {
+                    List<StreamBlob> blobs = new ArrayList<>();
+                    while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+                        if ("Blob".equals(reader.getLocalName())) {
+                            blobs.add(StreamBlob.fromXml(reader));
+                        } else {
+                            skipElement(reader);
+                        }
+                    }
+                    deserialized.blobs = blobs;
+                } else {
+                    skipElement(reader);
+                }
+                event = nextElement(reader);
+            }
+            return deserialized;
+        }
+
+        static final class Serializer extends JsonSerializer<StreamResults> {
+            @Override
+            public void serialize(StreamResults value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+                try {
+                    value.toXml(staxWriter(generator));
+                } catch (XMLStreamException e) {
+                    throw new JsonGenerationException(e, generator);
+                }
+            }
+        }
+
+        static final class Deserializer extends JsonDeserializer<StreamResults> {
+            @Override
+            public StreamResults deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                XMLStreamReader2 reader = (XMLStreamReader2) staxReader(parser);
+                try {
+                    return readXml(reader,
+                        reader.getEventType() == XMLStreamConstants.START_ELEMENT && reader.getDepth() == 1);
+                } catch (XMLStreamException e) {
+                    throw new JsonParseException(parser, e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static XMLStreamWriter staxWriter(JsonGenerator generator) throws IOException {
+        if (!(generator instanceof ToXmlGenerator)) {
+            throw JsonMappingException.from(generator, "The model is serialized as XML only");
+        }
+        return ((ToXmlGenerator) generator).getStaxWriter();
+    }
+
+    private static XMLStreamReader staxReader(JsonParser parser) throws IOException {
+        if (!(parser instanceof FromXmlParser)) {
+            throw JsonMappingException.from(parser, "The model is deserialized from XML only");
+        }
+        return ((FromXmlParser) parser).getStaxReader();
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String elementName, String text)
+        throws XMLStreamException {
+        if (text != null) {
+            writer.writeStartElement(elementName);
+            writer.writeCharacters(text);
+            writer.writeEndElement();
+        }
+    }
+
+    private static int nextElement(XMLStreamReader reader) throws XMLStreamException {
+        int event = reader.next();
+        while (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+            event = reader.next();
+        }
+        return event;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+}
@@ -2,58 +2,49 @@ package com.azure.autorest.customization;
 
 import com.azure.autorest.customization.implementation.Utils;
 import com.azure.autorest.customization.implementation.ls.EclipseLanguageClient;
+import com.azure.autorest.customization.implementation.ls.EclipseLanguageServerPool;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.Map;
 
 /**
  * The base class for customization. Extend this class to plug into AutoRest generation.
  */
 public abstract class Customization {
+    private static final String POM_RESOURCE = "/pom.xml";
+
     /**
      * Start the customization process. This is called by the post processor in AutoRest.
      * @param files the list of files generated in the previous steps in AutoRest
      * @return the list of files after customization
      */
     public Map<String, String> run(Map<String, String> files) {
-        Path tempDirWithPrefix;
-
-        // Populate editor
-        Editor editor;
-        try {
-            tempDirWithPrefix = Files.createTempDirectory("temp");
-            editor = new Editor(files, tempDirWithPrefix);
-            InputStream pomStream = Customization.class.getResourceAsStream("/pom.xml");
-            byte[] buffer = new byte[pomStream.available()];
-            pomStream.read(buffer);
-            editor.addFile("pom.xml", new String(buffer, StandardCharsets.UTF_8));
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-
-        // Start language client
-        EclipseLanguageClient languageClient = null;
+        // Start language client, or reuse a warm one
+        EclipseLanguageServerPool pool = EclipseLanguageServerPool.getInstance();
+        String pom = Utils.readResource(Customization.class, POM_RESOURCE);
+        EclipseLanguageClient languageClient = pool.acquire(pom);
+        boolean reusable = false;
         try {
-            languageClient = new EclipseLanguageClient(tempDirWithPrefix.toString());
-            languageClient.initialize();
+            // Populate editor
+            Editor editor = new Editor(files, languageClient.getWorkspaceDir());
+            EclipseLanguageServerPool.addFiles(languageClient, editor.getContents().keySet());
             customize(new LibraryCustomization(editor, languageClient));
-            editor.removeFile("pom.xml");
+            reusable = true;
             return editor.getContents();
         } catch (Exception e) {
             throw new RuntimeException(e);
         } finally {
-            Utils.deleteDirectory(tempDirWithPrefix.toFile());
-            if (languageClient != null) {
-                languageClient.exit();
-            }
+            pool.release(pom, languageClient, reusable);
         }
     }
 
+    /**
+     * Starts the language server for customizations in the background, so that it is ready when {@link #run(Map)} is
+     * called.
+     */
+    public static void prewarm() {
+        EclipseLanguageServerPool.getInstance().prewarm(Utils.readResource(Customization.class, POM_RESOURCE));
+    }
+
     /**
      * Override this method to customize the client library.
      * @param libraryCustomization the top level customization object
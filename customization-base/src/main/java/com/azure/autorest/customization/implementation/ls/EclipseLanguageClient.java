@@ -37,6 +37,7 @@ import com.azure.autorest.customization.implementation.ls.models.WorkspaceCapabi
 import com.azure.autorest.customization.implementation.ls.models.WorkspaceEdit;
 import com.azure.autorest.customization.implementation.ls.models.WorkspaceFolder;
 import com.azure.autorest.customization.implementation.ls.models.WorkspaceSymbolClientCapabilities;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.jna.Library;
 import com.sun.jna.Native;
@@ -48,25 +49,38 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class EclipseLanguageClient {
+    // The longest wait for the server to report that it is ready, after which requests are sent anyway.
+    private static final long READY_TIMEOUT_SECONDS = 120;
+
     private final EclipseLanguageServerFacade server;
     private final Connection connection;
     private final ServerSocket serverSocket;
     private final AtomicReference<Socket> clientSocket = new AtomicReference<>();
     private final URI workspaceDir;
+    private final Path workspacePath;
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
     private ServerCapabilities serverCapabilities;
 
     public EclipseLanguageClient(String workspaceDir) {
         this.workspaceDir = new File(workspaceDir).toURI();
+        this.workspacePath = Paths.get(workspaceDir);
         try {
+            // bound before the server starts, so the server can connect before it is accepted
             serverSocket = new ServerSocket(0);
             int port = serverSocket.getLocalPort();
             Thread thread = new Thread(() -> {
@@ -77,15 +91,41 @@ public class EclipseLanguageClient {
                 }
             });
             thread.start();
-            Thread.sleep(1000);
             this.server = new EclipseLanguageServerFacade(workspaceDir, port);
             thread.join(10000);
+            if (clientSocket.get() == null) {
+                throw new IllegalStateException("Language server did not connect to port " + port);
+            }
             connection = new Connection(clientSocket.get().getOutputStream(), clientSocket.get().getInputStream());
+            connection.dispatchNotification("language/status", this::onLanguageStatus);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Gets the directory of the workspace of the server.
+     *
+     * @return the directory of the workspace.
+     */
+    public Path getWorkspaceDir() {
+        return workspacePath;
+    }
+
+    /*
+     * JDT LS reports its startup with "language/status" notifications: "Started" once the workspace is imported, and
+     * "ServiceReady" in newer versions once all its services are ready.
+     */
+    private void onLanguageStatus(JsonNode status) {
+        String type = status == null ? null : status.path("type").asText();
+        if ("Started".equals(type) || "ServiceReady".equals(type)) {
+            ready.complete(null);
+        } else if ("Error".equals(type)) {
+            ready.completeExceptionally(new IllegalStateException("Language server failed to start: "
+                    + status.path("message").asText()));
+        }
+    }
+
     public void initialize() {
         int pid;
         if (Platform.isWindows()) {
@@ -124,9 +164,14 @@ public class EclipseLanguageClient {
         serverCapabilities = response.getCapabilities();
         connection.notifyWithObject("initialized", null);
         try {
-            Thread.sleep(10000);
+            ready.get(READY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // no status reported, the requests wait for the server instead
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
         }
     }
 
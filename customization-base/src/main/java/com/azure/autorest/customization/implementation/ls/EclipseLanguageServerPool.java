@@ -0,0 +1,381 @@
+package com.azure.autorest.customization.implementation.ls;
+
+import com.azure.autorest.customization.implementation.Utils;
+import com.azure.autorest.customization.implementation.ls.models.FileChangeType;
+import com.azure.autorest.customization.implementation.ls.models.FileEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps Eclipse JDT language servers warm, so that customizations do not wait for a server to start and import its
+ * workspace on each run.
+ * <p>
+ * A server is started on a workspace with only a pom.xml, and the workspaces of the servers are keyed by the pom. A
+ * customization acquires a server, adds its files to the workspace, and releases the server, which removes the files
+ * and keeps the server for the next customization with the same pom. Servers are started ahead of their use by
+ * {@link #prewarm(String)}.
+ * <p>
+ * Each server is a JVM with a heap of up to 1 GB, so idle servers are stopped after 5 minutes, and at
+ * most 2 are kept across all poms, the least recently used stopped first. When
+ * the process exits, idle servers are stopped, and servers still starting are interrupted, or stopped once started.
+ */
+public final class EclipseLanguageServerPool {
+    private static final EclipseLanguageServerPool INSTANCE = new EclipseLanguageServerPool();
+
+    // The number of idle servers kept for each pom.
+    private static final int MAX_IDLE_SERVERS = 1;
+    // The number of idle servers kept for all poms, including the servers starting in the background.
+    private static final int MAX_TOTAL_IDLE_SERVERS = 2;
+    // The time after which an idle server is stopped.
+    private static final long IDLE_TIMEOUT_MILLIS = 5 * 60 * 1000;
+
+    private final Map<String, Deque<IdleServer>> idleServers = new HashMap<>();
+    private final ExecutorService startExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "language-server-start");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService evictExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "language-server-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private boolean closed;
+
+    /*
+     * A server in the pool, started or starting. Guarded by the pool.
+     */
+    private static final class IdleServer {
+        private final CompletableFuture<EclipseLanguageClient> server;
+        private long idleSinceMillis;
+
+        private IdleServer(CompletableFuture<EclipseLanguageClient> server) {
+            this.server = server;
+            this.idleSinceMillis = System.currentTimeMillis();
+        }
+
+        private boolean isStarted() {
+            return server.isDone() && !server.isCompletedExceptionally();
+        }
+    }
+
+    private EclipseLanguageServerPool() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+    }
+
+    /**
+     * Gets the pool of the process.
+     *
+     * @return the pool.
+     */
+    public static EclipseLanguageServerPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts a server for the pom in the background, unless a server for the pom is idle or already starting.
+     *
+     * @param pom the content of the pom.xml of the workspace.
+     */
+    public void prewarm(String pom) {
+        List<EclipseLanguageClient> evicted;
+        synchronized (this) {
+            Deque<IdleServer> servers = idleServers.get(pom);
+            if (closed || (servers != null && !servers.isEmpty())) {
+                return;
+            }
+            evicted = evictLeastRecentlyUsed(MAX_TOTAL_IDLE_SERVERS - 1);
+            if (idleServerCount() < MAX_TOTAL_IDLE_SERVERS) {
+                IdleServer idleServer = new IdleServer(CompletableFuture.supplyAsync(
+                        () -> startInBackground(pom), startExecutor));
+                idleServers.computeIfAbsent(pom, key -> new ArrayDeque<>()).add(idleServer);
+                idleServer.server.whenComplete((languageClient, error) -> onStarted(idleServer));
+            }
+        }
+        evicted.forEach(EclipseLanguageServerPool::stopQuietly);
+    }
+
+    /**
+     * Acquires a server for the pom, waiting for it to be ready. The server is started if none is idle.
+     *
+     * @param pom the content of the pom.xml of the workspace.
+     * @return the initialized server, with only the pom.xml in its workspace.
+     */
+    public EclipseLanguageClient acquire(String pom) {
+        IdleServer idleServer;
+        synchronized (this) {
+            Deque<IdleServer> servers = idleServers.get(pom);
+            idleServer = servers == null ? null : servers.poll();
+        }
+        if (idleServer != null) {
+            try {
+                return idleServer.server.join();
+            } catch (CompletionException | CancellationException e) {
+                // failed to start in the background, start it again to report the error
+            }
+        }
+        return start(pom);
+    }
+
+    /**
+     * Adds the files, already written to the workspace of the server, to the server, and waits for the workspace to be
+     * built.
+     *
+     * @param languageClient the server.
+     * @param fileNames the paths of the files, relative to the workspace.
+     */
+    public static void addFiles(EclipseLanguageClient languageClient, Collection<String> fileNames) {
+        List<FileEvent> changes = new ArrayList<>(fileNames.size());
+        for (String fileName : fileNames) {
+            changes.add(fileEvent(languageClient.getWorkspaceDir().resolve(fileName), FileChangeType.CREATED));
+        }
+        if (!changes.isEmpty()) {
+            languageClient.notifyWatchedFilesChanged(changes);
+        }
+        languageClient.buildWorkspace(false);
+    }
+
+    /**
+     * Releases the server acquired for the pom. A reusable server has the files of the customization removed, and is
+     * kept for the next customization, otherwise it is stopped.
+     *
+     * @param pom the content of the pom.xml of the workspace.
+     * @param languageClient the server.
+     * @param reusable whether the server can be reused, i.e. the customization did not fail.
+     */
+    public void release(String pom, EclipseLanguageClient languageClient, boolean reusable) {
+        if (reusable) {
+            try {
+                removeSources(languageClient);
+            } catch (RuntimeException e) {
+                reusable = false;
+            }
+        }
+        if (reusable) {
+            List<EclipseLanguageClient> evicted = null;
+            synchronized (this) {
+                Deque<IdleServer> servers = idleServers.computeIfAbsent(pom, key -> new ArrayDeque<>());
+                if (!closed && servers.size() < MAX_IDLE_SERVERS) {
+                    evicted = evictLeastRecentlyUsed(MAX_TOTAL_IDLE_SERVERS - 1);
+                    if (idleServerCount() < MAX_TOTAL_IDLE_SERVERS) {
+                        servers.add(new IdleServer(CompletableFuture.completedFuture(languageClient)));
+                        scheduleEviction();
+                        languageClient = null;
+                    }
+                }
+            }
+            if (evicted != null) {
+                evicted.forEach(EclipseLanguageServerPool::stopQuietly);
+            }
+            if (languageClient == null) {
+                return;
+            }
+        }
+        stop(languageClient);
+    }
+
+    /*
+     * A server that completes its start after the pool is closed is stopped, as no one will acquire it.
+     */
+    private EclipseLanguageClient startInBackground(String pom) {
+        EclipseLanguageClient languageClient = start(pom);
+        synchronized (this) {
+            if (!closed) {
+                return languageClient;
+            }
+        }
+        stopQuietly(languageClient);
+        throw new CancellationException("Language server pool is closed");
+    }
+
+    /*
+     * The idle time of a server started in the background counts from the end of its start.
+     */
+    private synchronized void onStarted(IdleServer idleServer) {
+        idleServer.idleSinceMillis = System.currentTimeMillis();
+        if (!closed) {
+            scheduleEviction();
+        }
+    }
+
+    private void scheduleEviction() {
+        evictExecutor.schedule(this::evictIdleServers, IDLE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Stops the servers idle for longer than the timeout. Servers still starting are not stopped, their idle time has
+     * not begun.
+     */
+    private void evictIdleServers() {
+        List<EclipseLanguageClient> evicted = new ArrayList<>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            for (Deque<IdleServer> servers : idleServers.values()) {
+                Iterator<IdleServer> iterator = servers.iterator();
+                while (iterator.hasNext()) {
+                    IdleServer idleServer = iterator.next();
+                    if (idleServer.server.isDone() && now - idleServer.idleSinceMillis >= IDLE_TIMEOUT_MILLIS) {
+                        iterator.remove();
+                        if (idleServer.isStarted()) {
+                            evicted.add(idleServer.server.join());
+                        }
+                    }
+                }
+            }
+            idleServers.values().removeIf(Deque::isEmpty);
+        }
+        evicted.forEach(EclipseLanguageServerPool::stopQuietly);
+    }
+
+    /*
+     * Removes the least recently used started servers, until at most the given number of servers is idle, and returns
+     * them to be stopped outside the lock.
+     */
+    private List<EclipseLanguageClient> evictLeastRecentlyUsed(int maxIdleServers) {
+        List<EclipseLanguageClient> evicted = new ArrayList<>();
+        while (idleServerCount() > maxIdleServers) {
+            Deque<IdleServer> oldestServers = null;
+            IdleServer oldest = null;
+            for (Deque<IdleServer> servers : idleServers.values()) {
+                for (IdleServer idleServer : servers) {
+                    if (idleServer.server.isDone()
+                            && (oldest == null || idleServer.idleSinceMillis < oldest.idleSinceMillis)) {
+                        oldestServers = servers;
+                        oldest = idleServer;
+                    }
+                }
+            }
+            if (oldest == null) {
+                // only servers still starting
+                break;
+            }
+            oldestServers.remove(oldest);
+            if (oldest.isStarted()) {
+                evicted.add(oldest.server.join());
+            }
+        }
+        idleServers.values().removeIf(Deque::isEmpty);
+        return evicted;
+    }
+
+    private int idleServerCount() {
+        int count = 0;
+        for (Deque<IdleServer> servers : idleServers.values()) {
+            count += servers.size();
+        }
+        return count;
+    }
+
+    private static EclipseLanguageClient start(String pom) {
+        Path workspaceDir;
+        try {
+            workspaceDir = Files.createTempDirectory("temp");
+            Files.write(workspaceDir.resolve("pom.xml"), pom.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        EclipseLanguageClient languageClient = null;
+        try {
+            languageClient = new EclipseLanguageClient(workspaceDir.toString());
+            languageClient.initialize();
+            return languageClient;
+        } catch (RuntimeException e) {
+            if (languageClient != null) {
+                languageClient.exit();
+            }
+            Utils.deleteDirectory(workspaceDir.toFile());
+            throw e;
+        }
+    }
+
+    private static void stopQuietly(EclipseLanguageClient languageClient) {
+        try {
+            stop(languageClient);
+        } catch (RuntimeException e) {
+            // the server is not reused
+        }
+    }
+
+    private static void stop(EclipseLanguageClient languageClient) {
+        try {
+            languageClient.exit();
+        } finally {
+            Utils.deleteDirectory(languageClient.getWorkspaceDir().toFile());
+        }
+    }
+
+    /*
+     * Removes the sources of the customization from the workspace, and notifies the server, which removes the classes
+     * built from them.
+     */
+    private static void removeSources(EclipseLanguageClient languageClient) {
+        List<FileEvent> changes = new ArrayList<>();
+        File sourceDir = languageClient.getWorkspaceDir().resolve("src").toFile();
+        collectFiles(sourceDir, changes);
+        Utils.deleteDirectory(sourceDir);
+        if (!changes.isEmpty()) {
+            languageClient.notifyWatchedFilesChanged(changes);
+        }
+    }
+
+    private static void collectFiles(File file, List<FileEvent> changes) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                collectFiles(child, changes);
+            }
+        } else if (file.isFile()) {
+            changes.add(fileEvent(file.toPath(), FileChangeType.DELETED));
+        }
+    }
+
+    private static FileEvent fileEvent(Path path, FileChangeType type) {
+        FileEvent fileEvent = new FileEvent();
+        fileEvent.setUri(path.toFile().toURI());
+        fileEvent.setType(type);
+        return fileEvent;
+    }
+
+    /*
+     * Stops the idle servers, and interrupts the servers still starting. A server that completes its start anyway is
+     * stopped by startInBackground.
+     */
+    private void shutdown() {
+        List<EclipseLanguageClient> started = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            for (Deque<IdleServer> servers : idleServers.values()) {
+                for (IdleServer idleServer : servers) {
+                    if (idleServer.isStarted()) {
+                        started.add(idleServer.server.join());
+                    } else {
+                        idleServer.server.cancel(true);
+                    }
+                }
+            }
+            idleServers.clear();
+        }
+        evictExecutor.shutdownNow();
+        startExecutor.shutdownNow();
+        started.forEach(EclipseLanguageServerPool::stopQuietly);
+    }
+}
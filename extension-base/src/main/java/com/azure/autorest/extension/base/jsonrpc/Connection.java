@@ -1,12 +1,15 @@
 package com.azure.autorest.extension.base.jsonrpc;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -15,6 +18,7 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -26,14 +30,23 @@ public class Connection {
     private AtomicInteger requestId;
     private final Map<Integer, CallerResponse<?>> tasks = new ConcurrentHashMap<>();
     private ObjectMapper mapper = new ObjectMapper();
-    private ExecutorService executorService = Executors.newCachedThreadPool();
+    // daemon threads, as the listener blocks on the input and must not keep the process alive once the plugin is done
+    private ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "jsonrpc-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
     private CompletableFuture<Void> _loop;
 
     public Connection(OutputStream writer, InputStream input) {
         this.writer = writer;
         this.reader = new PeekingBinaryReader(input);
-        this._loop = CompletableFuture.runAsync(this::listen);
+        // not in the common pool, which a process serving many connections would exhaust
+        this._loop = CompletableFuture.runAsync(this::listen, executorService);
         this.requestId = new AtomicInteger(0);
+        this.writerThread = new Thread(this::writeLoop, "jsonrpc-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
     }
 
     private boolean isAlive = true;
@@ -43,21 +56,32 @@ public class Connection {
     public void stop() {
         isAlive = false;
         _loop.cancel(true);
+        executorService.shutdown();
     }
 
     private JsonNode readJson() {
-        String jsonText = "";
+        StringBuilder jsonText = new StringBuilder();
         JsonNode json;
         while (true)
         {
+            String line;
             try {
-                jsonText += reader.readAsciiLine(); // + "\n";
+                line = reader.readAsciiLine();
             } catch (IOException e) {
                 throw new RuntimeException("Cannot read JSON input");
             }
+            if (line == null) {
+                throw new RuntimeException("Cannot read JSON input");
+            }
+            jsonText.append(line);
+            // only a line that ends an object or array can complete the JSON
+            String trimmed = line.trim();
+            if (!trimmed.endsWith("}") && !trimmed.endsWith("]")) {
+                continue;
+            }
             try
             {
-                json = mapper.readTree(jsonText);
+                json = mapper.readTree(jsonText.toString());
                 if (json != null) {
                     return json;
                 }
@@ -136,6 +160,14 @@ public class Connection {
         });
     }
 
+    public void dispatchNotification(String path, Consumer<JsonNode> method)
+    {
+        _dispatch.put(path, input -> {
+            method.accept(input);
+            return null;
+        });
+    }
+
     public <P1, T> void dispatch(String path, Function<P1, T> method)
     {
     }
@@ -162,8 +194,8 @@ public class Connection {
     private JsonNode readJson(int contentLength)
     {
         try {
-            byte[] bytes = reader.readBytes(contentLength);
-            return mapper.readTree(new String(bytes, StandardCharsets.UTF_8));
+            // decoded in place in the buffer of the reader
+            return reader.readContent(contentLength, mapper::readTree);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -322,6 +354,13 @@ public class Connection {
                 t.getValue().cancel(true);
             }
 
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // the writer thread failed, the messages queued are not sent
+            }
+            writerThread.interrupt();
+            executorService.shutdown();
             writer.close();
             writer = null;
             reader.close();
@@ -329,37 +368,258 @@ public class Connection {
         }
     }
 
-    private final Semaphore streamReady = new Semaphore(1);
+    /**
+     * A message to send, serialized by the writer thread.
+     */
+    private interface OutboundMessage {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * A request, whose caller waits for the response of the request ID.
+     */
+    private static final class RequestMessage implements OutboundMessage {
+        private final int id;
+        private final OutboundMessage message;
+
+        private RequestMessage(int id, OutboundMessage message) {
+            this.id = id;
+            this.message = message;
+        }
 
-    private void send(String text) {
-//        System.err.println("JSON RPC send: " + text);
+        @Override
+        public void write(JsonGenerator generator) throws IOException {
+            message.write(generator);
+        }
+    }
+
+    private static final int OUTBOUND_QUEUE_CAPACITY = 128;
+    private static final int BATCH_SIZE = 64 * 1024;
+
+    // messages are sent in the order they are queued, and callers block when the queue is full
+    private final BlockingQueue<Object> outbound = new ArrayBlockingQueue<>(OUTBOUND_QUEUE_CAPACITY);
+    private final Thread writerThread;
+    private volatile IOException writeError;
+    private volatile Logger logger;
+
+    /**
+     * Sets the logger of the errors of the writer thread, usually the logger of the plugin. Without it, they are
+     * printed to stderr.
+     *
+     * @param logger the logger.
+     */
+    public void setLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    private void send(OutboundMessage message) {
+        if (writeError != null) {
+            throw new RuntimeException(writeError);
+        }
         try {
-            synchronized (streamReady) {
-                streamReady.acquire();
-            }
+            outbound.put(message);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
+        if (writeError != null) {
+            // the writer thread may have exited before the message was queued
+            failPending();
+        }
+    }
+
+    private void send(JsonNode node) {
+        send(generator -> mapper.writeTree(generator, node));
+    }
 
-        byte[] buffer = text.getBytes(StandardCharsets.UTF_8);
+    /**
+     * Waits until all the messages queued are written and flushed.
+     */
+    public void flush() {
+        if (writeError != null) {
+            throw new RuntimeException(writeError);
+        }
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
         try {
-//            System.err.write(("Content-Length: " + buffer.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
-            write(("Content-Length: " + buffer.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
-            write(buffer);
-        } catch (IOException e) {
+            outbound.put(flushed);
+            if (writeError != null) {
+                // the writer thread may have exited before the flush was queued
+                failPending();
+            }
+            flushed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
         }
+    }
+
+    /*
+     * Serializes each message into a reused buffer. Small messages are batched into one write, and the output is
+     * flushed when the queue is empty.
+     */
+    private void writeLoop() {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(BATCH_SIZE);
+        ByteArrayOutputStream batch = new ByteArrayOutputStream(BATCH_SIZE);
+        // the requests in the batch, which fail if the batch cannot be written
+        List<Integer> batchRequestIds = new ArrayList<>();
+        while (true) {
+            Object item;
+            try {
+                item = outbound.poll();
+                if (item == null) {
+                    writeBatch(batch, batchRequestIds);
+                    item = outbound.take();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                exitOnWriteError(e, batchRequestIds);
+                return;
+            }
+
+            if (item instanceof CompletableFuture) {
+                @SuppressWarnings("unchecked")
+                CompletableFuture<Void> flushed = (CompletableFuture<Void>) item;
+                try {
+                    writeBatch(batch, batchRequestIds);
+                    flushed.complete(null);
+                } catch (IOException e) {
+                    flushed.completeExceptionally(e);
+                    exitOnWriteError(e, batchRequestIds);
+                    return;
+                }
+                continue;
+            }
+
+            Integer requestId = item instanceof RequestMessage ? ((RequestMessage) item).id : null;
+            try {
+                body.reset();
+                try (JsonGenerator generator = mapper.getFactory().createGenerator(body)) {
+                    ((OutboundMessage) item).write(generator);
+                }
+            } catch (IOException | RuntimeException e) {
+                // a message that fails to serialize is dropped, and the caller of a request does not wait for it
+                if (requestId != null) {
+                    failRequest(requestId, e);
+                }
+                logError("Failed to serialize JSON-RPC message, the message is dropped", e);
+                continue;
+            }
 
-        synchronized (streamReady) {
-            streamReady.release();
+            try {
+                byte[] header = ("Content-Length: " + body.size() + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+                if (body.size() < BATCH_SIZE) {
+                    batch.write(header);
+                    body.writeTo(batch);
+                    if (requestId != null) {
+                        batchRequestIds.add(requestId);
+                    }
+                    if (batch.size() >= BATCH_SIZE) {
+                        writeBatch(batch, batchRequestIds);
+                    }
+                } else {
+                    writeBatch(batch, batchRequestIds);
+                    if (requestId != null) {
+                        batchRequestIds.add(requestId);
+                    }
+                    writer.write(header);
+                    body.writeTo(writer);
+                    batchRequestIds.clear();
+                }
+            } catch (IOException e) {
+                exitOnWriteError(e, batchRequestIds);
+                return;
+            }
+        }
+    }
+
+    /*
+     * Exits the writer thread after the output failed, so that the requests not written, and the flushes and requests
+     * queued, and those queued later, fail instead of waiting for it.
+     */
+    private void exitOnWriteError(IOException e, List<Integer> batchRequestIds) {
+        writeError = e;
+        for (int id : batchRequestIds) {
+            failRequest(id, e);
         }
+        failPending();
+        logError("Failed to write JSON-RPC output, the connection can no longer send messages", e);
     }
 
-    private void write(byte[] buffer) throws IOException {
-//        System.err.write("Writing: ".getBytes(StandardCharsets.UTF_8));
-//        System.err.write(buffer);
-        writer.write(buffer, 0, buffer.length);
-//        writer.flush();
+    private void failPending() {
+        Object item;
+        while ((item = outbound.poll()) != null) {
+            if (item instanceof CompletableFuture) {
+                ((CompletableFuture<?>) item).completeExceptionally(writeError);
+            } else if (item instanceof RequestMessage) {
+                failRequest(((RequestMessage) item).id, writeError);
+            }
+        }
+    }
+
+    private void failRequest(int id, Throwable error) {
+        CallerResponse<?> response = tasks.remove(id);
+        if (response != null) {
+            response.completeExceptionally(error);
+        }
+    }
+
+    private void logError(String message, Throwable error) {
+        Logger logger = this.logger;
+        if (logger == null) {
+            System.err.println(message + ": " + error);
+        } else {
+            // the logger of the plugin sends through this connection, and the writer thread must not wait for its
+            // own queue
+            try {
+                executorService.submit(() -> logger.error(message, error));
+            } catch (RejectedExecutionException e) {
+                // stopped, there is no one left to log to
+                System.err.println(message + ": " + error);
+            }
+        }
+    }
+
+    private void writeBatch(ByteArrayOutputStream batch, List<Integer> batchRequestIds) throws IOException {
+        if (batch.size() > 0) {
+            batch.writeTo(writer);
+            batch.reset();
+        }
+        writer.flush();
+        batchRequestIds.clear();
+    }
+
+    /*
+     * Converts the parameter to a JSON node on the calling thread, as it may be modified after the call. Strings and
+     * primitives are immutable, and serialized later by the writer thread.
+     */
+    private Object toParameter(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        return mapper.convertValue(value, JsonNode.class);
+    }
+
+    private OutboundMessage call(String methodName, Integer id, Object[] values) {
+        Object[] parameters = values == null ? null : Arrays.stream(values).map(this::toParameter).toArray();
+        return generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("jsonrpc", "2.0");
+            generator.writeStringField("method", methodName);
+            if (id != null) {
+                generator.writeNumberField("id", id);
+            }
+            if (parameters != null && parameters.length > 0) {
+                generator.writeArrayFieldStart("params");
+                for (Object parameter : parameters) {
+                    mapper.writeValue(generator, parameter);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        };
     }
 
     public void sendError(int id, int code, String message)
@@ -369,7 +629,7 @@ public class Connection {
                 .put("id", id)
                 .put("message", message)
                 .set("error", new ObjectNode(mapper.getNodeFactory()).put("code", code));
-        send(node.toString());
+        send(node);
     }
     public void respond(int id, String value)
     {
@@ -382,19 +642,12 @@ public class Connection {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        send(node.toString());
+        send(node);
     }
 
     public void notify(String methodName, Object... values) {
 //        System.err.println("JSON-RPC call: " + methodName);
-        JsonNode node = new ObjectNode(mapper.getNodeFactory())
-                .put("jsonrpc", "2.0")
-                .put("method", methodName);
-        if (values != null && values.length > 0 ) {
-            node = ((ObjectNode) node).set("params", new ArrayNode(mapper.getNodeFactory(),
-                    Arrays.stream(values).map(o -> mapper.convertValue(o, JsonNode.class)).collect(Collectors.toList())));
-        }
-        send(node.toString());
+        send(call(methodName, null, values));
     }
 
     public void notifyWithObject(String methodName, Object parameter) {
@@ -405,7 +658,7 @@ public class Connection {
         if (parameter != null) {
             node = ((ObjectNode) node).set("params", mapper.convertValue(parameter, JsonNode.class));
         }
-        send(node.toString());
+        send(node);
     }
 
     public <T> T request(JavaType type, String methodName, Object... values)
@@ -413,15 +666,12 @@ public class Connection {
         int id = requestId.getAndIncrement();
         CallerResponse<T> response = new CallerResponse<T>(id, type);
         tasks.put(id, response);
-        JsonNode node = new ObjectNode(mapper.getNodeFactory())
-                .put("jsonrpc", "2.0")
-                .put("method", methodName)
-                .put("id", id);
-        if (values != null && values.length > 0 ) {
-            node = ((ObjectNode) node).set("params", new ArrayNode(mapper.getNodeFactory(),
-                    Arrays.stream(values).map(o -> mapper.convertValue(o, JsonNode.class)).collect(Collectors.toList())));
+        try {
+            send(new RequestMessage(id, call(methodName, id, values)));
+        } catch (RuntimeException e) {
+            tasks.remove(id);
+            throw e;
         }
-        send(node.toString());
         try {
             return response.get();
         } catch (InterruptedException | ExecutionException e) {
@@ -441,7 +691,13 @@ public class Connection {
         if (parameter != null) {
             node = ((ObjectNode) node).set("params", mapper.convertValue(parameter, JsonNode.class));
         }
-        send(node.toString());
+        JsonNode request = node;
+        try {
+            send(new RequestMessage(id, generator -> mapper.writeTree(generator, request)));
+        } catch (RuntimeException e) {
+            tasks.remove(id);
+            throw e;
+        }
         try {
             return response.get();
         } catch (InterruptedException | ExecutionException e) {
@@ -456,7 +712,7 @@ public class Connection {
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
-        }).collect(Collectors.toList())).toString());
+        }).collect(Collectors.toList())));
     }
 
     public void waitForAll() {
@@ -464,6 +720,8 @@ public class Connection {
             _loop.get();
         } catch (InterruptedException | ExecutionException e) {
             throw new RuntimeException(e);
+        } finally {
+            flush();
         }
     }
 }
@@ -3,68 +3,144 @@ package com.azure.autorest.extension.base.jsonrpc;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
+/**
+ * Reads the input through a reusable buffer. The buffer grows to hold the largest content read, so that content can be
+ * decoded in place, without copying.
+ */
 class PeekingBinaryReader implements Closeable {
-    Integer lastByte;
-    InputStream input;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Decodes content from a slice of the buffer. The slice is only valid during the call.
+     *
+     * @param <T> the type of the decoded content.
+     */
+    interface SliceDecoder<T> {
+        T decode(byte[] bytes, int offset, int length) throws IOException;
+    }
+
+    private final InputStream input;
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int position;
+    private int limit;
 
     PeekingBinaryReader(InputStream input) {
-        this.lastByte = null;
         this.input = input;
     }
 
     int readByte() throws IOException {
-        if (lastByte != null) {
-            int result = lastByte;
-            lastByte = null;
-            return result;
+        if (position == limit && !fill()) {
+            return -1;
         }
-        return input.read();
+        return buffer[position++] & 0xFF;
     }
 
     int peekByte() throws IOException {
-        if (lastByte != null) {
-            return lastByte;
+        if (position == limit && !fill()) {
+            return -1;
         }
-        int result = readByte();
-        if (result != -1) {
-            lastByte = result;
-        }
-        return result;
+        return buffer[position] & 0xFF;
     }
 
     byte[] readBytes(int count) throws IOException {
-        byte[] buffer = new byte[count];
-        int read = 0;
-        if (count > 0 && lastByte != null)
-        {
-            buffer[read++] = (byte) (int) lastByte;
-            lastByte = null;
+        return readContent(count, (bytes, offset, length) -> Arrays.copyOfRange(bytes, offset, offset + length));
+    }
+
+    /**
+     * Reads the next count bytes, and decodes them in place in the buffer.
+     *
+     * @param count the number of bytes.
+     * @param decoder the decoder of the bytes.
+     * @param <T> the type of the decoded content.
+     * @return the decoded content.
+     * @throws IOException if the input ends before count bytes, or the decoder fails.
+     */
+    <T> T readContent(int count, SliceDecoder<T> decoder) throws IOException {
+        ensureBuffered(count);
+        int offset = position;
+        position += count;
+        return decoder.decode(buffer, offset, count);
+    }
+
+    String readAsciiLine() throws IOException {
+        StringBuilder result = null;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (result == null || result.length() == 0) {
+                    return null;
+                }
+                return result.toString();
+            }
+            int start = position;
+            while (position < limit && buffer[position] != '\r' && buffer[position] != '\n') {
+                ++position;
+            }
+            if (position < limit) {
+                // end of line found in the buffer
+                String line = new String(buffer, start, position - start, StandardCharsets.US_ASCII);
+                if (buffer[position++] == '\r' && peekByte() == '\n') {
+                    ++position;
+                }
+                return result == null ? line : result.append(line).toString();
+            }
+            // the line continues after the buffered bytes
+            if (result == null) {
+                result = new StringBuilder();
+            }
+            result.append(new String(buffer, start, position - start, StandardCharsets.US_ASCII));
         }
-        while (read < count)
-        {
-            read += input.read(buffer, read, count - read);
+    }
+
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /*
+     * Reads more input into the buffer, after the buffered bytes. Returns false at the end of the input.
+     */
+    private boolean fill() throws IOException {
+        if (position == limit) {
+            position = 0;
+            limit = 0;
+        } else if (limit == buffer.length) {
+            compact();
         }
-        return buffer;
+        int read = input.read(buffer, limit, buffer.length - limit);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        return true;
     }
 
-    String readAsciiLine() throws IOException {
-        StringBuilder result = new StringBuilder();
-        int c = readByte();
-        while (c != '\r' && c != '\n' && c != -1) {
-            result.append((char)c);
-            c = readByte();
+    private void ensureBuffered(int count) throws IOException {
+        if (limit - position >= count) {
+            return;
         }
-        if (c == '\r' && peekByte() == '\n') {
-            readByte();
+        if (buffer.length - position < count) {
+            if (buffer.length < count) {
+                buffer = Arrays.copyOfRange(buffer, position, Math.max(count, buffer.length * 2) + position);
+                limit -= position;
+                position = 0;
+            } else {
+                compact();
+            }
         }
-        if (c == -1 && result.length() == 0) {
-            return null;
+        while (limit - position < count) {
+            int read = input.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                throw new IOException("Unexpected end of input, expected " + count + " bytes");
+            }
+            limit += read;
         }
-        return result.toString();
     }
 
-    public void close() throws IOException {
-        input.close();
+    private void compact() {
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        limit -= position;
+        position = 0;
     }
 }
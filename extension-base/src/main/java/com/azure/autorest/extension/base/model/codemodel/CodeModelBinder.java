@@ -0,0 +1,113 @@
+package com.azure.autorest.extension.base.model.codemodel;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Creates instances of a code model class and gets or sets their properties by name, through a factory and accessor
+ * lambdas instead of reflection.
+ *
+ * @param <T> the code model class.
+ */
+final class CodeModelBinder<T> {
+    private final Class<T> type;
+    private final Supplier<T> factory;
+    private final Map<String, PropertyBinder> properties;
+
+    CodeModelBinder(Class<T> type, Supplier<T> factory, CodeModelBinder<? super T> parent) {
+        this.type = type;
+        this.factory = factory;
+        this.properties = parent == null ? new HashMap<>() : new HashMap<>(parent.properties);
+    }
+
+    Class<T> getType() {
+        return type;
+    }
+
+    T newInstance() {
+        return factory.get();
+    }
+
+    PropertyBinder getProperty(String name) {
+        return properties.get(name);
+    }
+
+    Map<String, PropertyBinder> getProperties() {
+        return Collections.unmodifiableMap(properties);
+    }
+
+    <P> CodeModelBinder<T> property(String name, Class<P> propertyType, Function<T, P> getter,
+                                    BiConsumer<T, P> setter) {
+        return add(name, propertyType, null, getter, setter);
+    }
+
+    <E> CodeModelBinder<T> list(String name, Class<E> elementType, Function<T, List<E>> getter,
+                                BiConsumer<T, List<E>> setter) {
+        return add(name, List.class, elementType, getter, setter);
+    }
+
+    <V> CodeModelBinder<T> map(String name, Class<V> valueType, Function<T, Map<String, V>> getter,
+                               BiConsumer<T, Map<String, V>> setter) {
+        return add(name, Map.class, valueType, getter, setter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CodeModelBinder<T> add(String name, Class<?> propertyType, Class<?> elementType, Function<T, ?> getter,
+                                   BiConsumer<T, ?> setter) {
+        properties.put(name, new PropertyBinder(name, propertyType, elementType,
+                (Function<Object, Object>) getter, (BiConsumer<Object, Object>) setter));
+        return this;
+    }
+
+    static final class PropertyBinder {
+        private final String name;
+        private final Class<?> type;
+        private final Class<?> elementType;
+        private final Function<Object, Object> getter;
+        private final BiConsumer<Object, Object> setter;
+
+        private PropertyBinder(String name, Class<?> type, Class<?> elementType, Function<Object, Object> getter,
+                               BiConsumer<Object, Object> setter) {
+            this.name = name;
+            this.type = type;
+            this.elementType = elementType;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return the class of the property, {@code List} or {@code Map} for collections.
+         */
+        Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * @return the class of the list elements or map values, or null if the property is not a collection.
+         */
+        Class<?> getElementType() {
+            return elementType;
+        }
+
+        boolean isReadable() {
+            return getter != null;
+        }
+
+        Object get(Object bean) {
+            return getter.apply(bean);
+        }
+
+        void set(Object bean, Object value) {
+            setter.accept(bean, value);
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.azure.autorest.extension.base.model.codemodel;
+
+import com.azure.autorest.extension.base.model.extensionmodel.XmsEnum;
+import com.azure.autorest.extension.base.model.extensionmodel.XmsExtensions;
+import com.azure.autorest.extension.base.model.extensionmodel.XmsPageable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The binders of the code model classes, used to load the code model without introspecting the classes at parse time.
+ * <p>
+ * The table is written by hand, and lists every writable JavaBean property of the classes, which is what SnakeYAML
+ * finds by introspection. Subclasses start from the properties of their parent. When a property is added to a code
+ * model class, it must be added here as well; CodeModelBindersTests, in fluentgen, fails when the table and the bean
+ * properties differ.
+ */
+final class CodeModelBinders {
+    private static final Map<Class<?>, CodeModelBinder<?>> BINDERS = new HashMap<>();
+    private static final Map<String, CodeModelBinder<?>> BINDERS_BY_NAME = new HashMap<>();
+
+    static {
+        register(ApiVersion.class, ApiVersion::new, null)
+                .property("range", ApiVersion.Range.class, ApiVersion::getRange, ApiVersion::setRange)
+                .property("version", String.class, ApiVersion::getVersion, ApiVersion::setVersion);
+        register(CSharpLanguage.class, CSharpLanguage::new, null);
+        register(ChoiceValue.class, ChoiceValue::new, null)
+                .property("extensions", DictionaryAny.class, ChoiceValue::getExtensions, ChoiceValue::setExtensions)
+                .property("language", Languages.class, ChoiceValue::getLanguage, ChoiceValue::setLanguage)
+                .property("value", String.class, ChoiceValue::getValue, ChoiceValue::setValue);
+        register(ConstantValue.class, ConstantValue::new, null)
+                .property("extensions", DictionaryAny.class, ConstantValue::getExtensions, ConstantValue::setExtensions)
+                .property("language", Languages.class, ConstantValue::getLanguage, ConstantValue::setLanguage)
+                .property("value", Object.class, ConstantValue::getValue, ConstantValue::setValue);
+        register(Contact.class, Contact::new, null)
+                .property("email", String.class, Contact::getEmail, Contact::setEmail)
+                .property("extensions", DictionaryAny.class, Contact::getExtensions, Contact::setExtensions)
+                .property("name", String.class, Contact::getName, Contact::setName)
+                .property("url", String.class, Contact::getUrl, Contact::setUrl);
+        register(Deprecation.class, Deprecation::new, null)
+                .list("apiVersions", ApiVersion.class, Deprecation::getApiVersions, Deprecation::setApiVersions)
+                .property("message", String.class, Deprecation::getMessage, Deprecation::setMessage);
+        register(DictionaryAny.class, DictionaryAny::new, null);
+        register(DictionaryAnyProperty.class, DictionaryAnyProperty::new, null);
+        register(DictionaryApiVersion.class, DictionaryApiVersion::new, null);
+        register(Discriminator.class, Discriminator::new, null)
+                .map("all", ComplexSchema.class, Discriminator::getAll, Discriminator::setAll)
+                .map("immediate", ComplexSchema.class, Discriminator::getImmediate, Discriminator::setImmediate)
+                .property("property", Property.class, Discriminator::getProperty, Discriminator::setProperty);
+        register(ExternalDocumentation.class, ExternalDocumentation::new, null)
+                .property("description", String.class, ExternalDocumentation::getDescription, ExternalDocumentation::setDescription)
+                .property("extensions", DictionaryAny.class, ExternalDocumentation::getExtensions, ExternalDocumentation::setExtensions)
+                .property("url", String.class, ExternalDocumentation::getUrl, ExternalDocumentation::setUrl);
+        register(FlagValue.class, FlagValue::new, null)
+                .property("extensions", DictionaryAny.class, FlagValue::getExtensions, FlagValue::setExtensions)
+                .property("language", Languages.class, FlagValue::getLanguage, FlagValue::setLanguage)
+                .property("value", double.class, FlagValue::getValue, FlagValue::setValue);
+        register(Header.class, Header::new, null)
+                .property("extensions", XmsExtensions.class, Header::getExtensions, Header::setExtensions)
+                .property("header", String.class, Header::getHeader, Header::setHeader)
+                .property("schema", Schema.class, Header::getSchema, Header::setSchema);
+        register(Info.class, Info::new, null)
+                .property("contact", Contact.class, Info::getContact, Info::setContact)
+                .property("description", String.class, Info::getDescription, Info::setDescription)
+                .property("extensions", DictionaryAny.class, Info::getExtensions, Info::setExtensions)
+                .property("externalDocs", ExternalDocumentation.class, Info::getExternalDocs, Info::setExternalDocs)
+                .property("license", License.class, Info::getLicense, Info::setLicense)
+                .property("termsOfService", String.class, Info::getTermsOfService, Info::setTermsOfService)
+                .property("title", String.class, Info::getTitle, Info::setTitle);
+        register(Language.class, Language::new, null)
+                .property("description", String.class, Language::getDescription, Language::setDescription)
+                .property("name", String.class, Language::getName, Language::setName)
+                .property("serializedName", String.class, Language::getSerializedName, Language::setSerializedName);
+        register(LanguageProperty.class, LanguageProperty::new, null);
+        register(Languages.class, Languages::new, null)
+                .property("c", Language.class, Languages::getC, Languages::setC)
+                .property("cpp", Language.class, Languages::getCpp, Languages::setCpp)
+                .property("csharp", CSharpLanguage.class, Languages::getCsharp, Languages::setCsharp)
+                .property("default", Language.class, Languages::getDefault, Languages::setDefault)
+                .property("go", Language.class, Languages::getGo, Languages::setGo)
+                .property("java", Language.class, Languages::getJava, Languages::setJava)
+                .property("javascript", Language.class, Languages::getJavascript, Languages::setJavascript)
+                .property("objectivec", Language.class, Languages::getObjectivec, Languages::setObjectivec)
+                .property("powershell", Language.class, Languages::getPowershell, Languages::setPowershell)
+                .property("python", Language.class, Languages::getPython, Languages::setPython)
+                .property("ruby", Language.class, Languages::getRuby, Languages::setRuby)
+                .property("swift", Language.class, Languages::getSwift, Languages::setSwift)
+                .property("typescript", Language.class, Languages::getTypescript, Languages::setTypescript);
+        register(License.class, License::new, null)
+                .property("extensions", DictionaryAny.class, License::getExtensions, License::setExtensions)
+                .property("name", String.class, License::getName, License::setName)
+                .property("url", String.class, License::getUrl, License::setUrl);
+        CodeModelBinder<Metadata> metadata = register(Metadata.class, Metadata::new, null)
+                .property("extensions", XmsExtensions.class, Metadata::getExtensions, Metadata::setExtensions)
+                .property("language", Languages.class, Metadata::getLanguage, Metadata::setLanguage)
+                .property("protocol", Protocols.class, Metadata::getProtocol, Metadata::setProtocol);
+        register(Operation.class, Operation::new, metadata)
+                .property("$key", String.class, Operation::get$key, Operation::set$key)
+                .list("apiVersions", ApiVersion.class, Operation::getApiVersions, Operation::setApiVersions)
+                .property("deprecated", Deprecation.class, Operation::getDeprecated, Operation::setDeprecated)
+                .property("description", String.class, Operation::getDescription, Operation::setDescription)
+                .list("exceptions", Response.class, Operation::getExceptions, Operation::setExceptions)
+                .property("externalDocs", ExternalDocumentation.class, Operation::getExternalDocs, Operation::setExternalDocs)
+                .property("operationGroup", OperationGroup.class, Operation::getOperationGroup, Operation::setOperationGroup)
+                .list("parameters", Parameter.class, Operation::getParameters, Operation::setParameters)
+                .property("profile", DictionaryApiVersion.class, Operation::getProfile, Operation::setProfile)
+                .list("requests", Request.class, Operation::getRequests, Operation::setRequests)
+                .list("responses", Response.class, Operation::getResponses, Operation::setResponses)
+                .list("signatureParameters", Parameter.class, Operation::getSignatureParameters, Operation::setSignatureParameters)
+                .property("summary", String.class, Operation::getSummary, Operation::setSummary)
+                .property("uid", String.class, Operation::getUid, Operation::setUid);
+        register(OperationGroup.class, OperationGroup::new, metadata)
+                .property("$key", String.class, OperationGroup::get$key, OperationGroup::set$key)
+                .property("codeModel", CodeModel.class, OperationGroup::getCodeModel, OperationGroup::setCodeModel)
+                .list("operations", Operation.class, OperationGroup::getOperations, OperationGroup::setOperations);
+        register(Protocol.class, Protocol::new, null)
+                .list("headers", Header.class, Protocol::getHeaders, Protocol::setHeaders)
+                .property("in", RequestParameterLocation.class, Protocol::getIn, Protocol::setIn)
+                .property("knownMediaType", KnownMediaType.class, Protocol::getKnownMediaType, Protocol::setKnownMediaType)
+                .list("mediaTypes", String.class, Protocol::getMediaTypes, Protocol::setMediaTypes)
+                .property("method", String.class, Protocol::getMethod, Protocol::setMethod)
+                .property("path", String.class, Protocol::getPath, Protocol::setPath)
+                .list("servers", Server.class, Protocol::getServers, Protocol::setServers)
+                .list("statusCodes", String.class, Protocol::getStatusCodes, Protocol::setStatusCodes)
+                .property("style", SerializationStyle.class, Protocol::getStyle, Protocol::setStyle)
+                .property("uri", String.class, Protocol::getUri, Protocol::setUri);
+        register(Protocols.class, Protocols::new, null)
+                .property("amqp", Protocol.class, Protocols::getAmqp, Protocols::setAmqp)
+                .property("http", Protocol.class, Protocols::getHttp, Protocols::setHttp)
+                .property("jsonrpc", Protocol.class, Protocols::getJsonrpc, Protocols::setJsonrpc)
+                .property("mqtt", Protocol.class, Protocols::getMqtt, Protocols::setMqtt);
+        register(Relations.class, Relations::new, null)
+                .list("all", Schema.class, Relations::getAll, Relations::setAll)
+                .list("immediate", Schema.class, Relations::getImmediate, Relations::setImmediate);
+        register(Request.class, Request::new, metadata)
+                .list("parameters", Parameter.class, Request::getParameters, Request::setParameters)
+                .list("signatureParameters", Parameter.class, Request::getSignatureParameters, Request::setSignatureParameters);
+        CodeModelBinder<Response> response = register(Response.class, Response::new, metadata)
+                .property("binary", Boolean.class, Response::getBinary, Response::setBinary)
+                .property("schema", Schema.class, Response::getSchema, Response::setSchema);
+        CodeModelBinder<Schema> schema = register(Schema.class, Schema::new, metadata)
+                .property("$key", String.class, Schema::get$key, Schema::set$key)
+                .list("apiVersions", ApiVersion.class, Schema::getApiVersions, Schema::setApiVersions)
+                .property("defaultValue", Object.class, Schema::getDefaultValue, Schema::setDefaultValue)
+                .property("deprecated", Deprecation.class, Schema::getDeprecated, Schema::setDeprecated)
+                .property("description", String.class, Schema::getDescription, Schema::setDescription)
+                .property("example", Object.class, Schema::getExample, Schema::setExample)
+                .property("externalDocs", ExternalDocumentation.class, Schema::getExternalDocs, Schema::setExternalDocs)
+                .property("serialization", SerializationFormats.class, Schema::getSerialization, Schema::setSerialization)
+                .property("summary", String.class, Schema::getSummary, Schema::setSummary)
+                .property("type", Schema.AllSchemaTypes.class, Schema::getType, Schema::setType)
+                .property("uid", String.class, Schema::getUid, Schema::setUid);
+        register(SchemaResponse.class, SchemaResponse::new, response);
+        register(Schemas.class, Schemas::new, null)
+                .list("ands", AndSchema.class, Schemas::getAnds, Schemas::setAnds)
+                .list("arrays", ArraySchema.class, Schemas::getArrays, Schemas::setArrays)
+                .list("binaries", BinarySchema.class, Schemas::getBinaries, Schemas::setBinaries)
+                .list("booleans", BooleanSchema.class, Schemas::getBooleans, Schemas::setBooleans)
+                .list("byteArrays", ByteArraySchema.class, Schemas::getByteArrays, Schemas::setByteArrays)
+                .list("chars", CharSchema.class, Schemas::getChars, Schemas::setChars)
+                .list("choices", ChoiceSchema.class, Schemas::getChoices, Schemas::setChoices)
+                .list("constants", ConstantSchema.class, Schemas::getConstants, Schemas::setConstants)
+                .list("credentials", CredentialSchema.class, Schemas::getCredentials, Schemas::setCredentials)
+                .list("dateTimes", DateTimeSchema.class, Schemas::getDateTimes, Schemas::setDateTimes)
+                .list("dates", DateSchema.class, Schemas::getDates, Schemas::setDates)
+                .list("dictionaries", DictionarySchema.class, Schemas::getDictionaries, Schemas::setDictionaries)
+                .list("durations", DurationSchema.class, Schemas::getDurations, Schemas::setDurations)
+                .list("flags", FlagSchema.class, Schemas::getFlags, Schemas::setFlags)
+                .list("groups", ObjectSchema.class, Schemas::getGroups, Schemas::setGroups)
+                .list("numbers", NumberSchema.class, Schemas::getNumbers, Schemas::setNumbers)
+                .list("objects", ObjectSchema.class, Schemas::getObjects, Schemas::setObjects)
+                .list("odataQueries", ODataQuerySchema.class, Schemas::getOdataQueries, Schemas::setOdataQueries)
+                .list("ors", OrSchema.class, Schemas::getOrs, Schemas::setOrs)
+                .list("parameterGroups", ParameterGroupSchema.class, Schemas::getParameterGroups, Schemas::setParameterGroups)
+                .list("sealedChoices", SealedChoiceSchema.class, Schemas::getSealedChoices, Schemas::setSealedChoices)
+                .list("streams", Schema.class, Schemas::getStreams, Schemas::setStreams)
+                .list("strings", StringSchema.class, Schemas::getStrings, Schemas::setStrings)
+                .list("unixtimes", UnixTimeSchema.class, Schemas::getUnixtimes, Schemas::setUnixtimes)
+                .list("unknowns", Schema.class, Schemas::getUnknowns, Schemas::setUnknowns)
+                .list("uris", UriSchema.class, Schemas::getUris, Schemas::setUris)
+                .list("uuids", UuidSchema.class, Schemas::getUuids, Schemas::setUuids)
+                .list("xors", XorSchema.class, Schemas::getXors, Schemas::setXors);
+        CodeModelBinder<SerializationFormat> serializationFormat = register(SerializationFormat.class, SerializationFormat::new, null)
+                .property("extensions", DictionaryAny.class, SerializationFormat::getExtensions, SerializationFormat::setExtensions);
+        register(SerializationFormats.class, SerializationFormats::new, null)
+                .property("json", SerializationFormat.class, SerializationFormats::getJson, SerializationFormats::setJson)
+                .property("protobuf", SerializationFormat.class, SerializationFormats::getProtobuf, SerializationFormats::setProtobuf)
+                .property("xml", XmlSerlializationFormat.class, SerializationFormats::getXml, SerializationFormats::setXml);
+        register(Server.class, Server::new, null)
+                .property("language", Languages.class, Server::getLanguage, Server::setLanguage)
+                .property("url", String.class, Server::getUrl, Server::setUrl)
+                .list("variables", Value.class, Server::getVariables, Server::setVariables);
+        register(StreamResponse.class, StreamResponse::new, response);
+        CodeModelBinder<Value> value = register(Value.class, Value::new, metadata)
+                .property("$key", String.class, Value::get$key, Value::set$key)
+                .list("apiVersions", ApiVersion.class, Value::getApiVersions, Value::setApiVersions)
+                .property("deprecated", Deprecation.class, Value::getDeprecated, Value::setDeprecated)
+                .property("description", String.class, Value::getDescription, Value::setDescription)
+                .property("externalDocs", ExternalDocumentation.class, Value::getExternalDocs, Value::setExternalDocs)
+                .property("nullable", boolean.class, Value::isNullable, Value::setNullable)
+                .property("required", boolean.class, Value::isRequired, Value::setRequired)
+                .property("schema", Schema.class, Value::getSchema, Value::setSchema)
+                .property("summary", String.class, Value::getSummary, Value::setSummary)
+                .property("uid", String.class, Value::getUid, Value::setUid);
+        CodeModelBinder<ValueSchema> valueSchema = register(ValueSchema.class, ValueSchema::new, schema);
+        register(XmlSerlializationFormat.class, XmlSerlializationFormat::new, serializationFormat)
+                .property("attribute", boolean.class, XmlSerlializationFormat::isAttribute, XmlSerlializationFormat::setAttribute)
+                .property("name", String.class, XmlSerlializationFormat::getName, XmlSerlializationFormat::setName)
+                .property("namespace", String.class, XmlSerlializationFormat::getNamespace, XmlSerlializationFormat::setNamespace)
+                .property("prefix", String.class, XmlSerlializationFormat::getPrefix, XmlSerlializationFormat::setPrefix)
+                .property("wrapped", boolean.class, XmlSerlializationFormat::isWrapped, XmlSerlializationFormat::setWrapped);
+        register(XmsEnum.Value.class, XmsEnum.Value::new, null)
+                .property("description", String.class, XmsEnum.Value::getDescription, XmsEnum.Value::setDescription)
+                .property("name", String.class, XmsEnum.Value::getName, XmsEnum.Value::setName)
+                .property("value", String.class, XmsEnum.Value::getValue, XmsEnum.Value::setValue);
+        register(XmsEnum.class, XmsEnum::new, null)
+                .property("modelAsString", boolean.class, XmsEnum::isModelAsString, XmsEnum::setModelAsString)
+                .property("name", String.class, XmsEnum::getName, XmsEnum::setName)
+                .list("values", XmsEnum.Value.class, XmsEnum::getValues, XmsEnum::setValues);
+        register(XmsExtensions.class, XmsExtensions::new, null)
+                .property("xmsAzureResource", boolean.class, XmsExtensions::isXmsAzureResource, XmsExtensions::setXmsAzureResource)
+                .property("xmsClientFlatten", boolean.class, XmsExtensions::isXmsClientFlatten, XmsExtensions::setXmsClientFlatten)
+                .property("xmsClientName", String.class, XmsExtensions::getXmsClientName, XmsExtensions::setXmsClientName)
+                .property("xmsEnum", XmsEnum.class, XmsExtensions::getXmsEnum, XmsExtensions::setXmsEnum)
+                .property("xmsFlattened", boolean.class, XmsExtensions::isXmsFlattened, XmsExtensions::setXmsFlattened)
+                .property("xmsHeaderCollectionPrefix", String.class, XmsExtensions::getXmsHeaderCollectionPrefix, XmsExtensions::setXmsHeaderCollectionPrefix)
+                .property("xmsLongRunningOperation", boolean.class, XmsExtensions::isXmsLongRunningOperation, XmsExtensions::setXmsLongRunningOperation)
+                .list("xmsMutability", String.class, XmsExtensions::getXmsMutability, XmsExtensions::setXmsMutability)
+                .property("xmsPageable", XmsPageable.class, XmsExtensions::getXmsPageable, XmsExtensions::setXmsPageable)
+                .property("xmsSkipUrlEncoding", boolean.class, XmsExtensions::isXmsSkipUrlEncoding, XmsExtensions::setXmsSkipUrlEncoding);
+        register(XmsPageable.class, XmsPageable::new, null)
+                .property("itemName", String.class, XmsPageable::getItemName, XmsPageable::setItemName)
+                .property("nextLinkName", String.class, XmsPageable::getNextLinkName, XmsPageable::setNextLinkName)
+                .property("nextOperation", Operation.class, XmsPageable::getNextOperation, XmsPageable::setNextOperation)
+                .property("operationName", String.class, XmsPageable::getOperationName, XmsPageable::setOperationName);
+        register(AnySchema.class, AnySchema::new, schema);
+        register(ArraySchema.class, ArraySchema::new, valueSchema)
+                .property("elementType", Schema.class, ArraySchema::getElementType, ArraySchema::setElementType)
+                .property("maxItems", double.class, ArraySchema::getMaxItems, ArraySchema::setMaxItems)
+                .property("minItems", double.class, ArraySchema::getMinItems, ArraySchema::setMinItems)
+                .property("uniqueItems", boolean.class, ArraySchema::isUniqueItems, ArraySchema::setUniqueItems);
+        register(BinarySchema.class, BinarySchema::new, schema);
+        register(ChoiceSchema.class, ChoiceSchema::new, valueSchema)
+                .property("choiceType", Schema.class, ChoiceSchema::getChoiceType, ChoiceSchema::setChoiceType)
+                .list("choices", ChoiceValue.class, ChoiceSchema::getChoices, ChoiceSchema::setChoices);
+        register(CodeModel.class, CodeModel::new, metadata)
+                .list("globalParameters", Parameter.class, CodeModel::getGlobalParameters, CodeModel::setGlobalParameters)
+                .property("info", Info.class, CodeModel::getInfo, CodeModel::setInfo)
+                .list("operationGroups", OperationGroup.class, CodeModel::getOperationGroups, CodeModel::setOperationGroups)
+                .property("schemas", Schemas.class, CodeModel::getSchemas, CodeModel::setSchemas);
+        CodeModelBinder<ComplexSchema> complexSchema = register(ComplexSchema.class, ComplexSchema::new, schema);
+        register(ConstantSchema.class, ConstantSchema::new, schema)
+                .property("value", ConstantValue.class, ConstantSchema::getValue, ConstantSchema::setValue)
+                .property("valueType", Schema.class, ConstantSchema::getValueType, ConstantSchema::setValueType);
+        register(DictionarySchema.class, DictionarySchema::new, complexSchema)
+                .property("elementType", Schema.class, DictionarySchema::getElementType, DictionarySchema::setElementType);
+        register(FlagSchema.class, FlagSchema::new, valueSchema)
+                .list("choices", FlagValue.class, FlagSchema::getChoices, FlagSchema::setChoices);
+        register(NotSchema.class, NotSchema::new, schema)
+                .property("not", Schema.class, NotSchema::getNot, NotSchema::setNot);
+        register(ODataQuerySchema.class, ODataQuerySchema::new, schema);
+        register(ObjectSchema.class, ObjectSchema::new, complexSchema)
+                .property("children", Relations.class, ObjectSchema::getChildren, ObjectSchema::setChildren)
+                .property("discriminator", Discriminator.class, ObjectSchema::getDiscriminator, ObjectSchema::setDiscriminator)
+                .property("discriminatorValue", String.class, ObjectSchema::getDiscriminatorValue, ObjectSchema::setDiscriminatorValue)
+                .property("maxProperties", double.class, ObjectSchema::getMaxProperties, ObjectSchema::setMaxProperties)
+                .property("minProperties", double.class, ObjectSchema::getMinProperties, ObjectSchema::setMinProperties)
+                .property("parents", Relations.class, ObjectSchema::getParents, ObjectSchema::setParents)
+                .list("properties", Property.class, ObjectSchema::getProperties, ObjectSchema::setProperties);
+        register(OrSchema.class, OrSchema::new, complexSchema)
+                .list("anyOf", ComplexSchema.class, OrSchema::getAnyOf, OrSchema::setAnyOf);
+        register(Parameter.class, Parameter::new, value)
+                .property("clientDefaultValue", String.class, Parameter::getClientDefaultValue, Parameter::setClientDefaultValue)
+                .property("flattened", boolean.class, Parameter::isFlattened, Parameter::setFlattened)
+                .property("groupedBy", Parameter.class, Parameter::getGroupedBy, Parameter::setGroupedBy)
+                .property("implementation", Parameter.ImplementationLocation.class, Parameter::getImplementation, Parameter::setImplementation)
+                .property("operation", Operation.class, Parameter::getOperation, Parameter::setOperation)
+                .property("originalParameter", Parameter.class, Parameter::getOriginalParameter, Parameter::setOriginalParameter)
+                .property("targetProperty", Property.class, Parameter::getTargetProperty, Parameter::setTargetProperty);
+        register(ParameterGroupSchema.class, ParameterGroupSchema::new, complexSchema)
+                .list("parameters", Parameter.class, ParameterGroupSchema::getParameters, ParameterGroupSchema::setParameters);
+        CodeModelBinder<PrimitiveSchema> primitiveSchema = register(PrimitiveSchema.class, PrimitiveSchema::new, valueSchema);
+        register(Property.class, Property::new, value)
+                .list("flattenedNames", String.class, Property::getFlattenedNames, Property::setFlattenedNames)
+                .property("isDiscriminator", boolean.class, Property::isIsDiscriminator, Property::setIsDiscriminator)
+                .list("originalParameter", Parameter.class, Property::getOriginalParameter, Property::setOriginalParameter)
+                .property("parentSchema", ObjectSchema.class, Property::getParentSchema, Property::setParentSchema)
+                .property("readOnly", boolean.class, Property::isReadOnly, Property::setReadOnly)
+                .property("serializedName", String.class, Property::getSerializedName, Property::setSerializedName);
+        register(SealedChoiceSchema.class, SealedChoiceSchema::new, valueSchema)
+                .property("choiceType", Schema.class, SealedChoiceSchema::getChoiceType, SealedChoiceSchema::setChoiceType)
+                .list("choices", ChoiceValue.class, SealedChoiceSchema::getChoices, SealedChoiceSchema::setChoices);
+        register(StringSchema.class, StringSchema::new, primitiveSchema)
+                .property("maxLength", double.class, StringSchema::getMaxLength, StringSchema::setMaxLength)
+                .property("minLength", double.class, StringSchema::getMinLength, StringSchema::setMinLength)
+                .property("pattern", String.class, StringSchema::getPattern, StringSchema::setPattern);
+        register(TimeSchema.class, TimeSchema::new, primitiveSchema);
+        register(UnixTimeSchema.class, UnixTimeSchema::new, primitiveSchema);
+        register(UriSchema.class, UriSchema::new, primitiveSchema)
+                .property("maxLength", double.class, UriSchema::getMaxLength, UriSchema::setMaxLength)
+                .property("minLength", double.class, UriSchema::getMinLength, UriSchema::setMinLength)
+                .property("pattern", String.class, UriSchema::getPattern, UriSchema::setPattern);
+        register(UuidSchema.class, UuidSchema::new, primitiveSchema);
+        register(XorSchema.class, XorSchema::new, complexSchema)
+                .list("oneOf", Schema.class, XorSchema::getOneOf, XorSchema::setOneOf);
+        register(AndSchema.class, AndSchema::new, complexSchema)
+                .list("allOf", ComplexSchema.class, AndSchema::getAllOf, AndSchema::setAllOf)
+                .property("discriminatorValue", String.class, AndSchema::getDiscriminatorValue, AndSchema::setDiscriminatorValue);
+        register(BooleanSchema.class, BooleanSchema::new, primitiveSchema);
+        register(ByteArraySchema.class, ByteArraySchema::new, primitiveSchema)
+                .property("format", ByteArraySchema.Format.class, ByteArraySchema::getFormat, ByteArraySchema::setFormat);
+        register(CharSchema.class, CharSchema::new, primitiveSchema);
+        register(CredentialSchema.class, CredentialSchema::new, primitiveSchema)
+                .property("maxLength", double.class, CredentialSchema::getMaxLength, CredentialSchema::setMaxLength)
+                .property("minLength", double.class, CredentialSchema::getMinLength, CredentialSchema::setMinLength)
+                .property("pattern", String.class, CredentialSchema::getPattern, CredentialSchema::setPattern);
+        register(DateSchema.class, DateSchema::new, primitiveSchema);
+        register(DateTimeSchema.class, DateTimeSchema::new, primitiveSchema)
+                .property("format", DateTimeSchema.Format.class, DateTimeSchema::getFormat, DateTimeSchema::setFormat);
+        register(DurationSchema.class, DurationSchema::new, primitiveSchema);
+        register(NumberSchema.class, NumberSchema::new, primitiveSchema)
+                .property("exclusiveMaximum", boolean.class, NumberSchema::isExclusiveMaximum, NumberSchema::setExclusiveMaximum)
+                .property("exclusiveMinimum", boolean.class, NumberSchema::isExclusiveMinimum, NumberSchema::setExclusiveMinimum)
+                .property("maximum", double.class, NumberSchema::getMaximum, NumberSchema::setMaximum)
+                .property("minimum", double.class, NumberSchema::getMinimum, NumberSchema::setMinimum)
+                .property("multipleOf", double.class, NumberSchema::getMultipleOf, NumberSchema::setMultipleOf)
+                .property("precision", double.class, NumberSchema::getPrecision, NumberSchema::setPrecision);
+    }
+
+    private CodeModelBinders() {
+    }
+
+    /**
+     * @param type the code model class.
+     * @return the binder of the class, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> CodeModelBinder<T> get(Class<T> type) {
+        return (CodeModelBinder<T>) BINDERS.get(type);
+    }
+
+    /**
+     * @param className the binary name of the code model class, as in a YAML tag.
+     * @return the binder of the class, or null if there is none.
+     */
+    static CodeModelBinder<?> get(String className) {
+        return BINDERS_BY_NAME.get(className);
+    }
+
+    static Iterable<CodeModelBinder<?>> getAll() {
+        return BINDERS.values();
+    }
+
+    private static <T> CodeModelBinder<T> register(Class<T> type, Supplier<T> factory, CodeModelBinder<? super T> parent) {
+        CodeModelBinder<T> binder = new CodeModelBinder<>(type, factory, parent);
+        BINDERS.put(type, binder);
+        BINDERS_BY_NAME.put(type.getName(), binder);
+        return binder;
+    }
+}
@@ -1,6 +1,9 @@
 package com.azure.autorest.extension.base.model.codemodel;
 
 import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.introspector.BeanAccess;
+import org.yaml.snakeyaml.introspector.Property;
+import org.yaml.snakeyaml.introspector.PropertyUtils;
 import org.yaml.snakeyaml.nodes.MappingNode;
 import org.yaml.snakeyaml.nodes.Node;
 import org.yaml.snakeyaml.nodes.NodeId;
@@ -8,14 +11,47 @@ import org.yaml.snakeyaml.nodes.NodeTuple;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 import org.yaml.snakeyaml.nodes.SequenceNode;
 
+import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CodeModelCustomConstructor extends Constructor {
+    /**
+     * The x-ms extensions that are kept from the input, mapped to the property names in XmsExtensions.
+     */
+    static final Map<String, String> EXTENSION_NAMES = new HashMap<>();
+    static {
+        EXTENSION_NAMES.put("x-ms-pageable", "xmsPageable");
+        EXTENSION_NAMES.put("x-ms-skip-url-encoding", "xmsSkipUrlEncoding");
+        EXTENSION_NAMES.put("x-ms-client-flatten", "xmsClientFlatten");
+        EXTENSION_NAMES.put("x-ms-long-running-operation", "xmsLongRunningOperation");
+        EXTENSION_NAMES.put("x-ms-flattened", "xmsFlattened");
+        EXTENSION_NAMES.put("x-ms-azure-resource", "xmsAzureResource");
+        EXTENSION_NAMES.put("x-ms-mutability", "xmsMutability");
+        EXTENSION_NAMES.put("x-ms-header-collection-prefix", "xmsHeaderCollectionPrefix");
+    }
+
     public CodeModelCustomConstructor() {
         super();
         yamlClassConstructors.put(NodeId.scalar, new TypeEnumConstruct());
         yamlClassConstructors.put(NodeId.mapping, new TypeMapConstruct());
+
+        PropertyUtils propertyUtils = new BinderPropertyUtils();
+        propertyUtils.setSkipMissingProperties(true);
+        setPropertyUtils(propertyUtils);
+    }
+
+    @Override
+    protected Object newInstance(Class<?> ancestor, Node node, boolean tryDefault) throws InstantiationException {
+        CodeModelBinder<?> binder = CodeModelBinders.get(node.getType());
+        if (tryDefault && binder != null && ancestor.isAssignableFrom(node.getType())) {
+            return binder.newInstance();
+        }
+        return super.newInstance(ancestor, node, tryDefault);
     }
 
     class TypeEnumConstruct extends Constructor.ConstructScalar {
@@ -200,66 +236,11 @@ public class CodeModelCustomConstructor extends Constructor {
                         List<NodeTuple> actualValues = new ArrayList<>();
                         for (NodeTuple extension : value.getValue()) {
                             ScalarNode keyNode = (ScalarNode) extension.getKeyNode();
-                            if ("x-ms-pageable".equals(keyNode.getValue())) {
-                                actualValues.add(new NodeTuple(new ScalarNode(
-                                        keyNode.getTag(),
-                                        "xmsPageable",
-                                        keyNode.getStartMark(),
-                                        keyNode.getEndMark(),
-                                        keyNode.getScalarStyle()),
-                                        extension.getValueNode()));
-                            } else if ("x-ms-skip-url-encoding".equals(keyNode.getValue())) {
-                                actualValues.add(new NodeTuple(new ScalarNode(
-                                        keyNode.getTag(),
-                                        "xmsSkipUrlEncoding",
-                                        keyNode.getStartMark(),
-                                        keyNode.getEndMark(),
-                                        keyNode.getScalarStyle()),
-                                        extension.getValueNode()));
-                            } else if ("x-ms-client-flatten".equals(keyNode.getValue())) {
-                                actualValues.add(new NodeTuple(new ScalarNode(
-                                        keyNode.getTag(),
-                                        "xmsClientFlatten",
-                                        keyNode.getStartMark(),
-                                        keyNode.getEndMark(),
-                                        keyNode.getScalarStyle()),
-                                        extension.getValueNode()));
-                            } else if ("x-ms-long-running-operation".equals(keyNode.getValue())) {
-                                actualValues.add(new NodeTuple(new ScalarNode(
-                                        keyNode.getTag(),
-                                        "xmsLongRunningOperation",
-                                        keyNode.getStartMark(),
-                                        keyNode.getEndMark(),
-                                        keyNode.getScalarStyle()),
-                                        extension.getValueNode()));
-                            } else if ("x-ms-flattened".equals(keyNode.getValue())) {
-                                actualValues.add(new NodeTuple(new ScalarNode(
-                                        keyNode.getTag(),
-                                        "xmsFlattened",
-                                        keyNode.getStartMark(),
-                                        keyNode.getEndMark(),
-                                        keyNode.getScalarStyle()),
-                                        extension.getValueNode()));
-                            } else if ("x-ms-azure-resource".equals(keyNode.getValue())) {
-                                actualValues.add(new NodeTuple(new ScalarNode(
-                                        keyNode.getTag(),
-                                        "xmsAzureResource",
-                                        keyNode.getStartMark(),
-                                        keyNode.getEndMark(),
-                                        keyNode.getScalarStyle()),
-                                        extension.getValueNode()));
-                            } else if ("x-ms-mutability".equals(keyNode.getValue())) {
+                            String name = EXTENSION_NAMES.get(keyNode.getValue());
+                            if (name != null) {
                                 actualValues.add(new NodeTuple(new ScalarNode(
                                         keyNode.getTag(),
-                                        "xmsMutability",
-                                        keyNode.getStartMark(),
-                                        keyNode.getEndMark(),
-                                        keyNode.getScalarStyle()),
-                                        extension.getValueNode()));
-                            } else if ("x-ms-header-collection-prefix".equals(keyNode.getValue())) {
-                                actualValues.add(new NodeTuple(new ScalarNode(
-                                        keyNode.getTag(),
-                                        "xmsHeaderCollectionPrefix",
+                                        name,
                                         keyNode.getStartMark(),
                                         keyNode.getEndMark(),
                                         keyNode.getScalarStyle()),
@@ -275,44 +256,117 @@ public class CodeModelCustomConstructor extends Constructor {
         }
     }
 
+    /*
+     * Looks up the properties of the code model classes in CodeModelBinders, instead of introspecting the classes.
+     */
+    private static class BinderPropertyUtils extends PropertyUtils {
+        private final Map<Class<?>, Map<String, Property>> properties = new ConcurrentHashMap<>();
+
+        @Override
+        protected Map<String, Property> getPropertiesMap(Class<?> type, BeanAccess bAccess) {
+            CodeModelBinder<?> binder = CodeModelBinders.get(type);
+            if (binder == null) {
+                return super.getPropertiesMap(type, bAccess);
+            }
+            return properties.computeIfAbsent(type, t -> {
+                Map<String, Property> map = new HashMap<>();
+                for (CodeModelBinder.PropertyBinder property : binder.getProperties().values()) {
+                    map.put(property.getName(), new BinderProperty(property));
+                }
+                return map;
+            });
+        }
+    }
+
+    private static class BinderProperty extends Property {
+        private final CodeModelBinder.PropertyBinder property;
+        private final Class<?>[] typeArguments;
+
+        BinderProperty(CodeModelBinder.PropertyBinder property) {
+            super(property.getName(), property.getType());
+            this.property = property;
+            if (property.getElementType() == null) {
+                this.typeArguments = null;
+            } else if (property.getType() == Map.class) {
+                this.typeArguments = new Class<?>[] { String.class, property.getElementType() };
+            } else {
+                this.typeArguments = new Class<?>[] { property.getElementType() };
+            }
+        }
+
+        @Override
+        public Class<?>[] getActualTypeArguments() {
+            return typeArguments;
+        }
+
+        @Override
+        public void set(Object object, Object value) {
+            property.set(object, value);
+        }
+
+        @Override
+        public Object get(Object object) {
+            throw new UnsupportedOperationException("Property '" + getName() + "' is write-only");
+        }
+
+        @Override
+        public boolean isReadable() {
+            return false;
+        }
+
+        @Override
+        public List<Annotation> getAnnotations() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+            return null;
+        }
+    }
+
     private static Class<?> getSchemaTypeFromMappingNode(MappingNode value) {
         for (NodeTuple schemaProps : value.getValue()) {
             if (((ScalarNode) schemaProps.getKeyNode()).getValue().equals("type")) {
-                switch (((ScalarNode) schemaProps.getValueNode()).getValue()) {
-                    case "any": return AnySchema.class;
-                    case "and": return AndSchema.class;
-                    case "array": return ArraySchema.class;
-                    case "boolean": return BooleanSchema.class;
-                    case "binary": return BinarySchema.class;
-                    case "byte-array": return ByteArraySchema.class;
-                    case "char": return CharSchema.class;
-                    case "choice": return ChoiceSchema.class;
-                    case "constant": return ConstantSchema.class;
-                    case "credential": return CredentialSchema.class;
-                    case "date": return DateSchema.class;
-                    case "date-time": return DateTimeSchema.class;
-                    case "dictionary": return DictionarySchema.class;
-                    case "duration": return DurationSchema.class;
-                    case "flag": return FlagSchema.class;
-                    case "group": return ObjectSchema.class;
-                    case "integer": return NumberSchema.class;
-                    case "not": return NotSchema.class;
-                    case "number": return NumberSchema.class;
-                    case "object": return ObjectSchema.class;
-                    case "odata-query": return ODataQuerySchema.class;
-                    case "or": return OrSchema.class;
-                    case "parameter-group": return ParameterGroupSchema.class;
-                    case "sealed-choice": return SealedChoiceSchema.class;
-                    case "string": return StringSchema.class;
-                    case "time": return TimeSchema.class;
-                    case "unixtime": return UnixTimeSchema.class;
-                    case "uri": return UriSchema.class;
-                    case "uuid": return UuidSchema.class;
-                    case "xor": return XorSchema.class;
-                    default: return Schema.class;
-                }
+                return getSchemaType(((ScalarNode) schemaProps.getValueNode()).getValue());
             }
         }
         return Schema.class;
     }
+
+    static Class<?> getSchemaType(String type) {
+        switch (type) {
+            case "any": return AnySchema.class;
+            case "and": return AndSchema.class;
+            case "array": return ArraySchema.class;
+            case "boolean": return BooleanSchema.class;
+            case "binary": return BinarySchema.class;
+            case "byte-array": return ByteArraySchema.class;
+            case "char": return CharSchema.class;
+            case "choice": return ChoiceSchema.class;
+            case "constant": return ConstantSchema.class;
+            case "credential": return CredentialSchema.class;
+            case "date": return DateSchema.class;
+            case "date-time": return DateTimeSchema.class;
+            case "dictionary": return DictionarySchema.class;
+            case "duration": return DurationSchema.class;
+            case "flag": return FlagSchema.class;
+            case "group": return ObjectSchema.class;
+            case "integer": return NumberSchema.class;
+            case "not": return NotSchema.class;
+            case "number": return NumberSchema.class;
+            case "object": return ObjectSchema.class;
+            case "odata-query": return ODataQuerySchema.class;
+            case "or": return OrSchema.class;
+            case "parameter-group": return ParameterGroupSchema.class;
+            case "sealed-choice": return SealedChoiceSchema.class;
+            case "string": return StringSchema.class;
+            case "time": return TimeSchema.class;
+            case "unixtime": return UnixTimeSchema.class;
+            case "uri": return UriSchema.class;
+            case "uuid": return UuidSchema.class;
+            case "xor": return XorSchema.class;
+            default: return Schema.class;
+        }
+    }
 }
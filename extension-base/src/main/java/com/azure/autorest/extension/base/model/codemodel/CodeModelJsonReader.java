@@ -0,0 +1,295 @@
+package com.azure.autorest.extension.base.model.codemodel;
+
+import com.azure.autorest.extension.base.model.extensionmodel.XmsExtensions;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a {@link CodeModel} from JSON through the Jackson streaming parser.
+ * <p>
+ * The {@code "$id"}, {@code "$ref"}, {@code "$type"} and {@code "$values"} written by {@link CodeModelJsonWriter} are
+ * resolved, so shared objects and lists are read as the same instance. JSON without them, such as the modelerfour
+ * output, is also supported. The concrete schema class is then picked from the {@code type} discriminator, as in
+ * {@link CodeModelLoader}.
+ */
+public final class CodeModelJsonReader {
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    private JsonParser parser;
+    private final Map<String, Object> ids = new HashMap<>();
+
+    private CodeModelJsonReader(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Reads the code model from JSON text.
+     *
+     * @param json the JSON text.
+     * @return the code model.
+     */
+    public static CodeModel read(String json) {
+        return read(new StringReader(json));
+    }
+
+    /**
+     * Reads the code model from a JSON stream. The reader is not closed.
+     *
+     * @param reader the reader of the JSON stream.
+     * @return the code model.
+     */
+    public static CodeModel read(Reader reader) {
+        try (JsonParser parser = JSON_FACTORY.createParser(reader)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return (CodeModel) new CodeModelJsonReader(parser).readValue(CodeModel.class, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Reads the value at the current token as the given class. The element class is that of the list elements or map
+     * values, or null if they are untyped.
+     */
+    private Object readValue(Class<?> type, Class<?> elementType) throws IOException {
+        JsonToken token = parser.currentToken();
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return readString(type);
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return readNumber(type);
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                if (type == String.class) {
+                    return parser.getText();
+                } else if (type == Object.class || type == boolean.class || type == Boolean.class) {
+                    return token == JsonToken.VALUE_TRUE;
+                }
+                throw error("Cannot create " + type.getName() + " from a boolean");
+            case START_ARRAY:
+                return readArray(type, elementType, null);
+            case START_OBJECT:
+                return readObject(type, elementType);
+            default:
+                throw error("Unexpected token " + token);
+        }
+    }
+
+    private Object readString(Class<?> type) throws IOException {
+        String value = parser.getText();
+        if (type == String.class || type == Object.class) {
+            return value;
+        } else if (type.isEnum()) {
+            Object constant = CodeModelLoader.getEnumConstant(type, value);
+            if (constant == null) {
+                throw error(String.format("Unable to find enum value '%s' for enum class: %s",
+                        value, type.getName()));
+            }
+            return constant;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return Boolean.parseBoolean(value);
+        } else if (type == double.class || type == Double.class) {
+            return Double.parseDouble(value);
+        }
+        throw error(String.format("Cannot create %s from string '%s'", type.getName(), value));
+    }
+
+    private Object readNumber(Class<?> type) throws IOException {
+        if (type == double.class || type == Double.class) {
+            return parser.getDoubleValue();
+        } else if (type == float.class || type == Float.class) {
+            return parser.getFloatValue();
+        } else if (type == int.class || type == Integer.class) {
+            return parser.getIntValue();
+        } else if (type == long.class || type == Long.class) {
+            return parser.getLongValue();
+        } else if (type == String.class) {
+            return parser.getText();
+        } else if (type == Object.class) {
+            return parser.currentToken() == JsonToken.VALUE_NUMBER_INT
+                    ? parser.getNumberValue()
+                    : (Object) parser.getDoubleValue();
+        }
+        throw error(String.format("Cannot create %s from number %s", type.getName(), parser.getText()));
+    }
+
+    private Object readArray(Class<?> type, Class<?> elementType, String id) throws IOException {
+        Collection<Object> collection = Set.class.isAssignableFrom(type) ? new LinkedHashSet<>() : new ArrayList<>();
+        register(id, collection);
+        Class<?> itemType = elementType == null ? Object.class : elementType;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            collection.add(readValue(itemType, null));
+        }
+        return collection;
+    }
+
+    private Object readObject(Class<?> type, Class<?> elementType) throws IOException {
+        Class<?> clazz = type;
+        String id = null;
+        boolean typed = false;
+        JsonToken token = parser.nextToken();
+        while (token == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            if ("$ref".equals(name)) {
+                parser.nextToken();
+                String ref = parser.getText();
+                Object value = ids.get(ref);
+                if (value == null) {
+                    throw error("Found undefined reference " + ref);
+                }
+                if (parser.nextToken() != JsonToken.END_OBJECT) {
+                    throw error("Expected only \"$ref\" in a reference");
+                }
+                return value;
+            } else if ("$id".equals(name)) {
+                parser.nextToken();
+                id = parser.getText();
+            } else if ("$type".equals(name)) {
+                parser.nextToken();
+                CodeModelBinder<?> binder = CodeModelBinders.get(parser.getText());
+                if (binder == null) {
+                    throw error("Class not found: " + parser.getText());
+                }
+                if (clazz.isAssignableFrom(binder.getType())) {
+                    clazz = binder.getType();
+                }
+                typed = true;
+            } else if ("$values".equals(name)) {
+                parser.nextToken();
+                Object collection = readArray(type, elementType, id);
+                if (parser.nextToken() != JsonToken.END_OBJECT) {
+                    throw error("Expected only \"$id\" and \"$values\" in a list");
+                }
+                return collection;
+            } else {
+                break;
+            }
+            token = parser.nextToken();
+        }
+
+        if (clazz == Object.class || Map.class.isAssignableFrom(clazz)) {
+            return readMap(id, elementType);
+        } else if (!typed && (clazz == Schema.class || clazz == ComplexSchema.class)) {
+            return readSchema(clazz, id);
+        } else {
+            return readBean(clazz, id);
+        }
+    }
+
+    private Object readMap(String id, Class<?> elementType) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        register(id, map);
+        Class<?> valueType = elementType == null ? Object.class : elementType;
+        while (parser.currentToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            parser.nextToken();
+            map.put(key, readValue(valueType, null));
+            parser.nextToken();
+        }
+        return map;
+    }
+
+    /*
+     * Buffers the rest of the object to find the "type" discriminator, then reads the object from the buffer as the
+     * schema class for it.
+     */
+    private Object readSchema(Class<?> type, String id) throws IOException {
+        Class<?> clazz = type;
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.writeStartObject();
+        while (parser.currentToken() == JsonToken.FIELD_NAME) {
+            boolean discriminator = "type".equals(parser.getCurrentName());
+            buffer.copyCurrentStructure(parser);
+            if (discriminator && parser.currentToken() == JsonToken.VALUE_STRING) {
+                // the discriminator is the modelerfour value, or the enum name as written by CodeModelJsonWriter
+                Object schemaType = CodeModelLoader.getEnumConstant(Schema.AllSchemaTypes.class, parser.getText());
+                Class<?> schemaClass = CodeModelCustomConstructor.getSchemaType(schemaType == null
+                        ? parser.getText()
+                        : ((Schema.AllSchemaTypes) schemaType).value());
+                if (type.isAssignableFrom(schemaClass)) {
+                    clazz = schemaClass;
+                }
+            }
+            parser.nextToken();
+        }
+        buffer.writeEndObject();
+
+        JsonParser source = parser;
+        parser = buffer.asParser();
+        try {
+            parser.nextToken();
+            parser.nextToken();
+            return readBean(clazz, id);
+        } finally {
+            parser.close();
+            parser = source;
+        }
+    }
+
+    private Object readBean(Class<?> clazz, String id) throws IOException {
+        CodeModelBinder<?> binder = CodeModelBinders.get(clazz);
+        if (binder == null) {
+            throw error("Cannot create " + clazz.getName());
+        }
+        Object bean = binder.newInstance();
+        register(id, bean);
+
+        boolean extensions = bean instanceof XmsExtensions;
+        while (parser.currentToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            if (extensions && key.startsWith("x-ms-")) {
+                key = CodeModelCustomConstructor.EXTENSION_NAMES.get(key);
+            }
+            CodeModelBinder.PropertyBinder property = key == null ? null : binder.getProperty(key);
+            parser.nextToken();
+            if (property == null) {
+                parser.skipChildren();
+            } else {
+                Object value = readValue(property.getType(), property.getElementType());
+                if (value != null || !property.getType().isPrimitive()) {
+                    try {
+                        property.set(bean, value);
+                    } catch (RuntimeException e) {
+                        throw new JsonParseException(parser, String.format("Cannot set property '%s' on %s",
+                                key, clazz.getName()), e);
+                    }
+                }
+            }
+            parser.nextToken();
+        }
+        return bean;
+    }
+
+    private void register(String id, Object value) {
+        if (id != null) {
+            ids.put(id, value);
+        }
+    }
+
+    private JsonParseException error(String message) {
+        return new JsonParseException(parser, message);
+    }
+}
@@ -0,0 +1,202 @@
+package com.azure.autorest.extension.base.model.codemodel;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes a {@link CodeModel} as JSON through the Jackson streaming generator.
+ * <p>
+ * A code model object referenced more than once is written in full where it is first reached, with a {@code "$id"},
+ * and as {@code {"$ref": id}} everywhere else. A shared list is written as {@code {"$id": id, "$values": [...]}} the
+ * first time. An object of a subclass of the declared property type has a {@code "$type"} with its class name.
+ * Properties are written in name order and null properties are left out, the same as in the YAML dumped by
+ * SnakeYAML.
+ * <p>
+ * {@link CodeModelJsonReader} reads the output back.
+ */
+public final class CodeModelJsonWriter {
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    private static final Map<Class<?>, List<CodeModelBinder.PropertyBinder>> PROPERTIES = new ConcurrentHashMap<>();
+
+    private final JsonGenerator generator;
+    private final Map<Object, Integer> referenceCounts = new IdentityHashMap<>();
+    private final Map<Object, String> ids = new IdentityHashMap<>();
+
+    private CodeModelJsonWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Writes the code model as JSON text.
+     *
+     * @param codeModel the code model.
+     * @return the JSON text.
+     */
+    public static String write(CodeModel codeModel) {
+        StringWriter writer = new StringWriter();
+        write(codeModel, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Writes the code model as JSON to a stream. The writer is flushed, but not closed.
+     *
+     * @param codeModel the code model.
+     * @param writer the writer of the JSON stream.
+     */
+    public static void write(CodeModel codeModel, Writer writer) {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            CodeModelJsonWriter codeModelWriter = new CodeModelJsonWriter(generator);
+            codeModelWriter.countReferences(codeModel);
+            codeModelWriter.writeValue(codeModel, CodeModel.class, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Counts the references to each code model object and collection, so that only the ones referenced more than once
+     * get an id.
+     */
+    private void countReferences(Object value) {
+        if (value instanceof Collection) {
+            if (referenceCounts.merge(value, 1, Integer::sum) == 1) {
+                for (Object item : (Collection<?>) value) {
+                    countReferences(item);
+                }
+            }
+        } else if (value instanceof Map) {
+            if (referenceCounts.merge(value, 1, Integer::sum) == 1) {
+                for (Object item : ((Map<?, ?>) value).values()) {
+                    countReferences(item);
+                }
+            }
+        } else if (value != null) {
+            CodeModelBinder<?> binder = CodeModelBinders.get(value.getClass());
+            if (binder != null && referenceCounts.merge(value, 1, Integer::sum) == 1) {
+                for (CodeModelBinder.PropertyBinder property : getProperties(binder)) {
+                    countReferences(property.get(value));
+                }
+            }
+        }
+    }
+
+    private void writeValue(Object value, Class<?> type, Class<?> elementType) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber((BigInteger) value);
+        } else if (value instanceof Number) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof Enum) {
+            generator.writeString(((Enum<?>) value).name());
+        } else if (value instanceof Collection) {
+            boolean shared = referenceCounts.getOrDefault(value, 0) > 1;
+            if (shared) {
+                generator.writeStartObject();
+                if (writeReferenceOrId(value)) {
+                    return;
+                }
+                generator.writeFieldName("$values");
+            }
+            generator.writeStartArray();
+            for (Object item : (Collection<?>) value) {
+                writeValue(item, elementType == null ? Object.class : elementType, null);
+            }
+            generator.writeEndArray();
+            if (shared) {
+                generator.writeEndObject();
+            }
+        } else if (value instanceof Map) {
+            generator.writeStartObject();
+            if (writeReferenceOrId(value)) {
+                return;
+            }
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue(), elementType == null ? Object.class : elementType, null);
+            }
+            generator.writeEndObject();
+        } else {
+            CodeModelBinder<?> binder = CodeModelBinders.get(value.getClass());
+            if (binder == null) {
+                generator.writeString(String.valueOf(value));
+            } else {
+                writeBean(value, type, binder);
+            }
+        }
+    }
+
+    private void writeBean(Object bean, Class<?> type, CodeModelBinder<?> binder) throws IOException {
+        generator.writeStartObject();
+        if (writeReferenceOrId(bean)) {
+            return;
+        }
+        if (bean.getClass() != type) {
+            generator.writeStringField("$type", bean.getClass().getName());
+        }
+        for (CodeModelBinder.PropertyBinder property : getProperties(binder)) {
+            Object value = property.get(bean);
+            if (value != null) {
+                generator.writeFieldName(property.getName());
+                writeValue(value, property.getType(), property.getElementType());
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    /*
+     * Within an object just started, writes the reference to the value if it was already written, and ends the object.
+     * Otherwise writes the id of the value if it is referenced more than once.
+     */
+    private boolean writeReferenceOrId(Object value) throws IOException {
+        String id = ids.get(value);
+        if (id != null) {
+            generator.writeStringField("$ref", id);
+            generator.writeEndObject();
+            return true;
+        }
+        if (referenceCounts.getOrDefault(value, 0) > 1) {
+            id = Integer.toString(ids.size() + 1);
+            ids.put(value, id);
+            generator.writeStringField("$id", id);
+        }
+        return false;
+    }
+
+    private static List<CodeModelBinder.PropertyBinder> getProperties(CodeModelBinder<?> binder) {
+        return PROPERTIES.computeIfAbsent(binder.getType(), type -> {
+            List<CodeModelBinder.PropertyBinder> properties = new ArrayList<>();
+            for (CodeModelBinder.PropertyBinder property : binder.getProperties().values()) {
+                if (property.isReadable()) {
+                    properties.add(property);
+                }
+            }
+            properties.sort(Comparator.comparing(CodeModelBinder.PropertyBinder::getName));
+            return properties;
+        });
+    }
+}
@@ -0,0 +1,395 @@
+package com.azure.autorest.extension.base.model.codemodel;
+
+import com.azure.autorest.extension.base.model.extensionmodel.XmsExtensions;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads a {@link CodeModel} from YAML by pulling events from the SnakeYAML parser, without composing the node graph.
+ * <p>
+ * Objects are created as soon as their mapping starts and are registered under their anchor before any of their
+ * properties are read, so aliases (including cyclic ones such as {@code operationGroup.codeModel}) resolve to the
+ * same instance while the document is still being read.
+ * <p>
+ * Both the untagged modelerfour output and the tagged code model dumped by the Java plugins are supported. For the
+ * former, the concrete schema class is picked from the {@code type} discriminator, the same way
+ * {@link CodeModelCustomConstructor} does.
+ * <p>
+ * Beans are created and populated through {@link CodeModelBinders}, so the code model classes are not introspected.
+ */
+public final class CodeModelLoader {
+    private static final Map<Class<?>, Map<String, Object>> ENUM_CONSTANTS = new ConcurrentHashMap<>();
+
+    private final Parser parser;
+    private final Deque<Event> replay = new ArrayDeque<>();
+    private final Map<String, Object> anchors = new HashMap<>();
+    private final Map<String, List<Event>> skippedAnchors = new HashMap<>();
+    private final Resolver resolver = new Resolver();
+    private final ScalarConstructor scalarConstructor = new ScalarConstructor();
+
+    private CodeModelLoader(Reader reader) {
+        this.parser = new ParserImpl(new StreamReader(reader));
+    }
+
+    /**
+     * Loads the code model from YAML text.
+     *
+     * @param yaml the YAML text.
+     * @return the code model.
+     */
+    public static CodeModel load(String yaml) {
+        return load(new StringReader(yaml));
+    }
+
+    /**
+     * Loads the code model from a YAML stream.
+     *
+     * @param reader the reader of the YAML stream.
+     * @return the code model.
+     */
+    public static CodeModel load(Reader reader) {
+        return new CodeModelLoader(reader).loadDocument();
+    }
+
+    private CodeModel loadDocument() {
+        expect(Event.ID.StreamStart);
+        if (peek().is(Event.ID.StreamEnd)) {
+            return null;
+        }
+        expect(Event.ID.DocumentStart);
+        CodeModel codeModel = (CodeModel) readValue(CodeModel.class, null);
+        expect(Event.ID.DocumentEnd);
+        return codeModel;
+    }
+
+    /*
+     * Reads the next node as the given class. The element class is that of the list elements or map values, or null
+     * if they are untyped.
+     */
+    private Object readValue(Class<?> type, Class<?> elementType) {
+        Event event = next();
+        if (event instanceof AliasEvent) {
+            return readAlias(((AliasEvent) event).getAnchor(), type, elementType);
+        } else if (event instanceof ScalarEvent) {
+            ScalarEvent scalar = (ScalarEvent) event;
+            Object value = readScalar(scalar, type);
+            register(scalar.getAnchor(), value);
+            return value;
+        } else if (event instanceof SequenceStartEvent) {
+            return readSequence((SequenceStartEvent) event, type, elementType);
+        } else if (event instanceof MappingStartEvent) {
+            return readMapping((MappingStartEvent) event, type, elementType);
+        } else {
+            throw new YAMLException("Unexpected event " + event);
+        }
+    }
+
+    private Object readAlias(String anchor, Class<?> type, Class<?> elementType) {
+        if (anchors.containsKey(anchor)) {
+            return anchors.get(anchor);
+        }
+        List<Event> events = skippedAnchors.remove(anchor);
+        if (events == null) {
+            throw new YAMLException("Found undefined alias " + anchor);
+        }
+        // the anchored node was under an ignored key, construct it now with the type expected here
+        pushBack(events);
+        return readValue(type, elementType);
+    }
+
+    private Object readScalar(ScalarEvent event, Class<?> clazz) {
+        String value = event.getValue();
+        Tag tag = resolveTag(event);
+        if (Tag.NULL.equals(tag) && !clazz.isPrimitive()) {
+            return null;
+        }
+        if (clazz == String.class) {
+            return value;
+        } else if (clazz == Object.class) {
+            return scalarConstructor.construct(tag, event);
+        } else if (clazz == boolean.class || clazz == Boolean.class) {
+            return scalarConstructor.construct(Tag.BOOL, event);
+        } else if (clazz == double.class || clazz == Double.class) {
+            return ((Number) scalarConstructor.construct(Tag.FLOAT, event)).doubleValue();
+        } else if (clazz == float.class || clazz == Float.class) {
+            return ((Number) scalarConstructor.construct(Tag.FLOAT, event)).floatValue();
+        } else if (clazz == int.class || clazz == Integer.class) {
+            return ((Number) scalarConstructor.construct(Tag.INT, event)).intValue();
+        } else if (clazz == long.class || clazz == Long.class) {
+            return ((Number) scalarConstructor.construct(Tag.INT, event)).longValue();
+        } else if (clazz.isEnum()) {
+            return readEnum(clazz, value);
+        } else {
+            throw new YAMLException(String.format("Cannot create %s from scalar '%s' at %s",
+                    clazz.getName(), value, event.getStartMark()));
+        }
+    }
+
+    private Object readSequence(SequenceStartEvent event, Class<?> type, Class<?> elementType) {
+        Collection<Object> collection = Set.class.isAssignableFrom(type) ? new LinkedHashSet<>() : new ArrayList<>();
+        register(event.getAnchor(), collection);
+
+        Class<?> itemType = elementType == null ? Object.class : elementType;
+        while (!peek().is(Event.ID.SequenceEnd)) {
+            collection.add(readValue(itemType, null));
+        }
+        next();
+        return collection;
+    }
+
+    private Object readMapping(MappingStartEvent event, Class<?> type, Class<?> elementType) {
+        Class<?> clazz = type;
+        String tag = event.getTag();
+        if (tag != null && tag.startsWith(Tag.PREFIX) && !Tag.MAP.getValue().equals(tag)) {
+            Class<?> taggedClass = binderForTag(tag).getType();
+            if (clazz.isAssignableFrom(taggedClass)) {
+                clazz = taggedClass;
+            }
+        } else if (clazz == Schema.class || clazz == ComplexSchema.class) {
+            Class<?> schemaClass = peekSchemaType();
+            if (clazz.isAssignableFrom(schemaClass)) {
+                clazz = schemaClass;
+            }
+        }
+
+        if (clazz == Object.class || Map.class.isAssignableFrom(clazz)) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            register(event.getAnchor(), map);
+
+            // typed maps of the code model all have string keys
+            Class<?> keyType = elementType == null ? Object.class : String.class;
+            Class<?> valueType = elementType == null ? Object.class : elementType;
+            while (!peek().is(Event.ID.MappingEnd)) {
+                Object key = readValue(keyType, null);
+                map.put(key, readValue(valueType, null));
+            }
+            next();
+            return map;
+        }
+
+        CodeModelBinder<?> binder = CodeModelBinders.get(clazz);
+        if (binder == null) {
+            throw new YAMLException("Cannot create " + clazz.getName() + " at " + event.getStartMark());
+        }
+        Object bean = binder.newInstance();
+        register(event.getAnchor(), bean);
+
+        boolean extensions = bean instanceof XmsExtensions;
+        while (!peek().is(Event.ID.MappingEnd)) {
+            Event keyEvent = next();
+            if (!(keyEvent instanceof ScalarEvent)) {
+                throw new YAMLException("Expected a scalar key for " + clazz.getName() + " at " + keyEvent.getStartMark());
+            }
+            String key = ((ScalarEvent) keyEvent).getValue();
+            if (extensions && key.startsWith("x-ms-")) {
+                key = CodeModelCustomConstructor.EXTENSION_NAMES.get(key);
+            }
+            CodeModelBinder.PropertyBinder property = key == null ? null : binder.getProperty(key);
+            if (property == null) {
+                skipValue();
+            } else {
+                Object value = readValue(property.getType(), property.getElementType());
+                try {
+                    property.set(bean, value);
+                } catch (RuntimeException e) {
+                    throw new YAMLException(String.format("Cannot set property '%s' on %s at %s",
+                            key, clazz.getName(), keyEvent.getStartMark()), e);
+                }
+            }
+        }
+        next();
+        return bean;
+    }
+
+    /*
+     * Looks ahead in the mapping for the "type" key and returns the schema class for it. The events read while
+     * looking ahead are pushed back, so the mapping is then read as usual.
+     */
+    private Class<?> peekSchemaType() {
+        List<Event> buffer = new ArrayList<>();
+        Class<?> schemaClass = Schema.class;
+        while (true) {
+            Event keyEvent = next();
+            buffer.add(keyEvent);
+            if (keyEvent.is(Event.ID.MappingEnd)) {
+                break;
+            }
+            if (keyEvent instanceof ScalarEvent && "type".equals(((ScalarEvent) keyEvent).getValue())
+                    && peek() instanceof ScalarEvent) {
+                ScalarEvent valueEvent = (ScalarEvent) next();
+                buffer.add(valueEvent);
+                schemaClass = CodeModelCustomConstructor.getSchemaType(valueEvent.getValue());
+                break;
+            }
+            collectNode(buffer);
+        }
+        pushBack(buffer);
+        return schemaClass;
+    }
+
+    private void skipValue() {
+        skipNode(next(), new ArrayList<>());
+    }
+
+    /*
+     * Skips the node started by the event. Anchored nodes are kept, in case they are referenced from a known property
+     * later on.
+     */
+    private void skipNode(Event event, List<List<Event>> captures) {
+        if (event instanceof NodeEvent && !(event instanceof AliasEvent) && ((NodeEvent) event).getAnchor() != null) {
+            List<Event> events = new ArrayList<>();
+            skippedAnchors.put(((NodeEvent) event).getAnchor(), events);
+            captures = new ArrayList<>(captures);
+            captures.add(events);
+        }
+        for (List<Event> capture : captures) {
+            capture.add(event);
+        }
+        if (event instanceof CollectionStartEvent) {
+            while (!(peek() instanceof CollectionEndEvent)) {
+                skipNode(next(), captures);
+            }
+            Event end = next();
+            for (List<Event> capture : captures) {
+                capture.add(end);
+            }
+        }
+    }
+
+    private void collectNode(List<Event> buffer) {
+        Event event = next();
+        buffer.add(event);
+        if (event instanceof CollectionStartEvent) {
+            while (!(peek() instanceof CollectionEndEvent)) {
+                collectNode(buffer);
+            }
+            buffer.add(next());
+        }
+    }
+
+    private Object readEnum(Class<?> clazz, String value) {
+        Object constant = getEnumConstant(clazz, value);
+        if (constant == null) {
+            throw new YAMLException(String.format("Unable to find enum value '%s' for enum class: %s",
+                    value, clazz.getName()));
+        }
+        return constant;
+    }
+
+    /**
+     * Finds the enum constant by its name (as dumped by SnakeYAML) or by its serialized value (as in modelerfour
+     * output, where the enum class has a value() method for it).
+     *
+     * @param clazz the enum class.
+     * @param value the name or serialized value.
+     * @return the enum constant, or null if there is none.
+     */
+    static Object getEnumConstant(Class<?> clazz, String value) {
+        return ENUM_CONSTANTS.computeIfAbsent(clazz, CodeModelLoader::enumConstants).get(value);
+    }
+
+    private static Map<String, Object> enumConstants(Class<?> clazz) {
+        Map<String, Object> constants = new HashMap<>();
+        try {
+            Method valueMethod = clazz.getMethod("value");
+            for (Object constant : clazz.getEnumConstants()) {
+                constants.put(String.valueOf(valueMethod.invoke(constant)), constant);
+            }
+        } catch (NoSuchMethodException e) {
+            // enum without serialized values
+        } catch (ReflectiveOperationException e) {
+            throw new YAMLException("Cannot read values of enum class: " + clazz.getName(), e);
+        }
+        for (Object constant : clazz.getEnumConstants()) {
+            constants.put(((Enum<?>) constant).name(), constant);
+        }
+        return constants;
+    }
+
+    private Tag resolveTag(ScalarEvent event) {
+        String tag = event.getTag();
+        if (tag == null || "!".equals(tag)) {
+            return resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+        }
+        return new Tag(tag);
+    }
+
+    private void register(String anchor, Object value) {
+        if (anchor != null) {
+            anchors.put(anchor, value);
+        }
+    }
+
+    private Event next() {
+        return replay.isEmpty() ? parser.getEvent() : replay.pollFirst();
+    }
+
+    private Event peek() {
+        return replay.isEmpty() ? parser.peekEvent() : replay.peekFirst();
+    }
+
+    private void pushBack(List<Event> events) {
+        for (int i = events.size() - 1; i >= 0; --i) {
+            replay.addFirst(events.get(i));
+        }
+    }
+
+    private void expect(Event.ID id) {
+        Event event = next();
+        if (!event.is(id)) {
+            throw new YAMLException(String.format("Expected %s but got %s", id, event));
+        }
+    }
+
+    private static CodeModelBinder<?> binderForTag(String tag) {
+        String className = tag.substring(Tag.PREFIX.length());
+        CodeModelBinder<?> binder = CodeModelBinders.get(className);
+        if (binder == null) {
+            throw new YAMLException("Class not found: " + className);
+        }
+        return binder;
+    }
+
+    /*
+     * Reuses the SnakeYAML constructors of the standard scalar tags, so implicit values (ints, floats, booleans,
+     * timestamps) are converted exactly as they are by Yaml.loadAs.
+     */
+    private static final class ScalarConstructor extends SafeConstructor {
+        private Object construct(Tag tag, ScalarEvent event) {
+            ScalarNode node = new ScalarNode(tag, event.getValue(), event.getStartMark(), event.getEndMark(),
+                    event.getScalarStyle());
+            org.yaml.snakeyaml.constructor.Construct construct = yamlConstructors.get(tag);
+            return construct == null ? event.getValue() : construct.construct(node);
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package com.azure.autorest.extension.base.model.codemodel;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A compact binary snapshot of a {@link CodeModel} graph, to skip parsing when the same code model is read again.
+ * <p>
+ * The snapshot starts with a format version and a fingerprint of the code model classes, and a snapshot written for
+ * other classes is rejected. Every value is tagged. Each code model object and collection is written once and then
+ * referenced by index, so shared objects and cycles are kept. Class descriptors (class name and property names) and
+ * strings are also written once and then referenced by index. Properties are written positionally, in the order of
+ * their class descriptor.
+ * <p>
+ * A snapshot file is read through a memory mapped buffer.
+ */
+public final class CodeModelSnapshot {
+    private static final int MAGIC = 0x41434d53; // "ACMS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FINGERPRINT = computeFingerprint();
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte STRING = 7;
+    private static final byte STRING_REF = 8;
+    private static final byte ENUM = 9;
+    private static final byte LIST = 10;
+    private static final byte SET = 11;
+    private static final byte MAP = 12;
+    private static final byte BEAN = 13;
+    private static final byte REF = 14;
+    private static final byte DATE = 15;
+    private static final byte BIG_INTEGER = 16;
+    private static final byte BIG_DECIMAL = 17;
+
+    private CodeModelSnapshot() {
+    }
+
+    /**
+     * Writes the snapshot of the code model.
+     *
+     * @param codeModel the code model.
+     * @param outputStream the stream to write the snapshot to. It is flushed, but not closed.
+     * @throws IOException if the snapshot cannot be written, or the code model has a value that cannot be snapshot.
+     */
+    public static void write(CodeModel codeModel, OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(FINGERPRINT);
+        new SnapshotWriter(output).writeValue(codeModel);
+        output.flush();
+    }
+
+    /**
+     * Writes the snapshot of the code model to a file. The snapshot is written to a temporary file first and then
+     * moved, so that a concurrent reader never sees a partial snapshot.
+     *
+     * @param codeModel the code model.
+     * @param file the snapshot file.
+     * @throws IOException if the snapshot cannot be written, or the code model has a value that cannot be snapshot.
+     */
+    public static void write(CodeModel codeModel, Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+                write(codeModel, outputStream);
+            }
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Reads the code model from a snapshot.
+     *
+     * @param buffer the buffer of the snapshot.
+     * @return the code model, or null if the snapshot was written in another format or for other code model classes.
+     * @throws IOException if the snapshot is malformed.
+     */
+    public static CodeModel read(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC
+                || buffer.getInt() != FORMAT_VERSION || buffer.getInt() != FINGERPRINT) {
+            return null;
+        }
+        try {
+            Object value = new SnapshotReader(buffer).readValue();
+            if (!(value instanceof CodeModel)) {
+                throw new IOException("Snapshot does not contain a code model");
+            }
+            return (CodeModel) value;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | ClassCastException e) {
+            throw new IOException("Malformed code model snapshot", e);
+        }
+    }
+
+    /**
+     * Reads the code model from a snapshot file.
+     *
+     * @param file the snapshot file.
+     * @return the code model, or null if the snapshot was written in another format or for other code model classes.
+     * @throws IOException if the snapshot file cannot be read, or is malformed.
+     */
+    public static CodeModel read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /*
+     * Hash of the class names, property names and property types in the binder table.
+     */
+    private static int computeFingerprint() {
+        Map<String, String> descriptors = new TreeMap<>();
+        for (CodeModelBinder<?> binder : CodeModelBinders.getAll()) {
+            StringBuilder descriptor = new StringBuilder();
+            new TreeMap<>(binder.getProperties()).forEach((name, property) -> descriptor.append(name)
+                    .append(':').append(property.getType().getName())
+                    .append('<').append(property.getElementType() == null ? "" : property.getElementType().getName())
+                    .append(">;"));
+            descriptors.put(binder.getType().getName(), descriptor.toString());
+        }
+        return descriptors.toString().hashCode();
+    }
+
+    private static final class SnapshotWriter {
+        private final DataOutputStream output;
+        private final Map<Object, Integer> objects = new IdentityHashMap<>();
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<Class<?>, ClassDescriptor> classes = new HashMap<>();
+
+        private SnapshotWriter(DataOutputStream output) {
+            this.output = output;
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                output.writeByte(NULL);
+            } else if (value instanceof String) {
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                output.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof Integer) {
+                output.writeByte(INT);
+                writeVarLong((Integer) value);
+            } else if (value instanceof Long) {
+                output.writeByte(LONG);
+                writeVarLong((Long) value);
+            } else if (value instanceof Double) {
+                output.writeByte(DOUBLE);
+                output.writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                output.writeByte(FLOAT);
+                output.writeFloat((Float) value);
+            } else if (value instanceof Enum) {
+                output.writeByte(ENUM);
+                writeClass(((Enum<?>) value).getDeclaringClass());
+                writeVarInt(((Enum<?>) value).ordinal());
+            } else if (value instanceof Date) {
+                output.writeByte(DATE);
+                output.writeLong(((Date) value).getTime());
+            } else if (value instanceof BigInteger) {
+                output.writeByte(BIG_INTEGER);
+                writeString(value.toString());
+            } else if (value instanceof BigDecimal) {
+                output.writeByte(BIG_DECIMAL);
+                writeString(value.toString());
+            } else if (writeReference(value)) {
+                return;
+            } else if (value instanceof Collection) {
+                Collection<?> collection = (Collection<?>) value;
+                output.writeByte(value instanceof Set ? SET : LIST);
+                writeVarInt(collection.size());
+                for (Object item : collection) {
+                    writeValue(item);
+                }
+            } else if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                output.writeByte(MAP);
+                writeVarInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else {
+                ClassDescriptor descriptor = writeClassOf(value);
+                for (CodeModelBinder.PropertyBinder property : descriptor.properties) {
+                    writeValue(property.get(value));
+                }
+            }
+        }
+
+        /*
+         * Writes the reference to a code model object or collection written before. Otherwise, the object is given the
+         * next index and false is returned.
+         */
+        private boolean writeReference(Object value) throws IOException {
+            Integer index = objects.get(value);
+            if (index != null) {
+                output.writeByte(REF);
+                writeVarInt(index);
+                return true;
+            }
+            objects.put(value, objects.size());
+            return false;
+        }
+
+        private ClassDescriptor writeClassOf(Object bean) throws IOException {
+            CodeModelBinder<?> binder = CodeModelBinders.get(bean.getClass());
+            if (binder == null) {
+                throw new IOException("Cannot snapshot value of " + bean.getClass().getName());
+            }
+            output.writeByte(BEAN);
+            return writeClass(bean.getClass());
+        }
+
+        /*
+         * Writes the index of the class, followed by its descriptor the first time.
+         */
+        private ClassDescriptor writeClass(Class<?> clazz) throws IOException {
+            ClassDescriptor descriptor = classes.get(clazz);
+            if (descriptor != null) {
+                writeVarInt(descriptor.index);
+                return descriptor;
+            }
+            descriptor = new ClassDescriptor(classes.size(), clazz);
+            classes.put(clazz, descriptor);
+            writeVarInt(descriptor.index);
+            writeString(clazz.getName());
+            writeVarInt(descriptor.properties.size());
+            for (CodeModelBinder.PropertyBinder property : descriptor.properties) {
+                writeString(property.getName());
+            }
+            return descriptor;
+        }
+
+        private void writeString(String value) throws IOException {
+            Integer index = strings.get(value);
+            if (index != null) {
+                output.writeByte(STRING_REF);
+                writeVarInt(index);
+            } else {
+                strings.put(value, strings.size());
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                output.writeByte(STRING);
+                writeVarInt(bytes.length);
+                output.write(bytes);
+            }
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                output.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            output.writeByte(value);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                output.writeByte((int) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            output.writeByte((int) zigzag);
+        }
+    }
+
+    private static final class SnapshotReader {
+        private final ByteBuffer buffer;
+        private final List<Object> objects = new ArrayList<>();
+        private final List<String> strings = new ArrayList<>();
+        private final List<ClassDescriptor> classes = new ArrayList<>();
+
+        private SnapshotReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private Object readValue() throws IOException {
+            byte tag = buffer.get();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case INT:
+                    return (int) readVarLong();
+                case LONG:
+                    return readVarLong();
+                case DOUBLE:
+                    return buffer.getDouble();
+                case FLOAT:
+                    return buffer.getFloat();
+                case STRING:
+                case STRING_REF:
+                    return readString(tag);
+                case ENUM:
+                    return readClass().clazz.getEnumConstants()[readVarInt()];
+                case DATE:
+                    return new Date(buffer.getLong());
+                case BIG_INTEGER:
+                    return new BigInteger(readString(buffer.get()));
+                case BIG_DECIMAL:
+                    return new BigDecimal(readString(buffer.get()));
+                case REF:
+                    return objects.get(readVarInt());
+                case LIST:
+                case SET: {
+                    int size = readVarInt();
+                    Collection<Object> collection = tag == SET ? new LinkedHashSet<>() : new ArrayList<>(size);
+                    objects.add(collection);
+                    for (int i = 0; i < size; ++i) {
+                        collection.add(readValue());
+                    }
+                    return collection;
+                }
+                case MAP: {
+                    int size = readVarInt();
+                    Map<Object, Object> map = new LinkedHashMap<>();
+                    objects.add(map);
+                    for (int i = 0; i < size; ++i) {
+                        Object key = readValue();
+                        map.put(key, readValue());
+                    }
+                    return map;
+                }
+                case BEAN:
+                    return readBean();
+                default:
+                    throw new IOException("Unknown tag " + tag + " in code model snapshot");
+            }
+        }
+
+        private Object readBean() throws IOException {
+            ClassDescriptor descriptor = readClass();
+            Object bean = descriptor.binder.newInstance();
+            objects.add(bean);
+            for (CodeModelBinder.PropertyBinder property : descriptor.properties) {
+                Object value = readValue();
+                if (value != null) {
+                    property.set(bean, value);
+                }
+            }
+            return bean;
+        }
+
+        private ClassDescriptor readClass() throws IOException {
+            int index = readVarInt();
+            if (index < classes.size()) {
+                return classes.get(index);
+            }
+            String className = readString(buffer.get());
+            CodeModelBinder<?> binder = CodeModelBinders.get(className);
+            Class<?> clazz;
+            if (binder != null) {
+                clazz = binder.getType();
+            } else {
+                try {
+                    clazz = Class.forName(className, false, CodeModelSnapshot.class.getClassLoader());
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Class not found: " + className, e);
+                }
+            }
+            int propertyCount = readVarInt();
+            List<CodeModelBinder.PropertyBinder> properties = new ArrayList<>(propertyCount);
+            for (int i = 0; i < propertyCount; ++i) {
+                String name = readString(buffer.get());
+                CodeModelBinder.PropertyBinder property = binder == null ? null : binder.getProperty(name);
+                if (property == null) {
+                    throw new IOException("Unknown property " + name + " of " + className);
+                }
+                properties.add(property);
+            }
+            ClassDescriptor descriptor = new ClassDescriptor(index, clazz, binder, properties);
+            classes.add(descriptor);
+            return descriptor;
+        }
+
+        private String readString(byte tag) throws IOException {
+            if (tag == STRING_REF) {
+                return strings.get(readVarInt());
+            } else if (tag != STRING) {
+                throw new IOException("Expected a string in code model snapshot");
+            }
+            int length = readVarInt();
+            String value;
+            if (buffer.hasArray()) {
+                value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                        StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            strings.add(value);
+            return value;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private long readVarLong() {
+            long zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+    }
+
+    private static final class ClassDescriptor {
+        private final int index;
+        private final Class<?> clazz;
+        private final CodeModelBinder<?> binder;
+        private final List<CodeModelBinder.PropertyBinder> properties;
+
+        // descriptor of the writer, from the binder table
+        private ClassDescriptor(int index, Class<?> clazz) {
+            this.index = index;
+            this.clazz = clazz;
+            this.binder = clazz.isEnum() ? null : CodeModelBinders.get(clazz);
+            this.properties = new ArrayList<>();
+            if (binder != null) {
+                new TreeMap<>(binder.getProperties()).values().stream()
+                        .filter(CodeModelBinder.PropertyBinder::isReadable)
+                        .forEach(properties::add);
+            }
+        }
+
+        // descriptor of the reader, from the snapshot
+        private ClassDescriptor(int index, Class<?> clazz, CodeModelBinder<?> binder,
+                                List<CodeModelBinder.PropertyBinder> properties) {
+            this.index = index;
+            this.clazz = clazz;
+            this.binder = binder;
+            this.properties = properties;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.plugin;
+
+import com.azure.autorest.extension.base.util.PrivateFiles;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * Authenticates the connections between the resident process and the processes that relay to it.
+ * <p>
+ * Both sides share a random token, in a file only readable by the user. On connect, each side proves to the other that
+ * it knows the token, by the HMAC of a nonce of the other side. The token itself is never sent. A local process of
+ * another user, which can connect to the port, or listen on it after the resident process exits, cannot pass as
+ * either side.
+ */
+final class DaemonAuthentication {
+
+    /**
+     * The token file, under the home of the user.
+     */
+    static final Path TOKEN_FILE = Paths.get(System.getProperty("user.home"), ".autorest-java", "daemon.token");
+
+    private static final int TOKEN_SIZE = 32;
+    private static final int NONCE_SIZE = 32;
+    private static final int MAX_LINE_LENGTH = 256;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final byte[] token;
+
+    private DaemonAuthentication(byte[] token) {
+        this.token = token;
+    }
+
+    /**
+     * Loads the token of the resident process, or creates it if there is none.
+     *
+     * @param tokenFile the token file.
+     * @return the authentication.
+     * @throws IOException if the token file cannot be created, or is not private to the user.
+     */
+    static DaemonAuthentication loadOrCreate(Path tokenFile) throws IOException {
+        PrivateFiles.createDirectories(tokenFile.toAbsolutePath().getParent());
+        if (!Files.exists(tokenFile)) {
+            try {
+                PrivateFiles.createFile(tokenFile, toHex(randomBytes(TOKEN_SIZE)).getBytes(StandardCharsets.US_ASCII));
+            } catch (FileAlreadyExistsException e) {
+                // created by another resident process
+            }
+        }
+        return load(tokenFile);
+    }
+
+    /**
+     * Loads the token of the resident process.
+     *
+     * @param tokenFile the token file.
+     * @return the authentication, or null if there is no token file.
+     * @throws IOException if the token file cannot be read, or is not private to the user.
+     */
+    static DaemonAuthentication load(Path tokenFile) throws IOException {
+        if (!Files.exists(tokenFile)) {
+            return null;
+        }
+        PrivateFiles.checkPrivate(tokenFile);
+        String token = new String(Files.readAllBytes(tokenFile), StandardCharsets.US_ASCII).trim();
+        if (token.length() != TOKEN_SIZE * 2) {
+            throw new IOException("Invalid token in " + tokenFile);
+        }
+        return new DaemonAuthentication(token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Authenticates the relaying process, on the side of the resident process.
+     *
+     * @param input the input of the connection.
+     * @param output the output of the connection.
+     * @throws IOException if the relaying process does not know the token, or the connection fails.
+     */
+    void authenticateClient(InputStream input, OutputStream output) throws IOException {
+        String clientNonce = readLine(input);
+        String serverNonce = toHex(randomBytes(NONCE_SIZE));
+        writeLine(output, serverNonce + " " + hmac("server:" + clientNonce));
+        if (!matches(hmac("client:" + serverNonce), readLine(input))) {
+            throw new IOException("Connection not authenticated");
+        }
+    }
+
+    /**
+     * Authenticates the resident process, on the side of the relaying process.
+     *
+     * @param input the input of the connection.
+     * @param output the output of the connection.
+     * @throws IOException if the resident process does not know the token, or the connection fails.
+     */
+    void authenticateServer(InputStream input, OutputStream output) throws IOException {
+        String clientNonce = toHex(randomBytes(NONCE_SIZE));
+        writeLine(output, clientNonce);
+        String[] response = readLine(input).split(" ", 2);
+        if (response.length != 2 || !matches(hmac("server:" + clientNonce), response[1])) {
+            throw new IOException("Resident process not authenticated");
+        }
+        writeLine(output, hmac("client:" + response[0]));
+    }
+
+    private String hmac(String message) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(token, HMAC_ALGORITHM));
+            return toHex(mac.doFinal(message.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean matches(String expected, String actual) {
+        // constant time, not to leak the expected HMAC
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+                actual.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /*
+     * Reads byte by byte, not to consume the JSON-RPC messages after the line.
+     */
+    private static String readLine(InputStream input) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = input.read()) != '\n') {
+            if (b == -1) {
+                throw new EOFException("Connection closed during authentication");
+            }
+            if (line.size() >= MAX_LINE_LENGTH) {
+                throw new IOException("Line too long during authentication");
+            }
+            line.write(b);
+        }
+        return new String(line.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static void writeLine(OutputStream output, String line) throws IOException {
+        output.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+        output.flush();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+}
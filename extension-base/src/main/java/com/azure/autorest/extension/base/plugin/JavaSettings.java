@@ -18,115 +18,129 @@ public class JavaSettings
 {
     private static String version = "4.0.0";
 
-    private static JavaSettings _instance;
-
-    private static NewPlugin host;
-
-    private static String _header;
-    static void setHeader(String value) {
+    private static String getHeader(String value) {
         if ("MICROSOFT_MIT".equals(value))
         {
-            _header = MicrosoftMitLicenseHeader + "\n" + String.format(DefaultCodeGenerationHeader, version);
+            return MicrosoftMitLicenseHeader + "\n" + String.format(DefaultCodeGenerationHeader, version);
         }
         else if ("MICROSOFT_APACHE".equals(value))
         {
-            _header = MicrosoftApacheLicenseHeader + "\n" + String.format(DefaultCodeGenerationHeader, version);
+            return MicrosoftApacheLicenseHeader + "\n" + String.format(DefaultCodeGenerationHeader, version);
         }
         else if ("MICROSOFT_MIT_NO_VERSION".equals(value))
         {
-            _header = MicrosoftMitLicenseHeader + "\n" + DefaultCodeGenerationHeaderWithoutVersion;
+            return MicrosoftMitLicenseHeader + "\n" + DefaultCodeGenerationHeaderWithoutVersion;
         }
         else if ("MICROSOFT_APACHE_NO_VERSION".equals(value))
         {
-            _header = MicrosoftApacheLicenseHeader + "\n" + DefaultCodeGenerationHeaderWithoutVersion;
+            return MicrosoftApacheLicenseHeader + "\n" + DefaultCodeGenerationHeaderWithoutVersion;
         }
         else if ("MICROSOFT_MIT_NO_CODEGEN".equals(value))
         {
-            _header = MicrosoftMitLicenseHeader + "\n" + "Code generated by Microsoft (R) AutoRest Code Generator.";
+            return MicrosoftMitLicenseHeader + "\n" + "Code generated by Microsoft (R) AutoRest Code Generator.";
         }
         else if ("NONE".equals(value))
         {
-            _header = "";
+            return "";
         } else if ("MICROSOFT_MIT_SMALL".equals(value)) {
-            _header = MicrosoftMitSmallLicenseHeader + "Code generated by Microsoft (R) AutoRest Code Generator.";
+            return MicrosoftMitSmallLicenseHeader + "Code generated by Microsoft (R) AutoRest Code Generator.";
         } else if ("MICROSOFT_MIT_SMALL_NO_CODEGEN".equals(value)) {
-            _header = MicrosoftMitSmallLicenseHeader;
+            return MicrosoftMitSmallLicenseHeader;
         }
         else
         {
-            _header = value;
+            return value;
         }
     }
 
     static void setHost(NewPlugin host) {
-        JavaSettings.host = host;
+        SessionContext.current().setPlugin(host);
     }
 
+    /**
+     * @return the settings of the current session.
+     */
     public static JavaSettings getInstance()
     {
-        if (_instance == null)
-        {
-            boolean regeneratePomDefault = false;
-            String syncMethodsDefault = "essential";
-            boolean addContextParameterDefault = false;
-            boolean contextClientMethodParameterDefault = false;
-            boolean clientSideValidationsDefault = false;
-            boolean clientLoggerDefault = false;
-            boolean generateClientInterfacesDefault = false;
-            boolean requiredParameterClientMethodsDefault = false;
-            boolean modelOverrideSetterFromSuperclassDefault = false;
-
-            String fluentSetting = host.getStringValue("fluent");
-            if (fluentSetting != null) {
-                regeneratePomDefault = true;
-                syncMethodsDefault = "all";
-                addContextParameterDefault = true;
-                contextClientMethodParameterDefault = true;
-                clientSideValidationsDefault = true;
-                clientLoggerDefault = true;
-                generateClientInterfacesDefault = true;
-                requiredParameterClientMethodsDefault = true;
-                modelOverrideSetterFromSuperclassDefault = true;
-            }
+        SessionContext session = SessionContext.current();
+        return session.get(JavaSettings.class, () -> createInstance(session.getPlugin()));
+    }
 
-            setHeader(host.getStringValue("license-header"));
-            _instance = new JavaSettings(
-                    host.getBooleanValue("azure-arm", false),
-                    fluentSetting,
-                    host.getBooleanValue("regenerate-pom", regeneratePomDefault),
-                    _header,
-                    80,
-                    host.getStringValue("service-name"),
-                    host.getStringValue("namespace", "").toLowerCase(),
-                    host.getBooleanValue("enable-xml", false),
-                    host.getBooleanValue("non-null-annotations", false),
-                    host.getBooleanValue("client-side-validations", clientSideValidationsDefault),
-                    host.getStringValue("client-type-prefix"),
-                    host.getBooleanValue("generate-client-interfaces", generateClientInterfacesDefault),
-                    host.getBooleanValue("generate-client-as-impl", false),
-                    host.getStringValue("implementation-subpackage", "implementation"),
-                    host.getStringValue("models-subpackage", "models"),
-                    host.getStringValue("custom-types", ""),
-                    host.getStringValue("custom-types-subpackage", ""),
-                    host.getStringValue("fluent-subpackage", "fluent"),
-                    host.getBooleanValue("required-parameter-client-methods", requiredParameterClientMethodsDefault),
-                    host.getBooleanValue("add-context-parameter", addContextParameterDefault),
-                    host.getBooleanValue("context-client-method-parameter", contextClientMethodParameterDefault),
-                    host.getBooleanValue("generate-sync-async-clients", false),
-                    host.getStringValue("sync-methods", syncMethodsDefault),
-                    host.getBooleanValue("client-logger", clientLoggerDefault),
-                    host.getBooleanValue("required-fields-as-ctor-args", false),
-                    host.getBooleanValue("service-interface-as-public", false),
-                    host.getStringValue("artifact-id", ""),
-                    host.getStringValue("credential-types", "none"),
-                    host.getStringValue("credential-scopes"),
-                    host.getStringValue("customization-jar-path"),
-                    host.getStringValue("customization-class"),
-                    host.getBooleanValue("model-override-setter-from-superclass",
-                            modelOverrideSetterFromSuperclassDefault),
-                    host.getBooleanValue("optional-constant-as-enum", false));
+    private static JavaSettings createInstance(NewPlugin host)
+    {
+        boolean regeneratePomDefault = false;
+        String syncMethodsDefault = "essential";
+        boolean addContextParameterDefault = false;
+        boolean contextClientMethodParameterDefault = false;
+        boolean clientSideValidationsDefault = false;
+        boolean clientLoggerDefault = false;
+        boolean generateClientInterfacesDefault = false;
+        boolean requiredParameterClientMethodsDefault = false;
+        boolean modelOverrideSetterFromSuperclassDefault = false;
+
+        String fluentSetting = host.getStringValue("fluent");
+        if (fluentSetting != null) {
+            regeneratePomDefault = true;
+            syncMethodsDefault = "all";
+            addContextParameterDefault = true;
+            contextClientMethodParameterDefault = true;
+            clientSideValidationsDefault = true;
+            clientLoggerDefault = true;
+            generateClientInterfacesDefault = true;
+            requiredParameterClientMethodsDefault = true;
+            modelOverrideSetterFromSuperclassDefault = true;
         }
-        return _instance;
+
+        return new JavaSettings(
+                host.getBooleanValue("azure-arm", false),
+                fluentSetting,
+                host.getBooleanValue("regenerate-pom", regeneratePomDefault),
+                getHeader(host.getStringValue("license-header")),
+                80,
+                host.getStringValue("service-name"),
+                host.getStringValue("namespace", "").toLowerCase(),
+                host.getBooleanValue("enable-xml", false),
+                host.getBooleanValue("non-null-annotations", false),
+                host.getBooleanValue("client-side-validations", clientSideValidationsDefault),
+                host.getStringValue("client-type-prefix"),
+                host.getBooleanValue("generate-client-interfaces", generateClientInterfacesDefault),
+                host.getBooleanValue("generate-client-as-impl", false),
+                host.getStringValue("implementation-subpackage", "implementation"),
+                host.getStringValue("models-subpackage", "models"),
+                host.getStringValue("custom-types", ""),
+                host.getStringValue("custom-types-subpackage", ""),
+                host.getStringValue("fluent-subpackage", "fluent"),
+                host.getBooleanValue("required-parameter-client-methods", requiredParameterClientMethodsDefault),
+                host.getBooleanValue("add-context-parameter", addContextParameterDefault),
+                host.getBooleanValue("context-client-method-parameter", contextClientMethodParameterDefault),
+                host.getBooleanValue("generate-sync-async-clients", false),
+                host.getStringValue("sync-methods", syncMethodsDefault),
+                host.getBooleanValue("client-logger", clientLoggerDefault),
+                host.getBooleanValue("required-fields-as-ctor-args", false),
+                host.getBooleanValue("service-interface-as-public", false),
+                host.getStringValue("artifact-id", ""),
+                host.getStringValue("credential-types", "none"),
+                host.getStringValue("credential-scopes"),
+                host.getStringValue("customization-jar-path"),
+                host.getStringValue("customization-class"),
+                host.getBooleanValue("model-override-setter-from-superclass",
+                        modelOverrideSetterFromSuperclassDefault),
+                host.getBooleanValue("optional-constant-as-enum", false),
+                host.getStringValue("code-model-format", "yaml"),
+                host.getStringValue("code-model-cache"),
+                host.getStringValue("generator-parallelism"),
+                host.getBooleanValue("parallel-mapping", false),
+                host.getBooleanValue("incremental-generation", false),
+                host.getStringValue("output-folder"),
+                host.getBooleanValue("clear-output-folder", false),
+                host.getBooleanValue("generator-metrics", false),
+                host.getBooleanValue("direct-emission", false),
+                host.getBooleanValue("exact-imports", false),
+                host.getBooleanValue("sync-stack", false),
+                host.getBooleanValue("sync-stack-paging", false),
+                host.getBooleanValue("output-stream-downloads", false),
+                host.getBooleanValue("binary-upload-overloads", false),
+                host.getBooleanValue("stream-style-serialization", false));
     }
 
     /**
@@ -179,7 +193,22 @@ public class JavaSettings
                          String customizationJarPath,
                          String customizationClass,
                          boolean overrideSetterFromSuperclass,
-                         boolean optionalConstantAsEnum)
+                         boolean optionalConstantAsEnum,
+                         String codeModelFormat,
+                         String codeModelCacheDirectory,
+                         String generatorParallelism,
+                         boolean parallelMapping,
+                         boolean incrementalGeneration,
+                         String outputFolder,
+                         boolean clearOutputFolder,
+                         boolean generatorMetrics,
+                         boolean directEmission,
+                         boolean exactImports,
+                         boolean syncStack,
+                         boolean syncStackPaging,
+                         boolean outputStreamDownloads,
+                         boolean binaryUploadOverloads,
+                         boolean streamStyleSerialization)
     {
         this.azure = azure;
         this.fluent = fluent == null ? Fluent.NONE : (fluent.isEmpty() || fluent.equalsIgnoreCase("true") ? Fluent.PREMIUM : Fluent.valueOf(fluent.toUpperCase(Locale.ROOT)));
@@ -210,6 +239,24 @@ public class JavaSettings
         this.artifactId = artifactId;
         this.overrideSetterFromParent = overrideSetterFromSuperclass;
         this.optionalConstantAsEnum = optionalConstantAsEnum;
+        this.codeModelFormat = CodeModelFormat.fromValue(codeModelFormat);
+        this.codeModelCacheDirectory = (codeModelCacheDirectory == null || codeModelCacheDirectory.isEmpty())
+                ? null : codeModelCacheDirectory;
+        this.generatorParallelism = (generatorParallelism == null || generatorParallelism.isEmpty())
+                ? Runtime.getRuntime().availableProcessors()
+                : Math.max(1, Integer.parseInt(generatorParallelism));
+        this.parallelMapping = parallelMapping;
+        this.incrementalGeneration = incrementalGeneration;
+        this.outputFolder = outputFolder;
+        this.clearOutputFolder = clearOutputFolder;
+        this.generatorMetrics = generatorMetrics;
+        this.directEmission = directEmission;
+        this.exactImports = exactImports;
+        this.syncStack = syncStack;
+        this.syncStackPaging = syncStackPaging;
+        this.outputStreamDownloads = outputStreamDownloads;
+        this.binaryUploadOverloads = binaryUploadOverloads;
+        this.streamStyleSerialization = streamStyleSerialization;
 
         if (credentialType != null) {
             String[] splits = credentialType.split(",");
@@ -529,6 +576,161 @@ public class JavaSettings
         return optionalConstantAsEnum;
     }
 
+    public enum CodeModelFormat {
+        YAML,
+        JSON;
+
+        public static CodeModelFormat fromValue(String value) {
+            if ("json".equalsIgnoreCase(value)) {
+                return JSON;
+            }
+            return YAML;
+        }
+    }
+
+    private final CodeModelFormat codeModelFormat;
+
+    /**
+     * @return the format of the code model passed from preprocessor or fluentnamer to the generator.
+     */
+    public CodeModelFormat getCodeModelFormat() {
+        return codeModelFormat;
+    }
+
+    private final String codeModelCacheDirectory;
+
+    /**
+     * @return the directory of the code model snapshots, or null if the code model is not cached.
+     */
+    public String getCodeModelCacheDirectory() {
+        return codeModelCacheDirectory;
+    }
+
+    private final int generatorParallelism;
+
+    /**
+     * @return the number of threads to render and format the generated files with.
+     */
+    public int getGeneratorParallelism() {
+        return generatorParallelism;
+    }
+
+    private final boolean parallelMapping;
+
+    /**
+     * @return whether the client model is mapped from the code model on the threads of the generator, instead of on the
+     * calling thread.
+     */
+    public boolean isParallelMapping() {
+        return parallelMapping;
+    }
+
+    private final boolean incrementalGeneration;
+
+    /**
+     * @return whether to only write the generated files changed since the last generation to the output folder.
+     */
+    public boolean isIncrementalGeneration() {
+        return incrementalGeneration;
+    }
+
+    private final String outputFolder;
+
+    /**
+     * @return the output folder of AutoRest.
+     */
+    public String getOutputFolder() {
+        return outputFolder;
+    }
+
+    private final boolean clearOutputFolder;
+
+    /**
+     * @return whether AutoRest clears the output folder before it writes the generated files.
+     */
+    public boolean isClearOutputFolder() {
+        return clearOutputFolder;
+    }
+
+    private final boolean generatorMetrics;
+
+    /**
+     * @return whether to write the report of the time and memory allocated by each stage of the generation.
+     */
+    public boolean isGeneratorMetrics() {
+        return generatorMetrics;
+    }
+
+    private final boolean directEmission;
+
+    /**
+     * @return whether the Java files are emitted in the layout of the formatter, so that the files known to be in
+     * that layout are not formatted.
+     */
+    public boolean isDirectEmission() {
+        return directEmission;
+    }
+
+    private final boolean exactImports;
+
+    /**
+     * @return whether the imports of the Java files are resolved from the types referenced by the code, so that the
+     * formatter does not fix the imports.
+     */
+    public boolean isExactImports() {
+        return exactImports;
+    }
+
+    private final boolean syncStack;
+
+    /**
+     * @return whether the sync client methods call sync proxy methods, instead of blocking on the async client methods.
+     */
+    public boolean isSyncStack() {
+        return syncStack;
+    }
+
+    private final boolean syncStackPaging;
+
+    /**
+     * @return whether, with the sync stack, the sync paging client methods also call sync proxy methods, through the
+     * PagedIterable constructors that take the page retrievers. Otherwise they wrap the PagedFlux of the async client
+     * method, which works with any version of azure-core.
+     */
+    public boolean isSyncStackPaging() {
+        return syncStackPaging;
+    }
+
+    private final boolean outputStreamDownloads;
+
+    /**
+     * @return whether the sync client methods that download binary have an overload that writes the response body to an
+     * OutputStream of the caller.
+     */
+    public boolean isOutputStreamDownloads() {
+        return outputStreamDownloads;
+    }
+
+    private final boolean binaryUploadOverloads;
+
+    /**
+     * @return whether the client methods that upload a binary body with its length have overloads that take a Path, a
+     * FileChannel or a BinaryData instead.
+     */
+    public boolean isBinaryUploadOverloads() {
+        return binaryUploadOverloads;
+    }
+
+    private final boolean streamStyleSerialization;
+
+    /**
+     * @return whether the models are serialized by generated toJson and fromJson methods on the Jackson streaming API,
+     * instead of by Jackson databind from their annotations.
+     */
+    public boolean isStreamStyleSerialization() {
+        return streamStyleSerialization;
+    }
+
     public static final String DefaultCodeGenerationHeader = "Code generated by Microsoft (R) AutoRest Code Generator %s" + "\r\n" +
             "Changes may cause incorrect behavior and will be lost if the code is regenerated.";
 
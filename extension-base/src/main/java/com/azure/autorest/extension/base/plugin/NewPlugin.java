@@ -3,7 +3,12 @@ package com.azure.autorest.extension.base.plugin;
 import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.Message;
 import com.azure.autorest.extension.base.model.MessageChannel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModel;
 import com.azure.autorest.extension.base.model.codemodel.CodeModelCustomConstructor;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelJsonReader;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelLoader;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelSnapshot;
+import com.azure.autorest.extension.base.util.HashUtil;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,10 +17,14 @@ import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.representer.Representer;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -174,6 +183,47 @@ public abstract class NewPlugin {
         connection.notify("Message", sessionId, message);
     }
 
+    /**
+     * Parses the code model, from YAML or JSON.
+     * <p>
+     * If {@code code-model-cache} is set, the code model is loaded from the snapshot for the same content when there
+     * is one, and a snapshot is saved after parsing otherwise.
+     *
+     * @param content the content of the code model file.
+     * @return the code model.
+     */
+    protected CodeModel loadCodeModel(String content) {
+        String cacheDirectory = JavaSettings.getInstance().getCodeModelCacheDirectory();
+        if (cacheDirectory == null) {
+            return parseCodeModel(content);
+        }
+
+        Path snapshotFile = Paths.get(cacheDirectory, HashUtil.sha256(content) + ".snapshot");
+        if (Files.isRegularFile(snapshotFile)) {
+            try {
+                CodeModel codeModel = CodeModelSnapshot.read(snapshotFile);
+                if (codeModel != null) {
+                    new PluginLogger(this, NewPlugin.class).info("Loaded code model from snapshot {}", snapshotFile);
+                    return codeModel;
+                }
+            } catch (IOException e) {
+                new PluginLogger(this, NewPlugin.class).warn("Failed to read code model snapshot " + snapshotFile, e);
+            }
+        }
+
+        CodeModel codeModel = parseCodeModel(content);
+        try {
+            CodeModelSnapshot.write(codeModel, snapshotFile);
+        } catch (IOException e) {
+            new PluginLogger(this, NewPlugin.class).warn("Failed to write code model snapshot " + snapshotFile, e);
+        }
+        return codeModel;
+    }
+
+    private static CodeModel parseCodeModel(String content) {
+        return content.startsWith("{") ? CodeModelJsonReader.read(content) : CodeModelLoader.load(content);
+    }
+
     public NewPlugin(Connection connection, String plugin, String sessionId)
     {
         this.connection = connection;
@@ -197,9 +247,10 @@ public abstract class NewPlugin {
     }
 
     public boolean process() {
+        // the state of the session, e.g. the settings and the mapper caches, is isolated from other sessions
+        SessionContext session = new SessionContext(this);
         try {
-            JavaSettings.setHost(this);
-            return processInternal();
+            return session.call(this::processInternal);
         } catch (Throwable t) {
             message(MessageChannel.FATAL, "Unhandled error: " + t.getMessage(), t, Arrays.asList(getClass().getSimpleName()));
             return false;
@@ -312,6 +312,8 @@ public final class PluginLogger extends MarkerIgnoringBase {
      * @param t The exception whose stack trace should be logged
      */
     private void log(MessageChannel messageChannel, String message, Throwable t) {
-        plugin.message(messageChannel, message, t, keys);
+        // a static logger is created by the first session, messages go to the plugin of the current session
+        NewPlugin sessionPlugin = SessionContext.current().getPlugin();
+        (sessionPlugin == null ? plugin : sessionPlugin).message(messageChannel, message, t, keys);
     }
 }
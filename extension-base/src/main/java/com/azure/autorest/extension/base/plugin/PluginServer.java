@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.plugin;
+
+import com.azure.autorest.extension.base.jsonrpc.Connection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves a plugin to the AutoRest core, over JSON-RPC.
+ * <p>
+ * By default, the plugin is served on stdin and stdout, for a single AutoRest core, and the process ends with it.
+ * <p>
+ * With the argument {@code --daemon [port]}, the process is resident, and serves each connection to the port on
+ * localhost as if it were the stdin and stdout of a plugin process. Connections are served concurrently, and the state
+ * of each session is isolated by {@link SessionContext}. The JVM, the loaded classes and the JIT compiled code are
+ * reused by every session.
+ * <p>
+ * The AutoRest core always starts the plugin process. When the environment variable
+ * {@value #DAEMON_PORT_ENVIRONMENT_VARIABLE} is set, the started process relays its stdin and stdout to the resident
+ * process at that port. If no resident process is listening, the plugin is served by the started process.
+ * <p>
+ * The port is only bound on the loopback address, but any local user can connect to it. Both sides therefore
+ * authenticate each other with a random token in {@code ~/.autorest-java/daemon.token}, which the resident process
+ * creates readable only by its user. A connection that does not know the token is closed before any JSON-RPC message,
+ * and the started process serves the plugin by itself when the resident process does not prove it knows the token.
+ * <p>
+ * With the argument {@code --startup-training <code model file> [name=value ...]}, the plugin generates from the code
+ * model without the AutoRest core, and the process exits. The build runs it to dump the class data sharing archive of
+ * the plugin.
+ */
+public final class PluginServer {
+
+    /**
+     * The environment variable of the port of the resident process.
+     */
+    public static final String DAEMON_PORT_ENVIRONMENT_VARIABLE = "AUTOREST_JAVA_DAEMON_PORT";
+
+    private static final String DAEMON_ARGUMENT = "--daemon";
+    private static final String STARTUP_TRAINING_ARGUMENT = "--startup-training";
+    private static final int AUTHENTICATION_TIMEOUT_MILLIS = 10 * 1000;
+
+    /**
+     * Creates the plugin for a "Process" call from the AutoRest core.
+     */
+    @FunctionalInterface
+    public interface PluginFactory {
+        /**
+         * Creates the plugin.
+         *
+         * @param connection the connection to the AutoRest core.
+         * @param plugin the name of the plugin.
+         * @param sessionId the ID of the session.
+         * @return the plugin.
+         */
+        NewPlugin create(Connection connection, String plugin, String sessionId);
+    }
+
+    private final String pluginName;
+    private final PluginFactory factory;
+
+    /**
+     * Creates a server of the plugin.
+     *
+     * @param pluginName the name of the plugin.
+     * @param factory creates the plugin for each "Process" call.
+     */
+    public PluginServer(String pluginName, PluginFactory factory) {
+        this.pluginName = pluginName;
+        this.factory = factory;
+    }
+
+    /**
+     * Serves the plugin, as given by the arguments of the process.
+     *
+     * @param args the arguments of the process.
+     */
+    public void run(String[] args) {
+        if (args.length > 0 && DAEMON_ARGUMENT.equals(args[0])) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+            serveDaemon(port);
+        } else if (args.length > 0 && STARTUP_TRAINING_ARGUMENT.equals(args[0])) {
+            boolean succeeded;
+            try {
+                succeeded = StartupTraining.run(this, pluginName, Arrays.copyOfRange(args, 1, args.length));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            // the archive of class data sharing is dumped at exit
+            System.exit(succeeded ? 0 : 1);
+        } else {
+            String daemonPort = System.getenv(DAEMON_PORT_ENVIRONMENT_VARIABLE);
+            if (daemonPort == null || daemonPort.isEmpty() || !relay(Integer.parseInt(daemonPort))) {
+                serve(System.out, System.in);
+            }
+        }
+    }
+
+    /**
+     * Serves the plugin on a connection, until the AutoRest core shuts it down.
+     *
+     * @param output the output of the connection.
+     * @param input the input of the connection.
+     */
+    public void serve(OutputStream output, InputStream input) {
+        Connection connection = new Connection(output, input);
+        connection.dispatch("GetPluginNames", () -> Collections.singletonList(pluginName));
+        connection.dispatch("Process", (plugin, sessionId) -> {
+            long processStartMillis = System.currentTimeMillis();
+            NewPlugin newPlugin = factory.create(connection, plugin, sessionId);
+            connection.setLogger(new PluginLogger(newPlugin, Connection.class));
+            StartupProfile profile = StartupProfile.start(newPlugin, processStartMillis);
+            boolean result = newPlugin.process();
+            if (profile != null) {
+                profile.report(newPlugin);
+            }
+            return result;
+        }, String.class, String.class);
+        connection.dispatchNotification("Shutdown", connection::stop);
+        // wait for something to do.
+        connection.waitForAll();
+    }
+
+    private void serveDaemon(int port) {
+        DaemonAuthentication authentication;
+        try {
+            authentication = DaemonAuthentication.loadOrCreate(DaemonAuthentication.TOKEN_FILE);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        AtomicInteger connectionCount = new AtomicInteger();
+        try (ServerSocket serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+            System.err.println(String.format("%1$s listening on port %2$d", pluginName, serverSocket.getLocalPort()));
+            while (true) {
+                Socket socket = serverSocket.accept();
+                Thread thread = new Thread(() -> serveSocket(socket, authentication),
+                        pluginName + "-connection-" + connectionCount.incrementAndGet());
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void serveSocket(Socket socket, DaemonAuthentication authentication) {
+        try (Socket s = socket) {
+            s.setSoTimeout(AUTHENTICATION_TIMEOUT_MILLIS);
+            try {
+                authentication.authenticateClient(s.getInputStream(), s.getOutputStream());
+            } catch (IOException e) {
+                System.err.println(String.format("%1$s connection rejected: %2$s", pluginName, e.getMessage()));
+                return;
+            }
+            s.setSoTimeout(0);
+            serve(s.getOutputStream(), s.getInputStream());
+        } catch (CancellationException e) {
+            // shut down by the AutoRest core
+        } catch (IOException | RuntimeException e) {
+            System.err.println(String.format("%1$s connection failed: %2$s", pluginName, e));
+        }
+    }
+
+    private static boolean relay(int port) {
+        Socket socket;
+        try {
+            DaemonAuthentication authentication = DaemonAuthentication.load(DaemonAuthentication.TOKEN_FILE);
+            if (authentication == null) {
+                // no resident process was started by this user
+                return false;
+            }
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            try {
+                socket.setSoTimeout(AUTHENTICATION_TIMEOUT_MILLIS);
+                authentication.authenticateServer(socket.getInputStream(), socket.getOutputStream());
+                socket.setSoTimeout(0);
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            // no resident process, or not one of this user, serve the plugin in this process
+            System.err.println(String.format("Not relaying to port %1$d: %2$s", port, e.getMessage()));
+            return false;
+        }
+        try (Socket s = socket) {
+            OutputStream toDaemon = s.getOutputStream();
+            Thread input = new Thread(() -> {
+                try {
+                    copy(System.in, toDaemon);
+                    s.shutdownOutput();
+                } catch (IOException e) {
+                    // the connection is closed by the resident process
+                }
+            }, "daemon-relay");
+            input.setDaemon(true);
+            input.start();
+
+            copy(s.getInputStream(), System.out);
+        } catch (IOException e) {
+            // the connection is closed
+        }
+        return true;
+    }
+
+    private static void copy(InputStream input, OutputStream output) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        int count;
+        while ((count = input.read(buffer)) != -1) {
+            output.write(buffer, 0, count);
+            // the peer waits for each message
+            output.flush();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.plugin;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * The state of a session, i.e. one "Process" call from the AutoRest core, such as the settings, the mapper caches and
+ * the registry of client models.
+ * <p>
+ * The state of each session is isolated, so that a resident plugin process (see {@link PluginServer}) can run
+ * sessions one after another, or concurrently. The session of a thread is set by {@link NewPlugin#process()}, and
+ * propagated to the threads of {@link com.azure.autorest.extension.base.util.ParallelUtil}. Code running outside of a
+ * session, e.g. tests, shares a default session.
+ */
+public final class SessionContext {
+
+    private static final SessionContext DEFAULT = new SessionContext(null);
+    private static final ThreadLocal<SessionContext> CURRENT = new ThreadLocal<>();
+
+    private volatile NewPlugin plugin;
+    private final ConcurrentMap<Object, Object> values = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a session.
+     *
+     * @param plugin the plugin processing the session.
+     */
+    public SessionContext(NewPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * @return the session of the current thread, or the default session.
+     */
+    public static SessionContext current() {
+        SessionContext session = CURRENT.get();
+        return session == null ? DEFAULT : session;
+    }
+
+    /**
+     * @return the plugin processing the session.
+     */
+    public NewPlugin getPlugin() {
+        return plugin;
+    }
+
+    void setPlugin(NewPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Gets the value of the key in the session, creating it if there is none.
+     *
+     * @param key the key, e.g. the class of the value, or the object owning the value.
+     * @param supplier creates the value. It may be called more than once if threads ask for the value concurrently,
+     * but only one value is kept.
+     * @param <T> the type of the value.
+     * @return the value.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Supplier<T> supplier) {
+        Object value = values.get(key);
+        if (value == null) {
+            Object newValue = supplier.get();
+            value = values.putIfAbsent(key, newValue);
+            if (value == null) {
+                value = newValue;
+            }
+        }
+        return (T) value;
+    }
+
+    /**
+     * Gets the value of the key in the session.
+     *
+     * @param key the key.
+     * @param <T> the type of the value.
+     * @return the value, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key) {
+        return (T) values.get(key);
+    }
+
+    /**
+     * Sets the value of the key in the session.
+     *
+     * @param key the key.
+     * @param value the value, or null to remove the value.
+     */
+    public void set(Object key, Object value) {
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+        }
+    }
+
+    /**
+     * Calls the task in this session, on the current thread.
+     *
+     * @param task the task.
+     * @param <T> the type of the result.
+     * @return the result of the task.
+     * @throws Exception if the task fails.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        SessionContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs the task in this session, on the current thread.
+     *
+     * @param task the task.
+     */
+    public void run(Runnable task) {
+        try {
+            call(() -> {
+                task.run();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // not thrown by a Runnable
+            throw new IllegalStateException(e);
+        }
+    }
+}
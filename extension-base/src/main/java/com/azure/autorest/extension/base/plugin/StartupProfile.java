@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.plugin;
+
+import com.azure.autorest.extension.base.model.MessageChannel;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reports the startup cost of the plugin process, when {@code startup-profile} is set: the time from the start of the
+ * JVM to the "Process" call, the number of classes loaded before and during it, and the class data sharing archive
+ * requested.
+ * <p>
+ * The management beans are only loaded when the setting is set, so that they do not add to the startup of every run.
+ */
+final class StartupProfile {
+
+    private static final String SHARED_ARCHIVE_FILE_ARGUMENT = "-XX:SharedArchiveFile=";
+    private static final AtomicBoolean FIRST_PROCESS = new AtomicBoolean(true);
+
+    private final boolean firstProcess;
+    private final long processStartMillis;
+    private final ClassLoadingMXBean classLoading;
+    private final long classesLoadedAtProcess;
+
+    private StartupProfile(boolean firstProcess, long processStartMillis) {
+        this.firstProcess = firstProcess;
+        this.processStartMillis = processStartMillis;
+        this.classLoading = ManagementFactory.getClassLoadingMXBean();
+        this.classesLoadedAtProcess = classLoading.getTotalLoadedClassCount();
+    }
+
+    /**
+     * Starts the profile of a "Process" call, if the plugin has {@code startup-profile} set.
+     *
+     * @param plugin the plugin of the call.
+     * @param processStartMillis the time the call was received.
+     * @return the profile, or null if the setting is not set.
+     */
+    static StartupProfile start(NewPlugin plugin, long processStartMillis) {
+        boolean firstProcess = FIRST_PROCESS.getAndSet(false);
+        if (!plugin.getBooleanValue("startup-profile", false)) {
+            return null;
+        }
+        return new StartupProfile(firstProcess, processStartMillis);
+    }
+
+    /**
+     * Reports the profile to the plugin, after the "Process" call.
+     *
+     * @param plugin the plugin of the call.
+     */
+    void report(NewPlugin plugin) {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        long processMillis = System.currentTimeMillis() - processStartMillis;
+        // With -Xshare:auto, the JVM silently ignores an archive it cannot map, e.g. one dumped by another JDK, and the
+        // JVM does not expose whether it was mapped. So only the requested archive is reported.
+        String classDataSharing = "off";
+        if (System.getProperty("java.vm.info", "").contains("sharing")) {
+            classDataSharing = runtime.getInputArguments().stream()
+                    .filter(argument -> argument.startsWith(SHARED_ARCHIVE_FILE_ARGUMENT))
+                    .map(argument -> "on, requested archive "
+                            + argument.substring(SHARED_ARCHIVE_FILE_ARGUMENT.length())
+                            + " (not verified as mapped, run with -Xshare:on to fail if it is not)")
+                    .findFirst()
+                    .orElse("on, default archive");
+        }
+        String report = String.format("Startup profile: %1$s Process call at %2$d ms after JVM start, "
+                        + "%3$d classes loaded before it, %4$d classes loaded after processing for %5$d ms, "
+                        + "class data sharing %6$s.",
+                firstProcess ? "first" : "subsequent",
+                processStartMillis - runtime.getStartTime(),
+                classesLoadedAtProcess,
+                classLoading.getTotalLoadedClassCount(),
+                processMillis,
+                classDataSharing);
+        plugin.message(MessageChannel.INFORMATION, report, null,
+                Collections.singletonList(plugin.getClass().getSimpleName()));
+    }
+}
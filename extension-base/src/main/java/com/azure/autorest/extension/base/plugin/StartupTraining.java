@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.plugin;
+
+import com.azure.autorest.extension.base.jsonrpc.Connection;
+import com.azure.autorest.extension.base.model.Message;
+import com.azure.autorest.extension.base.model.MessageChannel;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A generation run without the AutoRest core, to train the class data sharing archive of the plugin.
+ * <p>
+ * The plugin is served on in-memory pipes, as it is on stdin and stdout, and this class answers its requests as the
+ * AutoRest core would: the input is the code model file, and the settings are given as {@code name=value} arguments.
+ * The generated files are discarded. The run loads the classes of a real generation, e.g. the JSON-RPC connection,
+ * the YAML parser, the mappers, the templates and the formatter, so that the archive dumped at exit covers them.
+ */
+final class StartupTraining {
+
+    // ListInputs of the AutoRest core is filtered on the name of the code model
+    private static final String INPUT_NAME = "code-model-v4-no-tags.yaml";
+    private static final String SESSION_ID = "startup-training";
+    private static final int PIPE_SIZE = 1024 * 1024;
+
+    private static final Set<MessageChannel> REPORTED_CHANNELS = EnumSet.of(MessageChannel.INFORMATION,
+            MessageChannel.WARNING, MessageChannel.ERROR, MessageChannel.FATAL);
+
+    private StartupTraining() {
+    }
+
+    /**
+     * Runs the plugin on the code model.
+     *
+     * @param server the server of the plugin.
+     * @param pluginName the name of the plugin.
+     * @param args the path of the code model file, then the settings as {@code name=value}.
+     * @return whether the generation succeeded.
+     * @throws IOException if the pipes cannot be connected.
+     */
+    static boolean run(PluginServer server, String pluginName, String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: --startup-training <code model file> [name=value ...]");
+        }
+        Path codeModelPath = Paths.get(args[0]);
+        Map<String, String> settings = new HashMap<>();
+        for (int i = 1; i < args.length; ++i) {
+            String[] setting = args[i].split("=", 2);
+            settings.put(setting[0], setting.length > 1 ? setting[1] : "true");
+        }
+
+        PipedInputStream pluginInput = new PipedInputStream(PIPE_SIZE);
+        PipedOutputStream coreOutput = new PipedOutputStream(pluginInput);
+        PipedInputStream coreInput = new PipedInputStream(PIPE_SIZE);
+        PipedOutputStream pluginOutput = new PipedOutputStream(coreInput);
+
+        Thread pluginThread = new Thread(() -> server.serve(pluginOutput, pluginInput), pluginName);
+        pluginThread.setDaemon(true);
+        pluginThread.start();
+
+        Connection core = new Connection(coreOutput, coreInput);
+        core.dispatch("ListInputs", (sessionId, artifactType) -> Collections.singletonList(INPUT_NAME),
+                String.class, String.class);
+        core.dispatch("ReadFile", (sessionId, fileName) -> {
+            try {
+                return new String(Files.readAllBytes(codeModelPath), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, String.class, String.class);
+        core.dispatch("GetValue", (sessionId, key) -> settings.get(key), String.class, String.class);
+        core.dispatch("Message", (sessionId, message) -> {
+            if (REPORTED_CHANNELS.contains(message.getChannel())) {
+                System.err.println(String.format("%1$s: %2$s", message.getChannel(), message.getText()));
+            }
+            return null;
+        }, String.class, Message.class);
+
+        Boolean result = core.request(TypeFactory.defaultInstance().constructType(Boolean.class), "Process",
+                pluginName, SESSION_ID);
+        // a round trip, so that the messages sent before the result are handled
+        core.request(TypeFactory.defaultInstance().constructCollectionType(List.class, String.class),
+                "GetPluginNames");
+        return Boolean.TRUE.equals(result);
+    }
+}
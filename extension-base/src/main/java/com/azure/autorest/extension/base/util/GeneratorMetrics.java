@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.util;
+
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The time and the memory allocated by each stage of the generation, e.g. read, parse, map, template, format and
+ * write, and by each template, when {@code generator-metrics} is set.
+ * <p>
+ * A stage is measured by the wall clock time, and by the CPU time and the bytes allocated by the thread running it,
+ * plus those of the tasks it runs on {@link ParallelUtil}. A template is measured each time it writes a file, on the
+ * thread writing it. CPU time and allocated bytes come from the {@link ThreadMXBean}, and are reported as null when the
+ * JVM does not support them. When the setting is not set, nothing is measured and the management beans are not loaded.
+ * <p>
+ * The metrics are those of the current session. The stages of a session run one after another.
+ */
+public final class GeneratorMetrics {
+
+    /**
+     * The name of the report file.
+     */
+    public static final String REPORT_FILE_NAME = "generator-metrics.json";
+
+    private static final long UNSUPPORTED = -1;
+
+    private final boolean enabled;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Counter> stages = new LinkedHashMap<>();
+    private final ConcurrentMap<String, Counter> templates = new ConcurrentHashMap<>();
+
+    private volatile ActiveStage activeStage;
+
+    private GeneratorMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return the metrics of the current session.
+     */
+    public static GeneratorMetrics getInstance() {
+        return SessionContext.current().get(GeneratorMetrics.class,
+                () -> new GeneratorMetrics(JavaSettings.getInstance().isGeneratorMetrics()));
+    }
+
+    /**
+     * @return whether the metrics are measured.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Ends the current stage, if any, and begins the stage on the current thread. A stage that begins again adds to
+     * its earlier measures.
+     *
+     * @param name the name of the stage.
+     */
+    public synchronized void beginStage(String name) {
+        if (!enabled) {
+            return;
+        }
+        endStage();
+        Counter counter = stages.computeIfAbsent(name, key -> new Counter());
+        activeStage = new ActiveStage(counter, Thread.currentThread(), Usage.now());
+    }
+
+    /**
+     * Ends the current stage, if any.
+     */
+    public synchronized void endStage() {
+        ActiveStage stage = activeStage;
+        if (stage != null) {
+            activeStage = null;
+            stage.counter.add(stage.start, Usage.now(), true);
+        }
+    }
+
+    /**
+     * Runs a task of the current stage, which may be on another thread than the stage.
+     *
+     * @param task the task.
+     */
+    public void measureTask(Runnable task) {
+        ActiveStage stage = activeStage;
+        if (stage == null || stage.thread == Thread.currentThread()) {
+            // measured by the stage
+            task.run();
+            return;
+        }
+        Usage start = Usage.now();
+        try {
+            task.run();
+        } finally {
+            // the wall clock time of the stage already covers the task
+            stage.counter.add(start, Usage.now(), false);
+        }
+    }
+
+    /**
+     * Runs the template writing a file.
+     *
+     * @param templateName the name of the template.
+     * @param write writes the file.
+     */
+    public void measureTemplate(String templateName, Runnable write) {
+        if (!enabled) {
+            write.run();
+            return;
+        }
+        Usage start = Usage.now();
+        try {
+            write.run();
+        } finally {
+            templates.computeIfAbsent(templateName, key -> new Counter()).add(start, Usage.now(), true);
+        }
+    }
+
+    /**
+     * Ends the current stage, and writes the report.
+     *
+     * @return the report, in JSON.
+     */
+    public synchronized String getReport() {
+        endStage();
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode report = mapper.createObjectNode();
+        report.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        report.put("generatorParallelism", JavaSettings.getInstance().getGeneratorParallelism());
+
+        ArrayNode stageNodes = report.putArray("stages");
+        stages.forEach((name, counter) -> counter.writeTo(stageNodes.addObject().put("name", name), false));
+
+        // the most expensive templates first
+        List<Map.Entry<String, Counter>> templateEntries = new ArrayList<>(templates.entrySet());
+        templateEntries.sort(Comparator.comparingLong(
+                (Map.Entry<String, Counter> entry) -> entry.getValue().wallNanos.sum()).reversed());
+        ArrayNode templateNodes = report.putArray("templates");
+        templateEntries.forEach(entry -> entry.getValue()
+                .writeTo(templateNodes.addObject().put("name", entry.getKey()), true));
+
+        try {
+            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static final class ActiveStage {
+        private final Counter counter;
+        private final Thread thread;
+        private final Usage start;
+
+        private ActiveStage(Counter counter, Thread thread, Usage start) {
+            this.counter = counter;
+            this.thread = thread;
+            this.start = start;
+        }
+    }
+
+    private static final class Counter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private volatile boolean cpuUnsupported;
+        private volatile boolean allocatedBytesUnsupported;
+
+        private void add(Usage start, Usage end, boolean includeWallTime) {
+            if (includeWallTime) {
+                count.increment();
+                wallNanos.add(end.wallNanos - start.wallNanos);
+            }
+            if (start.cpuNanos == UNSUPPORTED || end.cpuNanos == UNSUPPORTED) {
+                cpuUnsupported = true;
+            } else {
+                cpuNanos.add(end.cpuNanos - start.cpuNanos);
+            }
+            if (start.allocatedBytes == UNSUPPORTED || end.allocatedBytes == UNSUPPORTED) {
+                allocatedBytesUnsupported = true;
+            } else {
+                allocatedBytes.add(end.allocatedBytes - start.allocatedBytes);
+            }
+        }
+
+        private void writeTo(ObjectNode node, boolean includeCount) {
+            if (includeCount) {
+                node.put("count", count.sum());
+            }
+            node.put("wallMillis", TimeUnit.NANOSECONDS.toMillis(wallNanos.sum()));
+            if (cpuUnsupported) {
+                node.putNull("cpuMillis");
+            } else {
+                node.put("cpuMillis", TimeUnit.NANOSECONDS.toMillis(cpuNanos.sum()));
+            }
+            if (allocatedBytesUnsupported) {
+                node.putNull("allocatedBytes");
+            } else {
+                node.put("allocatedBytes", allocatedBytes.sum());
+            }
+        }
+    }
+
+    /*
+     * The wall clock time, and the CPU time and allocated bytes of the current thread.
+     */
+    private static final class Usage {
+        private final long wallNanos;
+        private final long cpuNanos;
+        private final long allocatedBytes;
+
+        private Usage(long wallNanos, long cpuNanos, long allocatedBytes) {
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        private static Usage now() {
+            return new Usage(System.nanoTime(), ThreadMXBeanHolder.getCurrentThreadCpuTime(),
+                    ThreadMXBeanHolder.getCurrentThreadAllocatedBytes());
+        }
+    }
+
+    private static final class ThreadMXBeanHolder {
+        private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+        private static final boolean CPU_TIME_SUPPORTED = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+        // the extension of HotSpot and OpenJ9
+        private static final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN = getAllocationMXBean();
+
+        private static com.sun.management.ThreadMXBean getAllocationMXBean() {
+            if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+                if (bean.isThreadAllocatedMemorySupported()) {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                    return bean;
+                }
+            }
+            return null;
+        }
+
+        private static long getCurrentThreadCpuTime() {
+            return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : UNSUPPORTED;
+        }
+
+        private static long getCurrentThreadAllocatedBytes() {
+            return ALLOCATION_MX_BEAN == null
+                    ? UNSUPPORTED
+                    : ALLOCATION_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
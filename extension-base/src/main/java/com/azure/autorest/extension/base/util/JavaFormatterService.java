@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.util;
+
+import org.slf4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Formats Java source files with google-java-format, shared by the plugins.
+ * <p>
+ * The formatter is looked up once, by reflection, so that extension-base does not depend on google-java-format and
+ * a plugin without it on the class path can still run. The formatter is immutable and shared by all threads.
+ */
+public final class JavaFormatterService {
+
+    /**
+     * The name of the file, written along with the formatted Java files, that lists their hashes.
+     */
+    public static final String FORMATTED_HASHES_FILE_NAME = "formatted-java-files.sha256";
+
+    /**
+     * The artifact type of the file that lists the hashes of formatted Java files. It is not emitted.
+     */
+    public static final String FORMATTED_HASHES_ARTIFACT_TYPE = "formatted-java-file-hashes";
+
+    private static final String FORMATTER_CLASS_NAME = "com.google.googlejavaformat.java.Formatter";
+
+    private JavaFormatterService() {
+    }
+
+    /**
+     * @return whether google-java-format is on the class path.
+     */
+    public static boolean isAvailable() {
+        return FormatterHolder.FORMAT_SOURCE_AND_FIX_IMPORTS != null;
+    }
+
+    /**
+     * Formats the Java source, and fixes its imports.
+     *
+     * @param source the Java source.
+     * @return the formatted Java source.
+     * @throws Exception if the source cannot be parsed, or google-java-format is not on the class path.
+     */
+    public static String format(String source) throws Exception {
+        MethodHandle formatSourceAndFixImports = FormatterHolder.FORMAT_SOURCE_AND_FIX_IMPORTS;
+        if (formatSourceAndFixImports == null) {
+            throw new IllegalStateException(FORMATTER_CLASS_NAME + " not found", FormatterHolder.LOAD_ERROR);
+        }
+        try {
+            return (String) formatSourceAndFixImports.invokeExact(source);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Formats the Java source, without fixing its imports. It skips the parse of the source that removes the unused
+     * imports, so the source should only have the imports it uses.
+     *
+     * @param source the Java source, with exact imports.
+     * @return the formatted Java source.
+     * @throws Exception if the source cannot be parsed, or google-java-format is not on the class path.
+     */
+    public static String formatSource(String source) throws Exception {
+        MethodHandle formatSource = FormatterHolder.FORMAT_SOURCE;
+        if (formatSource == null) {
+            throw new IllegalStateException(FORMATTER_CLASS_NAME + " not found", FormatterHolder.LOAD_ERROR);
+        }
+        try {
+            return (String) formatSource.invokeExact(source);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Formats the files in parallel, on the pool of {@link ParallelUtil}. Files not ending in ".java" are not
+     * formatted.
+     *
+     * @param files the files.
+     * @param pathFunction gets the path of a file.
+     * @param contentFunction gets the content of a file.
+     * @param <T> the type of the files.
+     * @return the results, in the order of the files.
+     */
+    public static <T> List<FormatResult> formatAll(List<T> files, Function<T, String> pathFunction,
+                                                   Function<T, String> contentFunction) {
+        return formatAll(files, pathFunction, contentFunction, Collections.emptyMap());
+    }
+
+    /**
+     * Formats the files in parallel, on the pool of {@link ParallelUtil}. Files not ending in ".java", and files whose
+     * content hash matches their hash when they were formatted before, are not formatted.
+     *
+     * @param files the files.
+     * @param pathFunction gets the path of a file.
+     * @param contentFunction gets the content of a file.
+     * @param formattedHashes the hashes of the files formatted before, by path.
+     * @param <T> the type of the files.
+     * @return the results, in the order of the files.
+     */
+    public static <T> List<FormatResult> formatAll(List<T> files, Function<T, String> pathFunction,
+                                                   Function<T, String> contentFunction,
+                                                   Map<String, String> formattedHashes) {
+        return formatAll(files, pathFunction, contentFunction, formattedHashes, file -> null);
+    }
+
+    /**
+     * Formats the files in parallel, on the pool of {@link ParallelUtil}. Files not ending in ".java", files whose
+     * content hash matches their hash when they were formatted before, and files already in the layout of the
+     * formatter, are not formatted.
+     *
+     * @param files the files.
+     * @param pathFunction gets the path of a file.
+     * @param contentFunction gets the content of a file.
+     * @param formattedHashes the hashes of the files formatted before, by path.
+     * @param canonicalContentFunction gets the content of a file if it is known to be in the layout of the formatter,
+     * otherwise null.
+     * @param <T> the type of the files.
+     * @return the results, in the order of the files.
+     */
+    public static <T> List<FormatResult> formatAll(List<T> files, Function<T, String> pathFunction,
+                                                   Function<T, String> contentFunction,
+                                                   Map<String, String> formattedHashes,
+                                                   Function<T, String> canonicalContentFunction) {
+        return formatAll(files, pathFunction, contentFunction, formattedHashes, canonicalContentFunction,
+                file -> null);
+    }
+
+    /**
+     * Formats the files in parallel, on the pool of {@link ParallelUtil}. Files not ending in ".java", files whose
+     * content hash matches their hash when they were formatted before, and files already in the layout of the
+     * formatter, are not formatted. Files with exact imports are formatted without fixing their imports.
+     *
+     * @param files the files.
+     * @param pathFunction gets the path of a file.
+     * @param contentFunction gets the content of a file.
+     * @param formattedHashes the hashes of the files formatted before, by path.
+     * @param canonicalContentFunction gets the content of a file if it is known to be in the layout of the formatter,
+     * otherwise null.
+     * @param importCleanContentFunction gets the content of a file with exact imports, if they are known, otherwise
+     * null.
+     * @param <T> the type of the files.
+     * @return the results, in the order of the files.
+     */
+    public static <T> List<FormatResult> formatAll(List<T> files, Function<T, String> pathFunction,
+                                                   Function<T, String> contentFunction,
+                                                   Map<String, String> formattedHashes,
+                                                   Function<T, String> canonicalContentFunction,
+                                                   Function<T, String> importCleanContentFunction) {
+        return ParallelUtil.map(files, file -> {
+            String path = pathFunction.apply(file);
+            if (!path.endsWith(".java")) {
+                return new FormatResult(path, contentFunction.apply(file), null, 0, false);
+            }
+            String canonicalContent = canonicalContentFunction.apply(file);
+            if (canonicalContent != null) {
+                return new FormatResult(path, canonicalContent, null, 0, true);
+            }
+            String importCleanContent = importCleanContentFunction.apply(file);
+            String content = importCleanContent != null ? importCleanContent : contentFunction.apply(file);
+            String formattedHash = formattedHashes.get(path);
+            if (formattedHash != null && formattedHash.equals(HashUtil.sha256(content))) {
+                return new FormatResult(path, content, null, 0, true);
+            }
+            long start = System.nanoTime();
+            try {
+                String formattedContent = importCleanContent != null ? formatSource(content) : format(content);
+                return new FormatResult(path, formattedContent, null, System.nanoTime() - start, false);
+            } catch (Exception e) {
+                return new FormatResult(path, content, e, System.nanoTime() - start, false);
+            }
+        });
+    }
+
+    /**
+     * Writes the hashes of the formatted files, to be read by {@link #readFormattedHashes(String)} in a later stage.
+     *
+     * @param results the results of formatting.
+     * @return the content of the {@link #FORMATTED_HASHES_FILE_NAME} file.
+     */
+    public static String writeFormattedHashes(List<FormatResult> results) {
+        List<String> hashes = ParallelUtil.map(results, result -> result.getError() == null
+                && result.getPath().endsWith(".java") ? HashUtil.sha256(result.getContent()) : null);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < results.size(); ++i) {
+            if (hashes.get(i) != null) {
+                // same layout as the output of sha256sum
+                builder.append(hashes.get(i)).append("  ").append(results.get(i).getPath()).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Reads the hashes of the formatted files.
+     *
+     * @param content the content of the {@link #FORMATTED_HASHES_FILE_NAME} file.
+     * @return the hashes, by path.
+     */
+    public static Map<String, String> readFormattedHashes(String content) {
+        Map<String, String> hashes = new HashMap<>();
+        if (content != null) {
+            for (String line : content.split("\n")) {
+                int separator = line.indexOf("  ");
+                if (separator > 0) {
+                    hashes.put(line.substring(separator + 2), line.substring(0, separator));
+                }
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Logs the format time of each file at debug level, and a summary with the slowest file at info level.
+     *
+     * @param logger the logger.
+     * @param results the results of {@link #formatAll(List, Function, Function)}.
+     * @param elapsedNanos the wall clock time of formatting.
+     */
+    public static void logFormatTimes(Logger logger, List<FormatResult> results, long elapsedNanos) {
+        if (results.isEmpty()) {
+            return;
+        }
+        long totalNanos = 0;
+        int skipped = 0;
+        for (FormatResult result : results) {
+            totalNanos += result.getFormatTimeNanos();
+            if (result.isSkipped()) {
+                ++skipped;
+            } else {
+                logger.debug("Formatted {} in {} ms", result.getPath(),
+                        TimeUnit.NANOSECONDS.toMillis(result.getFormatTimeNanos()));
+            }
+        }
+        FormatResult slowest = results.stream().max(Comparator.comparingLong(FormatResult::getFormatTimeNanos)).get();
+        logger.info("Formatted {} files in {} ms, {} ms in total across threads, slowest {} in {} ms, {} files already"
+                        + " formatted", results.size() - skipped, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                TimeUnit.NANOSECONDS.toMillis(totalNanos), slowest.getPath(),
+                TimeUnit.NANOSECONDS.toMillis(slowest.getFormatTimeNanos()), skipped);
+    }
+
+    /**
+     * The result of formatting a file.
+     */
+    public static final class FormatResult {
+        private final String path;
+        private final String content;
+        private final Exception error;
+        private final long formatTimeNanos;
+        private final boolean skipped;
+
+        private FormatResult(String path, String content, Exception error, long formatTimeNanos, boolean skipped) {
+            this.path = path;
+            this.content = content;
+            this.error = error;
+            this.formatTimeNanos = formatTimeNanos;
+            this.skipped = skipped;
+        }
+
+        /**
+         * @return the path of the file.
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return the formatted content, or the original content if the file was not formatted.
+         */
+        public String getContent() {
+            return content;
+        }
+
+        /**
+         * @return the error if the file failed to format, otherwise null.
+         */
+        public Exception getError() {
+            return error;
+        }
+
+        /**
+         * @return the time to format the file, in nanoseconds.
+         */
+        public long getFormatTimeNanos() {
+            return formatTimeNanos;
+        }
+
+        /**
+         * @return whether the file was not formatted, as it is unchanged since it was formatted before, or it is
+         * already in the layout of the formatter.
+         */
+        public boolean isSkipped() {
+            return skipped;
+        }
+    }
+
+    /*
+     * Loaded on first use of the formatter.
+     */
+    private static final class FormatterHolder {
+        private static final MethodHandle FORMAT_SOURCE_AND_FIX_IMPORTS;
+        private static final MethodHandle FORMAT_SOURCE;
+        private static final Throwable LOAD_ERROR;
+
+        static {
+            MethodHandle formatSourceAndFixImports = null;
+            MethodHandle formatSource = null;
+            Throwable loadError = null;
+            try {
+                Class<?> formatterClass = Class.forName(FORMATTER_CLASS_NAME, true,
+                        JavaFormatterService.class.getClassLoader());
+                Object formatter = formatterClass.getConstructor().newInstance();
+                formatSourceAndFixImports = MethodHandles.publicLookup()
+                        .findVirtual(formatterClass, "formatSourceAndFixImports",
+                                MethodType.methodType(String.class, String.class))
+                        .bindTo(formatter);
+                formatSource = MethodHandles.publicLookup()
+                        .findVirtual(formatterClass, "formatSource", MethodType.methodType(String.class, String.class))
+                        .bindTo(formatter);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                loadError = e;
+            }
+            FORMAT_SOURCE_AND_FIX_IMPORTS = formatSourceAndFixImports;
+            FORMAT_SOURCE = formatSource;
+            LOAD_ERROR = loadError;
+        }
+    }
+}
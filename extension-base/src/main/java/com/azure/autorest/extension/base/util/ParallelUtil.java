@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.util;
+
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Utilities for running independent tasks of the generator in parallel, on a pool bounded by the
+ * {@code generator-parallelism} setting. The pool is shared by the sessions of the process.
+ */
+public class ParallelUtil {
+
+    private static final ConcurrentMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * Applies the function to each item in parallel.
+     *
+     * @param items the items.
+     * @param function the function, which must be safe to run concurrently for different items.
+     * @param <T> the type of the items.
+     * @param <R> the type of the results.
+     * @return the results, in the order of the items.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> function) {
+        int parallelism = JavaSettings.getInstance().getGeneratorParallelism();
+        if (parallelism <= 1 || items.size() <= 1) {
+            List<R> results = new ArrayList<>(items.size());
+            for (T item : items) {
+                results.add(function.apply(item));
+            }
+            return results;
+        }
+
+        Object[] results = new Object[items.size()];
+        // the tasks run in the session of the caller, and count in its current stage
+        SessionContext session = SessionContext.current();
+        GeneratorMetrics metrics = GeneratorMetrics.getInstance();
+        try {
+            getPool(parallelism).submit(() -> IntStream.range(0, results.length).parallel()
+                    .forEach(i -> session.run(() -> metrics.measureTask(
+                            () -> results[i] = function.apply(items.get(i)))))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+        return (List<R>) Arrays.asList(results);
+    }
+
+    /**
+     * Runs the action on each item in parallel.
+     *
+     * @param items the items.
+     * @param action the action, which must be safe to run concurrently for different items.
+     * @param <T> the type of the items.
+     */
+    public static <T> void forEach(List<T> items, Consumer<? super T> action) {
+        map(items, item -> {
+            action.accept(item);
+            return null;
+        });
+    }
+
+    private static ForkJoinPool getPool(int parallelism) {
+        // sessions with different parallelism may run concurrently
+        return POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+}
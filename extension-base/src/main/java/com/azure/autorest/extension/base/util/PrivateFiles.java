@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.util;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Utilities for files and directories that only the current user may read and write.
+ * <p>
+ * On file systems with POSIX permissions, the files are created as owner-only, and an existing file is rejected if it
+ * is a symbolic link, is owned by another user, or is accessible by the group or others. On other file systems, e.g.
+ * on Windows, the files inherit the access control of their parent directory, which should be under the home of the
+ * user.
+ */
+public final class PrivateFiles {
+
+    private static final Set<PosixFilePermission> NOT_OWNER_PERMISSIONS = EnumSet.of(
+            PosixFilePermission.GROUP_READ, PosixFilePermission.GROUP_WRITE, PosixFilePermission.GROUP_EXECUTE,
+            PosixFilePermission.OTHERS_READ, PosixFilePermission.OTHERS_WRITE, PosixFilePermission.OTHERS_EXECUTE);
+
+    private PrivateFiles() {
+    }
+
+    /**
+     * Creates the directory, and its missing parents, if it does not exist. The directory is created as owner-only.
+     *
+     * @param directory the directory.
+     * @return the directory.
+     * @throws IOException if the directory cannot be created, or is not private to the current user.
+     */
+    public static Path createDirectories(Path directory) throws IOException {
+        if (!Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+            Path parent = directory.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try {
+                if (isPosix(directory)) {
+                    Files.createDirectory(directory,
+                            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+                } else {
+                    Files.createDirectory(directory);
+                }
+            } catch (FileAlreadyExistsException e) {
+                // created concurrently, checked below
+            }
+        }
+        checkPrivate(directory);
+        return directory;
+    }
+
+    /**
+     * Creates the file as owner-only, with the content. The file must not exist.
+     *
+     * @param file the file.
+     * @param content the content.
+     * @throws IOException if the file exists, or cannot be written.
+     */
+    public static void createFile(Path file, byte[] content) throws IOException {
+        if (isPosix(file)) {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(file);
+        }
+        Files.write(file, content);
+    }
+
+    /**
+     * Checks that the file, or directory, is private to the current user.
+     *
+     * @param path the file, or directory.
+     * @throws IOException if the file is a symbolic link, is owned by another user, or is accessible by the group or
+     * others.
+     */
+    public static void checkPrivate(Path path) throws IOException {
+        if (Files.isSymbolicLink(path)) {
+            throw new IOException(path + " is a symbolic link");
+        }
+        if (!isPosix(path)) {
+            return;
+        }
+        PosixFileAttributes attributes = Files.getFileAttributeView(path, PosixFileAttributeView.class,
+                LinkOption.NOFOLLOW_LINKS).readAttributes();
+        FileSystem fileSystem = path.getFileSystem();
+        UserPrincipal currentUser = fileSystem.getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        if (!attributes.owner().equals(currentUser)) {
+            throw new IOException(path + " is owned by " + attributes.owner().getName() + ", not by "
+                    + currentUser.getName());
+        }
+        Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+        permissions.addAll(attributes.permissions());
+        permissions.retainAll(NOT_OWNER_PERMISSIONS);
+        if (!permissions.isEmpty()) {
+            throw new IOException(path + " is accessible by other users, permissions "
+                    + PosixFilePermissions.toString(attributes.permissions()));
+        }
+    }
+
+    private static boolean isPosix(Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+}
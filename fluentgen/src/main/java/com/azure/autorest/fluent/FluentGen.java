@@ -7,9 +7,12 @@ package com.azure.autorest.fluent;
 
 import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelLoader;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.NewPlugin;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.plugin.SessionContext;
+import com.azure.autorest.extension.base.util.GeneratorMetrics;
 import com.azure.autorest.fluent.checker.JavaFormatter;
 import com.azure.autorest.fluent.mapper.FluentMapper;
 import com.azure.autorest.fluent.mapper.FluentMapperFactory;
@@ -26,11 +29,13 @@ import com.azure.autorest.fluent.template.FluentTemplateFactory;
 import com.azure.autorest.fluent.util.FluentJavaSettings;
 import com.azure.autorest.mapper.Mappers;
 import com.azure.autorest.model.clientmodel.AsyncSyncClient;
+import com.azure.autorest.model.clientmodel.BinaryUpload;
 import com.azure.autorest.model.clientmodel.Client;
 import com.azure.autorest.model.clientmodel.ClientException;
 import com.azure.autorest.model.clientmodel.ClientModel;
 import com.azure.autorest.model.clientmodel.ClientResponse;
 import com.azure.autorest.model.clientmodel.EnumType;
+import com.azure.autorest.model.clientmodel.FluxInputStream;
 import com.azure.autorest.model.clientmodel.MethodGroupClient;
 import com.azure.autorest.model.clientmodel.PackageInfo;
 import com.azure.autorest.model.clientmodel.Pom;
@@ -41,11 +46,6 @@ import com.azure.autorest.template.Templates;
 import com.azure.autorest.util.ClientModelUtil;
 import com.azure.autorest.util.CodeNamer;
 import org.slf4j.Logger;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.introspector.Property;
-import org.yaml.snakeyaml.nodes.NodeTuple;
-import org.yaml.snakeyaml.nodes.Tag;
-import org.yaml.snakeyaml.representer.Representer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -54,38 +54,45 @@ import java.util.stream.Collectors;
 public class FluentGen extends NewPlugin {
 
     private final Logger logger = new PluginLogger(this, FluentGen.class);
-    static FluentGen instance;
 
     private FluentJavaSettings fluentJavaSettings;
     private FluentMapper fluentMapper;
 
     public FluentGen(Connection connection, String plugin, String sessionId) {
         super(connection, plugin, sessionId);
-        instance = this;
     }
 
+    /**
+     * @return the plugin of the current session, or null if it is not a FluentGen.
+     */
     public static FluentGen getPluginInstance() {
-        return instance;
+        NewPlugin plugin = SessionContext.current().getPlugin();
+        return plugin instanceof FluentGen ? (FluentGen) plugin : null;
     }
 
     @Override
     public boolean processInternal() {
+        GeneratorMetrics metrics = GeneratorMetrics.getInstance();
+        metrics.beginStage("read");
         List<String> files = listInputs().stream().filter(s -> s.contains("no-tags")).collect(Collectors.toList());
         if (files.size() != 1) {
             throw new RuntimeException(String.format("Generator received incorrect number of inputs: %s : %s}", files.size(), String.join(", ", files)));
         }
 
         try {
-            logger.info("Read YAML");
+            logger.info("Read code model");
             String fileContent = readFile(files.get(0));
 
-            // Parse yaml to code model
-            CodeModel codeModel = this.handleYaml(fileContent);
+            // Parse yaml or json to code model
+            metrics.beginStage("parse");
+            CodeModel codeModel = this.loadCodeModel(fileContent);
 
             // Map code model to client model
+            metrics.beginStage("map");
             Client client = this.handleMap(codeModel);
 
             // Write to templates
+            metrics.beginStage("template");
             FluentJavaPackage javaPackage = this.handleTemplate(client);
 
             // Fluent Lite
@@ -93,14 +100,13 @@ public class FluentGen extends NewPlugin {
 
             // Print to files
             logger.info("Write Java");
-            for (JavaFile javaFile : javaPackage.getJavaFiles()) {
-                String content = javaFile.getContents().toString();
-                String path = javaFile.getFilePath();
-
-                // formatter
-                String formattedContent = new JavaFormatter(content, path).format();
-
-                writeFile(path, formattedContent, null);
+            List<JavaFile> javaFiles = javaPackage.getJavaFiles();
+            // formatter
+            metrics.beginStage("format");
+            List<String> formattedContents = JavaFormatter.formatAll(javaFiles);
+            metrics.beginStage("write");
+            for (int i = 0; i < javaFiles.size(); ++i) {
+                writeFile(javaFiles.get(i).getFilePath(), formattedContents.get(i), null);
             }
             logger.info("Write Xml");
             for (XmlFile xmlFile : javaPackage.getXmlFiles()) {
@@ -110,6 +116,9 @@ public class FluentGen extends NewPlugin {
             for (TextFile textFile : javaPackage.getTextFiles()) {
                 writeFile(textFile.getFilePath(), textFile.getContents(), null);
             }
+            if (metrics.isEnabled()) {
+                writeFile(GeneratorMetrics.REPORT_FILE_NAME, metrics.getReport(), null);
+            }
             return true;
         } catch (Exception e) {
             logger.error("Failed to successfully run fluentgen plugin " + e, e);
@@ -119,21 +128,7 @@ public class FluentGen extends NewPlugin {
     }
 
     CodeModel handleYaml(String yamlContent) {
-        Representer representer = new Representer() {
-            @Override
-            protected NodeTuple representJavaBeanProperty(Object javaBean, Property property, Object propertyValue, Tag customTag) {
-                // if value of property is null, ignore it.
-                if (propertyValue == null) {
-                    return null;
-                }
-                else {
-                    return super.representJavaBeanProperty(javaBean, property, propertyValue, customTag);
-                }
-            }
-        };
-        Yaml newYaml = new Yaml(representer);
-        CodeModel codeModel = newYaml.loadAs(yamlContent, CodeModel.class);
-        return codeModel;
+        return CodeModelLoader.load(yamlContent);
     }
 
     Client handleMap(CodeModel codeModel) {
@@ -224,6 +219,16 @@ public class FluentGen extends NewPlugin {
             javaPackage.addPackageInfo(packageInfo.getPackage(), "package-info", packageInfo);
         }
 
+        // FluxInputStream of the sync methods that download binary
+        for (FluxInputStream fluxInputStream : client.getFluxInputStreams()) {
+            javaPackage.addFluxInputStream(fluxInputStream);
+        }
+
+        // BinaryUpload of the upload overloads
+        for (BinaryUpload binaryUpload : client.getBinaryUploads()) {
+            javaPackage.addBinaryUpload(binaryUpload);
+        }
+
         return javaPackage;
     }
 
@@ -241,6 +246,8 @@ public class FluentGen extends NewPlugin {
 
             logger.info("Process for Fluent Lite, SDK integration {}", (isSdkIntegration ? "enabled" : "disabled"));
 
+            GeneratorMetrics metrics = GeneratorMetrics.getInstance();
+            metrics.beginStage("transform");
             fluentClient = this.getFluentMapper().map(codeModel, client);
 
             // project
@@ -249,6 +256,8 @@ public class FluentGen extends NewPlugin {
                 project.integrateWithSdk();
             }
 
+            metrics.beginStage("template");
+
             // Fluent manager
             javaPackage.addFluentManager(fluentClient.getManager(), project);
 
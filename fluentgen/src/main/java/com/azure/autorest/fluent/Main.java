@@ -5,20 +5,11 @@
 
 package com.azure.autorest.fluent;
 
-import com.azure.autorest.Javagen;
-import com.azure.autorest.extension.base.jsonrpc.Connection;
-
-import java.util.Collections;
+import com.azure.autorest.extension.base.plugin.PluginServer;
 
 public class Main {
 
     public static void main(String[] args) {
-        Connection connection = new Connection(System.out, System.in);
-        connection.dispatch("GetPluginNames", () -> Collections.singletonList("fluentgen"));
-        connection.dispatch("Process", (plugin, sessionId) -> new FluentGen(connection, plugin, sessionId).process(), String.class, String.class);
-        connection.dispatchNotification("Shutdown", connection::stop);
-
-        // wait for something to do.
-        connection.waitForAll();
+        new PluginServer("fluentgen", FluentGen::new).run(args);
     }
 }
@@ -6,21 +6,24 @@
 package com.azure.autorest.fluent.checker;
 
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.util.JavaFormatterService;
 import com.azure.autorest.fluent.FluentGen;
+import com.azure.autorest.model.javamodel.JavaFile;
 import com.azure.core.util.CoreUtils;
 import org.slf4j.Logger;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public class JavaFormatter {
 
     private static final Logger logger = new PluginLogger(FluentGen.getPluginInstance(), JavaFormatter.class);
 
     private static final boolean ENABLED;
+    private static final int LENGTH_LIMIT = 120;
     static {
         boolean enabled = false;
         String version = System.getProperty("java.version");
@@ -50,27 +53,45 @@ public class JavaFormatter {
         this.path = path;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public String format() {
         if (!ENABLED) {
             return content;
         }
 
         try {
-            //return new Formatter().formatSourceAndFixImports(content);
-
-            Class formatterClass = this.getClass().getClassLoader().loadClass("com.google.googlejavaformat.java.Formatter");
-            Object formatterInstance = formatterClass.getConstructor().newInstance();
-            Method formatSourceMethod = formatterClass.getMethod("formatSourceAndFixImports", String.class);
-            String formattedCode = (String) formatSourceMethod.invoke(formatterInstance, content);
-            final int lengthLimit = 120;
-            return fixOverlongStringLiteral(formattedCode, lengthLimit);
+            String formattedCode = JavaFormatterService.format(content);
+            return fixOverlongStringLiteral(formattedCode, LENGTH_LIMIT);
         } catch (Exception e) {
             logger.warn("Failed to parse Java file '{}', message: '{}'", path, e.getMessage());
             return content;
         }
     }
 
+    /**
+     * Formats the Java files in parallel.
+     *
+     * @param javaFiles the Java files.
+     * @return the formatted content, in the order of the Java files.
+     */
+    public static List<String> formatAll(List<JavaFile> javaFiles) {
+        if (!ENABLED) {
+            return javaFiles.stream().map(javaFile -> javaFile.getContents().toString()).collect(Collectors.toList());
+        }
+
+        long start = System.nanoTime();
+        List<JavaFormatterService.FormatResult> results = JavaFormatterService.formatAll(javaFiles,
+                JavaFile::getFilePath, javaFile -> javaFile.getContents().toString());
+        JavaFormatterService.logFormatTimes(logger, results, System.nanoTime() - start);
+        return results.stream().map(result -> {
+            if (result.getError() != null) {
+                logger.warn("Failed to parse Java file '{}', message: '{}'", result.getPath(),
+                        result.getError().getMessage());
+                return result.getContent();
+            }
+            return fixOverlongStringLiteral(result.getContent(), LENGTH_LIMIT);
+        }).collect(Collectors.toList());
+    }
+
     static String fixOverlongStringLiteral(String content, int lengthLimit) {
         final String quote = "\"";
 
@@ -24,6 +24,7 @@ public class FluentClientMethodMapper extends ClientMethodMapper {
         if (hasContextParameter) {
             switch (methodType) {
                 case PagingAsyncSinglePage:
+                case PagingSyncSinglePage:
                 case PagingAsync:
                 case LongRunningBeginAsync:
                 case LongRunningAsync:
@@ -42,6 +43,7 @@ public class FluentClientMethodMapper extends ClientMethodMapper {
         } else {
             switch (methodType) {
                 case PagingAsyncSinglePage:
+                case PagingSyncSinglePage:
                     visibility = NOT_VISIBLE;
                     break;
 
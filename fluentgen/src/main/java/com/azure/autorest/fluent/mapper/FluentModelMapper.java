@@ -5,29 +5,32 @@
 
 package com.azure.autorest.fluent.mapper;
 
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.fluent.model.FluentType;
 import com.azure.autorest.mapper.ModelMapper;
 import com.azure.autorest.model.clientmodel.ClassType;
 
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FluentModelMapper extends ModelMapper {
 
     private static final FluentModelMapper INSTANCE = new FluentModelMapper();
 
-    private final Set<String> removedModels = new HashSet<>();
-
     public static FluentModelMapper getInstance() {
         return INSTANCE;
     }
 
     @Override
     protected boolean isPredefinedModel(ClassType modelType) {
-        return !FluentType.nonResourceType(modelType) || !FluentType.nonManagementError(modelType) || removedModels.contains(modelType.getName());
+        return !FluentType.nonResourceType(modelType) || !FluentType.nonManagementError(modelType) || getRemovedModels().contains(modelType.getName());
     }
 
     public void addRemovedModels(Set<String> models) {
-        removedModels.addAll(models);
+        getRemovedModels().addAll(models);
+    }
+
+    private Set<String> getRemovedModels() {
+        return SessionContext.current().get(this, ConcurrentHashMap::newKeySet);
     }
 }
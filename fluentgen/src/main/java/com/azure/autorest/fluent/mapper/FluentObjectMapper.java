@@ -6,6 +6,7 @@
 package com.azure.autorest.fluent.mapper;
 
 import com.azure.autorest.extension.base.model.codemodel.ObjectSchema;
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.fluent.model.FluentType;
 import com.azure.autorest.fluent.util.Utils;
 import com.azure.autorest.mapper.ObjectMapper;
@@ -25,11 +26,9 @@ public class FluentObjectMapper extends ObjectMapper {
         return INSTANCE;
     }
 
-    private final Set<ObjectSchema> innerModels = ConcurrentHashMap.newKeySet();
-
     @Override
     protected boolean isInnerModel(ObjectSchema compositeType) {
-        return innerModels.contains(compositeType);
+        return getInnerModels().contains(compositeType);
     }
 
     @Override
@@ -55,6 +54,7 @@ public class FluentObjectMapper extends ObjectMapper {
      */
     public Set<ObjectSchema> addInnerModels(Collection<ObjectSchema> compositeTypes) {
         Set<ObjectSchema> compositeTypesToAdd = new HashSet<>(compositeTypes);
+        Set<ObjectSchema> innerModels = getInnerModels();
         compositeTypesToAdd.removeAll(innerModels);
         innerModels.addAll(compositeTypesToAdd);
         return compositeTypesToAdd;
@@ -66,9 +66,15 @@ public class FluentObjectMapper extends ObjectMapper {
      * @param javaNames The Java class names to remove as Inner.
      */
     public void removeInnerModels(Set<String> javaNames) {
+        Set<ObjectSchema> innerModels = getInnerModels();
         Set<ObjectSchema> compositeTypesToRemove = innerModels.stream()
                 .filter(type -> javaNames.contains(Utils.getJavaName(type)))
                 .collect(Collectors.toSet());
         innerModels.removeAll(compositeTypesToRemove);
     }
+
+    private Set<ObjectSchema> getInnerModels() {
+        // each session has its own inner models
+        return SessionContext.current().get(this, ConcurrentHashMap::newKeySet);
+    }
 }
@@ -20,20 +20,12 @@ public class FluentPrimitiveMapper extends PrimitiveMapper {
     }
 
     @Override
-    public IType map(PrimitiveSchema primaryType) {
-        if (primaryType == null) {
-            return null;
-        }
-        if (parsed.containsKey(primaryType)) {
-            return parsed.get(primaryType);
-        }
+    protected IType createPrimitiveType(PrimitiveSchema primaryType) {
         if (primaryType.getType() == Schema.AllSchemaTypes.CREDENTIAL) {
             // swagger is "format": "password", which mostly serve as a hint
-            IType type = ClassType.String;
-            parsed.put(primaryType, type);
-            return type;
+            return ClassType.String;
         } else {
-            return super.map(primaryType);
+            return super.createPrimitiveType(primaryType);
         }
     }
 }
@@ -5,22 +5,17 @@
 
 package com.azure.autorest.fluent.model.clientmodel;
 
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.fluent.util.FluentJavaSettings;
 import com.azure.autorest.model.clientmodel.Client;
 
 /**
- * Convenient class for global variables.
+ * Convenient class for global variables, of the current session.
  *
  * Avoid using it unless no better solution.
  */
 public class FluentStatic {
 
-    private static Client client;
-
-    private static FluentClient fluentClient;
-
-    private static FluentJavaSettings fluentJavaSettings;
-
     private FluentStatic() {
     }
 
@@ -28,32 +23,33 @@ public class FluentStatic {
      * @return the client on service client and method groups.
      */
     public static Client getClient() {
-        return client;
+        return SessionContext.current().get(Client.class);
     }
 
     public static void setClient(Client client) {
-        FluentStatic.client = client;
+        SessionContext.current().set(Client.class, client);
     }
 
     /**
      * @return the client on Fluent manager, resource collections and instances (models)
      */
     public static FluentManager getFluentManager() {
+        FluentClient fluentClient = SessionContext.current().get(FluentClient.class);
         return fluentClient.getManager();
     }
 
     public static void setFluentClient(FluentClient fluentClient) {
-        FluentStatic.fluentClient = fluentClient;
+        SessionContext.current().set(FluentClient.class, fluentClient);
     }
 
     /**
      * @return settings for Fluent.
      */
     public static FluentJavaSettings getFluentJavaSettings() {
-        return fluentJavaSettings;
+        return SessionContext.current().get(FluentJavaSettings.class);
     }
 
     public static void setFluentJavaSettings(FluentJavaSettings fluentJavaSettings) {
-        FluentStatic.fluentJavaSettings = fluentJavaSettings;
+        SessionContext.current().set(FluentJavaSettings.class, fluentJavaSettings);
     }
 }
@@ -53,38 +53,43 @@ public class FluentJavaPackage extends JavaPackage {
     }
 
     public final void addFluentResourceModel(FluentResourceModel model) {
-        JavaFile javaFile = getJavaFileFactory().createSourceFile(
+        JavaFile interfaceFile = getJavaFileFactory().createSourceFile(
                 model.getInterfaceType().getPackage(),
                 model.getInterfaceType().getName());
-        FluentResourceModelInterfaceTemplate.getInstance().write(model, javaFile);
-        addJavaFile(javaFile);
+        FluentResourceModelInterfaceTemplate interfaceTemplate = FluentResourceModelInterfaceTemplate.getInstance();
+        measureTemplate(interfaceTemplate, () -> interfaceTemplate.write(model, interfaceFile));
+        addJavaFile(interfaceFile);
 
-        javaFile = getJavaFileFactory().createSourceFile(
+        JavaFile implementationFile = getJavaFileFactory().createSourceFile(
                 model.getImplementationType().getPackage(),
                 model.getImplementationType().getName());
-        FluentResourceModelImplementationTemplate.getInstance().write(model, javaFile);
-        addJavaFile(javaFile);
+        FluentResourceModelImplementationTemplate implementationTemplate = FluentResourceModelImplementationTemplate.getInstance();
+        measureTemplate(implementationTemplate, () -> implementationTemplate.write(model, implementationFile));
+        addJavaFile(implementationFile);
     }
 
     public final void addFluentResourceCollection(FluentResourceCollection collection) {
-        JavaFile javaFile = getJavaFileFactory().createSourceFile(
+        JavaFile interfaceFile = getJavaFileFactory().createSourceFile(
                 collection.getInterfaceType().getPackage(),
                 collection.getInterfaceType().getName());
-        FluentResourceCollectionInterfaceTemplate.getInstance().write(collection, javaFile);
-        addJavaFile(javaFile);
+        FluentResourceCollectionInterfaceTemplate interfaceTemplate = FluentResourceCollectionInterfaceTemplate.getInstance();
+        measureTemplate(interfaceTemplate, () -> interfaceTemplate.write(collection, interfaceFile));
+        addJavaFile(interfaceFile);
 
-        javaFile = getJavaFileFactory().createSourceFile(
+        JavaFile implementationFile = getJavaFileFactory().createSourceFile(
                 collection.getImplementationType().getPackage(),
                 collection.getImplementationType().getName());
-        FluentResourceCollectionImplementationTemplate.getInstance().write(collection, javaFile);
-        addJavaFile(javaFile);
+        FluentResourceCollectionImplementationTemplate implementationTemplate = FluentResourceCollectionImplementationTemplate.getInstance();
+        measureTemplate(implementationTemplate, () -> implementationTemplate.write(collection, implementationFile));
+        addJavaFile(implementationFile);
     }
 
     public final void addFluentManager(FluentManager model, Project project) {
         JavaFile javaFile = getJavaFileFactory().createSourceFile(
                 model.getType().getPackage(),
                 model.getType().getName());
-        FluentManagerTemplate.getInstance().write(model, project, javaFile);
+        measureTemplate(FluentManagerTemplate.getInstance(),
+                () -> FluentManagerTemplate.getInstance().write(model, project, javaFile));
         addJavaFile(javaFile);
     }
 
@@ -93,7 +98,7 @@ public class FluentJavaPackage extends JavaPackage {
         JavaFile javaFile = getJavaFileFactory().createSourceFile(
                 settings.getPackage(settings.getImplementationSubpackage()),
                 ModelNaming.CLASS_UTILS);
-        UtilsTemplate.getInstance().write(javaFile);
+        measureTemplate(UtilsTemplate.getInstance(), () -> UtilsTemplate.getInstance().write(javaFile));
         addJavaFile(javaFile);
     }
 }
@@ -62,7 +62,7 @@ public class FluentModelTemplate extends ModelTemplate {
             String lastParentName = model.getName();
             String parentModelName = model.getParentModelName();
             while (parentModelName != null && !lastParentName.equals(parentModelName)) {
-                ClientModel parentModel = ClientModels.Instance.getModel(parentModelName);
+                ClientModel parentModel = ClientModels.getInstance().getModel(parentModelName);
                 if (parentModel == null) {
                     parentModel = getPredefinedModel(parentModelName).orElse(null);
                 }
@@ -5,6 +5,7 @@
 
 package com.azure.autorest.fluent.template;
 
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import com.azure.autorest.fluent.model.clientmodel.FluentStatic;
 import com.azure.autorest.fluent.model.projectmodel.Project;
 import com.azure.autorest.model.clientmodel.Pom;
@@ -15,8 +16,6 @@ public class FluentPomTemplate extends PomTemplate {
 
     private static final FluentPomTemplate INSTANCE = new FluentPomTemplate();
 
-    private static Project project;
-
     protected FluentPomTemplate() {
     }
 
@@ -25,7 +24,7 @@ public class FluentPomTemplate extends PomTemplate {
     }
 
     public static void setProject(Project project) {
-        FluentPomTemplate.project = project;
+        SessionContext.current().set(Project.class, project);
     }
 
     @Override
@@ -37,6 +36,7 @@ public class FluentPomTemplate extends PomTemplate {
                     pluginsBlock.block("plugin", pluginBlock -> {
                         pluginBlock.tag("groupId", "org.jacoco");
                         pluginBlock.tag("artifactId", "jacoco-maven-plugin");
+                        Project project = SessionContext.current().get(Project.class);
                         pluginBlock.tagWithInlineComment("version", project.getPackageVersions().getJacocoMavenPlugin(),
                                 "{x-version-update;org.jacoco:jacoco-maven-plugin;external_dependency}");
                         pluginBlock.block("configuration", configurationBlock -> {
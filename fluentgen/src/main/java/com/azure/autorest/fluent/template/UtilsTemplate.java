@@ -38,8 +38,10 @@ public class UtilsTemplate implements IJavaTemplate<Void, JavaFile> {
         return INSTANCE;
     }
 
-    private static final List<MethodTemplate> METHOD_TEMPLATES = new ArrayList<>();
+    // built once and not modified after, so shared by the sessions
+    private static final List<MethodTemplate> METHOD_TEMPLATES;
     static {
+        List<MethodTemplate> methodTemplates = new ArrayList<>();
         MethodTemplate getValueFromIdByNameMethod = MethodTemplate.builder()
                 .imports(Arrays.asList(
                         Arrays.class.getName(),
@@ -49,7 +51,7 @@ public class UtilsTemplate implements IJavaTemplate<Void, JavaFile> {
                 .methodSignature("String getValueFromIdByName(String id, String name)")
                 .method(block -> block.line(FluentUtils.loadTextFromResource("Utils_getValueFromIdByName.txt")))
                 .build();
-        METHOD_TEMPLATES.add(getValueFromIdByNameMethod);
+        methodTemplates.add(getValueFromIdByNameMethod);
 
         MethodTemplate getValueFromIdByParameterNameMethod = MethodTemplate.builder()
                 .imports(Arrays.asList(
@@ -64,7 +66,8 @@ public class UtilsTemplate implements IJavaTemplate<Void, JavaFile> {
                 .methodSignature("String getValueFromIdByParameterName(String id, String pathTemplate, String parameterName)")
                 .method(block -> block.line(FluentUtils.loadTextFromResource("Utils_getValueFromIdByParameterName.txt")))
                 .build();
-        METHOD_TEMPLATES.add(getValueFromIdByParameterNameMethod);
+        methodTemplates.add(getValueFromIdByParameterNameMethod);
+        METHOD_TEMPLATES = Collections.unmodifiableList(methodTemplates);
     }
 
     private static final List<String> IMPORTS_UTILS_PAGED_ITERABLE = Arrays.asList(
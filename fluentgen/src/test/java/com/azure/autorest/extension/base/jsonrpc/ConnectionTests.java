@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.jsonrpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+
+public class ConnectionTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    public void testFlushFailsAfterWriteError() {
+        Connection connection = new Connection(new FailingOutputStream(), new ByteArrayInputStream(new byte[0]));
+        Assertions.assertTimeoutPreemptively(TIMEOUT, () -> {
+            connection.notify("Message", "message");
+            Assertions.assertThrows(RuntimeException.class, connection::flush);
+            // the writer thread has exited
+            Assertions.assertThrows(RuntimeException.class, connection::flush);
+            Assertions.assertThrows(RuntimeException.class,
+                () -> connection.request(new ObjectMapper().constructType(String.class), "GetValue", "key"));
+        });
+    }
+
+    @Test
+    public void testRequestFailsIfNotSerialized() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Connection connection = new Connection(output, new ByteArrayInputStream(new byte[0]));
+        Assertions.assertTimeoutPreemptively(TIMEOUT, () -> {
+            Assertions.assertThrows(RuntimeException.class,
+                () -> connection.request(new ObjectMapper().constructType(String.class), "GetValue",
+                    new UnserializableNumber()));
+            // the connection still sends the next messages
+            connection.notify("Message", "message");
+            connection.flush();
+        });
+        Assertions.assertTrue(output.toString().contains("\"method\":\"Message\""));
+    }
+
+    private static final class FailingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            throw new IOException("closed");
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throw new IOException("closed");
+        }
+    }
+
+    private static final class UnserializableNumber extends Number {
+        @Override
+        public int intValue() {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public long longValue() {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public float floatValue() {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public double doubleValue() {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public String toString() {
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.jsonrpc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+public class PeekingBinaryReaderTests {
+
+    @Test
+    public void testReadFramedContent() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        // larger than the initial buffer
+        String body = "{\"id\":1,\"result\":\"" + String.join("", Collections.nCopies(200000, "x")) + "\u00e9\"}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        String message = "Content-Length: " + bytes.length + "\r\n\r\n" + body;
+        byte[] input = (message + message).getBytes(StandardCharsets.UTF_8);
+
+        PeekingBinaryReader reader = new PeekingBinaryReader(new ChunkedInputStream(input, 1000));
+        for (int i = 0; i < 2; ++i) {
+            Assertions.assertEquals("Content-Length: " + bytes.length, reader.readAsciiLine());
+            Assertions.assertEquals("", reader.readAsciiLine());
+            Assertions.assertEquals('{', reader.peekByte());
+            JsonNode json = reader.readContent(bytes.length, mapper::readTree);
+            Assertions.assertEquals(mapper.readTree(body), json);
+        }
+        Assertions.assertEquals(-1, reader.peekByte());
+        Assertions.assertNull(reader.readAsciiLine());
+    }
+
+    private static class ChunkedInputStream extends InputStream {
+        private final ByteArrayInputStream input;
+        private final int chunkSize;
+
+        private ChunkedInputStream(byte[] bytes, int chunkSize) {
+            this.input = new ByteArrayInputStream(bytes);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read() {
+            return input.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return input.read(b, off, Math.min(len, chunkSize));
+        }
+    }
+}
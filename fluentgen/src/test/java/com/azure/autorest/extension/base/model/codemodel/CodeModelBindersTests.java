@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.model.codemodel;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class CodeModelBindersTests {
+
+    @Test
+    public void testBindersMatchBeanProperties() throws IntrospectionException {
+        for (CodeModelBinder<?> binder : CodeModelBinders.getAll()) {
+            Class<?> type = binder.getType();
+            Set<String> expectedNames = new TreeSet<>();
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                Method setter = descriptor.getWriteMethod();
+                if (setter == null) {
+                    continue;
+                }
+                expectedNames.add(descriptor.getName());
+
+                CodeModelBinder.PropertyBinder property = binder.getProperty(descriptor.getName());
+                Assertions.assertNotNull(property, type.getName() + "." + descriptor.getName());
+
+                Class<?> expectedType = setter.getParameterTypes()[0];
+                Assertions.assertEquals(expectedType, property.getType(), type.getName() + "." + descriptor.getName());
+                if (List.class.equals(expectedType) || Map.class.equals(expectedType)) {
+                    Type[] typeArguments = ((ParameterizedType) setter.getGenericParameterTypes()[0]).getActualTypeArguments();
+                    Assertions.assertEquals(typeArguments[typeArguments.length - 1], property.getElementType(),
+                            type.getName() + "." + descriptor.getName());
+                }
+            }
+            Assertions.assertEquals(expectedNames, new TreeSet<>(binder.getProperties().keySet()), type.getName());
+        }
+    }
+
+    @Test
+    public void testBindersCoverSchemaTypes() {
+        for (String type : new String[] {"any", "and", "array", "boolean", "binary", "byte-array", "char", "choice",
+                "constant", "credential", "date", "date-time", "dictionary", "duration", "flag", "group", "integer",
+                "not", "number", "object", "odata-query", "or", "parameter-group", "sealed-choice", "string", "time",
+                "unixtime", "uri", "uuid", "xor"}) {
+            Class<?> schemaType = CodeModelCustomConstructor.getSchemaType(type);
+            Assertions.assertNotNull(CodeModelBinders.get(schemaType), schemaType.getName());
+        }
+    }
+}
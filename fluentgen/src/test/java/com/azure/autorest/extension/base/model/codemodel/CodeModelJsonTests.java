@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.model.codemodel;
+
+import com.azure.autorest.fluent.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.introspector.Property;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+
+public class CodeModelJsonTests {
+
+    @Test
+    public void testWriteAndRead() {
+        CodeModel expected = CodeModelLoader.load(TestUtils.loadYaml("code-model-fluentnamer-locks.yaml"));
+
+        String json = CodeModelJsonWriter.write(expected);
+        CodeModel codeModel = CodeModelJsonReader.read(json);
+
+        Assertions.assertEquals(createYaml().dump(expected), createYaml().dump(codeModel));
+    }
+
+    @Test
+    public void testReadResolvesReferences() {
+        CodeModel codeModel = CodeModelJsonReader.read(CodeModelJsonWriter.write(
+                CodeModelLoader.load(TestUtils.loadYaml("code-model-fluentnamer-locks.yaml"))));
+
+        OperationGroup operationGroup = codeModel.getOperationGroups().get(0);
+        Assertions.assertSame(codeModel, operationGroup.getCodeModel());
+        Assertions.assertSame(operationGroup, operationGroup.getOperations().get(0).getOperationGroup());
+    }
+
+    @Test
+    public void testReadSchemaFromTypeDiscriminator() {
+        String json = "{\"schemas\":{\"objects\":[{\"type\":\"object\",\"$key\":\"Lock\",\"properties\":"
+                + "[{\"serializedName\":\"level\",\"schema\":{\"type\":\"sealed-choice\",\"choices\":[{\"value\":\"CanNotDelete\"}]}}]}]},"
+                + "\"operationGroups\":[]}";
+
+        CodeModel codeModel = CodeModelJsonReader.read(json);
+
+        ObjectSchema objectSchema = codeModel.getSchemas().getObjects().get(0);
+        Assertions.assertEquals("Lock", objectSchema.get$key());
+        Assertions.assertTrue(objectSchema.getProperties().get(0).getSchema() instanceof SealedChoiceSchema);
+    }
+
+    private static Yaml createYaml() {
+        Representer representer = new Representer() {
+            @Override
+            protected NodeTuple representJavaBeanProperty(Object javaBean, Property property, Object propertyValue, Tag customTag) {
+                // if value of property is null, ignore it.
+                if (propertyValue == null) {
+                    return null;
+                } else {
+                    return super.representJavaBeanProperty(javaBean, property, propertyValue, customTag);
+                }
+            }
+        };
+        return new Yaml(representer);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.model.codemodel;
+
+import com.azure.autorest.fluent.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.introspector.Property;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+
+public class CodeModelLoaderTests {
+
+    @Test
+    public void testLoadSameAsSnakeYaml() {
+        String yamlContent = TestUtils.loadYaml("code-model-fluentnamer-locks.yaml");
+
+        CodeModel expected = createYaml().loadAs(yamlContent, CodeModel.class);
+        CodeModel codeModel = CodeModelLoader.load(yamlContent);
+
+        Assertions.assertEquals(createYaml().dump(expected), createYaml().dump(codeModel));
+    }
+
+    @Test
+    public void testLoadResolvesAliases() {
+        CodeModel codeModel = CodeModelLoader.load(TestUtils.loadYaml("code-model-fluentnamer-locks.yaml"));
+
+        OperationGroup operationGroup = codeModel.getOperationGroups().get(0);
+        Assertions.assertSame(codeModel, operationGroup.getCodeModel());
+        Assertions.assertSame(operationGroup, operationGroup.getOperations().get(0).getOperationGroup());
+    }
+
+    @Test
+    public void testLoadAliasToAnchorInSkippedNode() {
+        // untagged, as modelerfour writes it; the string schema is anchored under an extension that is not kept
+        String yamlContent = String.join("\n",
+                "schemas:",
+                "  objects:",
+                "    - &ref_1",
+                "      type: object",
+                "      extensions:",
+                "        x-ms-examples:",
+                "          example:",
+                "            - &ref_0",
+                "              type: string",
+                "              language:",
+                "                default:",
+                "                  name: LockName",
+                "                  description: The name of the lock.",
+                "              protocol: {}",
+                "      language:",
+                "        default:",
+                "          name: Lock",
+                "          description: The lock.",
+                "      protocol: {}",
+                "      properties:",
+                "        - schema: *ref_0",
+                "          serializedName: name",
+                "          language:",
+                "            default:",
+                "              name: name",
+                "              description: The name of the lock.",
+                "          protocol: {}",
+                "        - schema: *ref_1",
+                "          serializedName: parent",
+                "          language:",
+                "            default:",
+                "              name: parent",
+                "              description: The parent lock.",
+                "          protocol: {}",
+                "language:",
+                "  default:",
+                "    name: LockClient",
+                "    description: ''",
+                "protocol: {}",
+                "");
+
+        CodeModel expected = new Yaml(new CodeModelCustomConstructor(), new Representer())
+                .loadAs(yamlContent, CodeModel.class);
+        CodeModel codeModel = CodeModelLoader.load(yamlContent);
+
+        Assertions.assertEquals(createYaml().dump(expected), createYaml().dump(codeModel));
+
+        ObjectSchema lock = codeModel.getSchemas().getObjects().get(0);
+        Schema lockName = lock.getProperties().get(0).getSchema();
+        Assertions.assertTrue(lockName instanceof StringSchema);
+        Assertions.assertEquals("LockName", lockName.getLanguage().getDefault().getName());
+        Assertions.assertSame(lock, lock.getProperties().get(1).getSchema());
+    }
+
+    private static Yaml createYaml() {
+        Representer representer = new Representer() {
+            @Override
+            protected NodeTuple representJavaBeanProperty(Object javaBean, Property property, Object propertyValue, Tag customTag) {
+                // if value of property is null, ignore it.
+                if (propertyValue == null) {
+                    return null;
+                } else {
+                    return super.representJavaBeanProperty(javaBean, property, propertyValue, customTag);
+                }
+            }
+        };
+        return new Yaml(representer);
+    }
+}
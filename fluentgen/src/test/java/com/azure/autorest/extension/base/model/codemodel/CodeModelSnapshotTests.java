@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.model.codemodel;
+
+import com.azure.autorest.fluent.TestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.introspector.Property;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class CodeModelSnapshotTests {
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        CodeModel expected = CodeModelLoader.load(TestUtils.loadYaml("code-model-fluentnamer-locks.yaml"));
+
+        Path file = Files.createTempFile("code-model", ".snapshot");
+        try {
+            CodeModelSnapshot.write(expected, file);
+            CodeModel codeModel = CodeModelSnapshot.read(file);
+
+            Assertions.assertEquals(createYaml().dump(expected), createYaml().dump(codeModel));
+
+            OperationGroup operationGroup = codeModel.getOperationGroups().get(0);
+            Assertions.assertSame(codeModel, operationGroup.getCodeModel());
+            Assertions.assertSame(operationGroup, operationGroup.getOperations().get(0).getOperationGroup());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testReadOtherFormat() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CodeModelSnapshot.write(new CodeModel(), outputStream);
+        byte[] snapshot = outputStream.toByteArray();
+        // format version
+        snapshot[7]++;
+
+        Assertions.assertNull(CodeModelSnapshot.read(ByteBuffer.wrap(snapshot)));
+    }
+
+    private static Yaml createYaml() {
+        Representer representer = new Representer() {
+            @Override
+            protected NodeTuple representJavaBeanProperty(Object javaBean, Property property, Object propertyValue, Tag customTag) {
+                // if value of property is null, ignore it.
+                if (propertyValue == null) {
+                    return null;
+                } else {
+                    return super.representJavaBeanProperty(javaBean, property, propertyValue, customTag);
+                }
+            }
+        };
+        return new Yaml(representer);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.plugin;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+public class DaemonAuthenticationTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    public void testAuthenticated() throws Exception {
+        Path tokenFile = Files.createTempDirectory("daemon-authentication").resolve("token").resolve("daemon.token");
+        DaemonAuthentication server = DaemonAuthentication.loadOrCreate(tokenFile);
+        DaemonAuthentication client = DaemonAuthentication.load(tokenFile);
+        Assertions.assertNotNull(client);
+
+        Assertions.assertTimeoutPreemptively(TIMEOUT, () -> {
+            try (ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+                 Socket clientSocket = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+                 Socket serverSide = serverSocket.accept()) {
+                CompletableFuture<Void> serverResult = CompletableFuture.runAsync(() -> authenticateClient(server,
+                        serverSide));
+                client.authenticateServer(clientSocket.getInputStream(), clientSocket.getOutputStream());
+                serverResult.join();
+
+                // the connection carries the messages after the handshake
+                clientSocket.getOutputStream().write('x');
+                Assertions.assertEquals('x', serverSide.getInputStream().read());
+            }
+        });
+    }
+
+    @Test
+    public void testNotAuthenticatedWithAnotherToken() throws Exception {
+        DaemonAuthentication server = DaemonAuthentication.loadOrCreate(
+                Files.createTempDirectory("daemon-authentication").resolve("daemon.token"));
+        DaemonAuthentication client = DaemonAuthentication.loadOrCreate(
+                Files.createTempDirectory("daemon-authentication").resolve("daemon.token"));
+
+        Assertions.assertTimeoutPreemptively(TIMEOUT, () -> {
+            try (ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+                 Socket clientSocket = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+                 Socket serverSide = serverSocket.accept()) {
+                CompletableFuture<Void> serverResult = CompletableFuture.runAsync(() -> authenticateClient(server,
+                        serverSide));
+                // the relaying process does not trust the resident process
+                Assertions.assertThrows(IOException.class,
+                    () -> client.authenticateServer(clientSocket.getInputStream(), clientSocket.getOutputStream()));
+                clientSocket.close();
+                // nor the resident process the relaying process
+                Assertions.assertThrows(Exception.class, serverResult::join);
+            }
+        });
+    }
+
+    @Test
+    public void testTokenFileAccessibleByOthers() throws Exception {
+        Path tokenFile = Files.createTempDirectory("daemon-authentication").resolve("daemon.token");
+        DaemonAuthentication.loadOrCreate(tokenFile);
+        if (!tokenFile.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return;
+        }
+        Assertions.assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile)));
+
+        Files.setPosixFilePermissions(tokenFile, PosixFilePermissions.fromString("rw-r--r--"));
+        Assertions.assertThrows(IOException.class, () -> DaemonAuthentication.load(tokenFile));
+    }
+
+    @Test
+    public void testNoTokenFile() throws Exception {
+        Path tokenFile = Files.createTempDirectory("daemon-authentication").resolve("daemon.token");
+        Assertions.assertNull(DaemonAuthentication.load(tokenFile));
+    }
+
+    private static void authenticateClient(DaemonAuthentication authentication, Socket socket) {
+        try {
+            authentication.authenticateClient(socket.getInputStream(), socket.getOutputStream());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
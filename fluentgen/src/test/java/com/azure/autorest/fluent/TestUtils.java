@@ -51,7 +51,6 @@ public class TestUtils {
 
         public MockFluentGen() {
             super(new Connection(System.out, System.in), "dummy", "dummy");
-            instance = this;
 
             JavaSettingsAccessor.setHost(this);
 
@@ -8,8 +8,12 @@ package com.azure.autorest.fluentnamer;
 
 import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelJsonWriter;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.NewPlugin;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.plugin.SessionContext;
+import com.azure.autorest.extension.base.util.GeneratorMetrics;
 import com.azure.autorest.fluent.namer.FluentNamerFactory;
 import com.azure.autorest.fluent.transformer.FluentTransformer;
 import com.azure.autorest.fluent.util.FluentJavaSettings;
@@ -32,21 +36,27 @@ import java.util.stream.Collectors;
 public class FluentNamer extends NewPlugin {
 
     private final Logger logger = new PluginLogger(this, FluentNamer.class);
-    private static FluentNamer instance;
+
+    private static final String METRICS_FILE_NAME = "fluentnamer-metrics.json";
 
     public FluentNamer(Connection connection, String plugin,
                        String sessionId) {
         super(connection, plugin, sessionId);
-        instance = this;
     }
 
+    /**
+     * @return the plugin of the current session, or null if it is not a FluentNamer.
+     */
     public static FluentNamer getPluginInstance() {
-        return instance;
+        NewPlugin plugin = SessionContext.current().getPlugin();
+        return plugin instanceof FluentNamer ? (FluentNamer) plugin : null;
     }
 
     @Override
     public boolean processInternal() {
+        GeneratorMetrics metrics = GeneratorMetrics.getInstance();
         try {
+            metrics.beginStage("read");
             List<String> files = listInputs().stream().filter(s -> s.contains("no-tags")).collect(Collectors.toList());
             if (files.size() != 1) {
                 throw new RuntimeException(String
@@ -57,13 +67,22 @@ public class FluentNamer extends NewPlugin {
             // Write the input code model file to a local code model file to help debugging
             createInputCodeModelFile(file);
             // Deserialize the input code model string to CodeModel object
+            metrics.beginStage("parse");
             CodeModel codeModel = loadCodeModel(file);
             // Do necessary transformation
+            metrics.beginStage("transform");
             codeModel = transform(codeModel);
             // Write to local file (for debugging)
-            Yaml newYaml = createYaml();
-            String output = newYaml.dump(codeModel);
-            File fluentNamerFile = new File("code-model-fluentnamer-no-tags.yaml");
+            metrics.beginStage("write");
+            String output;
+            File fluentNamerFile;
+            if (JavaSettings.getInstance().getCodeModelFormat() == JavaSettings.CodeModelFormat.JSON) {
+                output = CodeModelJsonWriter.write(codeModel);
+                fluentNamerFile = new File("code-model-fluentnamer-no-tags.json");
+            } else {
+                output = createYaml().dump(codeModel);
+                fluentNamerFile = new File("code-model-fluentnamer-no-tags.yaml");
+            }
             if (!fluentNamerFile.exists()) {
                 fluentNamerFile.createNewFile();
             }
@@ -71,6 +90,14 @@ public class FluentNamer extends NewPlugin {
 
             // Output updated code model
             writeFile(fluentNamerFile.getName(), output, null);
+
+            if (metrics.isEnabled()) {
+                // the report of the plugin is written to local file, as the generated code model
+                File metricsFile = new File(METRICS_FILE_NAME);
+                try (FileOutputStream metricsOutput = new FileOutputStream(metricsFile)) {
+                    metricsOutput.write(metrics.getReport().getBytes(StandardCharsets.UTF_8));
+                }
+            }
         } catch (Exception e) {
             logger.error("Failed to successfully run fluentnamer plugin.", e);
             return false;
@@ -86,16 +113,6 @@ public class FluentNamer extends NewPlugin {
         new FileOutputStream(tempFile).write(file.getBytes(StandardCharsets.UTF_8));
     }
 
-    private CodeModel loadCodeModel(String file) throws com.fasterxml.jackson.core.JsonProcessingException {
-        CodeModel codeModel;
-        if (!file.startsWith("{")) {
-            codeModel = yamlMapper.loadAs(file, CodeModel.class);
-        } else {
-            codeModel = jsonMapper.readValue(file, CodeModel.class);
-        }
-        return codeModel;
-    }
-
     private Yaml createYaml() {
         Representer representer = new Representer() {
             @Override
@@ -6,21 +6,12 @@
 
 package com.azure.autorest.fluentnamer;
 
-import com.azure.autorest.extension.base.jsonrpc.Connection;
-
-import java.util.Collections;
+import com.azure.autorest.extension.base.plugin.PluginServer;
 
 public class Main {
 
     public static void main(String[] args) {
-        Connection connection = new Connection(System.out, System.in);
-        connection.dispatch("GetPluginNames", () -> Collections.singleton("fluentnamer"));
-        connection.dispatch("Process",
-                (plugin, sessionId) -> new FluentNamer(connection, plugin, sessionId).process(), String.class,
-                String.class);
-        connection.dispatchNotification("Shutdown", connection::stop);
-        // wait for something to do.
-        connection.waitForAll();
+        new PluginServer("fluentnamer", FluentNamer::new).run(args);
     }
 }
 
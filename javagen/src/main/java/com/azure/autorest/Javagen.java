@@ -5,46 +5,56 @@ import com.azure.autorest.extension.base.model.codemodel.CodeModel;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.NewPlugin;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.plugin.SessionContext;
+import com.azure.autorest.extension.base.util.GeneratorMetrics;
+import com.azure.autorest.extension.base.util.HashUtil;
+import com.azure.autorest.extension.base.util.JavaFormatterService;
+import com.azure.autorest.extension.base.util.ParallelUtil;
 import com.azure.autorest.mapper.Mappers;
 import com.azure.autorest.model.clientmodel.AsyncSyncClient;
+import com.azure.autorest.model.clientmodel.BinaryUpload;
 import com.azure.autorest.model.clientmodel.Client;
 import com.azure.autorest.model.clientmodel.ClientException;
 import com.azure.autorest.model.clientmodel.ClientModel;
 import com.azure.autorest.model.clientmodel.ClientResponse;
 import com.azure.autorest.model.clientmodel.EnumType;
+import com.azure.autorest.model.clientmodel.FluxInputStream;
 import com.azure.autorest.model.clientmodel.MethodGroupClient;
 import com.azure.autorest.model.clientmodel.PackageInfo;
 import com.azure.autorest.model.clientmodel.XmlSequenceWrapper;
 import com.azure.autorest.model.javamodel.JavaFile;
 import com.azure.autorest.model.javamodel.JavaPackage;
 import com.azure.autorest.util.ClientModelUtil;
-import com.google.googlejavaformat.java.Formatter;
+import com.azure.autorest.util.GenerationManifest;
 import org.slf4j.Logger;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.introspector.Property;
-import org.yaml.snakeyaml.nodes.NodeTuple;
-import org.yaml.snakeyaml.nodes.Tag;
-import org.yaml.snakeyaml.representer.Representer;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class Javagen extends NewPlugin {
     private final Logger LOGGER = new PluginLogger(this, Javagen.class);
-    private static Javagen instance;
 
     public Javagen(Connection connection, String plugin, String sessionId) {
         super(connection, plugin, sessionId);
-        instance = this;
     }
 
+    /**
+     * @return the plugin of the current session, or null if it is not a Javagen.
+     */
     public static Javagen getPluginInstance() {
-        return instance;
+        NewPlugin plugin = SessionContext.current().getPlugin();
+        return plugin instanceof Javagen ? (Javagen) plugin : null;
     }
 
     @Override
     public boolean processInternal() {
+        GeneratorMetrics metrics = GeneratorMetrics.getInstance();
+        metrics.beginStage("read");
         List<String> allFiles = listInputs();
         List<String> files = allFiles.stream().filter(s -> s.contains("no-tags")).collect(Collectors.toList());
         if (files.size() != 1) {
@@ -52,29 +62,17 @@ public class Javagen extends NewPlugin {
         }
 
         try {
-            // Step 1: Parse input yaml as CodeModel
+            // Step 1: Parse input yaml or json as CodeModel
             String file = readFile(files.get(0));
-            Representer representer = new Representer() {
-                @Override
-                protected NodeTuple representJavaBeanProperty(Object javaBean, Property property, Object propertyValue,
-                    Tag customTag) {
-                    // if value of property is null, ignore it.
-                    if (propertyValue == null) {
-                        return null;
-                    }
-                    else {
-                        return super.representJavaBeanProperty(javaBean, property, propertyValue, customTag);
-                    }
-                }
-            };
-
-            Yaml newYaml  = new Yaml(representer);
-            CodeModel codeModel = newYaml.loadAs(file, CodeModel.class);
+            metrics.beginStage("parse");
+            CodeModel codeModel = loadCodeModel(file);
 
             // Step 2: Map
+            metrics.beginStage("map");
             Client client = Mappers.getClientMapper().map(codeModel);
 
             // Step 3: Write to templates
+            metrics.beginStage("template");
             JavaPackage javaPackage = new JavaPackage(this);
             // Service client
             javaPackage
@@ -146,27 +144,166 @@ public class Javagen extends NewPlugin {
                 javaPackage.addPackageInfo(packageInfo.getPackage(), "package-info", packageInfo);
             }
 
+            // FluxInputStream of the sync methods that download binary
+            for (FluxInputStream fluxInputStream : client.getFluxInputStreams()) {
+                javaPackage.addFluxInputStream(fluxInputStream);
+            }
+
+            // BinaryUpload of the upload overloads
+            for (BinaryUpload binaryUpload : client.getBinaryUploads()) {
+                javaPackage.addBinaryUpload(binaryUpload);
+            }
+
             // TODO: POM, Manager
             //Step 4: Print to files
-            Formatter formatter = new Formatter();
-            for (JavaFile javaFile : javaPackage.getJavaFiles()) {
-                try {
-                    String formattedSource = formatter.formatSourceAndFixImports(javaFile.getContents().toString());
-                    writeFile(javaFile.getFilePath(), formattedSource, null);
-                } catch (Exception e) {
-                    LOGGER.error("Unable to format output file " + javaFile.getFilePath(), e);
+            // Files are formatted in parallel, and written in the order they were added
+            List<JavaFile> allJavaFiles = javaPackage.getJavaFiles();
+            metrics.beginStage("format");
+            IncrementalGeneration incrementalGeneration = startIncrementalGeneration(allJavaFiles);
+            List<JavaFile> javaFiles = incrementalGeneration == null
+                ? allJavaFiles
+                : incrementalGeneration.getChangedJavaFiles();
+            long formatStart = System.nanoTime();
+            // With direct emission, the files known to be in the layout of the formatter are not formatted
+            // With exact imports, the imports are not fixed by the formatter
+            boolean exactImports = JavaSettings.getInstance().isExactImports();
+            List<JavaFormatterService.FormatResult> formatResults = JavaFormatterService.formatAll(javaFiles,
+                JavaFile::getFilePath, javaFile -> javaFile.getContents().toString(), Collections.emptyMap(),
+                javaFile -> javaFile.getContents().toCanonicalString(),
+                javaFile -> exactImports ? javaFile.getContents().toImportCleanString() : null);
+            JavaFormatterService.logFormatTimes(LOGGER, formatResults, System.nanoTime() - formatStart);
+            metrics.beginStage("write");
+            for (JavaFormatterService.FormatResult formatResult : formatResults) {
+                if (formatResult.getError() != null) {
+                    LOGGER.error("Unable to format output file " + formatResult.getPath(), formatResult.getError());
                     return false;
                 }
+                writeFile(formatResult.getPath(), formatResult.getContent(), null);
+            }
+            if (incrementalGeneration != null) {
+                // Only after every file is formatted and written
+                incrementalGeneration.complete(formatResults);
             }
+            // Hashes of the formatted files, so that postprocessor only formats the files changed by customization
+            writeFile(JavaFormatterService.FORMATTED_HASHES_FILE_NAME,
+                JavaFormatterService.writeFormattedHashes(formatResults), null,
+                JavaFormatterService.FORMATTED_HASHES_ARTIFACT_TYPE);
             String artifactId = JavaSettings.getInstance().getArtifactId();
             if (!(artifactId == null || artifactId.isEmpty())) {
                 writeFile("src/main/resources/" + artifactId + ".properties",
                         "name=${project.artifactId}\nversion=${project" + ".version}\n", null);
             }
+            if (metrics.isEnabled()) {
+                writeFile(GeneratorMetrics.REPORT_FILE_NAME, metrics.getReport(), null);
+            }
         } catch (Exception ex) {
             LOGGER.error("Failed to generate code.", ex);
             return false;
         }
         return true;
     }
+
+    /*
+     * With incremental generation, finds the Java files whose rendered source changed since the last generation, or
+     * which are no longer in the output folder as they were written. Returns null without incremental generation.
+     */
+    private IncrementalGeneration startIncrementalGeneration(List<JavaFile> javaFiles) throws IOException {
+        JavaSettings settings = JavaSettings.getInstance();
+        if (!settings.isIncrementalGeneration()) {
+            return null;
+        }
+        if (settings.getCustomizationClass() != null) {
+            LOGGER.info("Incremental generation is disabled, as customization requires all files.");
+            return null;
+        }
+        if (settings.isClearOutputFolder()) {
+            // the unchanged files would be deleted by AutoRest, and not written again
+            LOGGER.warn("Incremental generation is disabled, as 'clear-output-folder' is set.");
+            return null;
+        }
+        Path outputFolder = GenerationManifest.getOutputFolderPath(settings.getOutputFolder());
+        if (outputFolder == null) {
+            LOGGER.warn("Incremental generation is disabled, as 'output-folder' is not an absolute path.");
+            return null;
+        }
+
+        GenerationManifest previousManifest = null;
+        try {
+            previousManifest = GenerationManifest.read(outputFolder, jsonMapper);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read manifest of last generation, all files will be written.", e);
+        }
+
+        String settingsHash = HashUtil.sha256(jsonMapper.writeValueAsString(settings)
+            + Javagen.class.getPackage().getImplementationVersion());
+        GenerationManifest lastManifest = previousManifest;
+        // the hash of the rendered source of each changed file, or null for an unchanged file
+        List<String> sourceHashes = ParallelUtil.map(javaFiles, javaFile -> {
+            String sourceHash = HashUtil.sha256(javaFile.getContents().toString());
+            return lastManifest != null
+                && lastManifest.isUnchanged(outputFolder, settingsHash, javaFile.getFilePath(), sourceHash)
+                ? null : sourceHash;
+        });
+        IncrementalGeneration incrementalGeneration =
+            new IncrementalGeneration(outputFolder, previousManifest, new GenerationManifest(settingsHash));
+        for (int i = 0; i < javaFiles.size(); ++i) {
+            JavaFile javaFile = javaFiles.get(i);
+            if (sourceHashes.get(i) == null) {
+                incrementalGeneration.manifest.getFiles()
+                    .put(javaFile.getFilePath(), previousManifest.getFiles().get(javaFile.getFilePath()));
+            } else {
+                incrementalGeneration.changedJavaFiles.add(javaFile);
+                incrementalGeneration.changedSourceHashes.add(sourceHashes.get(i));
+            }
+        }
+        LOGGER.info("Incremental generation, {} of {} files changed",
+            incrementalGeneration.changedJavaFiles.size(), javaFiles.size());
+        return incrementalGeneration;
+    }
+
+    /*
+     * The state of an incremental generation, between the templates and the write of the files.
+     */
+    private final class IncrementalGeneration {
+        private final Path outputFolder;
+        private final GenerationManifest previousManifest;
+        private final GenerationManifest manifest;
+        private final List<JavaFile> changedJavaFiles = new ArrayList<>();
+        private final List<String> changedSourceHashes = new ArrayList<>();
+
+        private IncrementalGeneration(Path outputFolder, GenerationManifest previousManifest,
+            GenerationManifest manifest) {
+            this.outputFolder = outputFolder;
+            this.previousManifest = previousManifest;
+            this.manifest = manifest;
+        }
+
+        private List<JavaFile> getChangedJavaFiles() {
+            return changedJavaFiles;
+        }
+
+        /*
+         * Writes the manifest of this generation, with the hashes of the written files, then deletes the files of the
+         * last generation that are no longer generated. The extension protocol of AutoRest cannot delete a file, so
+         * they are deleted from the output folder, and each deletion is reported through AutoRest.
+         */
+        private void complete(List<JavaFormatterService.FormatResult> formatResults) throws IOException {
+            for (int i = 0; i < changedJavaFiles.size(); ++i) {
+                manifest.getFiles().put(changedJavaFiles.get(i).getFilePath(), new GenerationManifest.FileHashes(
+                    changedSourceHashes.get(i), HashUtil.sha256(formatResults.get(i).getContent())));
+            }
+            writeFile(GenerationManifest.FILE_NAME, jsonMapper.writeValueAsString(manifest), null);
+
+            if (previousManifest != null) {
+                for (Path removedFile : previousManifest.getRemovedFiles(outputFolder, manifest)) {
+                    try {
+                        Files.deleteIfExists(removedFile);
+                        LOGGER.info("Deleted {}, which is no longer generated", removedFile);
+                    } catch (IOException e) {
+                        LOGGER.warn("Failed to delete " + removedFile + ", which is no longer generated", e);
+                    }
+                }
+            }
+        }
+    }
 }
@@ -3,12 +3,10 @@ package com.azure.autorest.mapper;
 import com.azure.autorest.extension.base.model.codemodel.ArraySchema;
 import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.model.clientmodel.ListType;
-import java.util.HashMap;
-import java.util.Map;
 
 public class ArrayMapper implements IMapper<ArraySchema, IType> {
     private static ArrayMapper instance = new ArrayMapper();
-    Map<ArraySchema, IType> parsed = new HashMap<>();
+    MapperCache<ArraySchema, IType> parsed = new MapperCache<>();
 
     private ArrayMapper() {
     }
@@ -22,11 +20,7 @@ public class ArrayMapper implements IMapper<ArraySchema, IType> {
         if (sequenceType == null) {
             return null;
         }
-        if (parsed.containsKey(sequenceType)) {
-            return parsed.get(sequenceType);
-        }
-        IType iType = new ListType(Mappers.getSchemaMapper().map(sequenceType.getElementType()));
-        parsed.put(sequenceType, iType);
-        return iType;
+        return parsed.computeIfAbsent(sequenceType,
+                type -> new ListType(Mappers.getSchemaMapper().map(type.getElementType())));
     }
 }
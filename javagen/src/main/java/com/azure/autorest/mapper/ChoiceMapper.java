@@ -9,13 +9,11 @@ import com.azure.autorest.model.clientmodel.EnumType;
 import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.util.CodeNamer;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class ChoiceMapper implements IMapper<ChoiceSchema, IType> {
     private static ChoiceMapper instance = new ChoiceMapper();
-    Map<ChoiceSchema, IType> parsed = new HashMap<>();
+    MapperCache<ChoiceSchema, IType> parsed = new MapperCache<>();
 
     private ChoiceMapper() {
     }
@@ -29,12 +27,12 @@ public class ChoiceMapper implements IMapper<ChoiceSchema, IType> {
         if (enumType == null) {
             return null;
         }
+        return parsed.computeIfAbsent(enumType, this::createEnumType);
+    }
 
+    private IType createEnumType(ChoiceSchema enumType) {
         JavaSettings settings = JavaSettings.getInstance();
 
-        if (parsed.containsKey(enumType)) {
-            return parsed.get(enumType);
-        }
         IType _itype;
         String enumTypeName = enumType.getLanguage().getJava().getName();
 
@@ -76,7 +74,6 @@ public class ChoiceMapper implements IMapper<ChoiceSchema, IType> {
                     .values(enumValues)
                     .elementType(Mappers.getSchemaMapper().map(enumType.getChoiceType()))
                     .build();
-            parsed.put(enumType, _itype);
         }
 
         return _itype;
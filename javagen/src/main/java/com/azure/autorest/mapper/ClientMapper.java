@@ -15,32 +15,48 @@ import com.azure.autorest.extension.base.model.codemodel.Schema;
 import com.azure.autorest.extension.base.model.codemodel.SealedChoiceSchema;
 import com.azure.autorest.extension.base.model.extensionmodel.XmsExtensions;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionContext;
+import com.azure.autorest.extension.base.util.ParallelUtil;
+import com.azure.autorest.model.clientmodel.BinaryUpload;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.Client;
+import com.azure.autorest.model.clientmodel.ClientMethod;
+import com.azure.autorest.model.clientmodel.ClientMethodType;
 import com.azure.autorest.model.clientmodel.ClientModel;
 import com.azure.autorest.model.clientmodel.ClientResponse;
 import com.azure.autorest.model.clientmodel.EnumType;
+import com.azure.autorest.model.clientmodel.FluxInputStream;
 import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.model.clientmodel.ListType;
+import com.azure.autorest.model.clientmodel.MethodGroupClient;
 import com.azure.autorest.model.clientmodel.PackageInfo;
+import com.azure.autorest.model.clientmodel.ServiceClient;
 import com.azure.autorest.model.clientmodel.XmlSequenceWrapper;
 import com.azure.autorest.util.CodeNamer;
 import com.azure.autorest.util.SchemaUtil;
 import com.azure.core.util.CoreUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class ClientMapper implements IMapper<CodeModel, Client> {
     private static ClientMapper instance = new ClientMapper();
 
+    // the key of the schemas of the response headers in the session
+    private static final Object HEADER_SCHEMAS_KEY = new Object();
+
     private ClientMapper() {
     }
 
@@ -48,6 +64,21 @@ public class ClientMapper implements IMapper<CodeModel, Client> {
         return instance;
     }
 
+    /**
+     * Whether the schema is the headers of a response, created by the mapper rather than read from the code model.
+     *
+     * @param schema the schema.
+     * @return whether the schema is the headers of a response.
+     */
+    static boolean isHeaderSchema(ObjectSchema schema) {
+        return getHeaderSchemas().contains(schema);
+    }
+
+    private static Set<ObjectSchema> getHeaderSchemas() {
+        return SessionContext.current().get(HEADER_SCHEMAS_KEY,
+                () -> Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>())));
+    }
+
     @Override
     public Client map(CodeModel codeModel) {
         JavaSettings settings = JavaSettings.getInstance();
@@ -77,12 +108,16 @@ public class ClientMapper implements IMapper<CodeModel, Client> {
         }
         builder.enums(enumTypes);
 
-        builder.exceptions(codeModel.getOperationGroups().stream()
+        // the mappers are thread-safe, with parallel-mapping the models, exceptions, responses and client methods are
+        // mapped in parallel
+        List<ObjectSchema> exceptionSchemas = codeModel.getOperationGroups().stream()
                 .flatMap(og -> og.getOperations().stream())
                 .flatMap(o -> o.getExceptions().stream())
                 .map(Response::getSchema)
                 .distinct()
-                .map(s -> Mappers.getExceptionMapper().map((ObjectSchema) s))
+                .map(s -> (ObjectSchema) s)
+                .collect(Collectors.toList());
+        builder.exceptions(map(exceptionSchemas, s -> Mappers.getExceptionMapper().map(s)).stream()
                 .filter(Objects::nonNull)
                 .distinct()
                 .collect(Collectors.toList()));
@@ -94,18 +129,18 @@ public class ClientMapper implements IMapper<CodeModel, Client> {
             codeModel.getOperationGroups().stream().flatMap(og -> og.getOperations().stream())
                 .map(o -> parseHeader(o, settings)).filter(Objects::nonNull));
 
-        List<ClientModel> clientModels = autoRestModelTypes
-                .distinct()
-                .map(autoRestCompositeType -> Mappers.getModelMapper().map(autoRestCompositeType))
+        List<ClientModel> clientModels = map(autoRestModelTypes.distinct().collect(Collectors.toList()),
+                autoRestCompositeType -> Mappers.getModelMapper().map(autoRestCompositeType)).stream()
                 .filter(Objects::nonNull)
                 .distinct()
                 .collect(Collectors.toList());
         builder.models(clientModels);
 
-        builder.responseModels(codeModel.getOperationGroups().stream()
+        List<Operation> operations = codeModel.getOperationGroups().stream()
                 .flatMap(og -> og.getOperations().stream())
                 .distinct()
-                .map(m -> parseResponse(m, settings))
+                .collect(Collectors.toList());
+        builder.responseModels(map(operations, m -> parseResponse(m, settings)).stream()
                 .filter(Objects::nonNull)
                 .distinct()
                 .collect(Collectors.toList()));
@@ -113,9 +148,23 @@ public class ClientMapper implements IMapper<CodeModel, Client> {
         String serviceClientName = codeModel.getLanguage().getJava().getName();
         String serviceClientDescription = codeModel.getInfo().getDescription();
 
+        // client methods are cached by the mapper, and assembled in order into the service client and method groups
+        // "options" is not supported in HttpMethod in azure-core
+        map(operations.stream()
+                .filter(o -> !"options".equals(o.getRequests().get(0).getProtocol().getHttp().getMethod()))
+                .collect(Collectors.toList()), o -> Mappers.getClientMethodMapper().map(o));
+
+        ServiceClient serviceClient = Mappers.getServiceClientMapper().map(codeModel);
         builder.clientName(serviceClientName)
                 .clientDescription(serviceClientDescription)
-                .serviceClient(Mappers.getServiceClientMapper().map(codeModel));
+                .serviceClient(serviceClient)
+                .fluxInputStreams(packagesOf(serviceClient, ClientMapper::readsFluxInputStream).stream()
+                        .map(FluxInputStream::new)
+                        .collect(Collectors.toList()))
+                .binaryUploads(packagesOf(serviceClient, clientMethod -> clientMethod.getMethodUploadDetails() != null)
+                        .stream()
+                        .map(BinaryUpload::new)
+                        .collect(Collectors.toList()));
 
         // TODO: Manager
 //        Manager manager = Mappers.ManagerMapper.Map(codeModel);
@@ -194,6 +243,41 @@ public class ClientMapper implements IMapper<CodeModel, Client> {
         return builder.build();
     }
 
+    /*
+     * Maps the items in order, on the threads of the generator with parallel-mapping.
+     */
+    private static <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> mapper) {
+        if (JavaSettings.getInstance().isParallelMapping()) {
+            return ParallelUtil.map(items, mapper);
+        }
+        return items.stream().map(mapper).collect(Collectors.toList());
+    }
+
+    /*
+     * The packages of the service client and the method groups that have client methods matching the predicate.
+     */
+    private static Set<String> packagesOf(ServiceClient serviceClient, Predicate<ClientMethod> predicate) {
+        Set<String> packageNames = new LinkedHashSet<>();
+        if (serviceClient.getClientMethods().stream().anyMatch(predicate)) {
+            packageNames.add(serviceClient.getPackage());
+        }
+        for (MethodGroupClient methodGroupClient : serviceClient.getMethodGroupClients()) {
+            if (methodGroupClient.getClientMethods().stream().anyMatch(predicate)) {
+                packageNames.add(methodGroupClient.getPackage());
+            }
+        }
+        return packageNames;
+    }
+
+    /*
+     * The sync client methods that download binary read the response body with the FluxInputStream of their package.
+     */
+    private static boolean readsFluxInputStream(ClientMethod clientMethod) {
+        return clientMethod.getType() == ClientMethodType.SimpleSyncToStream
+                || (clientMethod.getType() == ClientMethodType.SimpleSync
+                && clientMethod.getReturnValue().getType() == ClassType.InputStream);
+    }
+
     private List<XmlSequenceWrapper> parseXmlSequenceWrappers(CodeModel codeModel) {
         List<XmlSequenceWrapper> xmlSequenceWrappers = new ArrayList<>();
         JavaSettings settings = JavaSettings.getInstance();
@@ -254,6 +338,7 @@ public class ClientMapper implements IMapper<CodeModel, Client> {
         headerSchema.getLanguage().setJava(new Language());
         headerSchema.getLanguage().getJava().setName(name);
         headerSchema.setProperties(new ArrayList<>());
+        getHeaderSchemas().add(headerSchema);
         for (Map.Entry<String, Schema> header : headerMap.entrySet()) {
             Property property = new Property();
             property.setSerializedName(header.getKey());
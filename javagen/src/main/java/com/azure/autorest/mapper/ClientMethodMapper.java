@@ -5,6 +5,7 @@ import com.azure.autorest.extension.base.model.codemodel.ObjectSchema;
 import com.azure.autorest.extension.base.model.codemodel.Operation;
 import com.azure.autorest.extension.base.model.codemodel.Parameter;
 import com.azure.autorest.extension.base.model.codemodel.Request;
+import com.azure.autorest.extension.base.model.codemodel.RequestParameterLocation;
 import com.azure.autorest.extension.base.model.codemodel.Response;
 import com.azure.autorest.extension.base.model.codemodel.Schema;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
@@ -21,6 +22,7 @@ import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.model.clientmodel.ListType;
 import com.azure.autorest.model.clientmodel.MethodPageDetails;
 import com.azure.autorest.model.clientmodel.MethodTransformationDetail;
+import com.azure.autorest.model.clientmodel.MethodUploadDetails;
 import com.azure.autorest.model.clientmodel.ParameterMapping;
 import com.azure.autorest.model.clientmodel.PrimitiveType;
 import com.azure.autorest.model.clientmodel.ProxyMethod;
@@ -42,7 +44,7 @@ import java.util.stream.Collectors;
 
 public class ClientMethodMapper implements IMapper<Operation, List<ClientMethod>> {
     private static ClientMethodMapper instance = new ClientMethodMapper();
-    private Map<Operation, List<ClientMethod>> parsed = new HashMap<>();
+    private MapperCache<Operation, List<ClientMethod>> parsed = new MapperCache<>();
 
     protected ClientMethodMapper() {
     }
@@ -53,10 +55,11 @@ public class ClientMethodMapper implements IMapper<Operation, List<ClientMethod>
 
     @Override
     public List<ClientMethod> map(Operation operation) {
+        return parsed.computeIfAbsent(operation, this::createClientMethods);
+    }
+
+    private List<ClientMethod> createClientMethods(Operation operation) {
         JavaSettings settings = JavaSettings.getInstance();
-        if (parsed.containsKey(operation)) {
-            return parsed.get(operation);
-        }
 
         Map<Request, ProxyMethod> proxyMethods = Mappers.getProxyMethodMapper().map(operation);
 
@@ -67,6 +70,7 @@ public class ClientMethodMapper implements IMapper<Operation, List<ClientMethod>
                 .clientReference((operation.getOperationGroup() == null || operation.getOperationGroup().getLanguage().getJava().getName().isEmpty()) ? "this": "this.client");
 
         IType asyncRestResponseReturnType;
+        IType syncRestResponseReturnType;
         IType asyncReturnType;
         IType syncReturnType;
         IType syncReturnWithResponse;
@@ -90,10 +94,12 @@ public class ClientMethodMapper implements IMapper<Operation, List<ClientMethod>
             IType listType = itemPropertyOpt.get().getWireType();
             IType elementType = ((ListType) listType).getElementType();
             asyncRestResponseReturnType = GenericType.Mono(GenericType.PagedResponse(elementType));
+            syncRestResponseReturnType = GenericType.PagedResponse(elementType);
             asyncReturnType = GenericType.PagedFlux(elementType);
             syncReturnType = GenericType.PagedIterable(elementType);
         } else {
             asyncRestResponseReturnType = null;
+            syncRestResponseReturnType = null;
             IType responseBodyType = SchemaUtil.getOperationResponseType(operation);
             IType restAPIMethodReturnBodyClientType = responseBodyType.getClientType();
             if (operation.getResponses().stream().anyMatch(r -> Boolean.TRUE.equals(r.getBinary()))) {
@@ -151,7 +157,7 @@ public class ClientMethodMapper implements IMapper<Operation, List<ClientMethod>
                             validateExpressions.put(clientMethodParameter.getName(), validation);
                         }
                     } else {
-                        ProxyMethodParameter proxyParameter = Mappers.getProxyParameterMapper().map(parameter);
+                        ProxyMethodParameter proxyParameter = Mappers.getProxyParameterMapper().map(parameter, operation);
                         String exp = proxyParameter.getParameterReference();
 
                         if (proxyParameter.getIsRequired() && !(proxyParameter.getClientType() instanceof PrimitiveType)) {
@@ -248,6 +254,28 @@ public class ClientMethodMapper implements IMapper<Operation, List<ClientMethod>
                                 details);
                     }
 
+                    if (settings.isSyncStack() && settings.isSyncStackPaging()
+                            && settings.getSyncMethods() == JavaSettings.SyncMethodsGeneration.ALL
+                            && proxyMethod.getSyncReturnType() != null) {
+                        // single page of the PagedIterable, from the sync proxy method
+                        methods.add(builder
+                                .returnValue(new ReturnValue(
+                                        returnTypeDescription(operation, syncRestResponseReturnType, syncReturnType),
+                                        syncRestResponseReturnType))
+                                .name(proxyMethod.getPagingSinglePageMethodName())
+                                .onlyRequiredParameters(false)
+                                .type(ClientMethodType.PagingSyncSinglePage)
+                                .isGroupedParameterRequired(false)
+                                .methodVisibility(methodVisibility(ClientMethodType.PagingSyncSinglePage, false))
+                                .build());
+
+                        if (settings.isContextClientMethodParameter()) {
+                            addClientMethodWithContext(methods,
+                                    builder.methodVisibility(methodVisibility(ClientMethodType.PagingSyncSinglePage, true)),
+                                    parameters);
+                        }
+                    }
+
                     if (!isNextMethod) {
                         if (settings.getSyncMethods() != JavaSettings.SyncMethodsGeneration.NONE) {
                             methods.add(builder
@@ -499,6 +527,20 @@ public class ClientMethodMapper implements IMapper<Operation, List<ClientMethod>
                                 .build());
                     }
 
+                    if (settings.isOutputStreamDownloads() && syncReturnType == ClassType.InputStream) {
+                        List<ClientMethodParameter> withOutputStreamParameters = new ArrayList<>(parameters);
+                        withOutputStreamParameters.add(OUTPUT_STREAM_PARAM);
+
+                        methods.add(builder
+                                .parameters(withOutputStreamParameters)
+                                .returnValue(new ReturnValue(null, PrimitiveType.Void))
+                                .onlyRequiredParameters(false)
+                                .type(ClientMethodType.SimpleSyncToStream)
+                                .build());
+                        // reset the parameters to original params
+                        builder.parameters(parameters);
+                    }
+
                     if (settings.isContextClientMethodParameter()) {
                         builder.type(ClientMethodType.SimpleSyncRestResponse)
                                 .onlyRequiredParameters(false)
@@ -508,12 +550,117 @@ public class ClientMethodMapper implements IMapper<Operation, List<ClientMethod>
                         addClientMethodWithContext(methods, builder, parameters);
                     }
                 }
+
+                if (settings.isBinaryUploadOverloads() && settings.getSyncMethods() != SyncMethodsGeneration.NONE
+                    && !GenericType.FluxByteBuffer.equals(asyncReturnType)) {
+                    addUploadOverloads(methods, builder, proxyMethod, parameters,
+                        new ReturnValue(returnTypeDescription(operation, asyncReturnType, syncReturnType), asyncReturnType),
+                        new ReturnValue(returnTypeDescription(operation, syncReturnType, syncReturnType), syncReturnType),
+                        settings);
+                }
             }
         }
-        parsed.put(operation, methods);
         return methods;
     }
 
+    /*
+     * Adds the overloads of a client method that uploads a binary body with its length, which take a file or a
+     * BinaryData instead of the body and the length. The async overloads call the async client method with the body
+     * and the length, the sync overloads block on the async overloads.
+     */
+    void addUploadOverloads(List<ClientMethod> methods, Builder builder, ProxyMethod proxyMethod,
+        List<ClientMethodParameter> parameters, ReturnValue asyncReturnValue, ReturnValue syncReturnValue,
+        JavaSettings settings) {
+        ClientMethodParameter bodyParameter = proxyMethod.getParameters().stream()
+            .filter(p -> p.getRequestParameterLocation() == RequestParameterLocation.Body
+                && GenericType.FluxByteBuffer.equals(p.getClientType()))
+            .findFirst()
+            .flatMap(p -> parameters.stream().filter(cp -> cp.getName().equals(p.getName())).findFirst())
+            .orElse(null);
+        ClientMethodParameter contentLengthParameter = proxyMethod.getParameters().stream()
+            .filter(p -> p.getRequestParameterLocation() == RequestParameterLocation.Header
+                && "Content-Length".equalsIgnoreCase(p.getRequestParameterName()))
+            .findFirst()
+            .flatMap(p -> parameters.stream().filter(cp -> cp.getName().equals(p.getName())).findFirst())
+            .orElse(null);
+        JavaVisibility asyncVisibility = methodVisibility(ClientMethodType.SimpleAsync, false);
+        if (bodyParameter == null || contentLengthParameter == null || asyncVisibility == NOT_GENERATE) {
+            return;
+        }
+
+        ClientMethod uploadMethod = builder
+            .parameters(parameters)
+            .returnValue(asyncReturnValue)
+            .name(proxyMethod.getSimpleAsyncMethodName())
+            .onlyRequiredParameters(false)
+            .type(ClientMethodType.SimpleAsync)
+            .isGroupedParameterRequired(false)
+            .methodVisibility(asyncVisibility)
+            .methodUploadDetails(null)
+            .build();
+
+        for (ClientMethodParameter uploadParameter : uploadParameters(bodyParameter)) {
+            if (parameters.stream().anyMatch(p -> p.getName().equals(uploadParameter.getName()))) {
+                continue;
+            }
+            List<ClientMethodParameter> withUploadParameters = new ArrayList<>();
+            for (ClientMethodParameter parameter : parameters) {
+                if (parameter == bodyParameter) {
+                    withUploadParameters.add(uploadParameter);
+                } else if (parameter != contentLengthParameter) {
+                    withUploadParameters.add(parameter);
+                }
+            }
+            builder.parameters(withUploadParameters)
+                .methodUploadDetails(new MethodUploadDetails(uploadMethod, uploadParameter, bodyParameter.getName(),
+                    contentLengthParameter.getName()));
+
+            methods.add(builder
+                .returnValue(asyncReturnValue)
+                .name(proxyMethod.getSimpleAsyncMethodName())
+                .type(ClientMethodType.SimpleAsync)
+                .methodVisibility(asyncVisibility)
+                .build());
+
+            if (settings.getSyncMethods() == SyncMethodsGeneration.ALL) {
+                methods.add(builder
+                    .returnValue(syncReturnValue)
+                    .name(proxyMethod.getName())
+                    .type(ClientMethodType.SimpleSync)
+                    .methodVisibility(methodVisibility(ClientMethodType.SimpleSync, false))
+                    .build());
+            }
+        }
+        // reset the parameters to original params
+        builder.parameters(parameters).methodUploadDetails(null);
+    }
+
+    private static List<ClientMethodParameter> uploadParameters(ClientMethodParameter bodyParameter) {
+        List<ClientMethodParameter> uploadParameters = new ArrayList<>();
+        uploadParameters.add(uploadParameter(bodyParameter, ClassType.Path, "file",
+            "The file to upload, from its start."));
+        uploadParameters.add(uploadParameter(bodyParameter, ClassType.FileChannel, "fileChannel",
+            "The file to upload, from the position of the channel to its end."));
+        uploadParameters.add(uploadParameter(bodyParameter, ClassType.BinaryData, "data",
+            "The data to upload."));
+        return uploadParameters;
+    }
+
+    private static ClientMethodParameter uploadParameter(ClientMethodParameter bodyParameter, ClassType type,
+        String name, String description) {
+        return new ClientMethodParameter.Builder()
+            .description(description)
+            .wireType(type)
+            .name(name)
+            .annotations(new ArrayList<>())
+            .isConstant(false)
+            .defaultValue(null)
+            .fromClient(false)
+            .isFinal(false)
+            .isRequired(bodyParameter.getIsRequired())
+            .build();
+    }
+
     protected static final JavaVisibility NOT_VISIBLE = JavaVisibility.Private;
     protected static final JavaVisibility VISIBLE = JavaVisibility.Public;
     protected static final JavaVisibility NOT_GENERATE = null;
@@ -543,6 +690,18 @@ public class ClientMethodMapper implements IMapper<Operation, List<ClientMethod>
             .isRequired(false)
             .build();
 
+    private static final ClientMethodParameter OUTPUT_STREAM_PARAM = new ClientMethodParameter.Builder()
+            .description("The OutputStream to write the response body to.")
+            .wireType(ClassType.OutputStream)
+            .name("outputStream")
+            .annotations(new ArrayList<>())
+            .isConstant(false)
+            .defaultValue(null)
+            .fromClient(false)
+            .isFinal(false)
+            .isRequired(false)
+            .build();
+
     private void addClientMethodWithContext(List<ClientMethod> methods, Builder builder, ProxyMethod proxyMethod,
         List<ClientMethodParameter> parameters, ClientMethodType clientMethodType, String proxyMethodName,
         ReturnValue returnValue, MethodPageDetails details) {
@@ -2,12 +2,10 @@ package com.azure.autorest.mapper;
 
 import com.azure.autorest.extension.base.model.codemodel.ConstantSchema;
 import com.azure.autorest.model.clientmodel.IType;
-import java.util.HashMap;
-import java.util.Map;
 
 public class ConstantMapper implements IMapper<ConstantSchema, IType> {
     private static ConstantMapper instance = new ConstantMapper();
-    Map<ConstantSchema, IType> parsed = new HashMap<>();
+    MapperCache<ConstantSchema, IType> parsed = new MapperCache<>();
 
     private ConstantMapper() {
     }
@@ -21,16 +19,15 @@ public class ConstantMapper implements IMapper<ConstantSchema, IType> {
         if (constantSchema == null) {
             return null;
         }
-        if (parsed.containsKey(constantSchema)) {
-            return parsed.get(constantSchema);
-        }
+        return parsed.computeIfAbsent(constantSchema, this::createConstantType);
+    }
 
+    private IType createConstantType(ConstantSchema constantSchema) {
         IType backedType = Mappers.getSchemaMapper().map(constantSchema.getValueType());
 
         //TODO: constants
         IType iType = backedType;
 
-        parsed.put(constantSchema, iType);
         return iType;
     }
 }
@@ -3,6 +3,7 @@ package com.azure.autorest.mapper;
 import com.azure.autorest.extension.base.model.codemodel.AnySchema;
 import com.azure.autorest.extension.base.model.codemodel.ArraySchema;
 import com.azure.autorest.extension.base.model.codemodel.ConstantSchema;
+import com.azure.autorest.extension.base.model.codemodel.Operation;
 import com.azure.autorest.extension.base.model.codemodel.Parameter;
 import com.azure.autorest.extension.base.model.codemodel.RequestParameterLocation;
 import com.azure.autorest.extension.base.model.codemodel.Schema;
@@ -30,6 +31,18 @@ public class CustomProxyParameterMapper implements IMapper<Parameter, ProxyMetho
 
     @Override
     public ProxyMethodParameter map(Parameter parameter) {
+        return map(parameter, parameter.getOperation());
+    }
+
+    /**
+     * Maps the parameter of the operation. A client parameter is shared by the operations, so its own operation is
+     * not the one being mapped.
+     *
+     * @param parameter the parameter.
+     * @param operation the operation of the proxy method.
+     * @return the parameter of the proxy method.
+     */
+    public ProxyMethodParameter map(Parameter parameter, Operation operation) {
         JavaSettings settings = JavaSettings.getInstance();
 
         ProxyMethodParameter.Builder builder = new ProxyMethodParameter.Builder()
@@ -104,7 +117,7 @@ public class CustomProxyParameterMapper implements IMapper<Parameter, ProxyMetho
 
         String parameterReference = parameter.getLanguage().getJava().getName();
         if (Parameter.ImplementationLocation.CLIENT.equals(parameter.getImplementation())) {
-            String operationGroupName = parameter.getOperation().getOperationGroup().getLanguage().getJava().getName();
+            String operationGroupName = operation.getOperationGroup().getLanguage().getJava().getName();
             String caller = (operationGroupName == null || operationGroupName.isEmpty()) ? "this" : "this.client";
             String clientPropertyName = parameter.getLanguage().getJava().getName();
             if (clientPropertyName != null && !clientPropertyName.isEmpty()) {
@@ -3,12 +3,10 @@ package com.azure.autorest.mapper;
 import com.azure.autorest.extension.base.model.codemodel.ObjectSchema;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.model.clientmodel.ClientException;
-import java.util.HashMap;
-import java.util.Map;
 
 public class ExceptionMapper implements IMapper<ObjectSchema, ClientException> {
     private static ExceptionMapper instance = new ExceptionMapper();
-    Map<ObjectSchema, ClientException> parsed = new HashMap<>();
+    MapperCache<ObjectSchema, ClientException> parsed = new MapperCache<>();
 
     protected ExceptionMapper() {
     }
@@ -25,13 +23,7 @@ public class ExceptionMapper implements IMapper<ObjectSchema, ClientException> {
 
         JavaSettings settings = JavaSettings.getInstance();
 
-        if (parsed.containsKey(compositeType)) {
-            return parsed.get(compositeType);
-        }
-
-        ClientException exception = buildException(compositeType, settings);
-        parsed.put(compositeType, exception);
-        return exception;
+        return parsed.computeIfAbsent(compositeType, type -> buildException(type, settings));
     }
 
     protected ClientException buildException(ObjectSchema compositeType, JavaSettings settings) {
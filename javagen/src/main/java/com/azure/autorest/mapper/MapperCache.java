@@ -0,0 +1,83 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for license information.
+
+package com.azure.autorest.mapper;
+
+import com.azure.autorest.extension.base.plugin.SessionContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+/**
+ * The cache of the values mapped by a mapper in the current session, safe for use by multiple threads.
+ * <p>
+ * Each value is computed once. A thread that asks for a value being computed by another thread waits for it. The value
+ * is computed without holding a lock, so that mappers can call each other recursively while computing it.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class MapperCache<K, V> {
+    /**
+     * Gets the value of the key, computing it if it is not in the cache.
+     *
+     * @param key the key.
+     * @param mappingFunction computes the value of the key.
+     * @return the value, which may be null.
+     */
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        ConcurrentMap<K, FutureTask<V>> tasks = getTasks();
+        FutureTask<V> task = tasks.get(key);
+        if (task == null) {
+            FutureTask<V> newTask = new FutureTask<>(() -> mappingFunction.apply(key));
+            task = tasks.putIfAbsent(key, newTask);
+            if (task == null) {
+                task = newTask;
+                newTask.run();
+            }
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            // computed again by the next call
+            tasks.remove(key, task);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * @return the values computed, not including the values still being computed.
+     */
+    public Collection<V> values() {
+        List<V> values = new ArrayList<>();
+        for (FutureTask<V> task : getTasks().values()) {
+            if (task.isDone()) {
+                try {
+                    values.add(task.get());
+                } catch (InterruptedException | ExecutionException e) {
+                    // failed, and removed from the cache
+                }
+            }
+        }
+        return values;
+    }
+
+    private ConcurrentMap<K, FutureTask<V>> getTasks() {
+        // each session has its own values
+        return SessionContext.current().get(this, ConcurrentHashMap::new);
+    }
+}
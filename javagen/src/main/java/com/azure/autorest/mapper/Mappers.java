@@ -1,90 +1,99 @@
 package com.azure.autorest.mapper;
 
-public class Mappers {
+import com.azure.autorest.extension.base.plugin.SessionContext;
 
-    private static MapperFactory factory = new DefaultMapperFactory();
+public class Mappers {
 
+    /**
+     * Sets the factory of the mappers of the current session.
+     *
+     * @param mapperFactory the factory
+     */
     public static void setFactory(MapperFactory mapperFactory) {
-        factory = mapperFactory;
+        SessionContext.current().set(MapperFactory.class, mapperFactory);
+    }
+
+    private static MapperFactory getFactory() {
+        return SessionContext.current().get(MapperFactory.class, DefaultMapperFactory::new);
     }
 
     public static ChoiceMapper getChoiceMapper() {
-        return factory.getChoiceMapper();
+        return getFactory().getChoiceMapper();
     }
 
     public static SealedChoiceMapper getSealedChoiceMapper() {
-        return factory.getSealedChoiceMapper();
+        return getFactory().getSealedChoiceMapper();
     }
 
     public static PrimitiveMapper getPrimitiveMapper() {
-        return factory.getPrimitiveMapper();
+        return getFactory().getPrimitiveMapper();
     }
 
     public static SchemaMapper getSchemaMapper() {
-        return factory.getSchemaMapper();
+        return getFactory().getSchemaMapper();
     }
 
     public static ArrayMapper getArrayMapper() {
-        return factory.getArrayMapper();
+        return getFactory().getArrayMapper();
     }
 
     public static DictionaryMapper getDictionaryMapper() {
-        return factory.getDictionaryMapper();
+        return getFactory().getDictionaryMapper();
     }
 
     public static ObjectMapper getObjectMapper() {
-        return factory.getObjectMapper();
+        return getFactory().getObjectMapper();
     }
 
     public static ConstantMapper getConstantMapper() {
-        return factory.getConstantMapper();
+        return getFactory().getConstantMapper();
     }
 
     public static ModelPropertyMapper getModelPropertyMapper() {
-        return factory.getModelPropertyMapper();
+        return getFactory().getModelPropertyMapper();
     }
 
     public static ModelMapper getModelMapper() {
-        return factory.getModelMapper();
+        return getFactory().getModelMapper();
     }
 
     public static ProxyParameterMapper getProxyParameterMapper() {
-        return factory.getProxyParameterMapper();
+        return getFactory().getProxyParameterMapper();
     }
 
     public static ProxyMethodMapper getProxyMethodMapper() {
-        return factory.getProxyMethodMapper();
+        return getFactory().getProxyMethodMapper();
     }
 
     public static MethodGroupMapper getMethodGroupMapper() {
-        return factory.getMethodGroupMapper();
+        return getFactory().getMethodGroupMapper();
     }
 
     public static ClientParameterMapper getClientParameterMapper() {
-        return factory.getClientParameterMapper();
+        return getFactory().getClientParameterMapper();
     }
 
     public static ClientMethodMapper getClientMethodMapper() {
-        return factory.getClientMethodMapper();
+        return getFactory().getClientMethodMapper();
     }
 
     public static ExceptionMapper getExceptionMapper() {
-        return factory.getExceptionMapper();
+        return getFactory().getExceptionMapper();
     }
 
     public static ServiceClientMapper getServiceClientMapper() {
-        return factory.getServiceClientMapper();
+        return getFactory().getServiceClientMapper();
     }
 
     public static ClientMapper getClientMapper() {
-        return factory.getClientMapper();
+        return getFactory().getClientMapper();
     }
 
     public static AnyMapper getAnyMapper() {
-        return factory.getAnyMapper();
+        return getFactory().getAnyMapper();
     }
 
     public static BinaryMapper getBinaryMapper() {
-        return factory.getBinaryMapper();
+        return getFactory().getBinaryMapper();
     }
 }
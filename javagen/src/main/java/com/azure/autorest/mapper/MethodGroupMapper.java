@@ -12,13 +12,11 @@ import com.azure.autorest.model.clientmodel.ProxyMethod;
 import com.azure.autorest.util.CodeNamer;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class MethodGroupMapper implements IMapper<OperationGroup, MethodGroupClient> {
     private static MethodGroupMapper instance = new MethodGroupMapper();
-    private Map<OperationGroup, MethodGroupClient> parsed = new HashMap<>();
+    private MapperCache<OperationGroup, MethodGroupClient> parsed = new MapperCache<>();
 
     protected MethodGroupMapper() {
     }
@@ -29,17 +27,18 @@ public class MethodGroupMapper implements IMapper<OperationGroup, MethodGroupCli
 
     @Override
     public MethodGroupClient map(OperationGroup methodGroup) {
+        return parsed.computeIfAbsent(methodGroup, this::createMethodGroupClient);
+    }
+
+    private MethodGroupClient createMethodGroupClient(OperationGroup methodGroup) {
         JavaSettings settings = JavaSettings.getInstance();
-        if (parsed.containsKey(methodGroup)) {
-            return parsed.get(methodGroup);
-        }
         MethodGroupClient.Builder builder = new MethodGroupClient.Builder();
 
         String classBaseName = methodGroup.getLanguage().getJava().getName();
         builder.classBaseName(classBaseName);
         String interfaceName = CodeNamer.getPlural(classBaseName);
         final String interfaceNameForCheckDeduplicate = interfaceName;
-        if (ClientModels.Instance.getTypes().stream().anyMatch(cm -> interfaceNameForCheckDeduplicate.equals(cm.getName()))
+        if (ClientModels.getInstance().getTypes().stream().anyMatch(cm -> interfaceNameForCheckDeduplicate.equals(cm.getName()))
                 || parsed.values().stream().anyMatch(mg -> interfaceNameForCheckDeduplicate.equals(mg.getInterfaceName()))) {
             interfaceName += "Operations";
         }
@@ -118,11 +117,7 @@ public class MethodGroupMapper implements IMapper<OperationGroup, MethodGroupCli
         builder.clientMethods(clientMethods);
         builder.supportedInterfaces(supportedInterfaces(methodGroup, clientMethods));
 
-        MethodGroupClient methodGroupClient = builder.build();
-
-        parsed.put(methodGroup, methodGroupClient);
-
-        return methodGroupClient;
+        return builder.build();
     }
 
     protected List<IType> supportedInterfaces(OperationGroup operationGroup, List<ClientMethod> clientMethods) {
@@ -30,7 +30,6 @@ import java.util.stream.Stream;
 
 public class ModelMapper implements IMapper<ObjectSchema, ClientModel> {
     private static ModelMapper instance = new ModelMapper();
-    private ClientModels serviceModels = ClientModels.Instance;
 
     protected ModelMapper() {
     }
@@ -46,6 +45,7 @@ public class ModelMapper implements IMapper<ObjectSchema, ClientModel> {
 
         ClassType modelType = objectMapper.map(compositeType);
         String modelName = modelType.getName();
+        ClientModels serviceModels = ClientModels.getInstance();
         ClientModel result = serviceModels.getModel(modelType.getName());
         if (result == null && !ObjectMapper.isPlainObject(compositeType) && (!settings.isFluent() || !isPredefinedModel(modelType))) {
             ClientModel.Builder builder = new ClientModel.Builder()
@@ -54,6 +54,7 @@ public class ModelMapper implements IMapper<ObjectSchema, ClientModel> {
 
             boolean isPolymorphic = compositeType.getDiscriminator() != null || compositeType.getDiscriminatorValue() != null;
             builder.isPolymorphic(isPolymorphic);
+            builder.stronglyTypedHeader(ClientMapper.isHeaderSchema(compositeType));
 
             HashSet<String> modelImports = new HashSet<>();
 
@@ -221,8 +222,7 @@ public class ModelMapper implements IMapper<ObjectSchema, ClientModel> {
             }
             builder.properties(properties);
 
-            result = builder.build();
-            serviceModels.addModel(result);
+            result = serviceModels.addModel(builder.build());
         }
 
         return result;
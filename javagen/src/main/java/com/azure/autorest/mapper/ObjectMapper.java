@@ -7,12 +7,10 @@ import com.azure.autorest.extension.base.model.codemodel.ObjectSchema;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.IType;
-import java.util.HashMap;
-import java.util.Map;
 
 public class ObjectMapper implements IMapper<ObjectSchema, IType> {
     private static ObjectMapper instance = new ObjectMapper();
-    Map<ObjectSchema, ClassType> parsed = new HashMap<>();
+    MapperCache<ObjectSchema, ClassType> parsed = new MapperCache<>();
 
     protected ObjectMapper() {
     }
@@ -23,14 +21,14 @@ public class ObjectMapper implements IMapper<ObjectSchema, IType> {
 
     @Override
     public ClassType map(ObjectSchema compositeType) {
-        JavaSettings settings = JavaSettings.getInstance();
-
         if (compositeType == null) {
             return null;
         }
-        if (parsed.containsKey(compositeType)) {
-            return parsed.get(compositeType);
-        }
+        return parsed.computeIfAbsent(compositeType, this::createClassType);
+    }
+
+    private ClassType createClassType(ObjectSchema compositeType) {
+        JavaSettings settings = JavaSettings.getInstance();
 
         ClassType result = null;
         if (settings.isFluent()) {
@@ -58,7 +56,6 @@ public class ObjectMapper implements IMapper<ObjectSchema, IType> {
             }
         }
 
-        parsed.put(compositeType, result);
         return result;
     }
 
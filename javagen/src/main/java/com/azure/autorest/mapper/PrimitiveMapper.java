@@ -9,12 +9,10 @@ import com.azure.autorest.model.clientmodel.ArrayType;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.model.clientmodel.PrimitiveType;
-import java.util.HashMap;
-import java.util.Map;
 
 public class PrimitiveMapper implements IMapper<PrimitiveSchema, IType> {
     private static PrimitiveMapper instance = new PrimitiveMapper();
-    protected Map<PrimitiveSchema, IType> parsed = new HashMap<>();
+    protected MapperCache<PrimitiveSchema, IType> parsed = new MapperCache<>();
 
     protected PrimitiveMapper() {
     }
@@ -28,9 +26,10 @@ public class PrimitiveMapper implements IMapper<PrimitiveSchema, IType> {
         if (primaryType == null) {
             return null;
         }
-        if (parsed.containsKey(primaryType)) {
-            return parsed.get(primaryType);
-        }
+        return parsed.computeIfAbsent(primaryType, this::createPrimitiveType);
+    }
+
+    protected IType createPrimitiveType(PrimitiveSchema primaryType) {
         IType iType;
         switch (primaryType.getType()) {
 //            case null:
@@ -116,7 +115,6 @@ public class PrimitiveMapper implements IMapper<PrimitiveSchema, IType> {
             default:
                 throw new UnsupportedOperationException(String.format("Unrecognized AutoRest Primitive Type: %s", primaryType.getType()));
         }
-        parsed.put(primaryType, iType);
         return iType;
     }
 }
@@ -18,7 +18,6 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,7 +35,6 @@ public class ProxyMethodMapper implements IMapper<Operation, Map<Request, ProxyM
 
 //    private static final jdk.nashorn.internal.runtime.regexp.joni.Regex methodTypeLeading = new Regex("^/+");
 //    private static final Regex methodTypeTrailing = new Regex("/+$");
-    private Map<Request, ProxyMethod> parsed = new HashMap<>();
     protected ProxyMethodMapper() {
     }
 
@@ -113,10 +111,6 @@ public class ProxyMethodMapper implements IMapper<Operation, Map<Request, ProxyM
         builder.responseContentTypes(responseContentTypes);
 
         for (Request request : operation.getRequests()) {
-            if (parsed.containsKey(request)) {
-                result.put(request, parsed.get(request));
-            }
-
             String requestContentType = "application/json";
 
             // check for mediaTypes first as that is more specific than the knownMediaType
@@ -136,10 +130,10 @@ public class ProxyMethodMapper implements IMapper<Operation, Map<Request, ProxyM
             for (Parameter parameter : request.getParameters().stream()
                     .filter(p -> p.getProtocol() != null && p.getProtocol().getHttp() != null)
                     .collect(Collectors.toList())) {
-                parameter.setOperation(operation);
-                ProxyMethodParameter proxyMethodParameter = Mappers.getProxyParameterMapper().map(parameter);
+                // client parameters are shared by operations, so the operation is passed instead of set on them
+                ProxyMethodParameter proxyMethodParameter = Mappers.getProxyParameterMapper().map(parameter, operation);
                 if (requestContentType.startsWith("application/json-patch+json")) {
-                    proxyMethodParameter = CustomProxyParameterMapper.getInstance().map(parameter);
+                    proxyMethodParameter = CustomProxyParameterMapper.getInstance().map(parameter, operation);
                 }
                 parameters.add(proxyMethodParameter);
             }
@@ -165,7 +159,6 @@ public class ProxyMethodMapper implements IMapper<Operation, Map<Request, ProxyM
             ProxyMethod proxyMethod = builder.build();
 
             result.put(request, proxyMethod);
-            parsed.put(request, proxyMethod);
         }
         return result;
     }
@@ -1,6 +1,7 @@
 package com.azure.autorest.mapper;
 
 import com.azure.autorest.extension.base.model.codemodel.ConstantSchema;
+import com.azure.autorest.extension.base.model.codemodel.Operation;
 import com.azure.autorest.extension.base.model.codemodel.Parameter;
 import com.azure.autorest.extension.base.model.codemodel.RequestParameterLocation;
 import com.azure.autorest.extension.base.model.codemodel.Schema;
@@ -26,6 +27,18 @@ public class ProxyParameterMapper implements IMapper<Parameter, ProxyMethodParam
 
     @Override
     public ProxyMethodParameter map(Parameter parameter) {
+        return map(parameter, parameter.getOperation());
+    }
+
+    /**
+     * Maps the parameter of the operation. A client parameter is shared by the operations, so its own operation is
+     * not the one being mapped.
+     *
+     * @param parameter the parameter.
+     * @param operation the operation of the proxy method.
+     * @return the parameter of the proxy method.
+     */
+    public ProxyMethodParameter map(Parameter parameter, Operation operation) {
         JavaSettings settings = JavaSettings.getInstance();
 
         String name = parameter.getLanguage().getJava().getName();
@@ -93,7 +106,7 @@ public class ProxyParameterMapper implements IMapper<Parameter, ProxyMethodParam
         // parameterReference is what ClientMethod calls the ProxyMethod
         String parameterReference = CodeNamer.getEscapedReservedClientMethodParameterName(name);
         if (Parameter.ImplementationLocation.CLIENT.equals(parameter.getImplementation())) {
-            String operationGroupName = parameter.getOperation().getOperationGroup().getLanguage().getJava().getName();
+            String operationGroupName = operation.getOperationGroup().getLanguage().getJava().getName();
             String caller = (operationGroupName == null || operationGroupName.isEmpty()) ? "this" : "this.client";
             String clientPropertyName = parameter.getLanguage().getJava().getName();
             if (clientPropertyName != null && !clientPropertyName.isEmpty()) {
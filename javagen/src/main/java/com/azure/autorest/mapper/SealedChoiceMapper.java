@@ -9,13 +9,11 @@ import com.azure.autorest.model.clientmodel.EnumType;
 import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.util.CodeNamer;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class SealedChoiceMapper implements IMapper<SealedChoiceSchema, IType> {
     private static SealedChoiceMapper instance = new SealedChoiceMapper();
-    Map<SealedChoiceSchema, IType> parsed = new HashMap<>();
+    MapperCache<SealedChoiceSchema, IType> parsed = new MapperCache<>();
 
     private SealedChoiceMapper() {
     }
@@ -29,12 +27,12 @@ public class SealedChoiceMapper implements IMapper<SealedChoiceSchema, IType> {
         if (enumType == null) {
             return null;
         }
+        return parsed.computeIfAbsent(enumType, this::createEnumType);
+    }
 
+    private IType createEnumType(SealedChoiceSchema enumType) {
         JavaSettings settings = JavaSettings.getInstance();
 
-        if (parsed.containsKey(enumType)) {
-            return parsed.get(enumType);
-        }
         IType _itype;
         String enumTypeName = enumType.getLanguage().getJava().getName();
 
@@ -70,7 +68,6 @@ public class SealedChoiceMapper implements IMapper<SealedChoiceSchema, IType> {
                     .values(enumValues)
                     .elementType(Mappers.getSchemaMapper().map(enumType.getChoiceType()))
                     .build();
-            parsed.put(enumType, _itype);
         }
 
         return _itype;
@@ -0,0 +1,22 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for license information.
+
+package com.azure.autorest.model.clientmodel;
+
+/**
+ * The details needed to create the BinaryUpload class of a package, which the upload overloads of the client methods
+ * use to read a file or a BinaryData as a Flux of ByteBuffer and its length.
+ */
+public class BinaryUpload {
+    public static final String CLASS_NAME = "BinaryUpload";
+
+    private final String packageName;
+
+    public BinaryUpload(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public final String getPackage() {
+        return packageName;
+    }
+}
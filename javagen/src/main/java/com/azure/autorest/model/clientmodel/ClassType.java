@@ -47,6 +47,10 @@ public class ClassType implements IType {
     public static final ClassType NonNull = new ClassType.Builder().knownClass(reactor.util.annotation.NonNull.class).build();
     public static final ClassType StreamResponse = new ClassType.Builder().knownClass(com.azure.core.http.rest.StreamResponse.class).build();
     public static final ClassType InputStream = new ClassType.Builder().knownClass(java.io.InputStream.class).build();
+    public static final ClassType OutputStream = new ClassType.Builder().knownClass(java.io.OutputStream.class).build();
+    public static final ClassType Path = new ClassType.Builder().knownClass(java.nio.file.Path.class).build();
+    public static final ClassType FileChannel = new ClassType.Builder().knownClass(java.nio.channels.FileChannel.class).build();
+    public static final ClassType BinaryData = new ClassType.Builder().packageName("com.azure.core.util").name("BinaryData").build();
     public static final ClassType Context = new ClassType.Builder().knownClass(com.azure.core.util.Context.class).build();
     public static final ClassType ClientLogger = new ClassType.Builder().knownClass(com.azure.core.util.logging.ClientLogger.class).build();
     public static final ClassType AzureEnvironment = new ClassType.Builder().packageName("com.azure.core.management").name("AzureEnvironment").build();
@@ -4,6 +4,7 @@ package com.azure.autorest.model.clientmodel;
 // Licensed under the MIT License. See License.txt in the project root for license information.
 
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -42,6 +43,14 @@ public class Client {
      * Get the package infos.
      */
     private List<PackageInfo> packageInfos;
+    /**
+     * Get the FluxInputStream classes of the packages with sync client methods that download binary.
+     */
+    private List<FluxInputStream> fluxInputStreams;
+    /**
+     * Get the BinaryUpload classes of the packages with upload overloads of client methods.
+     */
+    private List<BinaryUpload> binaryUploads;
     /**
      * Get the manager for this service.
      */
@@ -60,10 +69,12 @@ public class Client {
      * @param xmlSequenceWrappers the xml wrapper types that are used by the client.
      * @param models the client models that are used by the client.
      * @param packageInfos the package-info classes that are used by the client.
+     * @param fluxInputStreams the FluxInputStream classes that are used by the client.
+     * @param binaryUploads the BinaryUpload classes that are used by the client.
      * @param manager the manager class that is used by the client.
      * @param serviceClient the service client that is used by the client.
      */
-    private Client(String clientName, String clientDescription, List<EnumType> enums, List<ClientException> exceptions, List<XmlSequenceWrapper> xmlSequenceWrappers, List<ClientResponse> responseModels, List<ClientModel> models, List<PackageInfo> packageInfos, Manager manager, ServiceClient serviceClient) {
+    private Client(String clientName, String clientDescription, List<EnumType> enums, List<ClientException> exceptions, List<XmlSequenceWrapper> xmlSequenceWrappers, List<ClientResponse> responseModels, List<ClientModel> models, List<PackageInfo> packageInfos, List<FluxInputStream> fluxInputStreams, List<BinaryUpload> binaryUploads, Manager manager, ServiceClient serviceClient) {
         this.clientName = clientName;
         this.clientDescription = clientDescription;
         this.enums = enums;
@@ -72,6 +83,8 @@ public class Client {
         this.responseModels = responseModels;
         this.models = models;
         this.packageInfos = packageInfos;
+        this.fluxInputStreams = fluxInputStreams;
+        this.binaryUploads = binaryUploads;
         this.manager = manager;
         this.serviceClient = serviceClient;
     }
@@ -108,6 +121,14 @@ public class Client {
         return packageInfos;
     }
 
+    public final List<FluxInputStream> getFluxInputStreams() {
+        return fluxInputStreams;
+    }
+
+    public final List<BinaryUpload> getBinaryUploads() {
+        return binaryUploads;
+    }
+
     public final Manager getManager() {
         return manager;
     }
@@ -125,6 +146,8 @@ public class Client {
         private List<ClientResponse> responseModels;
         private List<ClientModel> models;
         private List<PackageInfo> packageInfos;
+        private List<FluxInputStream> fluxInputStreams = new ArrayList<>();
+        private List<BinaryUpload> binaryUploads = new ArrayList<>();
         private Manager manager;
         private ServiceClient serviceClient;
 
@@ -208,6 +231,26 @@ public class Client {
             return this;
         }
 
+        /**
+         * Sets the FluxInputStream classes.
+         * @param fluxInputStreams the FluxInputStream classes
+         * @return the Builder itself
+         */
+        public Builder fluxInputStreams(List<FluxInputStream> fluxInputStreams) {
+            this.fluxInputStreams = fluxInputStreams;
+            return this;
+        }
+
+        /**
+         * Sets the BinaryUpload classes.
+         * @param binaryUploads the BinaryUpload classes
+         * @return the Builder itself
+         */
+        public Builder binaryUploads(List<BinaryUpload> binaryUploads) {
+            this.binaryUploads = binaryUploads;
+            return this;
+        }
+
         /**
          * Sets the manager for this service.
          * @param manager the manager for this service
@@ -237,6 +280,8 @@ public class Client {
                     responseModels,
                     models,
                     packageInfos,
+                    fluxInputStreams,
+                    binaryUploads,
                     manager,
                     serviceClient);
         }
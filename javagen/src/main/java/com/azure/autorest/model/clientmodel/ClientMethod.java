@@ -79,6 +79,10 @@ public class ClientMethod {
     private List<MethodTransformationDetail> methodTransformationDetails;
 
     private JavaVisibility methodVisibility;
+    /**
+     * The upload information if this is an overload that takes a file or a BinaryData as the binary body.
+     */
+    private MethodUploadDetails methodUploadDetails;
 
     /**
      * Create a new ClientMethod with the provided properties.
@@ -96,8 +100,10 @@ public class ClientMethod {
      * @param groupedParameterTypeName The type name of groupedParameter.
      * @param methodPageDetails The pagination information if this is a paged method.
      * @param methodTransformationDetails The parameter transformations before calling ProxyMethod.
+     * @param methodVisibility The visibility of this ClientMethod.
+     * @param methodUploadDetails The upload information if this is an overload that takes a file or a BinaryData.
      */
-    private ClientMethod(String description, ReturnValue returnValue, String name, List<ClientMethodParameter> parameters, boolean onlyRequiredParameters, ClientMethodType type, ProxyMethod proxyMethod, Map<String, String> validateExpressions, String clientReference, List<String> requiredNullableParameterExpressions, boolean isGroupedParameterRequired, String groupedParameterTypeName, MethodPageDetails methodPageDetails, List<MethodTransformationDetail> methodTransformationDetails, JavaVisibility methodVisibility) {
+    private ClientMethod(String description, ReturnValue returnValue, String name, List<ClientMethodParameter> parameters, boolean onlyRequiredParameters, ClientMethodType type, ProxyMethod proxyMethod, Map<String, String> validateExpressions, String clientReference, List<String> requiredNullableParameterExpressions, boolean isGroupedParameterRequired, String groupedParameterTypeName, MethodPageDetails methodPageDetails, List<MethodTransformationDetail> methodTransformationDetails, JavaVisibility methodVisibility, MethodUploadDetails methodUploadDetails) {
         this.description = description;
         this.returnValue = returnValue;
         this.name = name;
@@ -113,6 +119,7 @@ public class ClientMethod {
         this.methodPageDetails = methodPageDetails;
         this.methodTransformationDetails = methodTransformationDetails;
         this.methodVisibility = methodVisibility;
+        this.methodUploadDetails = methodUploadDetails;
     }
 
     public final String getDescription() {
@@ -260,6 +267,10 @@ public class ClientMethod {
         return methodVisibility;
     }
 
+    public final MethodUploadDetails getMethodUploadDetails() {
+        return methodUploadDetails;
+    }
+
     /**
      * Add this ClientMethod's imports to the provided ISet of imports.
      * @param imports The set of imports to add to.
@@ -285,13 +296,6 @@ public class ClientMethod {
                 parameter.getClientType().addImportsTo(imports, true);
             }
 
-            if (getReturnValue().getType() == ClassType.InputStream) {
-                imports.add("com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream");
-                imports.add("java.io.SequenceInputStream");
-                imports.add("java.util.Enumeration");
-                imports.add("java.util.Iterator");
-            }
-
             if (settings.getAddContextParameter()
                 && !(!settings.getRequiredParameterClientMethods() && settings.isContextClientMethodParameter()
                 && SyncMethodsGeneration.NONE.equals(settings.getSyncMethods()))
@@ -325,6 +329,7 @@ public class ClientMethod {
         private MethodPageDetails methodPageDetails;
         private List<MethodTransformationDetail> methodTransformationDetails;
         private JavaVisibility methodVisibility = JavaVisibility.Public;
+        private MethodUploadDetails methodUploadDetails;
 
         /**
          * Sets the description of this ClientMethod.
@@ -476,6 +481,16 @@ public class ClientMethod {
             return this;
         }
 
+        /**
+         * Sets the upload information if this is an overload that takes a file or a BinaryData as the binary body.
+         * @param methodUploadDetails the upload information
+         * @return the Builder itself
+         */
+        public Builder methodUploadDetails(MethodUploadDetails methodUploadDetails) {
+            this.methodUploadDetails = methodUploadDetails;
+            return this;
+        }
+
         /**
          * @return an immutable ClientMethod instance with the configurations on this builder.
          */
@@ -495,7 +510,8 @@ public class ClientMethod {
                     groupedParameterTypeName,
                     methodPageDetails,
                     methodTransformationDetails,
-                    methodVisibility);
+                    methodVisibility,
+                    methodUploadDetails);
         }
     }
 }
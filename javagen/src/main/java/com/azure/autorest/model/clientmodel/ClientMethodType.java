@@ -24,7 +24,11 @@ public enum ClientMethodType {
     SimpleAsyncRestResponse(11),
     SimpleSyncRestResponse(12),
 
-    Resumable(13);
+    Resumable(13),
+
+    PagingSyncSinglePage(14),
+
+    SimpleSyncToStream(15);
 
     public static final int SIZE = Integer.SIZE;
     private static java.util.HashMap<Integer, ClientMethodType> mappings;
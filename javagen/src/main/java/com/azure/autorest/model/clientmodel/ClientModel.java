@@ -68,6 +68,11 @@ public class ClientModel {
 
     private List<ClientModelPropertyReference> propertyReferences;
 
+    /**
+     * Whether this model is the headers of a response, which are deserialized from the HTTP headers.
+     */
+    private boolean isStronglyTypedHeader;
+
     /**
      * Create a new ServiceModel with the provided properties.
      * @param name The name of this model.
@@ -81,11 +86,13 @@ public class ClientModel {
      * @param derivedModels The models that derive from this model.
      * @param xmlName The name that will be used for this model's XML element representation.
      * @param properties The properties for this model.
+     * @param isStronglyTypedHeader Whether this model is the headers of a response.
      */
     private ClientModel(String package_Keyword, String name, List<String> imports, String description,
             boolean isPolymorphic, String polymorphicDiscriminator, String serializedName, boolean needsFlatten,
             String parentModelName, List<ClientModel> derivedModels, String xmlName, String xmlNamespace,
-            List<ClientModelProperty> properties, List<ClientModelPropertyReference> propertyReferences) {
+            List<ClientModelProperty> properties, List<ClientModelPropertyReference> propertyReferences,
+            boolean isStronglyTypedHeader) {
         packageName = package_Keyword;
         this.name = name;
         this.imports = imports;
@@ -100,6 +107,7 @@ public class ClientModel {
         this.xmlNamespace = xmlNamespace;
         this.properties = properties;
         this.propertyReferences = propertyReferences;
+        this.isStronglyTypedHeader = isStronglyTypedHeader;
     }
 
     public final String getPackage() {
@@ -161,6 +169,10 @@ public class ClientModel {
         return properties;
     }
 
+    public final boolean isStronglyTypedHeader() {
+        return isStronglyTypedHeader;
+    }
+
 //    public List<ClientModelPropertyReference> getPropertyReferences() {
 //        return propertyReferences;
 //    }
@@ -215,6 +227,7 @@ public class ClientModel {
         private List<ClientModelProperty> properties;
         private String xmlNamespace;
         private List<ClientModelPropertyReference> propertyReferences;
+        private boolean isStronglyTypedHeader = false;
 
         /**
          * Sets the package that this model class belongs to.
@@ -357,6 +370,16 @@ public class ClientModel {
             return this;
         }
 
+        /**
+         * Sets whether this model is the headers of a response.
+         * @param isStronglyTypedHeader whether this model is the headers of a response
+         * @return the Builder itself
+         */
+        public Builder stronglyTypedHeader(boolean isStronglyTypedHeader) {
+            this.isStronglyTypedHeader = isStronglyTypedHeader;
+            return this;
+        }
+
         public ClientModel build() {
             return new ClientModel(packageName,
                     name,
@@ -371,7 +394,8 @@ public class ClientModel {
                     xmlName,
                     xmlNamespace,
                     properties,
-                    propertyReferences);
+                    propertyReferences,
+                    isStronglyTypedHeader);
         }
     }
 }
@@ -3,27 +3,43 @@
 
 package com.azure.autorest.model.clientmodel;
 
+import com.azure.autorest.extension.base.plugin.SessionContext;
+
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The collection of all client models stored for inheritance lookup.
  */
 public class ClientModels {
-    public static final ClientModels Instance = new ClientModels();
-    private final Map<String, ClientModel> nameMap = new HashMap<>();
+    private final Map<String, ClientModel> nameMap = new ConcurrentHashMap<>();
 //    private final Map<String, ArrayList<ClientModel>> derivedTypesMap = new HashMap<String, ArrayList<ClientModel>>();
     private ClientModels() {
     }
 
+    /**
+     * @return the client models of the current session.
+     */
+    public static ClientModels getInstance() {
+        return SessionContext.current().get(ClientModels.class, ClientModels::new);
+    }
+
     public final ClientModel getModel(String modelName) {
-        return nameMap.get(modelName);
+        // ConcurrentHashMap does not take a null key, which is the parent model name of a model without parent
+        return modelName == null ? null : nameMap.get(modelName);
     }
 
-    public final void addModel(ClientModel model) {
-        nameMap.put(model.getName(), model);
+    /**
+     * Adds the model, if there is no model of the same name.
+     *
+     * @param model the model.
+     * @return the model of the name, which is an existing model if one of the same name was added concurrently.
+     */
+    public final ClientModel addModel(ClientModel model) {
+        ClientModel existingModel = nameMap.putIfAbsent(model.getName(), model);
+        return existingModel == null ? model : existingModel;
 
 //        String parentModel = model.getParentModelName();
 //        if (parentModel != null) {
@@ -0,0 +1,22 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for license information.
+
+package com.azure.autorest.model.clientmodel;
+
+/**
+ * The details needed to create the FluxInputStream class of a package, which the sync client methods that download
+ * binary use to read the Flux of ByteBuffer of the response body.
+ */
+public class FluxInputStream {
+    public static final String CLASS_NAME = "FluxInputStream";
+
+    private final String packageName;
+
+    public FluxInputStream(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public final String getPackage() {
+        return packageName;
+    }
+}
@@ -0,0 +1,45 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for license information.
+
+package com.azure.autorest.model.clientmodel;
+
+/**
+ * The details of an overload of a client method that uploads a binary body with its length, which takes a file or a
+ * BinaryData instead of the body and the length.
+ */
+public class MethodUploadDetails {
+    /**
+     * The client method that the overload calls with the body and the length.
+     */
+    private final ClientMethod uploadMethod;
+    /**
+     * The parameter of the overload that the body and the length are read from.
+     */
+    private final ClientMethodParameter uploadParameter;
+    private final String bodyParameterName;
+    private final String contentLengthParameterName;
+
+    public MethodUploadDetails(ClientMethod uploadMethod, ClientMethodParameter uploadParameter,
+                               String bodyParameterName, String contentLengthParameterName) {
+        this.uploadMethod = uploadMethod;
+        this.uploadParameter = uploadParameter;
+        this.bodyParameterName = bodyParameterName;
+        this.contentLengthParameterName = contentLengthParameterName;
+    }
+
+    public ClientMethod getUploadMethod() {
+        return uploadMethod;
+    }
+
+    public ClientMethodParameter getUploadParameter() {
+        return uploadParameter;
+    }
+
+    public String getBodyParameterName() {
+        return bodyParameterName;
+    }
+
+    public String getContentLengthParameterName() {
+        return contentLengthParameterName;
+    }
+}
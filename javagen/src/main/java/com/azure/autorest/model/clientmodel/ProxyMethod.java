@@ -158,10 +158,37 @@ public class ProxyMethod {
         return getName() + "SinglePageAsync";
     }
 
+    public final String getPagingSinglePageMethodName() {
+        return getName() + "SinglePage";
+    }
+
     public final String getSimpleAsyncMethodName() {
         return getName() + "Async";
     }
 
+    public final String getSyncMethodName() {
+        return getName() + "Sync";
+    }
+
+    /**
+     * The return type of the sync variant of this method, i.e. the type of the Mono returned by this method, or null if
+     * this method has no sync variant.
+     */
+    public final IType getSyncReturnType() {
+        IType clientReturnType = getReturnType().getClientType();
+        if (getIsResumable() || !(clientReturnType instanceof GenericType)
+                || !"Mono".equals(((GenericType) clientReturnType).getName())) {
+            return null;
+        }
+        IType syncReturnType = ((GenericType) clientReturnType).getTypeArguments()[0];
+        // raw response of long-running operation, its body is consumed by the poller
+        if (syncReturnType instanceof GenericType && ((GenericType) syncReturnType).getTypeArguments().length == 1
+                && GenericType.FluxByteBuffer.equals(((GenericType) syncReturnType).getTypeArguments()[0])) {
+            return null;
+        }
+        return syncReturnType;
+    }
+
     public final String getSimpleAsyncRestResponseMethodName() {
         return getName() + "WithResponseAsync";
     }
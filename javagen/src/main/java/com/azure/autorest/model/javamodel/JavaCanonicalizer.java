@@ -0,0 +1,248 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for license information.
+
+package com.azure.autorest.model.javamodel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Brings the contents written with direct emission into the layout of google-java-format, without parsing them: removes
+ * the unused imports, and sorts the imports. The contents are only canonical if the lines are within the column limit,
+ * and do not have the blank lines, trailing whitespace or line breaks inside a statement that the formatter would
+ * change.
+ * <p>
+ * An import is used if its simple name is referenced by the code, other than as a member of another name, or by a
+ * reference in javadoc, as the formatter counts uses when it fixes imports.
+ */
+final class JavaCanonicalizer {
+    static final int COLUMN_LIMIT = 120;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern BLANK_LINE = Pattern.compile("\\n\\s*\\n");
+    // The references in javadoc that the formatter counts as uses of an import.
+    private static final Pattern JAVADOC_REFERENCE =
+            Pattern.compile("(?:\\{@link(?:plain)?|\\{@value|@see|@throws|@exception)\\s+([A-Za-z_$][A-Za-z0-9_$]*)");
+    private static final String[] CONTINUED_LINE_ENDINGS = {"(", ",", "+", "=", "&&", "||", "?", "->"};
+    private static final String[] CONTINUATION_LINE_STARTS = {".", "+", "&&", "||", "?", ":"};
+
+    private JavaCanonicalizer() {
+    }
+
+    static String normalizeWhitespace(String text) {
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ");
+    }
+
+    /*
+     * Whether the formatter writes the javadoc text as plain words. Inline tags other than {@inheritDoc}, HTML,
+     * paragraphs, and words that would be read as block tags are laid out by rules direct emission does not follow.
+     */
+    static boolean isCanonicalJavadocText(String text) {
+        if (text.indexOf('<') != -1 || BLANK_LINE.matcher(text).find()) {
+            return false;
+        }
+        if (text.replace("{@inheritDoc}", "").contains("{@")) {
+            return false;
+        }
+        for (String word : WHITESPACE.split(text)) {
+            if (word.startsWith("@")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Fills the words of the text into lines of the width, with the lines after the first indented by the continuation
+     * indent. A word longer than the width is put on a line by itself.
+     */
+    static List<String> fill(String text, int width, int continuationIndent) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        int lineWidth = width;
+        for (String word : WHITESPACE.split(text.trim())) {
+            if (line.length() > 0 && line.length() + 1 + word.length() > lineWidth) {
+                lines.add(line.toString());
+                line.setLength(0);
+                lineWidth = width - continuationIndent;
+            }
+            if (line.length() > 0) {
+                line.append(' ');
+            }
+            line.append(word);
+        }
+        lines.add(line.toString());
+        return lines;
+    }
+
+    /*
+     * Removes the unused imports and sorts the imports, and checks the layout of the result.
+     * Returns null if the contents are not in the layout of the formatter.
+     */
+    static String canonicalize(String contents, int importsStart, int importsEnd, List<String> imports,
+                               int javadocCommentCount) {
+        if (countUses(contents, null) != javadocCommentCount) {
+            // javadoc written as text, not laid out by direct emission
+            return null;
+        }
+        String result = removeUnusedImports(contents, importsStart, importsEnd, imports);
+        return isCanonicalLayout(result) ? result : null;
+    }
+
+    /*
+     * Removes the unused imports of the import block, and sorts the imports.
+     */
+    static String removeUnusedImports(String contents, int importsStart, int importsEnd, List<String> imports) {
+        if (imports == null) {
+            return contents;
+        }
+        String head = contents.substring(0, importsStart);
+        String body = contents.substring(importsEnd);
+
+        Set<String> usedNames = new HashSet<>();
+        countUses(body, usedNames);
+        List<String> usedImports = new ArrayList<>(imports.size());
+        for (String toImport : imports) {
+            if (toImport.endsWith(".*") || usedNames.contains(toImport.substring(toImport.lastIndexOf('.') + 1))) {
+                usedImports.add(toImport);
+            }
+        }
+        // the formatter sorts in ASCII order, not ignoring case
+        Collections.sort(usedImports);
+
+        StringBuilder result = new StringBuilder(contents.length());
+        result.append(head);
+        String lineSeparator = lineSeparatorOf(contents);
+        for (String toImport : usedImports) {
+            result.append("import ").append(toImport).append(';').append(lineSeparator);
+        }
+        if (usedImports.isEmpty() && body.startsWith(lineSeparator)) {
+            // the blank line after the import block
+            body = body.substring(lineSeparator.length());
+        }
+        return result.append(body).toString();
+    }
+
+    private static String lineSeparatorOf(String contents) {
+        int newLine = contents.indexOf('\n');
+        return newLine > 0 && contents.charAt(newLine - 1) == '\r' ? "\r\n" : "\n";
+    }
+
+    /*
+     * Collects the simple names used by the code and the javadoc references, skipping string and character literals
+     * and the other comments, and counts the javadoc comments.
+     */
+    private static int countUses(String source, Set<String> usedNames) {
+        int javadocComments = 0;
+        int length = source.length();
+        int i = 0;
+        char previous = 0;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+                int end = source.indexOf('\n', i);
+                i = end < 0 ? length : end;
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+                int end = source.indexOf("*/", i + 2);
+                end = end < 0 ? length : end + 2;
+                if (i + 2 < length && source.charAt(i + 2) == '*') {
+                    ++javadocComments;
+                    if (usedNames != null) {
+                        Matcher matcher = JAVADOC_REFERENCE.matcher(source.substring(i, end));
+                        while (matcher.find()) {
+                            usedNames.add(matcher.group(1));
+                        }
+                    }
+                }
+                i = end;
+            } else if (c == '"' || c == '\'') {
+                ++i;
+                while (i < length && source.charAt(i) != c) {
+                    i += source.charAt(i) == '\\' ? 2 : 1;
+                }
+                ++i;
+                previous = c;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+                while (i < length && Character.isJavaIdentifierPart(source.charAt(i))) {
+                    ++i;
+                }
+                // a member select, e.g. "a.Name", is not a use of an import of Name
+                if (usedNames != null && previous != '.') {
+                    usedNames.add(source.substring(start, i));
+                }
+                previous = 'a';
+            } else {
+                if (!Character.isWhitespace(c)) {
+                    previous = c;
+                }
+                ++i;
+            }
+        }
+        return javadocComments;
+    }
+
+    private static boolean isCanonicalLayout(String contents) {
+        String[] lines = contents.replace("\r\n", "\n").split("\n", -1);
+        // ends with exactly one line separator
+        if (lines.length < 2 || !lines[lines.length - 1].isEmpty() || lines[lines.length - 2].isEmpty()
+                || lines[0].isEmpty()) {
+            return false;
+        }
+        boolean inComment = false;
+        String previousCode = null;
+        for (int i = 0; i < lines.length - 1; ++i) {
+            String line = lines[i];
+            if (line.length() > COLUMN_LIMIT || line.indexOf('\t') != -1 || line.endsWith(" ")) {
+                return false;
+            }
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                // no consecutive blank lines, and no blank lines at the start or the end of a block
+                if (lines[i + 1].isEmpty() || lines[i - 1].endsWith("{") || lines[i + 1].trim().startsWith("}")) {
+                    return false;
+                }
+                continue;
+            }
+            boolean isComment = inComment || trimmed.startsWith("//") || trimmed.startsWith("/*");
+            if (trimmed.startsWith("/*")) {
+                inComment = !trimmed.endsWith("*/");
+            } else if (inComment && trimmed.endsWith("*/")) {
+                inComment = false;
+            }
+            if (isComment) {
+                continue;
+            }
+            // the line breaks of the templates inside a statement are not those of the formatter
+            if (previousCode != null && (endsWithAny(previousCode, CONTINUED_LINE_ENDINGS)
+                    || startsWithAny(trimmed, CONTINUATION_LINE_STARTS))) {
+                return false;
+            }
+            previousCode = trimmed;
+        }
+        return !inComment && (previousCode == null || !endsWithAny(previousCode, CONTINUED_LINE_ENDINGS));
+    }
+
+    private static boolean endsWithAny(String line, String[] endings) {
+        for (String ending : endings) {
+            if (line.endsWith(ending)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithAny(String line, String[] starts) {
+        for (String start : starts) {
+            if (line.startsWith(start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
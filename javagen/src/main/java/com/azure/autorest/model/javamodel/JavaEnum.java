@@ -50,29 +50,29 @@ public class JavaEnum {
 
     public final void value(String name, String value) {
         addExpectedCommaAndNewLine();
-        contents.javadocComment(String.format("Enum value %1$s.", value));
-        contents.text(String.format("%1$s(\"%2$s\")", name, value));
+        contents.javadocComment("Enum value " + value + ".");
+        contents.text(name + "(\"" + value + "\")");
         previouslyAddedValue = true;
         addNewLine = true;
     }
 
     public final void value(String name, String value, IType type) {
         addExpectedCommaAndNewLine();
-        contents.javadocComment(String.format("Enum value %1$s.", value));
-        contents.text(String.format("%1$s(%2$s)", name, type.defaultValueExpression(value)));
+        contents.javadocComment("Enum value " + value + ".");
+        contents.text(name + "(" + type.defaultValueExpression(value) + ")");
         previouslyAddedValue = true;
         addNewLine = true;
     }
 
     public final void privateFinalMemberVariable(String variableType, String variableName) {
         addExpectedSemicolonAndNewLine();
-        contents.line(String.format("private final %1$s %2$s;", variableType, variableName));
+        contents.line("private final " + variableType + " " + variableName + ";");
         addNewLine = true;
     }
 
     public final void constructor(String constructorSignature, Consumer<JavaBlock> constructor) {
         addExpectedSemicolonAndNewLine();
-        contents.block(String.format("%1$s", constructorSignature), constructor);
+        contents.block(String.valueOf(constructorSignature), constructor);
         previouslyAddedValue = false;
         addNewLine = true;
     }
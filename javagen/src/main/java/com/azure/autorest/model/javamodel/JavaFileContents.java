@@ -9,31 +9,61 @@ package com.azure.autorest.model.javamodel;
 
 import com.azure.autorest.util.CodeNamer;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 public class JavaFileContents {
     private static final String singleIndent = "    ";
+    private static final String lineSeparator = System.lineSeparator();
+    private static final int initialCapacity = 4 * 1024;
 
-    private StringBuilder contents;
-    private StringBuilder linePrefix;
+    // The indentation of each depth, which is the line prefix of most lines.
+    private static final String[] indents = new String[16];
+
+    static {
+        indents[0] = "";
+        for (int i = 1; i < indents.length; ++i) {
+            indents[i] = indents[i - 1] + singleIndent;
+        }
+    }
+
+    private final StringBuilder contents;
+
+    private String linePrefix = "";
+    // Whether the line prefix is only indentation, so that indenting uses the indentation of the next depth.
+    private boolean linePrefixIsIndent = true;
+    // Whether the line prefix has text, e.g. " * " of a comment, so that it is also added to blank lines.
+    private boolean linePrefixHasText = false;
 
     private Integer wordWrapWidth = null;
 
     private CurrentLineType currentLineType = CurrentLineType.values()[0];
 
+    // The import block is tracked, so that the unused imports can be removed and the imports sorted without the
+    // formatter. Its imports are only resolvable if the contents have one block of imports, and no static imports.
+    private int importsStart = -1;
+    private int importsEnd = -1;
+    private List<String> imports = null;
+    private boolean importsResolvable = true;
+
+    // Direct emission writes the javadoc comments in the layout of the formatter.
+    private boolean directEmission = false;
+    // Whether the contents only use what direct emission can vouch for to be in the layout of the formatter.
+    private boolean canonical = true;
+    private int javadocCommentCount = 0;
+
     public JavaFileContents() {
         this(null);
     }
 
     public JavaFileContents(String fileContents) {
-        contents = new StringBuilder();
-        linePrefix = new StringBuilder();
+        contents = new StringBuilder(initialCapacity);
 
         if (fileContents != null && !fileContents.isEmpty()) {
             contents.append(fileContents);
@@ -41,21 +71,70 @@ public class JavaFileContents {
     }
 
     private static String toString(JavaVisibility visiblity) {
-        String result;
         switch (visiblity) {
-            case PackagePrivate:
-                result = "";
-                break;
-
+            case Public:
+                return "public ";
+            case Protected:
+                return "protected ";
+            case Private:
+                return "private ";
             default:
-                result = visiblity.toString().toLowerCase() + ' ';
-                break;
+                return "";
         }
-        return result;
     }
 
     private static String toString(List<JavaModifier> modifiers) {
-        return modifiers == null ? "" : modifiers.stream().map(modifier -> modifier.toString().toLowerCase() + ' ').collect(Collectors.joining(""));
+        if (modifiers == null || modifiers.isEmpty()) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder();
+        for (JavaModifier modifier : modifiers) {
+            switch (modifier) {
+                case Final:
+                    result.append("final ");
+                    break;
+                case Static:
+                    result.append("static ");
+                    break;
+                default:
+                    result.append(modifier.toString().toLowerCase()).append(' ');
+                    break;
+            }
+        }
+        return result.toString();
+    }
+
+    private static String getIndent(int depth) {
+        if (depth < indents.length) {
+            return indents[depth];
+        }
+        StringBuilder indent = new StringBuilder(indents[indents.length - 1]);
+        for (int i = indents.length - 1; i < depth; ++i) {
+            indent.append(singleIndent);
+        }
+        return indent.toString();
+    }
+
+    private static boolean isIndentation(String prefix) {
+        if (prefix.length() % singleIndent.length() != 0) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); ++i) {
+            if (prefix.charAt(i) != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(CharSequence text, int start, int end) {
+        for (int i = start; i < end; ++i) {
+            // the whitespace removed by String.trim()
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -63,23 +142,91 @@ public class JavaFileContents {
         return contents.toString();
     }
 
+    /**
+     * Writes the contents to the writer, without copying them to a String.
+     *
+     * @param writer the writer.
+     * @throws IOException if the writer fails.
+     */
+    public final void writeTo(Writer writer) throws IOException {
+        int length = contents.length();
+        char[] buffer = new char[Math.min(length, 8 * 1024)];
+        for (int start = 0; start < length; start += buffer.length) {
+            int end = Math.min(length, start + buffer.length);
+            contents.getChars(start, end, buffer, 0);
+            writer.write(buffer, 0, end - start);
+        }
+    }
+
     public final String[] getLines() {
-        return toString().split(java.util.regex.Pattern.quote("\n"), -1);
+        List<String> lines = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i < contents.length(); ++i) {
+            if (contents.charAt(i) == '\n') {
+                lines.add(contents.substring(lineStart, i));
+                lineStart = i + 1;
+            }
+        }
+        lines.add(contents.substring(lineStart));
+        return lines.toArray(new String[0]);
+    }
+
+    private void setLinePrefix(String prefix, boolean isIndent) {
+        linePrefix = prefix;
+        linePrefixIsIndent = isIndent;
+        linePrefixHasText = !isIndent && !isBlank(prefix, 0, prefix.length());
     }
 
     public final void addToPrefix(String toAdd) {
-        linePrefix.append(toAdd);
+        String prefix = linePrefix + toAdd;
+        setLinePrefix(prefix, isIndentation(prefix));
     }
 
     private void removeFromPrefix(String toRemove) {
         int toRemoveLength = toRemove.length();
         if (linePrefix.length() <= toRemoveLength) {
-            linePrefix.setLength(0);
+            setLinePrefix("", true);
         } else {
-            linePrefix.delete(linePrefix.length() - toRemoveLength, linePrefix.length() - toRemoveLength + toRemoveLength);
+            String prefix = linePrefix.substring(0, linePrefix.length() - toRemoveLength);
+            setLinePrefix(prefix, isIndentation(prefix));
         }
     }
 
+    public final boolean isDirectEmission() {
+        return directEmission;
+    }
+
+    public final void setDirectEmission(boolean directEmission) {
+        this.directEmission = directEmission;
+    }
+
+    /**
+     * Gets the contents in the layout of the formatter, with the unused imports removed and the imports sorted.
+     *
+     * @return the contents in the layout of the formatter, or null if the contents are not emitted with direct
+     * emission, or are not known to be in the layout of the formatter, and need to be formatted.
+     */
+    public String toCanonicalString() {
+        if (!directEmission || !canonical || !importsResolvable) {
+            return null;
+        }
+        return JavaCanonicalizer.canonicalize(contents.toString(), importsStart, importsEnd, imports,
+                javadocCommentCount);
+    }
+
+    /**
+     * Gets the contents with the imports resolved from the types referenced by the code and the javadoc: the unused
+     * imports removed, and the imports sorted as the formatter sorts them.
+     *
+     * @return the contents with exact imports, or null if the imports cannot be resolved without parsing the contents.
+     */
+    public String toImportCleanString() {
+        if (!importsResolvable) {
+            return null;
+        }
+        return JavaCanonicalizer.removeUnusedImports(contents.toString(), importsStart, importsEnd, imports);
+    }
+
     public final void setWordWrapWidth(Integer wordWrapWidth) {
         this.wordWrapWidth = wordWrapWidth;
     }
@@ -97,40 +244,78 @@ public class JavaFileContents {
     }
 
     public final void increaseIndent() {
-        addToPrefix(singleIndent);
+        if (linePrefixIsIndent) {
+            setLinePrefix(getIndent(linePrefix.length() / singleIndent.length() + 1), true);
+        } else {
+            addToPrefix(singleIndent);
+        }
     }
 
     public final void decreaseIndent() {
-        removeFromPrefix(singleIndent);
+        if (linePrefixIsIndent) {
+            setLinePrefix(getIndent(Math.max(linePrefix.length() / singleIndent.length() - 1, 0)), true);
+        } else {
+            removeFromPrefix(singleIndent);
+        }
     }
 
     private List<String> wordWrap(String line, boolean addPrefix) {
         ArrayList<String> lines = new ArrayList<String>();
 
-        if (wordWrapWidth == null) {
-            lines.add(line);
-        } else {
-            // Subtract an extra column from the word wrap width because columns generally are
-            // 1 -based instead of 0-based.
-            int wordWrapIndexMinusLinePrefixLength = wordWrapWidth - (addPrefix ? linePrefix.length() : 0) - 1;
-            List<String> wrappedLines = CodeNamer.wordWrap(line, wordWrapIndexMinusLinePrefixLength);
-            for (int i = 0; i < wrappedLines.size() - 1; i++) {
-                lines.add(wrappedLines.get(i) + System.lineSeparator());
-            }
+        // Subtract an extra column from the word wrap width because columns generally are
+        // 1 -based instead of 0-based.
+        int wordWrapIndexMinusLinePrefixLength = wordWrapWidth - (addPrefix ? linePrefix.length() : 0) - 1;
+        List<String> wrappedLines = CodeNamer.wordWrap(line, wordWrapIndexMinusLinePrefixLength);
+        for (int i = 0; i < wrappedLines.size() - 1; i++) {
+            lines.add(wrappedLines.get(i) + lineSeparator);
+        }
 
-            String lastWrappedLine = wrappedLines.isEmpty() ? null : wrappedLines.get(wrappedLines.size() - 1);
-            if (lastWrappedLine != null && !lastWrappedLine.isEmpty()) {
-                lines.add(lastWrappedLine);
-            }
+        String lastWrappedLine = wrappedLines.isEmpty() ? null : wrappedLines.get(wrappedLines.size() - 1);
+        if (lastWrappedLine != null && !lastWrappedLine.isEmpty()) {
+            lines.add(lastWrappedLine);
         }
 
         return lines;
     }
 
-    private void text(String text, boolean addPrefix) {
+    /*
+     * Appends the text followed by the suffix, line by line, each with the line prefix.
+     */
+    private void text(String text, String suffix, boolean addPrefix) {
+        if (wordWrapWidth != null) {
+            wordWrappedText(text + suffix, addPrefix);
+            return;
+        }
+
+        int textLength = text.length();
+        if (textLength == 0 && suffix.isEmpty()) {
+            appendLine(text, 0, 0, suffix, addPrefix);
+            return;
+        }
+        int lineStartIndex = 0;
+        int newLineCharacterIndex;
+        while ((newLineCharacterIndex = text.indexOf('\n', lineStartIndex)) != -1) {
+            int nextLineStartIndex = newLineCharacterIndex + 1;
+            appendLine(text, lineStartIndex, nextLineStartIndex, "", addPrefix);
+            lineStartIndex = nextLineStartIndex;
+        }
+        if (lineStartIndex < textLength || !suffix.isEmpty()) {
+            appendLine(text, lineStartIndex, textLength, suffix, addPrefix);
+        }
+    }
+
+    private void appendLine(String text, int start, int end, String suffix, boolean addPrefix) {
+        if (addPrefix && (linePrefixHasText || (!linePrefix.isEmpty()
+                && !(isBlank(text, start, end) && isBlank(suffix, 0, suffix.length()))))) {
+            contents.append(linePrefix);
+        }
+        contents.append(text, start, end).append(suffix);
+    }
+
+    private void wordWrappedText(String text, boolean addPrefix) {
         ArrayList<String> lines = new ArrayList<String>();
 
-        if (text == null || text.isEmpty()) {
+        if (text.isEmpty()) {
             lines.add("");
         } else {
             int lineStartIndex = 0;
@@ -152,30 +337,28 @@ public class JavaFileContents {
             }
         }
 
-        String prefix = addPrefix ? linePrefix.toString() : null;
         for (String line : lines) {
-            if (addPrefix && prefix != null && !prefix.trim().isEmpty() || (prefix != null && !prefix.isEmpty() && line != null && !line.trim().isEmpty())) {
-                contents.append(prefix);
-            }
-
-            contents.append(line);
+            appendLine(line, 0, line.length(), "", addPrefix);
         }
     }
 
     public final void text(String text) {
+        if (text == null) {
+            text = "";
+        }
         if (currentLineType == CurrentLineType.Empty) {
-            text(text, true);
+            text(text, "", true);
         } else if (currentLineType == CurrentLineType.Text) {
-            text(text, false);
+            text(text, "", false);
         } else if (currentLineType == CurrentLineType.AfterIf) {
             line("", false);
-            text(text, true);
+            text(text, "", true);
         }
         currentLineType = CurrentLineType.Text;
     }
 
     private void line(String text, boolean addPrefix) {
-        text(String.format("%s%s", text, System.lineSeparator()), addPrefix);
+        text(String.valueOf(text), lineSeparator, addPrefix);
         currentLineType = CurrentLineType.Empty;
     }
 
@@ -183,7 +366,10 @@ public class JavaFileContents {
         if (formattedArguments != null && formattedArguments.length > 0) {
             text = String.format(text, formattedArguments);
         }
+        line(text);
+    }
 
+    public void line(String text) {
         if (currentLineType == CurrentLineType.Empty) {
             line(text, true);
         } else if (currentLineType == CurrentLineType.Text) {
@@ -200,11 +386,11 @@ public class JavaFileContents {
     }
 
     public void declarePackage(String pkg) {
-        line("package %s;", pkg);
+        line("package " + pkg + ";");
     }
 
     public void block(String text, Consumer<JavaBlock> bodyAction) {
-        line("%s {", text);
+        line(text + " {");
         indent(() ->
                 bodyAction.accept(new JavaBlock(this)));
         line("}");
@@ -218,11 +404,21 @@ public class JavaFileContents {
         if (imports != null && !imports.isEmpty()) {
             Set<String> importSet = new TreeSet<>(new JavaImportComparer());
             importSet.addAll(imports);
+            if (this.imports != null || currentLineType != CurrentLineType.Empty) {
+                importsResolvable = false;
+            }
+            this.imports = new ArrayList<>(importSet.size());
+            importsStart = contents.length();
             for (String toImport : importSet) {
                 if (toImport != null && !toImport.isEmpty()) {
-                    line("import %s;", toImport);
+                    line("import " + toImport + ";");
+                    if (toImport.startsWith("static ")) {
+                        importsResolvable = false;
+                    }
+                    this.imports.add(toImport);
                 }
             }
+            importsEnd = contents.length();
             line();
         }
     }
@@ -264,6 +460,12 @@ public class JavaFileContents {
     }
 
     public void javadocComment(Consumer<JavaJavadocComment> commentAction) {
+        if (directEmission) {
+            JavaJavadocComment comment = new JavaJavadocComment(this);
+            commentAction.accept(comment);
+            canonicalJavadocComment(comment.getDescription(), comment.getTags());
+            return;
+        }
         line("/**");
         addToPrefix(" * ");
         commentAction.accept(new JavaJavadocComment(this));
@@ -272,16 +474,71 @@ public class JavaFileContents {
     }
 
     public void javadocComment(int wordWrapWidth, Consumer<JavaJavadocComment> commentAction) {
+        if (directEmission) {
+            // wrapped at the column limit of the formatter instead
+            javadocComment(commentAction);
+            return;
+        }
         javadocComment((comment) -> withWordWrap(wordWrapWidth, () ->
                 commentAction.accept(new JavaJavadocComment(this))));
     }
 
+    /*
+     * Writes the javadoc comment as the formatter does: the description and each block tag filled up to the column
+     * limit, with a blank line between them, or on one line if it is only one line and fits.
+     */
+    private void canonicalJavadocComment(String description, List<String> tags) {
+        description = JavaCanonicalizer.normalizeWhitespace(description);
+        if (currentLineType != CurrentLineType.Empty || !linePrefixIsIndent || (description.isEmpty() && tags.isEmpty())
+                || !JavaCanonicalizer.isCanonicalJavadocText(description)) {
+            canonical = false;
+        }
+        for (String tag : tags) {
+            if (!JavaCanonicalizer.isCanonicalJavadocText(tag.substring(1))) {
+                canonical = false;
+            }
+        }
+        ++javadocCommentCount;
+
+        int width = JavaCanonicalizer.COLUMN_LIMIT - linePrefix.length();
+        List<String> commentLines = new ArrayList<>();
+        if (!description.isEmpty()) {
+            for (String descriptionLine : JavaCanonicalizer.fill(description, width - " * ".length(), 0)) {
+                commentLines.add(" * " + descriptionLine);
+            }
+            if (!tags.isEmpty()) {
+                commentLines.add(" *");
+            }
+        }
+        for (String tag : tags) {
+            List<String> tagLines = JavaCanonicalizer.fill(tag, width - " * ".length(), singleIndent.length());
+            commentLines.add(" * " + tagLines.get(0));
+            for (int i = 1; i < tagLines.size(); ++i) {
+                commentLines.add(" * " + singleIndent + tagLines.get(i));
+            }
+        }
+
+        // a comment of one line, either the description or a block tag, is written on the line of its delimiters
+        if (commentLines.size() == 1) {
+            String oneLineComment = "/**" + commentLines.get(0).substring(" *".length()) + " */";
+            if (oneLineComment.length() <= width) {
+                line(oneLineComment);
+                return;
+            }
+        }
+        line("/**");
+        for (String commentLine : commentLines) {
+            line(commentLine);
+        }
+        line(" */");
+    }
+
     public void methodReturn(String text) {
-        line("return %s;", text);
+        line("return " + text + ";");
     }
 
     public void returnAnonymousClass(String anonymousClassDeclaration, Consumer<JavaClass> anonymousClassBlock) {
-        line("return %s {", anonymousClassDeclaration);
+        line("return " + anonymousClassDeclaration + " {");
         indent(() -> {
             JavaClass javaClass = new JavaClass(this);
             anonymousClassBlock.accept(javaClass);
@@ -290,7 +547,7 @@ public class JavaFileContents {
     }
 
     public void anonymousClass(String anonymousClassDeclaration, String instanceName, Consumer<JavaClass> anonymousClassBlock) {
-        line("%1$s %2$s = new %1$s() {", anonymousClassDeclaration, instanceName);
+        line(anonymousClassDeclaration + " " + instanceName + " = new " + anonymousClassDeclaration + "() {");
         indent(() -> {
             JavaClass javaClass = new JavaClass(this);
             anonymousClassBlock.accept(javaClass);
@@ -306,14 +563,14 @@ public class JavaFileContents {
         if (annotations != null && !annotations.isEmpty()) {
             for (String annotation : annotations) {
                 if (annotation != null && !annotation.isEmpty()) {
-                    line("@%s", annotation);
+                    line("@" + annotation);
                 }
             }
         }
     }
 
     public void classBlock(JavaVisibility visibility, List<JavaModifier> modifiers, String classDeclaration, Consumer<JavaClass> classAction) {
-        block(String.format("%s%sclass %s", toString(visibility), toString(modifiers), classDeclaration), blockAction -> {
+        block(toString(visibility) + toString(modifiers) + "class " + classDeclaration, blockAction -> {
             if (classAction != null) {
                 JavaClass javaClass = new JavaClass(this);
                 classAction.accept(javaClass);
@@ -322,15 +579,15 @@ public class JavaFileContents {
     }
 
     public void method(JavaVisibility visibility, List<JavaModifier> modifiers, String methodSignature, Consumer<JavaBlock> method) {
-        block(String.format("%s%s%s", toString(visibility), toString(modifiers), methodSignature), method);
+        block(toString(visibility) + toString(modifiers) + methodSignature, method);
     }
 
     public void constructor(JavaVisibility visibility, String constructorSignature, Consumer<JavaBlock> constructor) {
-        block(String.format("%s%s", toString(visibility), constructorSignature), constructor);
+        block(toString(visibility) + constructorSignature, constructor);
     }
 
     public void enumBlock(JavaVisibility visibility, String enumName, Consumer<JavaEnum> enumAction) {
-        block(String.format("%senum %s", toString(visibility), enumName), block -> {
+        block(toString(visibility) + "enum " + enumName, block -> {
             if (enumAction != null) {
                 JavaEnum javaEnum = new JavaEnum(this);
                 enumAction.accept(javaEnum);
@@ -340,13 +597,13 @@ public class JavaFileContents {
     }
 
     public void interfaceBlock(JavaVisibility visibility, String interfaceSignature, Consumer<JavaInterface> interfaceAction) {
-        line("%sinterface %s {", toString(visibility), interfaceSignature);
+        line(toString(visibility) + "interface " + interfaceSignature + " {");
         indent(() -> interfaceAction.accept(new JavaInterface(this)));
         line("}");
     }
 
     public void ifBlock(String condition, Consumer<JavaBlock> ifAction) {
-        line("if (%s) {", condition);
+        line("if (" + condition + ") {");
         indent(() ->
         {
             ifAction.accept(new JavaBlock(this));
@@ -355,6 +612,13 @@ public class JavaFileContents {
         currentLineType = CurrentLineType.AfterIf;
     }
 
+    public void elseIfBlock(String condition, Consumer<JavaBlock> ifAction) {
+        line(" else if (" + condition + ") {", false);
+        indent(() -> ifAction.accept(new JavaBlock(this)));
+        text("}");
+        currentLineType = CurrentLineType.AfterIf;
+    }
+
     public void elseBlock(Consumer<JavaBlock> elseAction) {
         line(" else {", false);
         indent(() -> elseAction.accept(new JavaBlock(this)));
@@ -372,7 +636,7 @@ public class JavaFileContents {
     }
 
     public void tryBlock(String resource, Consumer<JavaBlock> tryAction) {
-        line("try (%s) {", resource);
+        line("try (" + resource + ") {");
         indent(() ->
         {
             tryAction.accept(new JavaBlock(this));
@@ -382,7 +646,7 @@ public class JavaFileContents {
     }
 
     public void catchBlock(String exception, Consumer<JavaBlock> catchAction) {
-        line(String.format(" catch (%s) {", exception), false);
+        line(" catch (" + exception + ") {", false);
         indent(() -> catchAction.accept(new JavaBlock(this)));
         line("}");
         currentLineType = CurrentLineType.AfterIf;
@@ -395,7 +659,7 @@ public class JavaFileContents {
     }
 
     public void lambda(String parameterType, String parameterName, Consumer<JavaLambda> body) {
-        text(String.format("(%s %s) -> ", parameterType, parameterName));
+        text("(" + parameterType + " " + parameterName + ") -> ");
         try (JavaLambda lambda = new JavaLambda(this)) {
             body.accept(lambda);
         }
@@ -19,7 +19,9 @@ public class JavaFileFactory {
     public final JavaFile createEmptySourceFile(String package_Keyword, String fileNameWithoutExtension) {
         String folderPath = Paths.get("src", "main", "java", package_Keyword.replace('.', File.separatorChar)).toString();
         String filePath = Paths.get(folderPath).resolve(String.format("%1$s.java", fileNameWithoutExtension)).toString().replace('\\', '/').replace("//", "/");
-        return new JavaFile(filePath);
+        JavaFile javaFile = new JavaFile(filePath);
+        javaFile.getContents().setDirectEmission(settings.isDirectEmission());
+        return javaFile;
     }
 
     public final JavaFile createSourceFile(String package_Keyword, String fileNameWithoutExtension) {
@@ -44,6 +46,7 @@ public class JavaFileFactory {
         String folderPath = Paths.get("src", "test", "java", package_Keyword.replace('.', File.separatorChar)).toString();
         String filePath = Paths.get(folderPath).resolve(String.format("%1$s.java", fileNameWithoutExtension)).toString().replace('\\', '/').replace("//", "/");
         JavaFile javaFile = new JavaFile(filePath);
+        javaFile.getContents().setDirectEmission(settings.isDirectEmission());
 
         String headerComment = settings.getFileHeaderText();
         if (headerComment != null && !headerComment.isEmpty()) {
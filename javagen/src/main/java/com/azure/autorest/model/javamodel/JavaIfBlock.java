@@ -9,6 +9,11 @@ public class JavaIfBlock {
         this.contents = contents;
     }
 
+    public final JavaIfBlock elseIfBlock(String condition, Consumer<JavaBlock> ifAction) {
+        contents.elseIfBlock(condition, ifAction);
+        return this;
+    }
+
     public final void elseBlock(Consumer<JavaBlock> elseAction) {
         contents.elseBlock(elseAction);
     }
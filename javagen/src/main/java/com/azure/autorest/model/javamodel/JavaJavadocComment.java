@@ -5,12 +5,26 @@ package com.azure.autorest.model.javamodel;
 
 import com.azure.autorest.util.CodeNamer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class JavaJavadocComment {
     private JavaFileContents contents;
     private boolean expectsLineSeparator;
+    // In direct emission, the description and the block tags are collected, and written by JavaFileContents in the
+    // layout of the formatter.
+    private final StringBuilder description;
+    private final List<String> tags;
 
     public JavaJavadocComment(JavaFileContents contents) {
         this.contents = contents;
+        if (contents.isDirectEmission()) {
+            description = new StringBuilder();
+            tags = new ArrayList<>();
+        } else {
+            description = null;
+            tags = null;
+        }
     }
 
     private static String trim(String value) {
@@ -25,6 +39,34 @@ public class JavaJavadocComment {
         return CodeNamer.escapeComment(CodeNamer.escapeXmlComment(ensurePeriod(trim(value))));
     }
 
+    final String getDescription() {
+        return description.toString();
+    }
+
+    final List<String> getTags() {
+        return tags;
+    }
+
+    private void descriptionText(String text) {
+        if (description != null) {
+            if (description.length() > 0) {
+                description.append(' ');
+            }
+            description.append(text);
+        } else {
+            contents.line(text);
+        }
+    }
+
+    private void tag(String text) {
+        if (tags != null) {
+            tags.add(text);
+        } else {
+            addExpectedLineSeparator();
+            contents.line(text);
+        }
+    }
+
     private void addExpectedLineSeparator() {
         if (expectsLineSeparator) {
             expectsLineSeparator = false;
@@ -35,30 +77,31 @@ public class JavaJavadocComment {
     public final void description(String description) {
         String processedText = processText(description);
         if (processedText != null && !processedText.isEmpty()) {
-            contents.line(processedText);
+            descriptionText(processedText);
             expectsLineSeparator = true;
         }
     }
 
     public final void param(String parameterName, String parameterDescription) {
-        addExpectedLineSeparator();
-        contents.line(String.format("@param %1$s %2$s", parameterName, processText(parameterDescription)));
+        tag("@param " + parameterName + " " + processText(parameterDescription));
     }
 
     public final void methodReturns(String returnValueDescription) {
         if (returnValueDescription != null && !returnValueDescription.isEmpty()) {
-            addExpectedLineSeparator();
-            contents.line(String.format("@return %1$s", processText(returnValueDescription)));
+            tag("@return " + processText(returnValueDescription));
         }
     }
 
     public final void methodThrows(String exceptionTypeName, String description) {
-        addExpectedLineSeparator();
-        contents.line(String.format("@throws %1$s %2$s", exceptionTypeName, processText(description)));
+        tag("@throws " + exceptionTypeName + " " + processText(description));
     }
 
     public final void inheritDoc() {
-        addExpectedLineSeparator();
-        contents.line("{@inheritDoc}");
+        if (description != null) {
+            descriptionText("{@inheritDoc}");
+        } else {
+            addExpectedLineSeparator();
+            contents.line("{@inheritDoc}");
+        }
     }
 }
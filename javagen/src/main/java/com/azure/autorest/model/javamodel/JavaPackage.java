@@ -4,11 +4,15 @@ import com.azure.autorest.Javagen;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.NewPlugin;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
+import com.azure.autorest.extension.base.util.GeneratorMetrics;
+import com.azure.autorest.extension.base.util.ParallelUtil;
 import com.azure.autorest.model.clientmodel.AsyncSyncClient;
+import com.azure.autorest.model.clientmodel.BinaryUpload;
 import com.azure.autorest.model.clientmodel.ClientException;
 import com.azure.autorest.model.clientmodel.ClientModel;
 import com.azure.autorest.model.clientmodel.ClientResponse;
 import com.azure.autorest.model.clientmodel.EnumType;
+import com.azure.autorest.model.clientmodel.FluxInputStream;
 import com.azure.autorest.model.clientmodel.Manager;
 import com.azure.autorest.model.clientmodel.MethodGroupClient;
 import com.azure.autorest.model.clientmodel.ModuleInfo;
@@ -18,6 +22,7 @@ import com.azure.autorest.model.clientmodel.Pom;
 import com.azure.autorest.model.clientmodel.ServiceClient;
 import com.azure.autorest.model.clientmodel.XmlSequenceWrapper;
 import com.azure.autorest.model.xmlmodel.XmlFile;
+import com.azure.autorest.template.IJavaTemplate;
 import com.azure.autorest.template.Templates;
 import org.slf4j.Logger;
 
@@ -35,6 +40,8 @@ public class JavaPackage {
     private final JavaFileFactory javaFileFactory;
 
     private final Set<String> filePaths = new HashSet<>();
+    private final List<Runnable> pendingRenders = new ArrayList<>();
+    private final GeneratorMetrics metrics = GeneratorMetrics.getInstance();
 
     public JavaPackage(NewPlugin host) {
         this.settings = JavaSettings.getInstance();
@@ -48,7 +55,13 @@ public class JavaPackage {
         return javaFileFactory;
     }
 
+    /**
+     * Gets the Java files, after rendering the ones not rendered yet.
+     *
+     * @return the Java files, in the order they were added.
+     */
     public List<JavaFile> getJavaFiles() {
+        render();
         return javaFiles;
     }
 
@@ -58,121 +71,112 @@ public class JavaPackage {
 
     public final void addManager(String package_Keyword, String name, Manager model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getManagerTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getManagerTemplate(), model);
     }
 
     public final void addServiceClient(String package_Keyword, String name, ServiceClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getServiceClientTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceClientTemplate(), model);
     }
 
     public final void addAsyncServiceClient(String packageKeyWord, AsyncSyncClient asyncClient) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyWord, asyncClient.getClassName());
-        Templates.getServiceAsyncClientTemplate().write(asyncClient, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceAsyncClientTemplate(), asyncClient);
     }
 
     public final void addSyncServiceClient(String packageKeyWord, AsyncSyncClient syncClient) {
         JavaFile javaFile = javaFileFactory.createSourceFile(packageKeyWord, syncClient.getClassName());
-        Templates.getServiceSyncClientTemplate().write(syncClient, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceSyncClientTemplate(), syncClient);
     }
 
     public final void addServiceClientInterface(String name, ServiceClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(settings.getPackage(), name);
-        Templates.getServiceClientInterfaceTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceClientInterfaceTemplate(), model);
     }
 
     public final void addServiceClientInterface(String package_Keyword, String name, ServiceClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getServiceClientInterfaceTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceClientInterfaceTemplate(), model);
     }
 
     public final void addServiceClientBuilder(String name, ServiceClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(settings.getPackage(), name);
-        Templates.getServiceClientBuilderTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceClientBuilderTemplate(), model);
     }
 
     public final void addServiceClientBuilder(String package_Keyword, String name, ServiceClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getServiceClientBuilderTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getServiceClientBuilderTemplate(), model);
     }
 
     public final void addMethodGroup(String package_Keyword, String name, MethodGroupClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getMethodGroupTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getMethodGroupTemplate(), model);
     }
 
     public final void addMethodGroupInterface(String name, MethodGroupClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(settings.getPackage(), name);
-        Templates.getMethodGroupInterfaceTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getMethodGroupInterfaceTemplate(), model);
     }
 
     public final void addMethodGroupInterface(String package_Keyword, String name, MethodGroupClient model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getMethodGroupInterfaceTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getMethodGroupInterfaceTemplate(), model);
     }
 
     public final void addModel(String package_Keyword, String name, ClientModel model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getModelTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getModelTemplate(), model);
     }
 
     public final void addException(String package_Keyword, String name, ClientException model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getExceptionTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getExceptionTemplate(), model);
     }
 
     public final void addEnum(String package_Keyword, String name, EnumType model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getEnumTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getEnumTemplate(), model);
     }
 
     public final void addPage(String package_Keyword, String name, PageDetails model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getPageTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getPageTemplate(), model);
     }
 
     public final void addClientResponse(String package_Keyword, String name, ClientResponse model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getResponseTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getResponseTemplate(), model);
     }
 
     public final void addXmlSequenceWrapper(String package_Keyword, String name, XmlSequenceWrapper model) {
         JavaFile javaFile = javaFileFactory.createSourceFile(package_Keyword, name);
-        Templates.getXmlSequenceWrapperTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getXmlSequenceWrapperTemplate(), model);
     }
 
     public final void addPackageInfo(String package_Keyword, String name, PackageInfo model) {
         JavaFile javaFile = javaFileFactory.createEmptySourceFile(package_Keyword, name);
-        Templates.getPackageInfoTemplate().write(model, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getPackageInfoTemplate(), model);
+    }
+
+    public final void addFluxInputStream(FluxInputStream fluxInputStream) {
+        JavaFile javaFile = javaFileFactory.createSourceFile(fluxInputStream.getPackage(), FluxInputStream.CLASS_NAME);
+        addJavaFile(javaFile, Templates.getFluxInputStreamTemplate(), fluxInputStream);
+    }
+
+    public final void addBinaryUpload(BinaryUpload binaryUpload) {
+        JavaFile javaFile = javaFileFactory.createSourceFile(binaryUpload.getPackage(), BinaryUpload.CLASS_NAME);
+        addJavaFile(javaFile, Templates.getBinaryUploadTemplate(), binaryUpload);
     }
 
     public final void addModuleInfo(ModuleInfo moduleInfo) {
         JavaFile javaFile = javaFileFactory.createEmptySourceFile("", "module-info");
-        Templates.getModuleInfoTemplate().write(moduleInfo, javaFile);
-        addJavaFile(javaFile);
+        addJavaFile(javaFile, Templates.getModuleInfoTemplate(), moduleInfo);
     }
 
     public final void addPom(String name, Pom pom) {
         XmlFile xmlFile = new XmlFile(name);
-        Templates.getPomTemplate().write(pom, xmlFile);
+        measureTemplate(Templates.getPomTemplate(), () -> Templates.getPomTemplate().write(pom, xmlFile));
         this.checkDuplicateFile(xmlFile.getFilePath());
         xmlFiles.add(xmlFile);
     }
@@ -183,6 +187,37 @@ public class JavaPackage {
         javaFiles.add(javaFile);
     }
 
+    /**
+     * Adds the Java file, to be rendered later by the template together with the other files, in parallel.
+     *
+     * @param javaFile the Java file.
+     * @param template the template of the Java file.
+     * @param model the model to write to the Java file.
+     * @param <T> the type of the model.
+     */
+    protected <T> void addJavaFile(JavaFile javaFile, IJavaTemplate<T, JavaFile> template, T model) {
+        addJavaFile(javaFile);
+        pendingRenders.add(() -> measureTemplate(template, () -> template.write(model, javaFile)));
+    }
+
+    /**
+     * Runs the template writing a file, measured by {@link GeneratorMetrics}.
+     *
+     * @param template the template.
+     * @param write writes the file with the template.
+     */
+    protected void measureTemplate(Object template, Runnable write) {
+        metrics.measureTemplate(template.getClass().getSimpleName(), write);
+    }
+
+    private void render() {
+        if (!pendingRenders.isEmpty()) {
+            List<Runnable> renders = new ArrayList<>(pendingRenders);
+            pendingRenders.clear();
+            ParallelUtil.forEach(renders, Runnable::run);
+        }
+    }
+
     protected void checkDuplicateFile(String filePath) {
         if (filePaths.contains(filePath)) {
 //            throw new IllegalStateException(String.format("Name conflict for output file '%1$s'.", filePath));
@@ -0,0 +1,150 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for license information.
+
+package com.azure.autorest.template;
+
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.BinaryUpload;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.autorest.model.javamodel.JavaModifier;
+import com.azure.autorest.model.javamodel.JavaVisibility;
+
+import java.util.Collections;
+
+/**
+ * Writes a BinaryUpload to a JavaFile.
+ * <p>
+ * The class reads a file, or a BinaryData, as the Flux of ByteBuffer and the length of the body that the client
+ * methods upload. A file is read as regions mapped into memory, so that its bytes are not copied into the heap, and the
+ * regions are mapped again for each subscription, so that a retried request sends the whole file again.
+ */
+public class BinaryUploadTemplate implements IJavaTemplate<BinaryUpload, JavaFile> {
+    private static BinaryUploadTemplate _instance = new BinaryUploadTemplate();
+
+    private static final String UPLOAD_FUNCTION = "BiFunction<Flux<ByteBuffer>, Long, Mono<T>> upload";
+
+    private BinaryUploadTemplate() {
+    }
+
+    public static BinaryUploadTemplate getInstance() {
+        return _instance;
+    }
+
+    public final void write(BinaryUpload binaryUpload, JavaFile javaFile) {
+        javaFile.declareImport("com.azure.core.util.BinaryData",
+                "java.io.IOException",
+                "java.io.UncheckedIOException",
+                "java.nio.ByteBuffer",
+                "java.nio.channels.FileChannel",
+                "java.nio.file.Path",
+                "java.nio.file.StandardOpenOption",
+                "java.util.function.BiFunction",
+                "reactor.core.publisher.Flux",
+                "reactor.core.publisher.Mono",
+                "reactor.core.publisher.SynchronousSink");
+
+        javaFile.javadocComment(comment ->
+        {
+            comment.description("Reads a file or a BinaryData as the Flux of ByteBuffer and the length of a body to "
+                    + "upload.");
+        });
+        javaFile.classBlock(JavaVisibility.PackagePrivate, Collections.singletonList(JavaModifier.Final),
+                BinaryUpload.CLASS_NAME, classBlock ->
+        {
+            classBlock.privateStaticFinalVariable("int MAPPED_REGION_SIZE = 4 * 1024 * 1024");
+
+            classBlock.privateConstructor(String.format("%1$s()", BinaryUpload.CLASS_NAME), constructor ->
+            {
+            });
+
+            classBlock.javadocComment(comment ->
+            {
+                comment.description("Uploads the file, which is opened when the returned Mono is subscribed to, and "
+                        + "closed when it terminates.");
+                comment.param("file", "the path of the file");
+                comment.param("upload", "the function that uploads the Flux of ByteBuffer of the given length");
+                comment.methodReturns("the Mono of the upload");
+            });
+            classBlock.method(JavaVisibility.PackagePrivate, Collections.singletonList(JavaModifier.Static),
+                    String.format("<T> Mono<T> upload(Path file, %1$s)", UPLOAD_FUNCTION), function ->
+            {
+                function.line("return Mono.using(() -> FileChannel.open(file, StandardOpenOption.READ),");
+                function.increaseIndent();
+                function.line("fileChannel -> upload(fileChannel, upload), BinaryUpload::close);");
+                function.decreaseIndent();
+            });
+
+            classBlock.javadocComment(comment ->
+            {
+                comment.description("Uploads the FileChannel, from its position to its end. The FileChannel is not "
+                        + "closed.");
+                comment.param("fileChannel", "the FileChannel");
+                comment.param("upload", "the function that uploads the Flux of ByteBuffer of the given length");
+                comment.methodReturns("the Mono of the upload");
+            });
+            classBlock.method(JavaVisibility.PackagePrivate, Collections.singletonList(JavaModifier.Static),
+                    String.format("<T> Mono<T> upload(FileChannel fileChannel, %1$s)", UPLOAD_FUNCTION), function ->
+            {
+                function.line("long position;");
+                function.line("long length;");
+                function.tryBlock(tryBlock ->
+                {
+                    tryBlock.line("position = fileChannel.position();");
+                    tryBlock.line("length = Math.max(fileChannel.size() - position, 0);");
+                }).catchBlock("IOException e", catchBlock ->
+                        catchBlock.methodReturn("Mono.error(new UncheckedIOException(e))"));
+                function.line("long end = position + length;");
+                function.line("Flux<ByteBuffer> body = Flux.<ByteBuffer, Long>generate(() -> position,");
+                function.increaseIndent();
+                function.line("(offset, sink) -> map(fileChannel, offset, end, sink));");
+                function.decreaseIndent();
+                function.methodReturn("upload.apply(body, length)");
+            });
+
+            classBlock.javadocComment(comment ->
+            {
+                comment.description("Uploads the BinaryData.");
+                comment.param("data", "the BinaryData");
+                comment.param("upload", "the function that uploads the Flux of ByteBuffer of the given length");
+                comment.methodReturns("the Mono of the upload");
+            });
+            classBlock.method(JavaVisibility.PackagePrivate, Collections.singletonList(JavaModifier.Static),
+                    String.format("<T> Mono<T> upload(BinaryData data, %1$s)", UPLOAD_FUNCTION), function ->
+            {
+                function.line("byte[] bytes = data.toBytes();");
+                function.methodReturn("upload.apply(Flux.defer(() -> Flux.just(ByteBuffer.wrap(bytes))), "
+                        + "(long) bytes.length)");
+            });
+
+            classBlock.blockComment(JavaSettings.getInstance().getMaximumJavadocCommentWidth(), comment ->
+            {
+                comment.line("Emits the region of the file from the offset, of at most MAPPED_REGION_SIZE bytes, and "
+                        + "returns the offset of the next region, or completes at the end.");
+            });
+            classBlock.method(JavaVisibility.Private, Collections.singletonList(JavaModifier.Static),
+                    "Long map(FileChannel fileChannel, long offset, long end, SynchronousSink<ByteBuffer> sink)",
+                    function ->
+            {
+                function.ifBlock("offset >= end", ifBlock ->
+                {
+                    ifBlock.line("sink.complete();");
+                    ifBlock.methodReturn("offset");
+                });
+                function.line("long size = Math.min(MAPPED_REGION_SIZE, end - offset);");
+                function.tryBlock(tryBlock ->
+                        tryBlock.line("sink.next(fileChannel.map(FileChannel.MapMode.READ_ONLY, offset, size));"))
+                        .catchBlock("IOException e", catchBlock ->
+                                catchBlock.line("sink.error(new UncheckedIOException(e));"));
+                function.methodReturn("offset + size");
+            });
+
+            classBlock.method(JavaVisibility.Private, Collections.singletonList(JavaModifier.Static),
+                    "void close(FileChannel fileChannel)", function ->
+            {
+                function.tryBlock(tryBlock -> tryBlock.line("fileChannel.close();"))
+                        .catchBlock("IOException e", catchBlock ->
+                                catchBlock.line("throw new UncheckedIOException(e);"));
+            });
+        });
+    }
+}
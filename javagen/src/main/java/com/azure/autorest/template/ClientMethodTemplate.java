@@ -7,14 +7,17 @@ package com.azure.autorest.template;
 import com.azure.autorest.extension.base.model.codemodel.RequestParameterLocation;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.model.clientmodel.ArrayType;
+import com.azure.autorest.model.clientmodel.BinaryUpload;
 import com.azure.autorest.model.clientmodel.ClassType;
 import com.azure.autorest.model.clientmodel.ClientMethod;
 import com.azure.autorest.model.clientmodel.ClientMethodParameter;
 import com.azure.autorest.model.clientmodel.ClientMethodType;
+import com.azure.autorest.model.clientmodel.FluxInputStream;
 import com.azure.autorest.model.clientmodel.GenericType;
 import com.azure.autorest.model.clientmodel.IType;
 import com.azure.autorest.model.clientmodel.ListType;
 import com.azure.autorest.model.clientmodel.MethodTransformationDetail;
+import com.azure.autorest.model.clientmodel.MethodUploadDetails;
 import com.azure.autorest.model.clientmodel.ParameterMapping;
 import com.azure.autorest.model.clientmodel.PrimitiveType;
 import com.azure.autorest.model.clientmodel.ProxyMethod;
@@ -51,11 +54,33 @@ public class ClientMethodTemplate implements IJavaTemplate<ClientMethod, JavaTyp
     }
 
     protected static void AddValidations(JavaBlock function, List<String> expressionsToCheck, Map<String, String> validateExpressions, JavaSettings settings) {
+        AddValidations(function, expressionsToCheck, validateExpressions, settings, false);
+    }
+
+    /**
+     * Add validations of the parameters.
+     *
+     * @param function the block of the client method.
+     * @param expressionsToCheck the expressions of the required parameters, checked not to be null.
+     * @param validateExpressions the validations of the parameters, by the expressions of the parameters.
+     * @param settings java settings.
+     * @param sync whether the method is sync, which throws the exception, rather than returning a Mono of it.
+     */
+    protected static void AddValidations(JavaBlock function, List<String> expressionsToCheck, Map<String, String> validateExpressions, JavaSettings settings,
+                                         boolean sync) {
         if (settings.shouldClientSideValidations()) {
             for (String expressionToCheck : expressionsToCheck) {
-                JavaIfBlock nullCheck = function.ifBlock(expressionToCheck + " == null", ifBlock ->
-                        ifBlock.line("return Mono.error(new IllegalArgumentException(\"Parameter %s is required and "
-                            + "cannot be null.\"));", expressionToCheck));
+                String exception = String.format("new IllegalArgumentException(\"Parameter %s is required and "
+                        + "cannot be null.\")", expressionToCheck);
+                JavaIfBlock nullCheck = function.ifBlock(expressionToCheck + " == null", ifBlock -> {
+                    if (!sync) {
+                        ifBlock.line("return Mono.error(%s);", exception);
+                    } else if (settings.shouldClientLogger()) {
+                        ifBlock.line("throw logger.logExceptionAsError(%s);", exception);
+                    } else {
+                        ifBlock.line("throw %s;", exception);
+                    }
+                });
                 if (validateExpressions.containsKey(expressionToCheck)) {
                     nullCheck.elseBlock(elseBlock ->
                             elseBlock.line(validateExpressions.get(expressionToCheck) + ";"));
@@ -317,6 +342,10 @@ public class ClientMethodTemplate implements IJavaTemplate<ClientMethod, JavaTyp
 
         switch (clientMethod.getType()) {
             case PagingSync:
+                if (isSyncStack(clientMethod, settings)) {
+                    generatePagingSyncStack(clientMethod, typeBlock, restAPIMethod, settings);
+                    break;
+                }
                 typeBlock.annotation("ServiceMethod(returns = ReturnType.COLLECTION)");
                 typeBlock.publicMethod(clientMethod.getDeclaration(), function -> {
                     AddOptionalVariables(function, clientMethod, restAPIMethod.getParameters(), settings);
@@ -324,6 +353,10 @@ public class ClientMethodTemplate implements IJavaTemplate<ClientMethod, JavaTyp
                 });
                 break;
 
+            case PagingSyncSinglePage:
+                generatePagedSyncSinglePage(clientMethod, typeBlock, restAPIMethod, settings);
+                break;
+
             case PagingAsync:
 //                typeBlock.javadocComment(comment ->
                 typeBlock.annotation("ServiceMethod(returns = ReturnType.COLLECTION)");
@@ -417,6 +450,10 @@ public class ClientMethodTemplate implements IJavaTemplate<ClientMethod, JavaTyp
             case SimpleSync:
             case SimpleSyncRestResponse:
             case LongRunningSync:
+                if (isSyncStack(clientMethod, settings)) {
+                    generateSimpleSyncStack(clientMethod, typeBlock, restAPIMethod, settings);
+                    break;
+                }
                 String asyncMethodName = clientMethod.getSimpleAsyncMethodName();
                 if (clientMethod.getType() == ClientMethodType.SimpleSyncRestResponse) {
                     asyncMethodName = clientMethod.getSimpleWithResponseAsyncMethodName();
@@ -426,15 +463,8 @@ public class ClientMethodTemplate implements IJavaTemplate<ClientMethod, JavaTyp
                 typeBlock.publicMethod(clientMethod.getDeclaration(), function -> {
                     AddOptionalVariables(function, clientMethod, restAPIMethod.getParameters(), settings);
                     if (clientMethod.getReturnValue().getType() == ClassType.InputStream) {
-                        function.line("Iterator<ByteBufferBackedInputStream> iterator = %s(%s).map(ByteBufferBackedInputStream::new).toStream().iterator();",
-                                effectiveAsyncMethodName, clientMethod.getArgumentList());
-                        function.anonymousClass("Enumeration<InputStream>", "enumeration", javaBlock -> {
-                            javaBlock.annotation("Override");
-                            javaBlock.publicMethod("boolean hasMoreElements()", methodBlock -> methodBlock.methodReturn("iterator.hasNext()"));
-                            javaBlock.annotation("Override");
-                            javaBlock.publicMethod("InputStream nextElement()", methodBlock -> methodBlock.methodReturn("iterator.next()"));
-                        });
-                        function.methodReturn("new SequenceInputStream(enumeration)");
+                        function.methodReturn(String.format("new %s(%s(%s))", FluxInputStream.CLASS_NAME,
+                                effectiveAsyncMethodName, clientMethod.getArgumentList()));
                     } else if (clientMethod.getReturnValue().getType() != PrimitiveType.Void) {
                         IType returnType = clientMethod.getReturnValue().getType();
                         if (returnType instanceof PrimitiveType) {
@@ -458,11 +488,28 @@ public class ClientMethodTemplate implements IJavaTemplate<ClientMethod, JavaTyp
                 });
                 break;
 
+            case SimpleSyncToStream:
+                typeBlock.annotation("ServiceMethod(returns = ReturnType.SINGLE)");
+                typeBlock.publicMethod(clientMethod.getDeclaration(), function -> {
+                    AddOptionalVariables(function, clientMethod, restAPIMethod.getParameters(), settings);
+                    String argumentList = clientMethod.getMethodParameters().stream()
+                            .filter(parameter -> parameter.getClientType() != ClassType.OutputStream)
+                            .map(ClientMethodParameter::getName)
+                            .collect(Collectors.joining(", "));
+                    function.line("%s.writeTo(%s(%s), outputStream);", FluxInputStream.CLASS_NAME,
+                            clientMethod.getSimpleAsyncMethodName(), argumentList);
+                });
+                break;
+
             case SimpleAsyncRestResponse:
                 generateSimpleAsyncRestResponse(clientMethod, typeBlock, restAPIMethod, settings);
                 break;
 
             case SimpleAsync:
+                if (clientMethod.getMethodUploadDetails() != null) {
+                    generateSimpleAsyncUpload(clientMethod, typeBlock);
+                    break;
+                }
                 typeBlock.annotation("ServiceMethod(returns = ReturnType.SINGLE)");
                 writeMethod(typeBlock, clientMethod.getMethodVisibility(), clientMethod.getDeclaration(), (function -> {
                     AddOptionalVariables(function, clientMethod, restAPIMethod.getParameters(), settings);
@@ -494,6 +541,25 @@ public class ClientMethodTemplate implements IJavaTemplate<ClientMethod, JavaTyp
         }
     }
 
+    /**
+     * Writes the overload of an async client method that uploads a binary body with its length, which reads the body
+     * and the length from a file or a BinaryData, and calls the client method with them.
+     *
+     * @param clientMethod client method
+     * @param typeBlock code block
+     */
+    protected void generateSimpleAsyncUpload(ClientMethod clientMethod, JavaType typeBlock) {
+        MethodUploadDetails uploadDetails = clientMethod.getMethodUploadDetails();
+        ClientMethod uploadMethod = uploadDetails.getUploadMethod();
+        typeBlock.annotation("ServiceMethod(returns = ReturnType.SINGLE)");
+        writeMethod(typeBlock, clientMethod.getMethodVisibility(), clientMethod.getDeclaration(), function -> {
+            function.methodReturn(String.format("%1$s.upload(%2$s, (%3$s, %4$s) -> %5$s(%6$s))",
+                    BinaryUpload.CLASS_NAME, uploadDetails.getUploadParameter().getName(),
+                    uploadDetails.getBodyParameterName(), uploadDetails.getContentLengthParameterName(),
+                    uploadMethod.getName(), uploadMethod.getArgumentList()));
+        });
+    }
+
     /**
      * Generate javadoc for client method.
      *
@@ -627,7 +693,12 @@ public class ClientMethodTemplate implements IJavaTemplate<ClientMethod, JavaTyp
     }
 
     private String checkAndReplaceParamNameCollision(ClientMethod clientMethod, ProxyMethod restAPIMethod, JavaSettings settings) {
-        List<String> serviceMethodArgs = clientMethod.getProxyMethodArguments(settings)
+        String restAPIMethodArgumentList = String.join(", ", serviceMethodArguments(clientMethod, settings));
+        return String.format("service.%s(%s)", restAPIMethod.getName(), restAPIMethodArgumentList);
+    }
+
+    private static List<String> serviceMethodArguments(ClientMethod clientMethod, JavaSettings settings) {
+        return clientMethod.getProxyMethodArguments(settings)
                 .stream()
                 .map(argVal -> {
                     if (clientMethod.getParameters().stream().filter(param -> param.getName().equals(argVal))
@@ -638,8 +709,6 @@ public class ClientMethodTemplate implements IJavaTemplate<ClientMethod, JavaTyp
                     return argVal;
                 })
                 .collect(Collectors.toList());
-        String restAPIMethodArgumentList = String.join(", ", serviceMethodArgs);
-        return String.format("service.%s(%s)", restAPIMethod.getName(), restAPIMethodArgumentList);
     }
 
     protected void generateSimpleAsyncRestResponse(ClientMethod clientMethod, JavaType typeBlock, ProxyMethod restAPIMethod, JavaSettings settings) {
@@ -668,6 +737,155 @@ public class ClientMethodTemplate implements IJavaTemplate<ClientMethod, JavaTyp
         return clientMethod.getParameters().stream().anyMatch(param -> ClassType.Context.equals(param.getClientType()));
     }
 
+    /**
+     * Whether the sync client method calls the sync proxy method, instead of blocking on the async client method.
+     *
+     * @param clientMethod client method
+     * @param settings java settings
+     * @return whether the client method is written for the sync stack
+     */
+    protected boolean isSyncStack(ClientMethod clientMethod, JavaSettings settings) {
+        if (!settings.isSyncStack() || clientMethod.getProxyMethod().getSyncReturnType() == null
+                || clientMethod.getReturnValue().getType() == ClassType.InputStream
+                || clientMethod.getMethodUploadDetails() != null) {
+            return false;
+        }
+        if (clientMethod.getType() == ClientMethodType.PagingSync && !settings.isSyncStackPaging()) {
+            // the PagedIterable constructors taking the page retrievers are not in every version of azure-core
+            return false;
+        }
+        if (clientMethod.getType() == ClientMethodType.PagingSync && clientMethod.getMethodPageDetails().nonNullNextLink()) {
+            return clientMethod.getMethodPageDetails().getNextMethod().getProxyMethod().getSyncReturnType() != null;
+        }
+        return true;
+    }
+
+    /**
+     * Whether the written client method calls the sync proxy method of its proxy method.
+     *
+     * @param clientMethod client method
+     * @param settings java settings
+     * @return whether the sync proxy method is called by the client method
+     */
+    protected boolean callsSyncProxyMethod(ClientMethod clientMethod, JavaSettings settings) {
+        switch (clientMethod.getType()) {
+            case PagingSyncSinglePage:
+                return true;
+            case SimpleSync:
+            case SimpleSyncRestResponse:
+            case LongRunningSync:
+                return isSyncStack(clientMethod, settings);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Writes the validations and the conversions of the parameters of the sync client method, and returns the call of
+     * the sync proxy method.
+     */
+    private String syncServiceMethodCall(JavaBlock function, ClientMethod clientMethod, ProxyMethod restAPIMethod, JavaSettings settings) {
+        AddOptionalVariables(function, clientMethod, restAPIMethod.getParameters(), settings);
+        AddValidations(function, clientMethod.getRequiredNullableParameterExpressions(), clientMethod.getValidateExpressions(), settings, true);
+        AddOptionalAndConstantVariables(function, clientMethod, restAPIMethod.getParameters(), settings, false, true, true);
+        ApplyParameterTransformations(function, clientMethod, settings);
+        ConvertClientTypesToWireTypes(function, clientMethod, restAPIMethod.getParameters(), clientMethod.getClientReference(), settings);
+
+        List<String> serviceMethodArgs = serviceMethodArguments(clientMethod, settings);
+        if (!contextInParameters(clientMethod)) {
+            List<ProxyMethodParameter> parameters = restAPIMethod.getParameters();
+            for (int i = 0; i < parameters.size(); ++i) {
+                if (parameters.get(i).getWireType() == ClassType.Context) {
+                    serviceMethodArgs.set(i, "Context.NONE");
+                }
+            }
+        }
+        return String.format("service.%s(%s)", restAPIMethod.getSyncMethodName(), String.join(", ", serviceMethodArgs));
+    }
+
+    protected void generateSimpleSyncStack(ClientMethod clientMethod, JavaType typeBlock, ProxyMethod restAPIMethod, JavaSettings settings) {
+        typeBlock.annotation("ServiceMethod(returns = ReturnType.SINGLE)");
+        typeBlock.publicMethod(clientMethod.getDeclaration(), function -> {
+            String serviceMethodCall = syncServiceMethodCall(function, clientMethod, restAPIMethod, settings);
+            IType returnType = clientMethod.getReturnValue().getType();
+            if (clientMethod.getType() == ClientMethodType.SimpleSyncRestResponse) {
+                function.methodReturn(serviceMethodCall);
+            } else if (returnType == PrimitiveType.Void) {
+                function.line("%s;", serviceMethodCall);
+            } else if (returnType instanceof PrimitiveType) {
+                function.line("%s value = %s.getValue();", returnType.asNullable(), serviceMethodCall);
+                function.ifBlock("value != null", ifAction -> {
+                    ifAction.methodReturn("value");
+                }).elseBlock(elseAction -> {
+                    if (settings.shouldClientLogger()) {
+                        elseAction.line("throw logger.logExceptionAsError(new NullPointerException());");
+                    } else {
+                        elseAction.line("throw new NullPointerException();");
+                    }
+                });
+            } else {
+                function.methodReturn(serviceMethodCall + ".getValue()");
+            }
+        });
+    }
+
+    protected void generatePagingSyncStack(ClientMethod clientMethod, JavaType typeBlock, ProxyMethod restAPIMethod, JavaSettings settings) {
+        typeBlock.annotation("ServiceMethod(returns = ReturnType.COLLECTION)");
+        typeBlock.publicMethod(clientMethod.getDeclaration(), function -> {
+            AddOptionalVariables(function, clientMethod, restAPIMethod.getParameters(), settings);
+            if (clientMethod.getMethodPageDetails().nonNullNextLink()) {
+                ClientMethod nextMethod = clientMethod.getMethodPageDetails().getNextMethod();
+                String nextMethodArgumentList = nextMethod.getArgumentList();
+                if (contextInParameters(clientMethod) && !contextInParameters(nextMethod)) {
+                    nextMethodArgumentList += ", context";
+                }
+                String effectiveNextMethodArgumentList = nextMethodArgumentList;
+                function.line("return new PagedIterable<>(");
+                function.indent(() -> {
+                    function.line("() -> %s(%s),",
+                            restAPIMethod.getPagingSinglePageMethodName(),
+                            clientMethod.getArgumentList());
+                    function.line("nextLink -> %s(%s));",
+                            nextMethod.getProxyMethod().getPagingSinglePageMethodName(),
+                            effectiveNextMethodArgumentList);
+                });
+            } else {
+                function.line("return new PagedIterable<>(");
+                function.indent(() -> {
+                    function.line("() -> %s(%s));",
+                            restAPIMethod.getPagingSinglePageMethodName(),
+                            clientMethod.getArgumentList());
+                });
+            }
+        });
+    }
+
+    protected void generatePagedSyncSinglePage(ClientMethod clientMethod, JavaType typeBlock, ProxyMethod restAPIMethod, JavaSettings settings) {
+        typeBlock.annotation("ServiceMethod(returns = ReturnType.SINGLE)");
+        writeMethod(typeBlock, clientMethod.getMethodVisibility(), clientMethod.getDeclaration(), function -> {
+            String serviceMethodCall = syncServiceMethodCall(function, clientMethod, restAPIMethod, settings);
+            IType responseType = restAPIMethod.getSyncReturnType();
+            function.line("%s res = %s;", responseType, serviceMethodCall);
+            function.line("return new PagedResponseBase<>(");
+            function.indent(() -> {
+                function.line("res.getRequest(),");
+                function.line("res.getStatusCode(),");
+                function.line("res.getHeaders(),");
+                function.line("res.getValue().%s(),", CodeNamer.getModelNamer().modelPropertyGetterName(clientMethod.getMethodPageDetails().getItemName()));
+                if (clientMethod.getMethodPageDetails().nonNullNextLink()) {
+                    function.line("res.getValue().%s(),", CodeNamer.getModelNamer().modelPropertyGetterName(clientMethod.getMethodPageDetails().getNextLinkName()));
+                } else {
+                    function.line("null,");
+                }
+                if (responseType instanceof ClassType) {
+                    function.line("res.getDeserializedHeaders());");
+                } else {
+                    function.line("null);");
+                }
+            });
+        });
+    }
+
     /**
      * Extension to write LRO async client method.
      *
@@ -76,6 +76,16 @@ public class DefaultTemplateFactory implements TemplateFactory {
         return PackageInfoTemplate.getInstance();
     }
 
+    @Override
+    public FluxInputStreamTemplate getFluxInputStreamTemplate() {
+        return FluxInputStreamTemplate.getInstance();
+    }
+
+    @Override
+    public BinaryUploadTemplate getBinaryUploadTemplate() {
+        return BinaryUploadTemplate.getInstance();
+    }
+
     @Override
     public ServiceAsyncClientTemplate getServiceAsyncClientTemplate() {
         return ServiceAsyncClientTemplate.getInstance();
@@ -0,0 +1,234 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for license information.
+
+package com.azure.autorest.template;
+
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.FluxInputStream;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.autorest.model.javamodel.JavaModifier;
+import com.azure.autorest.model.javamodel.JavaVisibility;
+
+import java.util.Collections;
+
+/**
+ * Writes a FluxInputStream to a JavaFile.
+ * <p>
+ * The class is an InputStream subscribed to the Flux of ByteBuffer of a response body. It requests a bounded number of
+ * ByteBuffers ahead of the reads, and requests another for each ByteBuffer read to its end, so that a slow reader does
+ * not buffer the whole body. The reads copy from the ByteBuffer into the array of the caller, without an object per
+ * ByteBuffer.
+ */
+public class FluxInputStreamTemplate implements IJavaTemplate<FluxInputStream, JavaFile> {
+    private static FluxInputStreamTemplate _instance = new FluxInputStreamTemplate();
+
+    // The number of ByteBuffers requested ahead of the reads.
+    private static final int PREFETCH = 8;
+    // The size of the array that ByteBuffers not backed by an array are copied through to an OutputStream.
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private FluxInputStreamTemplate() {
+    }
+
+    public static FluxInputStreamTemplate getInstance() {
+        return _instance;
+    }
+
+    public final void write(FluxInputStream fluxInputStream, JavaFile javaFile) {
+        javaFile.declareImport("java.io.IOException",
+                "java.io.InputStream",
+                "java.io.InterruptedIOException",
+                "java.io.OutputStream",
+                "java.io.UncheckedIOException",
+                "java.nio.ByteBuffer",
+                "java.util.ArrayDeque",
+                "org.reactivestreams.Subscriber",
+                "org.reactivestreams.Subscription",
+                "reactor.core.publisher.Flux");
+
+        javaFile.javadocComment(comment ->
+        {
+            comment.description("An InputStream that reads the ByteBuffers of a Flux, requesting a bounded number of "
+                    + "them ahead of the reads.");
+        });
+        javaFile.classBlock(JavaVisibility.PackagePrivate, Collections.singletonList(JavaModifier.Final),
+                String.format("%1$s extends InputStream implements Subscriber<ByteBuffer>", FluxInputStream.CLASS_NAME),
+                classBlock ->
+        {
+            classBlock.privateStaticFinalVariable(String.format("int PREFETCH = %1$d", PREFETCH));
+            classBlock.privateStaticFinalVariable(String.format("int COPY_BUFFER_SIZE = %1$d", COPY_BUFFER_SIZE));
+            classBlock.privateFinalMemberVariable("Object", "lock", "new Object()");
+            classBlock.privateFinalMemberVariable("ArrayDeque<ByteBuffer>", "buffers", "new ArrayDeque<>(PREFETCH)");
+            classBlock.privateMemberVariable("volatile Subscription", "subscription");
+            classBlock.privateMemberVariable("boolean", "done");
+            classBlock.privateMemberVariable("Throwable", "error");
+            classBlock.privateMemberVariable("ByteBuffer", "current");
+
+            classBlock.javadocComment(comment ->
+            {
+                comment.description(String.format("Creates an instance of %1$s, which subscribes to the Flux and "
+                        + "waits for its first ByteBuffer.", FluxInputStream.CLASS_NAME));
+                comment.param("flux", "the Flux of ByteBuffer");
+            });
+            classBlock.packagePrivateConstructor(String.format("%1$s(Flux<ByteBuffer> flux)",
+                    FluxInputStream.CLASS_NAME), constructor ->
+            {
+                constructor.line("flux.subscribe(this);");
+                constructor.tryBlock(tryBlock -> tryBlock.line("nextBuffer();"))
+                        .catchBlock("IOException e", catchBlock -> catchBlock.line("throw new UncheckedIOException(e);"));
+            });
+
+            classBlock.javadocComment(comment ->
+            {
+                comment.description("Writes the ByteBuffers of the Flux to the OutputStream, without copying the "
+                        + "ByteBuffers backed by an array.");
+                comment.param("flux", "the Flux of ByteBuffer");
+                comment.param("outputStream", "the OutputStream");
+            });
+            classBlock.method(JavaVisibility.PackagePrivate, Collections.singletonList(JavaModifier.Static),
+                    "void writeTo(Flux<ByteBuffer> flux, OutputStream outputStream)", function ->
+            {
+                function.tryBlock(String.format("%1$s inputStream = new %1$s(flux)", FluxInputStream.CLASS_NAME),
+                        tryBlock ->
+                {
+                    tryBlock.line("byte[] copyBuffer = null;");
+                    tryBlock.line("ByteBuffer buffer;");
+                    tryBlock.block("while ((buffer = inputStream.nextBuffer()) != null)", whileBlock ->
+                    {
+                        whileBlock.ifBlock("buffer.hasArray()", ifBlock ->
+                        {
+                            ifBlock.line("outputStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), "
+                                    + "buffer.remaining());");
+                            ifBlock.line("buffer.position(buffer.limit());");
+                        }).elseBlock(elseBlock ->
+                        {
+                            elseBlock.ifBlock("copyBuffer == null", ifBlock ->
+                                    ifBlock.line("copyBuffer = new byte[COPY_BUFFER_SIZE];"));
+                            elseBlock.block("while (buffer.hasRemaining())", copyBlock ->
+                            {
+                                copyBlock.line("int count = Math.min(copyBuffer.length, buffer.remaining());");
+                                copyBlock.line("buffer.get(copyBuffer, 0, count);");
+                                copyBlock.line("outputStream.write(copyBuffer, 0, count);");
+                            });
+                        });
+                    });
+                }).catchBlock("IOException e", catchBlock -> catchBlock.line("throw new UncheckedIOException(e);"));
+            });
+
+            classBlock.annotation("Override");
+            classBlock.publicMethod("void onSubscribe(Subscription subscription)", function ->
+            {
+                function.line("this.subscription = subscription;");
+                function.line("subscription.request(PREFETCH);");
+            });
+
+            classBlock.annotation("Override");
+            classBlock.publicMethod("void onNext(ByteBuffer buffer)", function ->
+            {
+                function.block("synchronized (lock)", syncBlock ->
+                {
+                    syncBlock.line("buffers.add(buffer);");
+                    syncBlock.line("lock.notifyAll();");
+                });
+            });
+
+            classBlock.annotation("Override");
+            classBlock.publicMethod("void onError(Throwable throwable)", function ->
+            {
+                function.block("synchronized (lock)", syncBlock ->
+                {
+                    syncBlock.line("error = throwable;");
+                    syncBlock.line("done = true;");
+                    syncBlock.line("lock.notifyAll();");
+                });
+            });
+
+            classBlock.annotation("Override");
+            classBlock.publicMethod("void onComplete()", function ->
+            {
+                function.block("synchronized (lock)", syncBlock ->
+                {
+                    syncBlock.line("done = true;");
+                    syncBlock.line("lock.notifyAll();");
+                });
+            });
+
+            classBlock.annotation("Override");
+            classBlock.publicMethod("int read() throws IOException", function ->
+            {
+                function.line("ByteBuffer buffer = nextBuffer();");
+                function.methodReturn("buffer == null ? -1 : buffer.get() & 0xFF");
+            });
+
+            classBlock.annotation("Override");
+            classBlock.publicMethod("int read(byte[] b, int off, int len) throws IOException", function ->
+            {
+                function.ifBlock("off < 0 || len < 0 || len > b.length - off", ifBlock ->
+                        ifBlock.line("throw new IndexOutOfBoundsException();"));
+                function.ifBlock("len == 0", ifBlock -> ifBlock.methodReturn("0"));
+                function.line("ByteBuffer buffer = nextBuffer();");
+                function.ifBlock("buffer == null", ifBlock -> ifBlock.methodReturn("-1"));
+                function.line("int count = Math.min(len, buffer.remaining());");
+                function.line("buffer.get(b, off, count);");
+                function.methodReturn("count");
+            });
+
+            classBlock.annotation("Override");
+            classBlock.publicMethod("int available()", function ->
+                    function.methodReturn("current == null ? 0 : current.remaining()"));
+
+            classBlock.annotation("Override");
+            classBlock.publicMethod("void close()", function ->
+            {
+                function.line("Subscription subscription = this.subscription;");
+                function.ifBlock("subscription != null", ifBlock -> ifBlock.line("subscription.cancel();"));
+                function.block("synchronized (lock)", syncBlock ->
+                {
+                    syncBlock.line("buffers.clear();");
+                    syncBlock.line("done = true;");
+                });
+                function.line("current = null;");
+            });
+
+            classBlock.blockComment(JavaSettings.getInstance().getMaximumJavadocCommentWidth(), comment ->
+            {
+                comment.line("Returns the ByteBuffer with bytes left to read, waiting for the Flux to emit one, or null "
+                        + "at the end of the Flux. Another ByteBuffer is requested for each ByteBuffer read to its "
+                        + "end.");
+            });
+            classBlock.privateMethod("ByteBuffer nextBuffer() throws IOException", function ->
+            {
+                function.block("while (current == null || !current.hasRemaining())", whileBlock ->
+                {
+                    whileBlock.ifBlock("current != null", ifBlock ->
+                    {
+                        ifBlock.line("current = null;");
+                        ifBlock.line("subscription.request(1);");
+                    });
+                    whileBlock.block("synchronized (lock)", syncBlock ->
+                    {
+                        syncBlock.block("while (buffers.isEmpty() && !done)", waitBlock ->
+                        {
+                            waitBlock.tryBlock(tryBlock -> tryBlock.line("lock.wait();"))
+                                    .catchBlock("InterruptedException e", catchBlock ->
+                            {
+                                catchBlock.line("Thread.currentThread().interrupt();");
+                                catchBlock.line("throw new InterruptedIOException();");
+                            });
+                        });
+                        syncBlock.line("current = buffers.poll();");
+                    });
+                    whileBlock.ifBlock("current == null", ifBlock ->
+                    {
+                        ifBlock.ifBlock("error instanceof RuntimeException", errorBlock ->
+                                errorBlock.line("throw (RuntimeException) error;"));
+                        ifBlock.ifBlock("error != null", errorBlock ->
+                                errorBlock.line("throw new IOException(error);"));
+                        ifBlock.methodReturn("null");
+                    });
+                });
+                function.methodReturn("current");
+            });
+        });
+    }
+}
@@ -86,7 +86,7 @@ public class MethodGroupTemplate implements IJavaTemplate<MethodGroupClient, Jav
                 constructor.line("this.client = client;");
             });
 
-            Templates.getProxyTemplate().write(methodGroupClient.getProxy(), classBlock);
+            Templates.getProxyTemplate().write(methodGroupClient.getProxy(), methodGroupClient.getClientMethods(), classBlock);
 
             for (ClientMethod clientMethod : methodGroupClient.getClientMethods()) {
                 Templates.getClientMethodTemplate().write(clientMethod, classBlock);
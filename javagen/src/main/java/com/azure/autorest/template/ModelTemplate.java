@@ -58,11 +58,11 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
 
         imports.add("com.fasterxml.jackson.annotation.JsonCreator");
         String lastParentName = model.getName();
-        ClientModel parentModel = ClientModels.Instance.getModel(model.getParentModelName());
+        ClientModel parentModel = ClientModels.getInstance().getModel(model.getParentModelName());
         while (parentModel != null && !lastParentName.equals(parentModel.getName())) {
             imports.addAll(parentModel.getImports());
             lastParentName = parentModel.getName();
-            parentModel = ClientModels.Instance.getModel(parentModel.getParentModelName());
+            parentModel = ClientModels.getInstance().getModel(parentModel.getParentModelName());
         }
 
         List<ClientModelPropertyReference> propertyReferences = this.getClientModelPropertyReferences(model);
@@ -70,6 +70,18 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
 
         model.addImportsTo(imports, settings);
 
+        StreamStyleSerializationTemplate streamStyleSerialization = StreamStyleSerializationTemplate.getInstance();
+        StreamStyleXmlSerializationTemplate streamStyleXmlSerialization =
+                StreamStyleXmlSerializationTemplate.getInstance();
+        boolean streamStyle = settings.shouldGenerateXmlSerialization()
+                ? streamStyleXmlSerialization.isStreamStyleSerialization(model)
+                : streamStyleSerialization.isStreamStyleSerialization(model);
+        if (streamStyle && settings.shouldGenerateXmlSerialization()) {
+            streamStyleXmlSerialization.addImportsTo(imports, model);
+        } else if (streamStyle) {
+            streamStyleSerialization.addImportsTo(imports);
+        }
+
         javaFile.declareImport(imports);
 
         javaFile.javadocComment(settings.getMaximumJavadocCommentWidth(), (comment) ->
@@ -78,7 +90,11 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
         });
 
         boolean hasDerivedModels = !model.getDerivedModels().isEmpty();
-        if (model.getIsPolymorphic()) {
+        if (streamStyle && settings.shouldGenerateXmlSerialization()) {
+            streamStyleXmlSerialization.writeClassAnnotations(model.getName(), javaFile);
+        } else if (streamStyle) {
+            streamStyleSerialization.writeClassAnnotations(model, javaFile);
+        } else if (model.getIsPolymorphic()) {
             javaFile.annotation(String.format("JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = \"%1$s\"%2$s)", model.getPolymorphicDiscriminator(), (hasDerivedModels ? String.format(", defaultImpl = %1$s.class", model.getName()) : "")));
             javaFile.annotation(String.format("JsonTypeName(\"%1$s\")", model.getSerializedName()));
 
@@ -106,7 +122,7 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
             }
         }
 
-        if (model.getNeedsFlatten()) {
+        if (model.getNeedsFlatten() && !streamStyle) {
             javaFile.annotation("JsonFlatten");
         }
 
@@ -137,7 +153,7 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
 
             for (ClientModelProperty property : model.getProperties()) {
                 String xmlWrapperClassName = propertyXmlWrapperClassName.apply(property);
-                if (settings.shouldGenerateXmlSerialization() && property.getIsXmlWrapper()) {
+                if (settings.shouldGenerateXmlSerialization() && property.getIsXmlWrapper() && !streamStyle) {
                     classBlock.privateStaticFinalClass(xmlWrapperClassName, innerClass ->
                     {
                         IType propertyClientType = property.getWireType().getClientType();
@@ -156,7 +172,9 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
                     comment.line(property.getDescription());
                 });
 
-                if (property.getHeaderCollectionPrefix() != null && !property.getHeaderCollectionPrefix().isEmpty()) {
+                if (streamStyle) {
+                    // serialized by the toJson and fromJson, or the toXml and fromXml, methods
+                } else if (property.getHeaderCollectionPrefix() != null && !property.getHeaderCollectionPrefix().isEmpty()) {
                     classBlock.annotation("HeaderCollection(\"" + property.getHeaderCollectionPrefix() + "\")");
                 } else if (settings.shouldGenerateXmlSerialization() && property.getIsXmlAttribute()) {
                     classBlock.annotation(String.format("JacksonXmlProperty(localName = \"%1$s\", isAttribute = true)",
@@ -173,9 +191,9 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
                 }
 
                 if (settings.shouldGenerateXmlSerialization()) {
-                    if (property.getIsXmlWrapper()) {
+                    if (property.getIsXmlWrapper() && !streamStyle) {
                         classBlock.privateMemberVariable(String.format("%1$s %2$s", xmlWrapperClassName, property.getName()));
-                    } else if (property.getWireType() instanceof ListType) {
+                    } else if (property.getWireType() instanceof ListType && !property.getIsXmlWrapper()) {
                         classBlock.privateMemberVariable(String.format("%1$s %2$s = new ArrayList<>()", property.getWireType(), property.getName()));
                     } else {
                         classBlock.privateMemberVariable(String.format("%1$s %2$s", property.getWireType(), property.getName()));
@@ -189,7 +207,7 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
             List<ClientModelProperty> requiredProperties =
                 model.getProperties().stream().filter(ClientModelProperty::isRequired).collect(Collectors.toList());
 
-            addModelConstructor(model, settings, classBlock, constantProperties, requiredProperties);
+            addModelConstructor(model, settings, classBlock, constantProperties, requiredProperties, streamStyle);
 
             for (ClientModelProperty property : model.getProperties()) {
                 IType propertyType = property.getWireType();
@@ -200,7 +218,7 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
                     comment.description(String.format("Get the %1$s property: %2$s", property.getName(), property.getDescription()));
                     comment.methodReturns(String.format("the %1$s value", property.getName()));
                 });
-                if (property.isAdditionalProperties()) {
+                if (property.isAdditionalProperties() && !streamStyle) {
                     classBlock.annotation("JsonAnyGetter");
                 }
                 classBlock.publicMethod(String.format("%1$s %2$s()", propertyClientType, getGetterName(model, property)), (methodBlock) ->
@@ -212,13 +230,18 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
                         expression = String.format("CoreUtils.clone(%s)", expression);
                     }
                     if (sourceTypeName.equals(targetTypeName)) {
-                        if (settings.shouldGenerateXmlSerialization() && property.getIsXmlWrapper() && property.getWireType() instanceof ListType) {
+                        if (settings.shouldGenerateXmlSerialization() && property.getIsXmlWrapper() && property.getWireType() instanceof ListType && !streamStyle) {
                             methodBlock.ifBlock(String.format("this.%s == null", property.getName()), ifBlock ->
                                     ifBlock.line("this.%s = new %s(new ArrayList<%s>());",
                                             property.getName(),
                                             propertyXmlWrapperClassName.apply(property),
                                             ((ListType) property.getWireType()).getElementType()));
                             methodBlock.methodReturn(String.format("this.%s.items", property.getName()));
+                        } else if (settings.shouldGenerateXmlSerialization() && property.getIsXmlWrapper() && property.getWireType() instanceof ListType) {
+                            // as the wrapper above, the element of the list is not written until the list is set or got
+                            methodBlock.ifBlock(String.format("this.%s == null", property.getName()), ifBlock ->
+                                    ifBlock.line("this.%s = new ArrayList<>();", property.getName()));
+                            methodBlock.methodReturn(expression);
                         } else {
                             methodBlock.methodReturn(expression);
                         }
@@ -262,7 +285,7 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
                                         elseBlock.line("this.%s = %s;", property.getName(), propertyConversion);
                                     });
                             } else {
-                                if (settings.shouldGenerateXmlSerialization() && property.getIsXmlWrapper()) {
+                                if (settings.shouldGenerateXmlSerialization() && property.getIsXmlWrapper() && !streamStyle) {
                                     methodBlock.line("this.%s = new %s(%s);", property.getName(),
                                         propertyXmlWrapperClassName.apply(property), expression);
                                 } else {
@@ -274,7 +297,9 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
                 }
 
                 if (property.isAdditionalProperties()) {
-                    classBlock.annotation("JsonAnySetter");
+                    if (!streamStyle) {
+                        classBlock.annotation("JsonAnySetter");
+                    }
                     MapType mapType = (MapType) property.getClientType();
                     classBlock.packagePrivateMethod(String.format("void %s(String key, %s value)", property.getSetterName(), mapType.getValueType()), (methodBlock) -> {
                         methodBlock.ifBlock(String.format("%s == null", property.getName()), ifBlock -> {
@@ -299,14 +324,21 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
             }
 
             addPropertyValidations(classBlock, model, settings);
+
+            if (streamStyle && settings.shouldGenerateXmlSerialization()) {
+                streamStyleXmlSerialization.writeSerializationMethods(model, classBlock, settings);
+            } else if (streamStyle) {
+                streamStyleSerialization.writeSerializationMethods(model, classBlock, settings);
+            }
         });
     }
 
     private void addModelConstructor(ClientModel model, JavaSettings settings, JavaClass classBlock,
-        List<ClientModelProperty> constantProperties, List<ClientModelProperty> requiredProperties) {
+        List<ClientModelProperty> constantProperties, List<ClientModelProperty> requiredProperties,
+        boolean streamStyle) {
 
         String lastParentName = model.getName();
-        ClientModel parentModel = ClientModels.Instance.getModel(model.getParentModelName());
+        ClientModel parentModel = ClientModels.getInstance().getModel(model.getParentModelName());
         List<ClientModelProperty> requiredParentProperties = new ArrayList<>();
         while (parentModel != null && !lastParentName.equals(parentModel.getName())) {
             List<ClientModelProperty> ctorArgs =
@@ -318,7 +350,7 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
             requiredParentProperties.addAll(ctorArgs);
 
             lastParentName = parentModel.getName();
-            parentModel = ClientModels.Instance.getModel(parentModel.getParentModelName());
+            parentModel = ClientModels.getInstance().getModel(parentModel.getParentModelName());
         }
 
         if (settings.isRequiredFieldsAsConstructorArgs() && (!requiredProperties.isEmpty() || !requiredParentProperties
@@ -326,7 +358,7 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
 
 
             String requiredCtorArgs = requiredProperties.stream()
-                .map(property -> String.format("@JsonProperty(%1$s )%2$s %3$s", property.getAnnotationArguments(),
+                .map(property -> String.format("%1$s%2$s %3$s", jsonPropertyAnnotation(property, streamStyle),
                     property.getClientType().toString(), property.getName())).collect(Collectors.joining(", "));
 
             String requiredParentCtorArgs = "";
@@ -334,7 +366,7 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
             if (!requiredParentProperties.isEmpty()) {
                 Collections.reverse(requiredParentProperties);
                 requiredParentCtorArgs = requiredParentProperties.stream().map(property -> String.format(
-                    "@JsonProperty(%1$s )%2$s %3$s", property.getAnnotationArguments(),
+                    "%1$s%2$s %3$s", jsonPropertyAnnotation(property, streamStyle),
                     property.getClientType().toString(), property.getName())).collect(Collectors.joining(", "));
             }
 
@@ -357,7 +389,9 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
             });
 
 
-            classBlock.annotation("JsonCreator");
+            if (!streamStyle) {
+                classBlock.annotation("JsonCreator");
+            }
             classBlock.publicConstructor(String.format("%1$s(%2$s)", model.getName(), ctorArgs.toString()), (constructor) ->
             {
                 if (!requiredParentProperties.isEmpty()) {
@@ -393,6 +427,10 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
         }
     }
 
+    private static String jsonPropertyAnnotation(ClientModelProperty property, boolean streamStyle) {
+        return streamStyle ? "" : String.format("@JsonProperty(%1$s )", property.getAnnotationArguments());
+    }
+
     private void addPropertyValidations(JavaClass classBlock, ClientModel model, JavaSettings settings) {
         if (settings.shouldClientSideValidations()) {
             boolean validateOnParent = this.validateOnParentModel(model.getParentModelName());
@@ -472,7 +510,7 @@ public class ModelTemplate implements IJavaTemplate<ClientModel, JavaFile> {
             String lastParentName = model.getName();
             String parentModelName = model.getParentModelName();
             while (parentModelName != null && !lastParentName.equals(parentModelName)) {
-                ClientModel parentModel = ClientModels.Instance.getModel(parentModelName);
+                ClientModel parentModel = ClientModels.getInstance().getModel(parentModelName);
                 if (parentModel != null) {
                     if (parentModel.getProperties() != null) {
                         propertyReferences.addAll(parentModel.getProperties().stream()
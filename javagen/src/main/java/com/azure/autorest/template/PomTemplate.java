@@ -9,7 +9,6 @@ package com.azure.autorest.template;
 
 import com.azure.autorest.model.xmlmodel.XmlBlock;
 import com.azure.autorest.model.xmlmodel.XmlFile;
-import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.model.clientmodel.Pom;
 
 import java.util.HashMap;
@@ -20,7 +19,6 @@ import java.util.Map;
  */
 public class PomTemplate implements IXmlTemplate<Pom, XmlFile> {
     private static PomTemplate _instance = new PomTemplate();
-    private static JavaSettings settings = JavaSettings.getInstance();
 
     protected PomTemplate() {
     }
@@ -1,6 +1,7 @@
 package com.azure.autorest.template;
 
 import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.ClientMethod;
 import com.azure.autorest.model.javamodel.JavaInterface;
 import com.azure.autorest.model.javamodel.JavaVisibility;
 import com.azure.autorest.extension.base.model.codemodel.RequestParameterLocation;
@@ -14,6 +15,7 @@ import com.azure.autorest.util.CodeNamer;
 import io.netty.handler.codec.http.HttpResponseStatus;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +40,30 @@ public class ProxyTemplate implements IJavaTemplate<Proxy, JavaClass> {
     }
 
     public final void write(Proxy restAPI, JavaClass classBlock) {
+        write(restAPI, restAPI == null
+                ? Collections.emptySet()
+                : restAPI.getMethods().stream().map(ProxyMethod::getName).collect(Collectors.toSet()), classBlock);
+    }
+
+    /**
+     * Writes the proxy, with the sync proxy methods called by the client methods written along with it.
+     *
+     * @param restAPI the proxy
+     * @param clientMethods the client methods of the class of the proxy
+     * @param classBlock class block
+     */
+    public final void write(Proxy restAPI, List<ClientMethod> clientMethods, JavaClass classBlock) {
+        JavaSettings settings = JavaSettings.getInstance();
+        ClientMethodTemplate clientMethodTemplate = Templates.getClientMethodTemplate();
+        // the client methods are not mapped from the same instances of the proxy methods as the proxy
+        Set<String> syncProxyMethodNames = clientMethods.stream()
+                .filter(clientMethod -> clientMethodTemplate.callsSyncProxyMethod(clientMethod, settings))
+                .map(clientMethod -> clientMethod.getProxyMethod().getName())
+                .collect(Collectors.toSet());
+        write(restAPI, syncProxyMethodNames, classBlock);
+    }
+
+    private void write(Proxy restAPI, Set<String> syncProxyMethodNames, JavaClass classBlock) {
         JavaSettings settings = JavaSettings.getInstance();
         if (restAPI != null) {
             classBlock.javadocComment(settings.getMaximumJavadocCommentWidth(), comment ->
@@ -55,94 +81,113 @@ public class ProxyTemplate implements IJavaTemplate<Proxy, JavaClass> {
             classBlock.interfaceBlock(visibility, restAPI.getName(), interfaceBlock ->
             {
                 for (ProxyMethod restAPIMethod : restAPI.getMethods()) {
-                    if (restAPIMethod.getRequestContentType().equals("multipart/form-data") || restAPIMethod.getRequestContentType().equals("application/x-www-form-urlencoded")) {
-                        interfaceBlock.lineComment(String.format("@Multipart not supported by %1$s", ClassType.RestProxy.getName()));
+                    writeProxyMethod(restAPIMethod, restAPIMethod.getReturnType().getClientType(),
+                            restAPIMethod.getName(), interfaceBlock);
+
+                    IType syncReturnType = restAPIMethod.getSyncReturnType();
+                    if (settings.isSyncStack() && syncReturnType != null && syncProxyMethodNames.contains(restAPIMethod.getName())) {
+                        writeProxyMethod(restAPIMethod, syncReturnType, restAPIMethod.getSyncMethodName(),
+                                interfaceBlock);
                     }
+                }
+            });
+        }
+    }
 
-                    writeProxyMethodHeaders(restAPIMethod, interfaceBlock);
+    /**
+     * Writes a method of the interface for the proxy method.
+     *
+     * @param restAPIMethod proxy method
+     * @param returnType the return type of the method, the response or a Mono of it
+     * @param methodName the name of the method
+     * @param interfaceBlock interface block
+     */
+    private void writeProxyMethod(ProxyMethod restAPIMethod, IType returnType, String methodName,
+                                  JavaInterface interfaceBlock) {
+        if (restAPIMethod.getRequestContentType().equals("multipart/form-data") || restAPIMethod.getRequestContentType().equals("application/x-www-form-urlencoded")) {
+            interfaceBlock.lineComment(String.format("@Multipart not supported by %1$s", ClassType.RestProxy.getName()));
+        }
 
-                    interfaceBlock.annotation(String.format("%1$s(\"%2$s\")", CodeNamer.toPascalCase(restAPIMethod.getHttpMethod().toString().toLowerCase()), restAPIMethod.getUrlPath()));
+        writeProxyMethodHeaders(restAPIMethod, interfaceBlock);
 
-                    if (!restAPIMethod.getResponseExpectedStatusCodes().isEmpty()) {
-                        interfaceBlock.annotation(String.format("ExpectedResponses({%1$s})", restAPIMethod.getResponseExpectedStatusCodes().stream().map(statusCode -> String.format("%s", statusCode.code())).collect(Collectors.joining(", "))));
-                    }
+        interfaceBlock.annotation(String.format("%1$s(\"%2$s\")", CodeNamer.toPascalCase(restAPIMethod.getHttpMethod().toString().toLowerCase()), restAPIMethod.getUrlPath()));
 
-                    if (restAPIMethod.getReturnValueWireType() != null) {
-                        interfaceBlock.annotation(String.format("ReturnValueWireType(%1$s.class)",
-                            restAPIMethod.getReturnValueWireType()));
-                    }
+        if (!restAPIMethod.getResponseExpectedStatusCodes().isEmpty()) {
+            interfaceBlock.annotation(String.format("ExpectedResponses({%1$s})", restAPIMethod.getResponseExpectedStatusCodes().stream().map(statusCode -> String.format("%s", statusCode.code())).collect(Collectors.joining(", "))));
+        }
 
-                    if (restAPIMethod.getUnexpectedResponseExceptionTypes() != null) {
-                        for (Map.Entry<ClassType, List<HttpResponseStatus>> exception : restAPIMethod.getUnexpectedResponseExceptionTypes().entrySet()) {
-                            interfaceBlock.annotation(String.format("UnexpectedResponseExceptionType(value = %1$s.class, code = {%2$s})",
-                                    exception.getKey(), exception.getValue().stream().map(status -> String.valueOf(status.code())).collect(Collectors.joining(", "))));
-                        }
-                    }
+        if (restAPIMethod.getReturnValueWireType() != null) {
+            interfaceBlock.annotation(String.format("ReturnValueWireType(%1$s.class)",
+                restAPIMethod.getReturnValueWireType()));
+        }
 
-                    if (restAPIMethod.getUnexpectedResponseExceptionType() != null) {
-                        interfaceBlock.annotation(String.format("UnexpectedResponseExceptionType(%1$s.class)", restAPIMethod.getUnexpectedResponseExceptionType()));
-                    }
+        if (restAPIMethod.getUnexpectedResponseExceptionTypes() != null) {
+            for (Map.Entry<ClassType, List<HttpResponseStatus>> exception : restAPIMethod.getUnexpectedResponseExceptionTypes().entrySet()) {
+                interfaceBlock.annotation(String.format("UnexpectedResponseExceptionType(value = %1$s.class, code = {%2$s})",
+                        exception.getKey(), exception.getValue().stream().map(status -> String.valueOf(status.code())).collect(Collectors.joining(", "))));
+            }
+        }
+
+        if (restAPIMethod.getUnexpectedResponseExceptionType() != null) {
+            interfaceBlock.annotation(String.format("UnexpectedResponseExceptionType(%1$s.class)", restAPIMethod.getUnexpectedResponseExceptionType()));
+        }
+
+        ArrayList<String> parameterDeclarationList = new ArrayList<String>();
+        if (restAPIMethod.getIsResumable()) {
+            interfaceBlock.annotation(String.format("ResumeOperation"));
+        }
 
-                    ArrayList<String> parameterDeclarationList = new ArrayList<String>();
-                    if (restAPIMethod.getIsResumable()) {
-                        interfaceBlock.annotation(String.format("ResumeOperation"));
+        Set<String> usedParameterNames = new HashSet<>();
+
+        for (ProxyMethodParameter parameter : restAPIMethod.getParameters()) {
+            StringBuilder parameterDeclarationBuilder = new StringBuilder();
+
+            switch (parameter.getRequestParameterLocation()) {
+                case Uri:
+                case Path:
+                case Query:
+                case Header:
+                    parameterDeclarationBuilder.append(String.format("@%1$sParam(", CodeNamer.toPascalCase(parameter.getRequestParameterLocation().toString())));
+                    if ((parameter.getRequestParameterLocation() == RequestParameterLocation.Path || parameter.getRequestParameterLocation() == RequestParameterLocation.Query) && parameter.getAlreadyEncoded()) {
+                        parameterDeclarationBuilder.append(String.format("value = \"%1$s\", encoded = true", parameter.getRequestParameterName()));
+                    } else if (parameter.getRequestParameterLocation() == RequestParameterLocation.Header && parameter.getHeaderCollectionPrefix() != null && !parameter.getHeaderCollectionPrefix().isEmpty()) {
+                        parameterDeclarationBuilder.append(String.format("\"%1$s\"", parameter.getHeaderCollectionPrefix()));
+                    } else {
+                        parameterDeclarationBuilder.append(String.format("\"%1$s\"", parameter.getRequestParameterName()));
                     }
+                    parameterDeclarationBuilder.append(") ");
 
-                    Set<String> usedParameterNames = new HashSet<>();
-
-                    for (ProxyMethodParameter parameter : restAPIMethod.getParameters()) {
-                        StringBuilder parameterDeclarationBuilder = new StringBuilder();
-
-                        switch (parameter.getRequestParameterLocation()) {
-                            case Uri:
-                            case Path:
-                            case Query:
-                            case Header:
-                                parameterDeclarationBuilder.append(String.format("@%1$sParam(", CodeNamer.toPascalCase(parameter.getRequestParameterLocation().toString())));
-                                if ((parameter.getRequestParameterLocation() == RequestParameterLocation.Path || parameter.getRequestParameterLocation() == RequestParameterLocation.Query) && parameter.getAlreadyEncoded()) {
-                                    parameterDeclarationBuilder.append(String.format("value = \"%1$s\", encoded = true", parameter.getRequestParameterName()));
-                                } else if (parameter.getRequestParameterLocation() == RequestParameterLocation.Header && parameter.getHeaderCollectionPrefix() != null && !parameter.getHeaderCollectionPrefix().isEmpty()) {
-                                    parameterDeclarationBuilder.append(String.format("\"%1$s\"", parameter.getHeaderCollectionPrefix()));
-                                } else {
-                                    parameterDeclarationBuilder.append(String.format("\"%1$s\"", parameter.getRequestParameterName()));
-                                }
-                                parameterDeclarationBuilder.append(") ");
-
-                                break;
-
-                            case Body:
-                                parameterDeclarationBuilder.append(String.format("@BodyParam(\"%1$s\") ", restAPIMethod.getRequestContentType()));
-                                break;
-
-//                            case FormData:
-//                                parameterDeclarationBuilder.append(String.format("@FormParam(\"%1$s\") ", parameter.getRequestParameterName()));
-//                                break;
-
-                            default:
-                                if (!restAPIMethod.getIsResumable() && parameter.getWireType() != ClassType.Context) {
-                                    throw new IllegalArgumentException("Unrecognized RequestParameterLocation value: " + parameter.getRequestParameterLocation());
-                                }
-
-                                break;
-                        }
-
-                        // avoid name conflict
-                        String parameterName = parameter.getName();
-                        if (usedParameterNames.contains(parameterName)) {
-                            parameterName = parameterName + "Param";
-                        }
-                        usedParameterNames.add(parameterName);
-
-                        parameterDeclarationBuilder.append(parameter.getWireType() + " " + parameterName);
-                        parameterDeclarationList.add(parameterDeclarationBuilder.toString());
+                    break;
+
+                case Body:
+                    parameterDeclarationBuilder.append(String.format("@BodyParam(\"%1$s\") ", restAPIMethod.getRequestContentType()));
+                    break;
+
+//                case FormData:
+//                    parameterDeclarationBuilder.append(String.format("@FormParam(\"%1$s\") ", parameter.getRequestParameterName()));
+//                    break;
+
+                default:
+                    if (!restAPIMethod.getIsResumable() && parameter.getWireType() != ClassType.Context) {
+                        throw new IllegalArgumentException("Unrecognized RequestParameterLocation value: " + parameter.getRequestParameterLocation());
                     }
 
-                    String parameterDeclarations = String.join(", ", parameterDeclarationList);
-                    IType restAPIMethodReturnValueClientType = restAPIMethod.getReturnType().getClientType();
-                    interfaceBlock.publicMethod(String.format("%1$s %2$s(%3$s)", restAPIMethodReturnValueClientType, restAPIMethod.getName(), parameterDeclarations));
-                }
-            });
+                    break;
+            }
+
+            // avoid name conflict
+            String parameterName = parameter.getName();
+            if (usedParameterNames.contains(parameterName)) {
+                parameterName = parameterName + "Param";
+            }
+            usedParameterNames.add(parameterName);
+
+            parameterDeclarationBuilder.append(parameter.getWireType() + " " + parameterName);
+            parameterDeclarationList.add(parameterDeclarationBuilder.toString());
         }
+
+        String parameterDeclarations = String.join(", ", parameterDeclarationList);
+        interfaceBlock.publicMethod(String.format("%1$s %2$s(%3$s)", returnType, methodName, parameterDeclarations));
     }
 
     private static String serviceInterfaceWithLengthLimit(String serviceInterfaceName) {
@@ -276,7 +276,7 @@ public class ServiceClientTemplate implements IJavaTemplate<ServiceClient, JavaF
                 });
             }
 
-            Templates.getProxyTemplate().write(serviceClient.getProxy(), classBlock);
+            Templates.getProxyTemplate().write(serviceClient.getProxy(), serviceClient.getClientMethods(), classBlock);
 
             for (ClientMethod clientMethod : serviceClient.getClientMethods()) {
                 Templates.getClientMethodTemplate().write(clientMethod, classBlock);
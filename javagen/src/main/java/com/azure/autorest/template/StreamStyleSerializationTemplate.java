@@ -0,0 +1,811 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for license information.
+
+package com.azure.autorest.template;
+
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.ArrayType;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.ClientModel;
+import com.azure.autorest.model.clientmodel.ClientModelProperty;
+import com.azure.autorest.model.clientmodel.ClientModels;
+import com.azure.autorest.model.clientmodel.EnumType;
+import com.azure.autorest.model.clientmodel.IType;
+import com.azure.autorest.model.clientmodel.ListType;
+import com.azure.autorest.model.clientmodel.MapType;
+import com.azure.autorest.model.clientmodel.PrimitiveType;
+import com.azure.autorest.model.javamodel.JavaBlock;
+import com.azure.autorest.model.javamodel.JavaClass;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.autorest.model.javamodel.JavaIfBlock;
+import com.azure.autorest.model.javamodel.JavaModifier;
+import com.azure.autorest.model.javamodel.JavaVisibility;
+import com.azure.autorest.util.CodeNamer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the stream-style serialization of a ClientModel: a toJson method that writes the model to a JsonGenerator,
+ * and a fromJson method that reads it from a JsonParser, with the Jackson serializer and deserializer that call them.
+ * <p>
+ * The methods are written from the properties of the model and of its parents, so that Jackson databind does not
+ * introspect the model. Flattened properties are written into, and read from, their nested JSON objects, without the
+ * tree of the flattening serializer of azure-core. A polymorphic model is read by the model of its discriminator,
+ * buffering only the fields that come before the discriminator. Values of types without a stream-style reader or
+ * writer, e.g. OffsetDateTime, are handed to the ObjectCodec of the JsonGenerator or JsonParser, as they are by the
+ * Jackson annotations.
+ */
+public class StreamStyleSerializationTemplate {
+    private static StreamStyleSerializationTemplate _instance = new StreamStyleSerializationTemplate();
+
+    // The names of the variables of the generated methods, which the local variables of properties must not shadow.
+    private static final Set<String> RESERVED_NAMES = new HashSet<>(Arrays.asList("generator", "parser", "token",
+            "fieldName", "buffer", "discriminatorValue", "objectParser", "deserialized"));
+
+    private StreamStyleSerializationTemplate() {
+    }
+
+    public static StreamStyleSerializationTemplate getInstance() {
+        return _instance;
+    }
+
+    /**
+     * Whether the model is serialized by its generated toJson and fromJson methods.
+     * <p>
+     * A model of the headers of a response is not, as they are read case-insensitively from the header values. The
+     * models of a hierarchy are all, or none of them are, as the derived models read the fields of their parents.
+     *
+     * @param model the model
+     * @return whether the model has stream-style serialization.
+     */
+    public boolean isStreamStyleSerialization(ClientModel model) {
+        JavaSettings settings = JavaSettings.getInstance();
+        if (!settings.isStreamStyleSerialization() || settings.shouldGenerateXmlSerialization()) {
+            return false;
+        }
+
+        ClientModel rootModel = model;
+        Set<String> modelNames = new HashSet<>();
+        while (rootModel.getParentModelName() != null) {
+            ClientModel parentModel = ClientModels.getInstance().getModel(rootModel.getParentModelName());
+            if (parentModel == null || !modelNames.add(parentModel.getName())) {
+                return false;
+            }
+            rootModel = parentModel;
+        }
+        return isStreamStyleHierarchy(rootModel, model.getPackage());
+    }
+
+    private static boolean isStreamStyleHierarchy(ClientModel model, String packageName) {
+        if (model.isStronglyTypedHeader() || !packageName.equals(model.getPackage())) {
+            return false;
+        }
+        if (model.getDerivedModels() != null) {
+            for (ClientModel derivedModel : model.getDerivedModels()) {
+                if (!isStreamStyleHierarchy(derivedModel, packageName)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the imports of the stream-style serialization.
+     *
+     * @param imports the imports of the model
+     */
+    public void addImportsTo(Set<String> imports) {
+        imports.add("com.fasterxml.jackson.core.JsonGenerator");
+        imports.add("com.fasterxml.jackson.core.JsonParseException");
+        imports.add("com.fasterxml.jackson.core.JsonParser");
+        imports.add("com.fasterxml.jackson.core.JsonToken");
+        imports.add("com.fasterxml.jackson.core.type.TypeReference");
+        imports.add("com.fasterxml.jackson.core.util.JsonParserSequence");
+        imports.add("com.fasterxml.jackson.databind.DeserializationContext");
+        imports.add("com.fasterxml.jackson.databind.JsonDeserializer");
+        imports.add("com.fasterxml.jackson.databind.JsonSerializer");
+        imports.add("com.fasterxml.jackson.databind.SerializerProvider");
+        imports.add("com.fasterxml.jackson.databind.annotation.JsonDeserialize");
+        imports.add("com.fasterxml.jackson.databind.annotation.JsonSerialize");
+        imports.add("com.fasterxml.jackson.databind.util.TokenBuffer");
+        imports.add("java.io.IOException");
+        imports.add("java.util.ArrayList");
+        imports.add("java.util.LinkedHashMap");
+        imports.add("java.util.List");
+        imports.add("java.util.Map");
+    }
+
+    /**
+     * Writes the annotations that have Jackson serialize the model by its generated serializer and deserializer.
+     *
+     * @param model the model
+     * @param javaFile the file of the model
+     */
+    public void writeClassAnnotations(ClientModel model, JavaFile javaFile) {
+        javaFile.annotation(String.format("JsonSerialize(using = %1$s.Serializer.class)", model.getName()));
+        javaFile.annotation(String.format("JsonDeserialize(using = %1$s.Deserializer.class)", model.getName()));
+    }
+
+    /**
+     * Writes the toJson and fromJson methods of the model, and its serializer and deserializer.
+     *
+     * @param model the model
+     * @param classBlock the class of the model
+     * @param settings the settings
+     */
+    public void writeSerializationMethods(ClientModel model, JavaClass classBlock, JavaSettings settings) {
+        List<ClientModel> hierarchy = getHierarchy(model);
+        boolean flatten = hierarchy.stream().anyMatch(ClientModel::getNeedsFlatten);
+        List<ClientModelProperty> properties = hierarchy.stream()
+                .flatMap(m -> m.getProperties().stream())
+                .collect(Collectors.toList());
+        ClientModelProperty additionalProperties = properties.stream()
+                .filter(ClientModelProperty::isAdditionalProperties)
+                .findFirst().orElse(null);
+        String discriminator = model.getIsPolymorphic() && model.getPolymorphicDiscriminator() != null
+                ? unescapeSerializedName(model.getPolymorphicDiscriminator())
+                : null;
+
+        if (model.getDerivedModels() != null && !model.getDerivedModels().isEmpty()) {
+            writeFieldAccessors(model, classBlock);
+        }
+        writeToJson(model, classBlock, settings, properties, additionalProperties, discriminator, flatten);
+        writeFromJson(model, classBlock, settings, discriminator);
+        writeReadJsonObject(model, classBlock, settings, properties, additionalProperties, discriminator, flatten);
+
+        classBlock.packagePrivateStaticFinalClass(String.format("Serializer extends JsonSerializer<%1$s>",
+                model.getName()), serializerClass ->
+        {
+            serializerClass.annotation("Override");
+            serializerClass.publicMethod(String.format("void serialize(%1$s value, JsonGenerator generator, "
+                    + "SerializerProvider provider) throws IOException", model.getName()), function ->
+                    function.line("value.toJson(generator);"));
+        });
+
+        classBlock.packagePrivateStaticFinalClass(String.format("Deserializer extends JsonDeserializer<%1$s>",
+                model.getName()), deserializerClass ->
+        {
+            deserializerClass.annotation("Override");
+            deserializerClass.publicMethod(String.format("%1$s deserialize(JsonParser parser, "
+                    + "DeserializationContext context) throws IOException", model.getName()), function ->
+                    function.methodReturn(String.format("%1$s.fromJson(parser)", model.getName())));
+        });
+    }
+
+    /*
+     * Writes the package-private methods through which the toJson and readJsonObject methods of the derived models get
+     * and set the fields of the model, which are private, in the wire types of the properties.
+     */
+    private static void writeFieldAccessors(ClientModel model, JavaClass classBlock) {
+        for (ClientModelProperty property : model.getProperties()) {
+            classBlock.packagePrivateMethod(String.format("%1$s %2$s()", property.getWireType(),
+                    fieldAccessorName(property)), function ->
+                    function.methodReturn(String.format("this.%1$s", property.getName())));
+            if (!property.getIsConstant()) {
+                classBlock.packagePrivateMethod(String.format("void %1$s(%2$s %3$s)", fieldAccessorName(property),
+                        property.getWireType(), property.getName()), function ->
+                        function.line(String.format("this.%1$s = %1$s;", property.getName())));
+            }
+        }
+    }
+
+    private void writeToJson(ClientModel model, JavaClass classBlock, JavaSettings settings,
+                             List<ClientModelProperty> properties, ClientModelProperty additionalProperties,
+                             String discriminator, boolean flatten) {
+        PropertyTree propertyTree = new PropertyTree();
+        for (ClientModelProperty property : properties) {
+            // read-only properties are only deserialized, as with JsonProperty.Access.WRITE_ONLY
+            if (!property.getIsReadOnly() && !property.isAdditionalProperties()) {
+                propertyTree.add(property, flatten);
+            }
+        }
+
+        classBlock.javadocComment(settings.getMaximumJavadocCommentWidth(), comment ->
+        {
+            comment.description(String.format("Writes the %1$s to the JsonGenerator as a JSON object.",
+                    model.getName()));
+            comment.param("generator", "the JsonGenerator");
+            comment.methodThrows("IOException", "if the JSON object cannot be written");
+        });
+        if (model.getParentModelName() != null) {
+            classBlock.annotation("Override");
+        }
+        classBlock.publicMethod("void toJson(JsonGenerator generator) throws IOException", function ->
+        {
+            function.line("generator.writeStartObject();");
+            if (discriminator != null && model.getSerializedName() != null) {
+                function.line(String.format("generator.writeStringField(\"%1$s\", \"%2$s\");", escape(discriminator),
+                        escape(model.getSerializedName())));
+            }
+            writeProperties(function, model, propertyTree);
+            if (additionalProperties != null) {
+                IType valueType = ((MapType) additionalProperties.getWireType()).getValueType();
+                String value = fieldValue(model, additionalProperties);
+                function.ifBlock(String.format("%1$s != null", value), ifBlock ->
+                        ifBlock.block(String.format("for (Map.Entry<String, %1$s> entry : %2$s.entrySet())",
+                                valueType, value), forBlock ->
+                                writeMapEntry(forBlock, valueType, "entry", 0)));
+            }
+            function.line("generator.writeEndObject();");
+        });
+    }
+
+    private void writeFromJson(ClientModel model, JavaClass classBlock, JavaSettings settings, String discriminator) {
+        Map<String, ClientModel> derivedModels = new LinkedHashMap<>();
+        if (discriminator != null) {
+            addDerivedModels(model, derivedModels);
+        }
+
+        classBlock.javadocComment(settings.getMaximumJavadocCommentWidth(), comment ->
+        {
+            comment.description(String.format("Reads an instance of %1$s from the JsonParser.", model.getName()));
+            comment.param("parser", "the JsonParser, at the start of the JSON object, or before it");
+            comment.methodReturns(String.format("the %1$s, or null if the JSON value is null", model.getName()));
+            comment.methodThrows("IOException", "if the JSON object cannot be read");
+        });
+        classBlock.publicStaticMethod(String.format("%1$s fromJson(JsonParser parser) throws IOException",
+                model.getName()), function ->
+        {
+            function.line("JsonToken token = parser.currentToken();");
+            function.ifBlock("token == null", ifBlock -> ifBlock.line("token = parser.nextToken();"));
+            function.ifBlock("token == JsonToken.VALUE_NULL", ifBlock -> ifBlock.methodReturn("null"));
+            function.ifBlock("token != JsonToken.START_OBJECT", ifBlock ->
+                    ifBlock.line(String.format("throw new JsonParseException(parser, \"Expected the start of the "
+                            + "JSON object of %1$s\");", model.getName())));
+
+            if (derivedModels.isEmpty()) {
+                function.methodReturn("readJsonObject(parser)");
+                return;
+            }
+
+            // the fields before the discriminator are buffered, and read by the model of the discriminator before
+            // the fields after it, which are not
+            function.line("TokenBuffer buffer = new TokenBuffer(parser);");
+            function.line("buffer.writeStartObject();");
+            function.line("String discriminatorValue = null;");
+            function.block("while (parser.nextToken() == JsonToken.FIELD_NAME)", whileBlock ->
+            {
+                whileBlock.ifBlock(String.format("\"%1$s\".equals(parser.getCurrentName())", escape(discriminator)),
+                        ifBlock ->
+                {
+                    ifBlock.line("parser.nextToken();");
+                    // a discriminator which is not a scalar is skipped, as if it were absent
+                    ifBlock.ifBlock("parser.currentToken().isScalarValue()", valueBlock ->
+                    {
+                        valueBlock.line("discriminatorValue = parser.getValueAsString();");
+                        valueBlock.line("break;");
+                    });
+                    ifBlock.line("parser.skipChildren();");
+                }).elseBlock(elseBlock -> elseBlock.line("buffer.copyCurrentStructure(parser);"));
+            });
+            function.line("JsonParser objectParser;");
+            function.ifBlock("parser.currentToken() == JsonToken.END_OBJECT", ifBlock ->
+            {
+                ifBlock.line("buffer.writeEndObject();");
+                ifBlock.line("objectParser = buffer.asParser();");
+            }).elseBlock(elseBlock ->
+                    elseBlock.line("objectParser = JsonParserSequence.createFlattened(false, buffer.asParser(), "
+                            + "parser);"));
+            function.line("objectParser.nextToken();");
+
+            JavaIfBlock ifBlock = null;
+            for (Map.Entry<String, ClientModel> derivedModel : derivedModels.entrySet()) {
+                String condition = String.format("\"%1$s\".equals(discriminatorValue)",
+                        escape(derivedModel.getKey()));
+                String readJsonObject = String.format("%1$s.readJsonObject(objectParser)",
+                        derivedModel.getValue().getName());
+                if (ifBlock == null) {
+                    ifBlock = function.ifBlock(condition, block -> block.methodReturn(readJsonObject));
+                } else {
+                    ifBlock.elseIfBlock(condition, block -> block.methodReturn(readJsonObject));
+                }
+            }
+            ifBlock.elseBlock(elseBlock -> elseBlock.methodReturn("readJsonObject(objectParser)"));
+        });
+    }
+
+    private void writeReadJsonObject(ClientModel model, JavaClass classBlock, JavaSettings settings,
+                                     List<ClientModelProperty> properties, ClientModelProperty additionalProperties,
+                                     String discriminator, boolean flatten) {
+        // constants are set by the constructor
+        List<ClientModelProperty> readProperties = properties.stream()
+                .filter(p -> !p.getIsConstant())
+                .collect(Collectors.toList());
+        PropertyTree propertyTree = new PropertyTree();
+        for (ClientModelProperty property : readProperties) {
+            if (!property.isAdditionalProperties()) {
+                propertyTree.add(property, flatten);
+            }
+        }
+
+        classBlock.javadocComment(settings.getMaximumJavadocCommentWidth(), comment ->
+        {
+            comment.description(String.format("Reads the fields of a JSON object of %1$s.", model.getName()));
+            comment.param("parser", "the JsonParser, at the start of the JSON object");
+            comment.methodReturns(String.format("the %1$s", model.getName()));
+            comment.methodThrows("IOException", "if the JSON object cannot be read");
+        });
+        classBlock.method(JavaVisibility.PackagePrivate, Collections.singletonList(JavaModifier.Static),
+                String.format("%1$s readJsonObject(JsonParser parser) throws IOException", model.getName()), function ->
+        {
+            for (ClientModelProperty property : readProperties) {
+                function.line(String.format("%1$s %2$s = %3$s;", property.getWireType(), localName(property),
+                        defaultValue(property.getWireType())));
+            }
+            function.block("while (parser.nextToken() == JsonToken.FIELD_NAME)", whileBlock ->
+            {
+                whileBlock.line("String fieldName = parser.getCurrentName();");
+                whileBlock.line("parser.nextToken();");
+                readProperties(whileBlock, propertyTree, block ->
+                {
+                    if (additionalProperties == null) {
+                        block.line("parser.skipChildren();");
+                        return;
+                    }
+                    IType valueType = ((MapType) additionalProperties.getWireType()).getValueType();
+                    String name = localName(additionalProperties);
+                    if (discriminator != null) {
+                        block.ifBlock(String.format("\"%1$s\".equals(fieldName)", escape(discriminator)), ifBlock ->
+                                ifBlock.line("parser.skipChildren();"))
+                                .elseBlock(elseBlock -> readAdditionalProperty(elseBlock, name, valueType));
+                    } else {
+                        readAdditionalProperty(block, name, valueType);
+                    }
+                });
+            });
+
+            List<ClientModelProperty> constructorProperties = settings.isRequiredFieldsAsConstructorArgs()
+                    ? getConstructorProperties(model)
+                    : Collections.emptyList();
+            function.line(String.format("%1$s deserialized = new %1$s(%2$s);", model.getName(),
+                    constructorProperties.stream()
+                            .map(StreamStyleSerializationTemplate::constructorArgument)
+                            .collect(Collectors.joining(", "))));
+            for (ClientModelProperty property : readProperties) {
+                if (constructorProperties.contains(property)) {
+                    continue;
+                }
+                if (model.getProperties().contains(property)) {
+                    function.line(String.format("deserialized.%1$s = %2$s;", property.getName(),
+                            localName(property)));
+                } else {
+                    // a field of a parent model
+                    function.line(String.format("deserialized.%1$s(%2$s);", fieldAccessorName(property),
+                            localName(property)));
+                }
+            }
+            function.methodReturn("deserialized");
+        });
+    }
+
+    private void readAdditionalProperty(JavaBlock block, String name, IType valueType) {
+        block.ifBlock(String.format("%1$s == null", name), ifBlock ->
+                ifBlock.line(String.format("%1$s = new LinkedHashMap<>();", name)));
+        String value = readValue(block, valueType, 0);
+        block.line(String.format("%1$s.put(fieldName, %2$s);", name, value));
+    }
+
+    /*
+     * Writes the fields of the properties, nesting the flattened properties in their JSON objects. Null values are
+     * not written, as with JsonInclude.Include.NON_NULL.
+     */
+    private void writeProperties(JavaBlock block, ClientModel model, PropertyTree propertyTree) {
+        for (Map.Entry<String, PropertyTree> field : propertyTree.fields.entrySet()) {
+            PropertyTree node = field.getValue();
+            if (node.property != null) {
+                ClientModelProperty property = node.property;
+                String value = fieldValue(model, property);
+                if (property.getWireType() instanceof PrimitiveType) {
+                    block.line(String.format("generator.writeFieldName(\"%1$s\");", escape(field.getKey())));
+                    writeValue(block, property.getWireType(), value, 0);
+                } else {
+                    block.ifBlock(String.format("%1$s != null", value), ifBlock ->
+                    {
+                        ifBlock.line(String.format("generator.writeFieldName(\"%1$s\");", escape(field.getKey())));
+                        writeValue(ifBlock, property.getWireType(), value, 0);
+                    });
+                }
+            } else {
+                List<ClientModelProperty> nestedProperties = node.getProperties();
+                if (nestedProperties.stream().anyMatch(p -> p.getWireType() instanceof PrimitiveType)) {
+                    writeNestedObject(block, model, field.getKey(), node);
+                } else {
+                    String condition = nestedProperties.stream()
+                            .map(p -> String.format("%1$s != null", fieldValue(model, p)))
+                            .collect(Collectors.joining(" || "));
+                    block.ifBlock(condition, ifBlock -> writeNestedObject(ifBlock, model, field.getKey(), node));
+                }
+            }
+        }
+    }
+
+    private void writeNestedObject(JavaBlock block, ClientModel model, String fieldName, PropertyTree node) {
+        block.line(String.format("generator.writeObjectFieldStart(\"%1$s\");", escape(fieldName)));
+        writeProperties(block, model, node);
+        block.line("generator.writeEndObject();");
+    }
+
+    /*
+     * Reads the field the parser is at, if it is a field of the properties, or passes it to the unknownField action.
+     */
+    private void readProperties(JavaBlock block, PropertyTree propertyTree,
+                                java.util.function.Consumer<JavaBlock> unknownField) {
+        JavaIfBlock ifBlock = null;
+        for (Map.Entry<String, PropertyTree> field : propertyTree.fields.entrySet()) {
+            PropertyTree node = field.getValue();
+            String condition;
+            java.util.function.Consumer<JavaBlock> readField;
+            if (node.property != null) {
+                condition = String.format("\"%1$s\".equals(fieldName)", escape(field.getKey()));
+                readField = fieldBlock ->
+                {
+                    String value = readValue(fieldBlock, node.property.getWireType(), 0);
+                    fieldBlock.line(String.format("%1$s = %2$s;", localName(node.property), value));
+                };
+            } else {
+                condition = String.format("\"%1$s\".equals(fieldName) && parser.currentToken() == "
+                        + "JsonToken.START_OBJECT", escape(field.getKey()));
+                readField = fieldBlock -> fieldBlock.block("while (parser.nextToken() == JsonToken.FIELD_NAME)",
+                        whileBlock ->
+                {
+                    whileBlock.line("fieldName = parser.getCurrentName();");
+                    whileBlock.line("parser.nextToken();");
+                    readProperties(whileBlock, node, unknownBlock -> unknownBlock.line("parser.skipChildren();"));
+                });
+            }
+            if (ifBlock == null) {
+                ifBlock = block.ifBlock(condition, readField);
+            } else {
+                ifBlock.elseIfBlock(condition, readField);
+            }
+        }
+        if (ifBlock == null) {
+            unknownField.accept(block);
+        } else {
+            ifBlock.elseBlock(unknownField);
+        }
+    }
+
+    /*
+     * Writes the value, which is not null.
+     */
+    private void writeValue(JavaBlock block, IType type, String value, int depth) {
+        if (type instanceof PrimitiveType) {
+            if (type == PrimitiveType.Boolean) {
+                block.line(String.format("generator.writeBoolean(%1$s);", value));
+            } else if (type == PrimitiveType.Char) {
+                block.line(String.format("generator.writeString(String.valueOf(%1$s));", value));
+            } else {
+                block.line(String.format("generator.writeNumber(%1$s);", value));
+            }
+        } else if (type == ArrayType.ByteArray) {
+            block.line(String.format("generator.writeBinary(%1$s);", value));
+        } else if (type == ClassType.String) {
+            block.line(String.format("generator.writeString(%1$s);", value));
+        } else if (type == ClassType.Boolean) {
+            block.line(String.format("generator.writeBoolean(%1$s);", value));
+        } else if (type == ClassType.Integer || type == ClassType.Long || type == ClassType.Float
+                || type == ClassType.Double || type == ClassType.BigDecimal) {
+            block.line(String.format("generator.writeNumber(%1$s);", value));
+        } else if (type instanceof EnumType && ClassType.String.equals(((EnumType) type).getElementType())) {
+            block.line(String.format("generator.writeString(%1$s.toString());", value));
+        } else if (isStreamStyleModel(type)) {
+            block.line(String.format("%1$s.toJson(generator);", value));
+        } else if (type instanceof ListType) {
+            IType elementType = ((ListType) type).getElementType();
+            String element = "element" + depth;
+            block.line("generator.writeStartArray();");
+            block.block(String.format("for (%1$s %2$s : %3$s)", elementType, element, value), forBlock ->
+                    writeNullableValue(forBlock, elementType, element, depth + 1));
+            block.line("generator.writeEndArray();");
+        } else if (type instanceof MapType) {
+            IType valueType = ((MapType) type).getValueType();
+            String entry = "entry" + depth;
+            block.line("generator.writeStartObject();");
+            block.block(String.format("for (Map.Entry<String, %1$s> %2$s : %3$s.entrySet())", valueType, entry,
+                    value), forBlock -> writeMapEntry(forBlock, valueType, entry, depth + 1));
+            block.line("generator.writeEndObject();");
+        } else {
+            block.line(String.format("generator.writeObject(%1$s);", value));
+        }
+    }
+
+    /*
+     * Writes the entry of a map, unless its value is null, as the entries of null values are not included by the
+     * serializer adapter.
+     */
+    private void writeMapEntry(JavaBlock block, IType valueType, String entry, int depth) {
+        block.ifBlock(String.format("%1$s.getValue() != null", entry), ifBlock ->
+        {
+            ifBlock.line(String.format("generator.writeFieldName(%1$s.getKey());", entry));
+            writeValue(ifBlock, valueType, entry + ".getValue()", depth);
+        });
+    }
+
+    private void writeNullableValue(JavaBlock block, IType type, String value, int depth) {
+        if (type instanceof PrimitiveType) {
+            writeValue(block, type, value, depth);
+        } else {
+            block.ifBlock(String.format("%1$s == null", value), ifBlock -> ifBlock.line("generator.writeNull();"))
+                    .elseBlock(elseBlock -> writeValue(elseBlock, type, value, depth));
+        }
+    }
+
+    /*
+     * Reads the value the parser is at, leaving the parser at its last token, and returns the expression of the value.
+     * The statements that the expression needs are written to the block.
+     */
+    private String readValue(JavaBlock block, IType type, int depth) {
+        if (isScalar(type)) {
+            skipStructure(block);
+        }
+        if (type instanceof PrimitiveType) {
+            if (type == PrimitiveType.Boolean) {
+                return "parser.getValueAsBoolean()";
+            } else if (type == PrimitiveType.Int) {
+                return "parser.getValueAsInt()";
+            } else if (type == PrimitiveType.Byte) {
+                return "(byte) parser.getValueAsInt()";
+            } else if (type == PrimitiveType.Float) {
+                return "(float) parser.getValueAsDouble()";
+            } else if (type == PrimitiveType.Double) {
+                return "parser.getValueAsDouble()";
+            } else if (type == PrimitiveType.Long || type == PrimitiveType.UnixTimeLong) {
+                return "parser.getValueAsLong()";
+            } else {
+                return String.format("parser.readValueAs(%1$s.class)", type.asNullable());
+            }
+        } else if (type == ArrayType.ByteArray) {
+            return nullOr("parser.getBinaryValue()");
+        } else if (type == ClassType.String) {
+            return "parser.getValueAsString()";
+        } else if (type == ClassType.Boolean) {
+            return nullOr("parser.getValueAsBoolean()");
+        } else if (type == ClassType.Integer) {
+            return nullOr("parser.getValueAsInt()");
+        } else if (type == ClassType.Long) {
+            return nullOr("parser.getValueAsLong()");
+        } else if (type == ClassType.Float) {
+            return nullOr("(float) parser.getValueAsDouble()");
+        } else if (type == ClassType.Double) {
+            return nullOr("parser.getValueAsDouble()");
+        } else if (type == ClassType.BigDecimal) {
+            return nullOr("parser.getDecimalValue()");
+        } else if (type instanceof EnumType && ClassType.String.equals(((EnumType) type).getElementType())) {
+            return String.format("%1$s.fromString(parser.getValueAsString())", type);
+        } else if (isStreamStyleModel(type)) {
+            return String.format("%1$s.fromJson(parser)", type);
+        } else if (type instanceof ListType) {
+            IType elementType = ((ListType) type).getElementType();
+            String elements = "elements" + depth;
+            block.line(String.format("%1$s %2$s = null;", type, elements));
+            block.ifBlock("parser.currentToken() == JsonToken.START_ARRAY", ifBlock ->
+            {
+                ifBlock.line(String.format("%1$s = new ArrayList<>();", elements));
+                ifBlock.block("while (parser.nextToken() != JsonToken.END_ARRAY)", whileBlock ->
+                {
+                    String element = readValue(whileBlock, elementType, depth + 1);
+                    whileBlock.line(String.format("%1$s.add(%2$s);", elements, element));
+                });
+            }).elseBlock(elseBlock -> elseBlock.line("parser.skipChildren();"));
+            return elements;
+        } else if (type instanceof MapType) {
+            IType valueType = ((MapType) type).getValueType();
+            String values = "values" + depth;
+            String key = "key" + depth;
+            block.line(String.format("%1$s %2$s = null;", type, values));
+            block.ifBlock("parser.currentToken() == JsonToken.START_OBJECT", ifBlock ->
+            {
+                ifBlock.line(String.format("%1$s = new LinkedHashMap<>();", values));
+                ifBlock.block("while (parser.nextToken() == JsonToken.FIELD_NAME)", whileBlock ->
+                {
+                    whileBlock.line(String.format("String %1$s = parser.getCurrentName();", key));
+                    whileBlock.line("parser.nextToken();");
+                    String value = readValue(whileBlock, valueType, depth + 1);
+                    whileBlock.line(String.format("%1$s.put(%2$s, %3$s);", values, key, value));
+                });
+            }).elseBlock(elseBlock -> elseBlock.line("parser.skipChildren();"));
+            return values;
+        } else if (type instanceof ClassType) {
+            return String.format("parser.readValueAs(%1$s.class)", type);
+        } else {
+            return String.format("parser.readValueAs(new TypeReference<%1$s>() { })", type);
+        }
+    }
+
+    /*
+     * Whether the value of the type is read from a scalar JSON value.
+     */
+    private static boolean isScalar(IType type) {
+        return (type instanceof PrimitiveType && ((PrimitiveType) type).asNullable() != null
+                && type != PrimitiveType.Char)
+                || type == ArrayType.ByteArray || type == ClassType.String || type == ClassType.Boolean
+                || type == ClassType.Integer || type == ClassType.Long || type == ClassType.Float
+                || type == ClassType.Double || type == ClassType.BigDecimal
+                || (type instanceof EnumType && ClassType.String.equals(((EnumType) type).getElementType()));
+    }
+
+    /*
+     * The argument of the constructor for the property, which is of the client type of the property.
+     */
+    private static String constructorArgument(ClientModelProperty property) {
+        if (property.getIsConstant()) {
+            return property.getDefaultValue();
+        }
+        IType wireType = property.getWireType();
+        if (wireType.getClientType().equals(wireType)) {
+            return localName(property);
+        }
+        return String.format("%1$s == null ? null : %2$s", localName(property),
+                wireType.convertToClientType(localName(property)));
+    }
+
+    /*
+     * The value is null if the JSON value is null, or not a scalar, e.g. an object skipped by skipStructure.
+     */
+    private static String nullOr(String expression) {
+        return String.format("parser.currentToken() == JsonToken.VALUE_NULL || !parser.currentToken().isScalarValue() "
+                + "? null : %1$s", expression);
+    }
+
+    /*
+     * Skips the JSON object or array the parser is at, where a scalar value is expected, so that the parser is at the
+     * last token of the value. The value then reads as null, or as the default value of a primitive type.
+     */
+    private static void skipStructure(JavaBlock block) {
+        block.ifBlock("parser.currentToken().isStructStart()", ifBlock -> ifBlock.line("parser.skipChildren();"));
+    }
+
+    /*
+     * Escapes the text for a Java string literal.
+     */
+    private static String escape(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                // not a unicode escape, which javac would translate to a line break before reading the literal
+                builder.append(String.format("\\%03o", (int) c));
+            } else if (c > 0x7E) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String defaultValue(IType type) {
+        if (type == PrimitiveType.Boolean) {
+            return "false";
+        } else if (type == PrimitiveType.Char) {
+            return "'\\u0000'";
+        } else if (type instanceof PrimitiveType) {
+            return "0";
+        } else {
+            return "null";
+        }
+    }
+
+    /*
+     * The expression of the field of the property in the toJson method of the model, through the accessor of the
+     * parent model if the property is of a parent.
+     */
+    private static String fieldValue(ClientModel model, ClientModelProperty property) {
+        return model.getProperties().contains(property)
+                ? String.format("this.%1$s", property.getName())
+                : String.format("%1$s()", fieldAccessorName(property));
+    }
+
+    /*
+     * The name of the package-private accessor of the field of the property, which does not clash with the getter
+     * and setter of the property.
+     */
+    private static String fieldAccessorName(ClientModelProperty property) {
+        return "json" + CodeNamer.toPascalCase(property.getName());
+    }
+
+    private static String localName(ClientModelProperty property) {
+        return RESERVED_NAMES.contains(property.getName()) ? property.getName() + "Value" : property.getName();
+    }
+
+    private boolean isStreamStyleModel(IType type) {
+        if (!(type instanceof ClassType)) {
+            return false;
+        }
+        ClassType classType = (ClassType) type;
+        ClientModel model = ClientModels.getInstance().getModel(classType.getName());
+        return model != null && model.getPackage().equals(classType.getPackage())
+                && isStreamStyleSerialization(model);
+    }
+
+    /*
+     * The model and its parents, from the root of the hierarchy.
+     */
+    private static List<ClientModel> getHierarchy(ClientModel model) {
+        List<ClientModel> hierarchy = new ArrayList<>();
+        ClientModel currentModel = model;
+        while (currentModel != null && !hierarchy.contains(currentModel)) {
+            hierarchy.add(0, currentModel);
+            currentModel = currentModel.getParentModelName() == null
+                    ? null
+                    : ClientModels.getInstance().getModel(currentModel.getParentModelName());
+        }
+        return hierarchy;
+    }
+
+    private static void addDerivedModels(ClientModel model, Map<String, ClientModel> derivedModels) {
+        if (model.getDerivedModels() != null) {
+            for (ClientModel derivedModel : model.getDerivedModels()) {
+                if (derivedModel.getSerializedName() != null) {
+                    derivedModels.putIfAbsent(derivedModel.getSerializedName(), derivedModel);
+                }
+                addDerivedModels(derivedModel, derivedModels);
+            }
+        }
+    }
+
+    /*
+     * The properties of the constructor with the required properties, in the order of its parameters.
+     */
+    private static List<ClientModelProperty> getConstructorProperties(ClientModel model) {
+        List<ClientModelProperty> constructorProperties = new ArrayList<>();
+        for (ClientModel hierarchyModel : getHierarchy(model)) {
+            hierarchyModel.getProperties().stream()
+                    .filter(ClientModelProperty::isRequired)
+                    .forEach(constructorProperties::add);
+        }
+        return constructorProperties;
+    }
+
+    /*
+     * Unescapes the dots of a serialized name, which mark a name that is not flattened. The dots are escaped in the
+     * serialized names of all the properties of a model with flattened properties, whether the model is written with
+     * flattening or not.
+     */
+    private static String unescapeSerializedName(String serializedName) {
+        return serializedName.replace("\\\\.", ".");
+    }
+
+    /*
+     * The JSON fields of properties, where the flattened properties are nested in the fields of their JSON objects.
+     */
+    private static final class PropertyTree {
+        private final Map<String, PropertyTree> fields = new LinkedHashMap<>();
+        private ClientModelProperty property;
+
+        private void add(ClientModelProperty property, boolean flatten) {
+            List<String> names = flatten
+                    ? Arrays.stream(property.getSerializedName().split("(?<!\\\\\\\\)\\."))
+                    .map(StreamStyleSerializationTemplate::unescapeSerializedName)
+                    .collect(Collectors.toList())
+                    : Collections.singletonList(unescapeSerializedName(property.getSerializedName()));
+            PropertyTree node = this;
+            for (String name : names) {
+                node = node.fields.computeIfAbsent(name, n -> new PropertyTree());
+            }
+            node.property = property;
+        }
+
+        private List<ClientModelProperty> getProperties() {
+            List<ClientModelProperty> properties = new ArrayList<>();
+            if (property != null) {
+                properties.add(property);
+            }
+            for (PropertyTree node : fields.values()) {
+                properties.addAll(node.getProperties());
+            }
+            return properties;
+        }
+    }
+}
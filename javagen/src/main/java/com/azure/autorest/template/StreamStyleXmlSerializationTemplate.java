@@ -0,0 +1,740 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for license information.
+
+package com.azure.autorest.template;
+
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.SessionContext;
+import com.azure.autorest.model.clientmodel.ArrayType;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.ClientModel;
+import com.azure.autorest.model.clientmodel.ClientModelProperty;
+import com.azure.autorest.model.clientmodel.ClientModels;
+import com.azure.autorest.model.clientmodel.EnumType;
+import com.azure.autorest.model.clientmodel.IType;
+import com.azure.autorest.model.clientmodel.ListType;
+import com.azure.autorest.model.clientmodel.MapType;
+import com.azure.autorest.model.clientmodel.PrimitiveType;
+import com.azure.autorest.model.clientmodel.XmlSequenceWrapper;
+import com.azure.autorest.model.javamodel.JavaBlock;
+import com.azure.autorest.model.javamodel.JavaClass;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.autorest.model.javamodel.JavaIfBlock;
+import com.azure.autorest.model.javamodel.JavaModifier;
+import com.azure.autorest.model.javamodel.JavaVisibility;
+import com.azure.autorest.util.CodeNamer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the stream-style XML serialization of a ClientModel or an XmlSequenceWrapper: a toXml method that writes it
+ * to an XMLStreamWriter, and a fromXml method that reads it from an XMLStreamReader, with the Jackson serializer and
+ * deserializer that call them on the StAX writer and reader under the ToXmlGenerator and FromXmlParser.
+ * <p>
+ * The elements of lists are written and read one by one, without the wrapper objects that Jackson binds wrapped lists
+ * to. As the deserializer reads the StAX reader directly, the FromXmlParser cannot read the document after it, so the
+ * deserializer reads the root element of a document only, and a model has stream-style serialization only if it is
+ * never read by Jackson as a part of another model: the models with a type that is not read from text here, and the
+ * models used by them, keep the Jackson annotations.
+ */
+public class StreamStyleXmlSerializationTemplate {
+    private static StreamStyleXmlSerializationTemplate _instance = new StreamStyleXmlSerializationTemplate();
+
+    // The names of the variables of the generated methods, which the local variables of properties must not shadow.
+    private static final Set<String> RESERVED_NAMES = new HashSet<>(Arrays.asList("reader", "writer", "elementName",
+            "atStartElement", "event", "text", "element", "entry", "key", "deserialized"));
+
+    private StreamStyleXmlSerializationTemplate() {
+    }
+
+    public static StreamStyleXmlSerializationTemplate getInstance() {
+        return _instance;
+    }
+
+    /**
+     * Whether the model is serialized by its generated toXml and fromXml methods.
+     *
+     * @param model the model
+     * @return whether the model has stream-style XML serialization.
+     */
+    public boolean isStreamStyleSerialization(ClientModel model) {
+        return isEnabled() && getStreamStyleModelNames().contains(model.getName());
+    }
+
+    /**
+     * Whether the XmlSequenceWrapper is serialized by its generated toXml and fromXml methods.
+     *
+     * @param xmlSequenceWrapper the XmlSequenceWrapper
+     * @return whether the XmlSequenceWrapper has stream-style XML serialization.
+     */
+    public boolean isStreamStyleSerialization(XmlSequenceWrapper xmlSequenceWrapper) {
+        return isEnabled() && isSupported(xmlSequenceWrapper.getSequenceType(), getStreamStyleModelNames());
+    }
+
+    private static boolean isEnabled() {
+        JavaSettings settings = JavaSettings.getInstance();
+        return settings.isStreamStyleSerialization() && settings.shouldGenerateXmlSerialization();
+    }
+
+    /**
+     * Adds the imports of the stream-style XML serialization of the model.
+     *
+     * @param imports the imports of the model
+     * @param model the model
+     */
+    public void addImportsTo(Set<String> imports, ClientModel model) {
+        addImportsTo(imports, model.getProperties());
+    }
+
+    /**
+     * Adds the imports of the stream-style XML serialization of the XmlSequenceWrapper.
+     *
+     * @param imports the imports of the XmlSequenceWrapper
+     * @param xmlSequenceWrapper the XmlSequenceWrapper
+     */
+    public void addImportsTo(Set<String> imports, XmlSequenceWrapper xmlSequenceWrapper) {
+        addTypeImportsTo(imports, xmlSequenceWrapper.getSequenceType());
+        addSerializationImportsTo(imports);
+    }
+
+    private static void addImportsTo(Set<String> imports, List<ClientModelProperty> properties) {
+        for (ClientModelProperty property : properties) {
+            addTypeImportsTo(imports, property.getWireType());
+        }
+        addSerializationImportsTo(imports);
+    }
+
+    /*
+     * Adds the imports of the types of the serializer and deserializer, and of the StAX reader and writer.
+     */
+    private static void addSerializationImportsTo(Set<String> imports) {
+        imports.add("com.fasterxml.jackson.core.JsonGenerationException");
+        imports.add("com.fasterxml.jackson.core.JsonGenerator");
+        imports.add("com.fasterxml.jackson.core.JsonParseException");
+        imports.add("com.fasterxml.jackson.core.JsonParser");
+        imports.add("com.fasterxml.jackson.databind.DeserializationContext");
+        imports.add("com.fasterxml.jackson.databind.JsonDeserializer");
+        imports.add("com.fasterxml.jackson.databind.JsonMappingException");
+        imports.add("com.fasterxml.jackson.databind.JsonSerializer");
+        imports.add("com.fasterxml.jackson.databind.SerializerProvider");
+        imports.add("com.fasterxml.jackson.databind.annotation.JsonDeserialize");
+        imports.add("com.fasterxml.jackson.databind.annotation.JsonSerialize");
+        imports.add("com.fasterxml.jackson.dataformat.xml.deser.FromXmlParser");
+        imports.add("com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator");
+        imports.add("java.io.IOException");
+        imports.add("javax.xml.stream.XMLStreamConstants");
+        imports.add("javax.xml.stream.XMLStreamException");
+        imports.add("javax.xml.stream.XMLStreamReader");
+        imports.add("javax.xml.stream.XMLStreamWriter");
+        imports.add("org.codehaus.stax2.XMLStreamReader2");
+    }
+
+    /*
+     * Adds the imports of the type, and of the types the text of its values is written and read with.
+     */
+    private static void addTypeImportsTo(Set<String> imports, IType type) {
+        type.addImportsTo(imports, false);
+        if (type instanceof ListType) {
+            imports.add("java.util.ArrayList");
+            addTypeImportsTo(imports, ((ListType) type).getElementType());
+        } else if (type instanceof MapType) {
+            imports.add("java.util.LinkedHashMap");
+            addTypeImportsTo(imports, ((MapType) type).getValueType());
+        } else if (type == ArrayType.ByteArray) {
+            imports.add("java.util.Base64");
+        } else if (type == ClassType.DateTime) {
+            imports.add("java.time.format.DateTimeFormatter");
+        }
+    }
+
+    /**
+     * Writes the annotations that have Jackson serialize the class by its generated serializer and deserializer.
+     *
+     * @param className the name of the model or XmlSequenceWrapper
+     * @param javaFile the file of the class
+     */
+    public void writeClassAnnotations(String className, JavaFile javaFile) {
+        javaFile.annotation(String.format("JsonSerialize(using = %1$s.Serializer.class)", className));
+        javaFile.annotation(String.format("JsonDeserialize(using = %1$s.Deserializer.class)", className));
+    }
+
+    /**
+     * Writes the toXml and fromXml methods of the model, and its serializer and deserializer.
+     *
+     * @param model the model
+     * @param classBlock the class of the model
+     * @param settings the settings
+     */
+    public void writeSerializationMethods(ClientModel model, JavaClass classBlock, JavaSettings settings) {
+        List<ClientModelProperty> constructorProperties = settings.isRequiredFieldsAsConstructorArgs()
+                ? model.getProperties().stream().filter(ClientModelProperty::isRequired).collect(Collectors.toList())
+                : Collections.emptyList();
+        writeSerializationMethods(model.getName(), model.getXmlName(), model.getProperties(), constructorProperties,
+                classBlock, settings);
+    }
+
+    /**
+     * Writes the toXml and fromXml methods of the XmlSequenceWrapper, and its serializer and deserializer.
+     *
+     * @param xmlSequenceWrapper the XmlSequenceWrapper
+     * @param classBlock the class of the XmlSequenceWrapper
+     * @param settings the settings
+     */
+    public void writeSerializationMethods(XmlSequenceWrapper xmlSequenceWrapper, JavaClass classBlock,
+                                          JavaSettings settings) {
+        // the list of the wrapper, as an unwrapped list of its root element
+        ClientModelProperty items = new ClientModelProperty.Builder()
+                .name(CodeNamer.toCamelCase(xmlSequenceWrapper.getXmlRootElementName()))
+                .serializedName(xmlSequenceWrapper.getXmlListElementName())
+                .xmlListElementName(xmlSequenceWrapper.getXmlListElementName())
+                .wireType(xmlSequenceWrapper.getSequenceType())
+                .clientType(xmlSequenceWrapper.getSequenceType())
+                .isRequired(true)
+                .build();
+        writeSerializationMethods(xmlSequenceWrapper.getWrapperClassName(),
+                xmlSequenceWrapper.getXmlRootElementName(), Collections.singletonList(items),
+                Collections.singletonList(items), classBlock, settings);
+    }
+
+    private void writeSerializationMethods(String className, String xmlName, List<ClientModelProperty> properties,
+                                           List<ClientModelProperty> constructorProperties, JavaClass classBlock,
+                                           JavaSettings settings) {
+        List<ClientModelProperty> attributes = properties.stream()
+                .filter(ClientModelProperty::getIsXmlAttribute)
+                .collect(Collectors.toList());
+        List<ClientModelProperty> elements = properties.stream()
+                .filter(p -> !p.getIsXmlAttribute())
+                .collect(Collectors.toList());
+
+        writeToXml(className, xmlName, attributes, elements, classBlock, settings);
+        writeFromXml(className, xmlName, properties, attributes, elements, constructorProperties, classBlock,
+                settings);
+
+        classBlock.blockComment(settings.getMaximumJavadocCommentWidth(), comment ->
+                comment.line("Moves the reader to the next start or end element, skipping text and comments."));
+        classBlock.method(JavaVisibility.Private, Collections.singletonList(JavaModifier.Static),
+                "int nextElement(XMLStreamReader reader) throws XMLStreamException", function ->
+        {
+            function.line("int event = reader.next();");
+            function.block("while (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT)",
+                    whileBlock -> whileBlock.line("event = reader.next();"));
+            function.methodReturn("event");
+        });
+
+        classBlock.blockComment(settings.getMaximumJavadocCommentWidth(), comment ->
+                comment.line("Moves the reader from the start element to the end element of an element that is not read."));
+        classBlock.method(JavaVisibility.Private, Collections.singletonList(JavaModifier.Static),
+                "void skipElement(XMLStreamReader reader) throws XMLStreamException", function ->
+        {
+            function.line("int depth = 1;");
+            function.block("while (depth > 0)", whileBlock ->
+            {
+                whileBlock.line("int event = reader.next();");
+                whileBlock.ifBlock("event == XMLStreamConstants.START_ELEMENT", ifBlock -> ifBlock.line("depth++;"))
+                        .elseIfBlock("event == XMLStreamConstants.END_ELEMENT", ifBlock -> ifBlock.line("depth--;"));
+            });
+        });
+
+        classBlock.packagePrivateStaticFinalClass(String.format("Serializer extends JsonSerializer<%1$s>", className),
+                serializerClass ->
+        {
+            serializerClass.annotation("Override");
+            serializerClass.publicMethod(String.format("void serialize(%1$s value, JsonGenerator generator, "
+                    + "SerializerProvider provider) throws IOException", className), function ->
+            {
+                function.ifBlock("!(generator instanceof ToXmlGenerator)", ifBlock ->
+                        ifBlock.line(String.format("throw JsonMappingException.from(generator, \"%1$s is serialized "
+                                + "as XML only\");", className)));
+                function.tryBlock(tryBlock ->
+                        tryBlock.line("value.toXml(((ToXmlGenerator) generator).getStaxWriter());"))
+                        .catchBlock("XMLStreamException e", catchBlock ->
+                                catchBlock.line("throw new JsonGenerationException(e, generator);"));
+            });
+        });
+
+        classBlock.packagePrivateStaticFinalClass(String.format("Deserializer extends JsonDeserializer<%1$s>",
+                className), deserializerClass ->
+        {
+            deserializerClass.annotation("Override");
+            deserializerClass.publicMethod(String.format("%1$s deserialize(JsonParser parser, "
+                    + "DeserializationContext context) throws IOException", className), function ->
+            {
+                function.ifBlock("!(parser instanceof FromXmlParser)", ifBlock ->
+                        ifBlock.line(String.format("throw JsonMappingException.from(parser, \"%1$s is deserialized "
+                                + "from XML only\");", className)));
+                // the FromXmlParser cannot read the document after the elements read from its reader, hence only the
+                // root element is read, where the context is the root or the object of the root element
+                function.ifBlock("!parser.getParsingContext().inRoot() && !parser.getParsingContext().getParent()"
+                        + ".inRoot()", ifBlock ->
+                        ifBlock.line(String.format("throw JsonMappingException.from(parser, \"%1$s is deserialized "
+                                + "from the root element only\");", className)));
+                // the FromXmlParser may have moved the reader from the root element, the only element of depth 1, to
+                // its first child, when the root element has no attributes
+                function.line("XMLStreamReader2 reader = (XMLStreamReader2) ((FromXmlParser) parser).getStaxReader();");
+                function.tryBlock(tryBlock -> tryBlock.methodReturn(String.format("readXml(reader, "
+                        + "reader.getEventType() == XMLStreamConstants.START_ELEMENT && reader.getDepth() == 1)",
+                        className)))
+                        .catchBlock("XMLStreamException e", catchBlock ->
+                                catchBlock.line("throw new JsonParseException(parser, e.getMessage(), e);"));
+            });
+        });
+    }
+
+    private void writeToXml(String className, String xmlName, List<ClientModelProperty> attributes,
+                            List<ClientModelProperty> elements, JavaClass classBlock, JavaSettings settings) {
+        classBlock.javadocComment(settings.getMaximumJavadocCommentWidth(), comment ->
+        {
+            comment.description(String.format("Writes the %1$s to the XMLStreamWriter as an element named %2$s.",
+                    className, xmlName));
+            comment.param("writer", "the XMLStreamWriter");
+            comment.methodThrows("XMLStreamException", "if the element cannot be written");
+        });
+        classBlock.publicMethod("void toXml(XMLStreamWriter writer) throws XMLStreamException", function ->
+                function.line(String.format("toXml(writer, \"%1$s\");", xmlName)));
+
+        classBlock.javadocComment(settings.getMaximumJavadocCommentWidth(), comment ->
+        {
+            comment.description(String.format("Writes the %1$s to the XMLStreamWriter as an element of the name.",
+                    className));
+            comment.param("writer", "the XMLStreamWriter");
+            comment.param("elementName", "the name of the element");
+            comment.methodThrows("XMLStreamException", "if the element cannot be written");
+        });
+        classBlock.publicMethod("void toXml(XMLStreamWriter writer, String elementName) throws XMLStreamException",
+                function ->
+        {
+            function.line("writer.writeStartElement(elementName);");
+            for (ClientModelProperty property : attributes) {
+                if (property.getIsReadOnly()) {
+                    continue;
+                }
+                String value = String.format("this.%1$s", property.getName());
+                String writeAttribute = String.format("writer.writeAttribute(\"%1$s\", %2$s);", property.getXmlName(),
+                        toText(property.getWireType(), value));
+                if (property.getWireType() instanceof PrimitiveType) {
+                    function.line(writeAttribute);
+                } else {
+                    function.ifBlock(String.format("%1$s != null", value), ifBlock -> ifBlock.line(writeAttribute));
+                }
+            }
+            for (ClientModelProperty property : elements) {
+                if (!property.getIsReadOnly()) {
+                    writeElementProperty(function, property);
+                }
+            }
+            function.line("writer.writeEndElement();");
+        });
+    }
+
+    /*
+     * Writes the element of the property, which is not written if the value is null, as with
+     * JsonInclude.Include.NON_NULL.
+     */
+    private void writeElementProperty(JavaBlock block, ClientModelProperty property) {
+        IType type = property.getWireType();
+        String value = String.format("this.%1$s", property.getName());
+        if (type instanceof PrimitiveType) {
+            writeElement(block, type, String.format("\"%1$s\"", property.getSerializedName()), value);
+            return;
+        }
+        block.ifBlock(String.format("%1$s != null", value), ifBlock ->
+        {
+            if (type instanceof ListType) {
+                IType elementType = ((ListType) type).getElementType();
+                if (property.getIsXmlWrapper()) {
+                    ifBlock.line(String.format("writer.writeStartElement(\"%1$s\");", property.getSerializedName()));
+                }
+                ifBlock.block(String.format("for (%1$s element : %2$s)", elementType, value), forBlock ->
+                        forBlock.ifBlock("element != null", elementBlock -> writeElement(elementBlock, elementType,
+                                String.format("\"%1$s\"", property.getXmlListElementName()), "element")));
+                if (property.getIsXmlWrapper()) {
+                    ifBlock.line("writer.writeEndElement();");
+                }
+            } else if (type instanceof MapType) {
+                IType valueType = ((MapType) type).getValueType();
+                ifBlock.line(String.format("writer.writeStartElement(\"%1$s\");", property.getSerializedName()));
+                ifBlock.block(String.format("for (Map.Entry<String, %1$s> entry : %2$s.entrySet())", valueType, value),
+                        forBlock -> forBlock.ifBlock("entry.getValue() != null", entryBlock ->
+                                writeElement(entryBlock, valueType, "entry.getKey()", "entry.getValue()")));
+                ifBlock.line("writer.writeEndElement();");
+            } else {
+                writeElement(ifBlock, type, String.format("\"%1$s\"", property.getSerializedName()), value);
+            }
+        });
+    }
+
+    private void writeElement(JavaBlock block, IType type, String elementName, String value) {
+        if (isModel(type)) {
+            block.line(String.format("%1$s.toXml(writer, %2$s);", value, elementName));
+        } else {
+            block.line(String.format("writer.writeStartElement(%1$s);", elementName));
+            block.line(String.format("writer.writeCharacters(%1$s);", toText(type, value)));
+            block.line("writer.writeEndElement();");
+        }
+    }
+
+    private void writeFromXml(String className, String xmlName, List<ClientModelProperty> properties,
+                              List<ClientModelProperty> attributes, List<ClientModelProperty> elements,
+                              List<ClientModelProperty> constructorProperties, JavaClass classBlock,
+                              JavaSettings settings) {
+        classBlock.javadocComment(settings.getMaximumJavadocCommentWidth(), comment ->
+        {
+            comment.description(String.format("Reads an instance of %1$s from the XMLStreamReader.", className));
+            comment.param("reader", String.format("the XMLStreamReader, at the start element of the %1$s, or at the "
+                    + "start of the document", className));
+            comment.methodReturns(String.format("the %1$s, with the reader at its end element", className));
+            comment.methodThrows("XMLStreamException", "if the element cannot be read");
+        });
+        classBlock.publicStaticMethod(String.format("%1$s fromXml(XMLStreamReader reader) throws XMLStreamException",
+                className), function ->
+        {
+            function.ifBlock("reader.getEventType() == XMLStreamConstants.START_DOCUMENT", ifBlock ->
+                    ifBlock.line("nextElement(reader);"));
+            function.line("reader.require(XMLStreamConstants.START_ELEMENT, null, null);");
+            function.methodReturn("readXml(reader, true)");
+        });
+
+        // constants are set by the constructor
+        List<ClientModelProperty> readProperties = properties.stream()
+                .filter(p -> !p.getIsConstant())
+                .collect(Collectors.toList());
+        Map<ClientModelProperty, String> localNames = new HashMap<>();
+        for (ClientModelProperty property : properties) {
+            localNames.put(property, RESERVED_NAMES.contains(property.getName())
+                    ? property.getName() + "Value"
+                    : property.getName());
+        }
+
+        classBlock.blockComment(settings.getMaximumJavadocCommentWidth(), comment ->
+                comment.line(String.format("Reads the %1$s from its start element, or, if atStartElement is false, "
+                        + "from its first child element or its end element, as its attributes are then not read.",
+                        className)));
+        classBlock.method(JavaVisibility.Private, Collections.singletonList(JavaModifier.Static),
+                String.format("%1$s readXml(XMLStreamReader reader, boolean atStartElement) throws XMLStreamException",
+                        className), function ->
+        {
+            for (ClientModelProperty property : readProperties) {
+                function.line(String.format("%1$s %2$s = %3$s;", property.getWireType(), localNames.get(property),
+                        defaultValue(property.getWireType())));
+            }
+            List<ClientModelProperty> readAttributes = attributes.stream()
+                    .filter(readProperties::contains)
+                    .collect(Collectors.toList());
+            if (!readAttributes.isEmpty()) {
+                function.ifBlock("atStartElement", ifBlock ->
+                {
+                    ifBlock.line("String text;");
+                    for (ClientModelProperty property : readAttributes) {
+                        ifBlock.line(String.format("text = reader.getAttributeValue(null, \"%1$s\");",
+                                property.getXmlName()));
+                        ifBlock.ifBlock(textCondition(property.getWireType(), "text"), textBlock ->
+                                textBlock.line(String.format("%1$s = %2$s;", localNames.get(property),
+                                        fromText(property.getWireType(), "text"))));
+                    }
+                });
+            }
+            function.line("int event = atStartElement ? nextElement(reader) : reader.getEventType();");
+            function.block("while (event == XMLStreamConstants.START_ELEMENT)", whileBlock ->
+            {
+                whileBlock.line("String elementName = reader.getLocalName();");
+                JavaIfBlock ifBlock = null;
+                for (ClientModelProperty property : elements) {
+                    if (!readProperties.contains(property)) {
+                        continue;
+                    }
+                    String elementName = property.getWireType() instanceof ListType && !property.getIsXmlWrapper()
+                            ? property.getXmlListElementName()
+                            : property.getSerializedName();
+                    String condition = String.format("\"%1$s\".equals(elementName)", elementName);
+                    if (ifBlock == null) {
+                        ifBlock = whileBlock.ifBlock(condition, block -> readElementProperty(block, property,
+                                localNames.get(property)));
+                    } else {
+                        ifBlock.elseIfBlock(condition, block -> readElementProperty(block, property,
+                                localNames.get(property)));
+                    }
+                }
+                if (ifBlock == null) {
+                    whileBlock.line("skipElement(reader);");
+                } else {
+                    ifBlock.elseBlock(elseBlock -> elseBlock.line("skipElement(reader);"));
+                }
+                whileBlock.line("event = nextElement(reader);");
+            });
+
+            function.line(String.format("%1$s deserialized = new %1$s(%2$s);", className,
+                    constructorProperties.stream()
+                            .map(p -> constructorArgument(p, localNames.get(p)))
+                            .collect(Collectors.joining(", "))));
+            for (ClientModelProperty property : readProperties) {
+                if (constructorProperties.contains(property)) {
+                    continue;
+                }
+                String assignment = String.format("deserialized.%1$s = %2$s;", property.getName(),
+                        localNames.get(property));
+                if (property.getWireType() instanceof ListType) {
+                    // keeps the field as it is initialized when there are no elements
+                    function.ifBlock(String.format("%1$s != null", localNames.get(property)), ifBlock ->
+                            ifBlock.line(assignment));
+                } else {
+                    function.line(assignment);
+                }
+            }
+            function.methodReturn("deserialized");
+        });
+    }
+
+    /*
+     * Reads the element of the property the reader is at, leaving the reader at its end element.
+     */
+    private void readElementProperty(JavaBlock block, ClientModelProperty property, String localName) {
+        IType type = property.getWireType();
+        if (type instanceof ListType) {
+            IType elementType = ((ListType) type).getElementType();
+            if (property.getIsXmlWrapper()) {
+                block.line(String.format("%1$s = new ArrayList<>();", localName));
+                block.block("while (nextElement(reader) == XMLStreamConstants.START_ELEMENT)", whileBlock ->
+                        whileBlock.ifBlock(String.format("\"%1$s\".equals(reader.getLocalName())",
+                                property.getXmlListElementName()), ifBlock ->
+                                readElement(ifBlock, elementType, value -> String.format("%1$s.add(%2$s);",
+                                        localName, value), true))
+                                .elseBlock(elseBlock -> elseBlock.line("skipElement(reader);")));
+            } else {
+                block.ifBlock(String.format("%1$s == null", localName), ifBlock ->
+                        ifBlock.line(String.format("%1$s = new ArrayList<>();", localName)));
+                readElement(block, elementType, value -> String.format("%1$s.add(%2$s);", localName, value), true);
+            }
+        } else if (type instanceof MapType) {
+            IType valueType = ((MapType) type).getValueType();
+            block.line(String.format("%1$s = new LinkedHashMap<>();", localName));
+            block.block("while (nextElement(reader) == XMLStreamConstants.START_ELEMENT)", whileBlock ->
+            {
+                whileBlock.line("String key = reader.getLocalName();");
+                readElement(whileBlock, valueType, value -> String.format("%1$s.put(key, %2$s);", localName, value),
+                        true);
+            });
+        } else {
+            readElement(block, type, value -> String.format("%1$s = %2$s;", localName, value), false);
+        }
+    }
+
+    /*
+     * Reads the element the reader is at, and writes the statement that takes its value. The value of an empty element
+     * of a type that is not String is null, and is not taken unless it is the element of a list or map.
+     */
+    private void readElement(JavaBlock block, IType type, java.util.function.Function<String, String> statement,
+                             boolean takeNull) {
+        if (isModel(type)) {
+            block.line(statement.apply(String.format("%1$s.fromXml(reader)", type)));
+        } else if (type == ClassType.String) {
+            block.line(statement.apply("reader.getElementText()"));
+        } else {
+            block.line("String text = reader.getElementText();");
+            if (takeNull) {
+                block.line(statement.apply(String.format("text.isEmpty() ? null : %1$s", fromText(type, "text"))));
+            } else {
+                block.ifBlock("!text.isEmpty()", ifBlock -> ifBlock.line(statement.apply(fromText(type, "text"))));
+            }
+        }
+    }
+
+    /*
+     * The argument of the constructor for the property, which is of the client type of the property.
+     */
+    private static String constructorArgument(ClientModelProperty property, String localName) {
+        if (property.getIsConstant()) {
+            return property.getDefaultValue();
+        }
+        IType wireType = property.getWireType();
+        // a list without elements is empty, as the lists the fields are initialized to
+        String nullValue = wireType instanceof ListType ? "new ArrayList<>()" : "null";
+        if (wireType.getClientType().equals(wireType)) {
+            return wireType instanceof ListType
+                    ? String.format("%1$s == null ? %2$s : %1$s", localName, nullValue)
+                    : localName;
+        }
+        return String.format("%1$s == null ? %2$s : %3$s", localName, nullValue,
+                wireType.convertToClientType(localName));
+    }
+
+    private static String defaultValue(IType type) {
+        if (type == PrimitiveType.Boolean) {
+            return "false";
+        } else if (type instanceof PrimitiveType) {
+            return "0";
+        } else {
+            return "null";
+        }
+    }
+
+    private static String textCondition(IType type, String text) {
+        return type == ClassType.String
+                ? String.format("%1$s != null", text)
+                : String.format("%1$s != null && !%1$s.isEmpty()", text);
+    }
+
+    /*
+     * The text of a value of a type the XML serialization supports.
+     */
+    private static String toText(IType type, String value) {
+        if (type == ClassType.String) {
+            return value;
+        } else if (type instanceof PrimitiveType || type == ClassType.Boolean || type == ClassType.Integer
+                || type == ClassType.Long || type == ClassType.Float || type == ClassType.Double) {
+            return String.format("String.valueOf(%1$s)", value);
+        } else if (type == ArrayType.ByteArray) {
+            return String.format("Base64.getEncoder().encodeToString(%1$s)", value);
+        } else if (type == ClassType.DateTime) {
+            return String.format("DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(%1$s)", value);
+        } else {
+            // BigDecimal, LocalDate, UUID, DateTimeRfc1123, Base64Url and the enums are written by toString
+            return String.format("%1$s.toString()", value);
+        }
+    }
+
+    /*
+     * The value of the text of a type the XML serialization supports.
+     */
+    private static String fromText(IType type, String text) {
+        if (type == ClassType.String) {
+            return text;
+        } else if (type == PrimitiveType.Boolean || type == ClassType.Boolean) {
+            return String.format("Boolean.parseBoolean(%1$s)", text);
+        } else if (type == PrimitiveType.Int || type == ClassType.Integer) {
+            return String.format("Integer.parseInt(%1$s)", text);
+        } else if (type == PrimitiveType.Long || type == ClassType.Long) {
+            return String.format("Long.parseLong(%1$s)", text);
+        } else if (type == PrimitiveType.Float || type == ClassType.Float) {
+            return String.format("Float.parseFloat(%1$s)", text);
+        } else if (type == PrimitiveType.Double || type == ClassType.Double) {
+            return String.format("Double.parseDouble(%1$s)", text);
+        } else if (type == ClassType.BigDecimal) {
+            return String.format("new BigDecimal(%1$s)", text);
+        } else if (type == ArrayType.ByteArray) {
+            return String.format("Base64.getMimeDecoder().decode(%1$s)", text);
+        } else if (type == ClassType.DateTime) {
+            return String.format("OffsetDateTime.parse(%1$s)", text);
+        } else if (type == ClassType.DateTimeRfc1123) {
+            return String.format("new DateTimeRfc1123(%1$s)", text);
+        } else if (type == ClassType.LocalDate) {
+            return String.format("LocalDate.parse(%1$s)", text);
+        } else if (type == ClassType.UUID) {
+            return String.format("UUID.fromString(%1$s)", text);
+        } else if (type == ClassType.Base64Url) {
+            return String.format("new Base64Url(%1$s)", text);
+        } else {
+            return String.format("%1$s.fromString(%2$s)", type, text);
+        }
+    }
+
+    private static boolean isText(IType type) {
+        return type == ClassType.String
+                || type == PrimitiveType.Boolean || type == PrimitiveType.Int || type == PrimitiveType.Long
+                || type == PrimitiveType.Float || type == PrimitiveType.Double
+                || type == ClassType.Boolean || type == ClassType.Integer || type == ClassType.Long
+                || type == ClassType.Float || type == ClassType.Double || type == ClassType.BigDecimal
+                || type == ArrayType.ByteArray || type == ClassType.DateTime || type == ClassType.DateTimeRfc1123
+                || type == ClassType.LocalDate || type == ClassType.UUID || type == ClassType.Base64Url
+                || (type instanceof EnumType && ClassType.String.equals(((EnumType) type).getElementType()));
+    }
+
+    private boolean isModel(IType type) {
+        return type instanceof ClassType && getModel((ClassType) type) != null;
+    }
+
+    private static ClientModel getModel(ClassType type) {
+        ClientModel model = ClientModels.getInstance().getModel(type.getName());
+        return model != null && model.getPackage().equals(type.getPackage()) ? model : null;
+    }
+
+    /*
+     * Whether the type is read from text, or is a model with stream-style XML serialization, or a list of those, or a
+     * map of text.
+     */
+    private static boolean isSupported(IType type, Set<String> modelNames) {
+        if (type instanceof ListType) {
+            IType elementType = ((ListType) type).getElementType();
+            return isText(elementType) || isStreamStyleModel(elementType, modelNames);
+        } else if (type instanceof MapType) {
+            return isText(((MapType) type).getValueType());
+        } else {
+            return isText(type) || isStreamStyleModel(type, modelNames);
+        }
+    }
+
+    private static boolean isStreamStyleModel(IType type, Set<String> modelNames) {
+        return type instanceof ClassType && getModel((ClassType) type) != null
+                && modelNames.contains(((ClassType) type).getName());
+    }
+
+    /*
+     * The names of the models with stream-style XML serialization, computed once the models are mapped.
+     */
+    private Set<String> getStreamStyleModelNames() {
+        return SessionContext.current().get(this, this::findStreamStyleModelNames);
+    }
+
+    private Set<String> findStreamStyleModelNames() {
+        List<ClientModel> models = ClientModels.getInstance().getTypes();
+        Map<String, ClientModel> candidates = new LinkedHashMap<>();
+        for (ClientModel model : models) {
+            if (isCandidate(model)) {
+                candidates.put(model.getName(), model);
+            }
+        }
+
+        // removes the models with a property that is not supported, and the models used by the other models, until
+        // no model is removed
+        boolean removed = true;
+        while (removed) {
+            removed = false;
+            for (ClientModel model : models) {
+                if (candidates.containsKey(model.getName())
+                        && model.getProperties().stream().allMatch(p -> isSupported(p.getWireType(),
+                        candidates.keySet()))) {
+                    continue;
+                }
+                removed |= candidates.remove(model.getName()) != null;
+                for (ClientModelProperty property : model.getProperties()) {
+                    ClientModel usedModel = getUsedModel(property.getWireType());
+                    if (usedModel != null && !model.isStronglyTypedHeader()) {
+                        removed |= candidates.remove(usedModel.getName()) != null;
+                    }
+                }
+            }
+        }
+        return new HashSet<>(candidates.keySet());
+    }
+
+    private static boolean isCandidate(ClientModel model) {
+        return !model.isStronglyTypedHeader()
+                && model.getParentModelName() == null
+                && (model.getDerivedModels() == null || model.getDerivedModels().isEmpty())
+                && !model.getIsPolymorphic()
+                && !model.getNeedsFlatten()
+                && (model.getXmlNamespace() == null || model.getXmlNamespace().isEmpty())
+                && model.getProperties().stream().allMatch(p -> !p.isAdditionalProperties()
+                && (p.getXmlNamespace() == null || p.getXmlNamespace().isEmpty())
+                && (p.getHeaderCollectionPrefix() == null || p.getHeaderCollectionPrefix().isEmpty()));
+    }
+
+    private static ClientModel getUsedModel(IType type) {
+        if (type instanceof ListType) {
+            return getUsedModel(((ListType) type).getElementType());
+        } else if (type instanceof MapType) {
+            return getUsedModel(((MapType) type).getValueType());
+        } else if (type instanceof ClassType) {
+            return getModel((ClassType) type);
+        } else {
+            return null;
+        }
+    }
+}
@@ -32,6 +32,10 @@ public interface TemplateFactory {
 
     PackageInfoTemplate getPackageInfoTemplate();
 
+    FluxInputStreamTemplate getFluxInputStreamTemplate();
+
+    BinaryUploadTemplate getBinaryUploadTemplate();
+
     ServiceAsyncClientTemplate getServiceAsyncClientTemplate();
 
     ServiceSyncClientTemplate getServiceSynClientTemplate();
@@ -3,95 +3,111 @@
 
 package com.azure.autorest.template;
 
+import com.azure.autorest.extension.base.plugin.SessionContext;
 
 /**
  * A collection of templates for writing JV models to Java files and contexts.
  */
 public class Templates {
 
-    private static TemplateFactory factory = new DefaultTemplateFactory();
-
+    /**
+     * Sets the factory of the templates of the current session.
+     *
+     * @param templateFactory the factory
+     */
     public static void setFactory(TemplateFactory templateFactory) {
-        factory = templateFactory;
+        SessionContext.current().set(TemplateFactory.class, templateFactory);
+    }
+
+    private static TemplateFactory getFactory() {
+        return SessionContext.current().get(TemplateFactory.class, DefaultTemplateFactory::new);
     }
 
     public static ServiceClientInterfaceTemplate getServiceClientInterfaceTemplate() {
-        return factory.getServiceClientInterfaceTemplate();
+        return getFactory().getServiceClientInterfaceTemplate();
     }
 
     public static ServiceClientTemplate getServiceClientTemplate() {
-        return factory.getServiceClientTemplate();
+        return getFactory().getServiceClientTemplate();
     }
 
     public static ServiceClientBuilderTemplate getServiceClientBuilderTemplate() {
-        return factory.getServiceClientBuilderTemplate();
+        return getFactory().getServiceClientBuilderTemplate();
     }
 
     public static ManagerTemplate getManagerTemplate() {
-        return factory.getManagerTemplate();
+        return getFactory().getManagerTemplate();
     }
 
     public static MethodGroupInterfaceTemplate getMethodGroupInterfaceTemplate() {
-        return factory.getMethodGroupInterfaceTemplate();
+        return getFactory().getMethodGroupInterfaceTemplate();
     }
 
     public static MethodGroupTemplate getMethodGroupTemplate() {
-        return factory.getMethodGroupTemplate();
+        return getFactory().getMethodGroupTemplate();
     }
 
     public static ProxyTemplate getProxyTemplate() {
-        return factory.getProxyTemplate();
+        return getFactory().getProxyTemplate();
     }
 
     public static ClientMethodTemplate getClientMethodTemplate() {
-        return factory.getClientMethodTemplate();
+        return getFactory().getClientMethodTemplate();
     }
 
     public static ModelTemplate getModelTemplate() {
-        return factory.getModelTemplate();
+        return getFactory().getModelTemplate();
     }
 
     public static ExceptionTemplate getExceptionTemplate() {
-        return factory.getExceptionTemplate();
+        return getFactory().getExceptionTemplate();
     }
 
     public static EnumTemplate getEnumTemplate() {
-        return factory.getEnumTemplate();
+        return getFactory().getEnumTemplate();
     }
 
     public static PageTemplate getPageTemplate() {
-        return factory.getPageTemplate();
+        return getFactory().getPageTemplate();
     }
 
     public static ResponseTemplate getResponseTemplate() {
-        return factory.getResponseTemplate();
+        return getFactory().getResponseTemplate();
     }
 
     public static XmlSequenceWrapperTemplate getXmlSequenceWrapperTemplate() {
-        return factory.getXmlSequenceWrapperTemplate();
+        return getFactory().getXmlSequenceWrapperTemplate();
     }
 
     public static PackageInfoTemplate getPackageInfoTemplate() {
-        return factory.getPackageInfoTemplate();
+        return getFactory().getPackageInfoTemplate();
+    }
+
+    public static FluxInputStreamTemplate getFluxInputStreamTemplate() {
+        return getFactory().getFluxInputStreamTemplate();
+    }
+
+    public static BinaryUploadTemplate getBinaryUploadTemplate() {
+        return getFactory().getBinaryUploadTemplate();
     }
 
     public static ServiceAsyncClientTemplate getServiceAsyncClientTemplate() {
-        return factory.getServiceAsyncClientTemplate();
+        return getFactory().getServiceAsyncClientTemplate();
     }
 
     public static WrapperClientMethodTemplate getWrapperClientMethodTemplate() {
-        return factory.getWrapperClientMethodTemplate();
+        return getFactory().getWrapperClientMethodTemplate();
     }
 
     public static ServiceSyncClientTemplate getServiceSyncClientTemplate() {
-        return factory.getServiceSynClientTemplate();
+        return getFactory().getServiceSynClientTemplate();
     }
 
     public static PomTemplate getPomTemplate() {
-        return factory.getPomTemplate();
+        return getFactory().getPomTemplate();
     }
 
     public static ModuleInfoTemplate getModuleInfoTemplate() {
-        return factory.getModuleInfoTemplate();
+        return getFactory().getModuleInfoTemplate();
     }
 }
@@ -36,6 +36,7 @@ public class WrapperClientMethodTemplate implements IJavaTemplate<ClientMethod,
       case PagingSync:
       case PagingAsync:
       case PagingAsyncSinglePage:
+      case PagingSyncSinglePage:
         typeBlock.annotation("ServiceMethod(returns = ReturnType.COLLECTION)");
         break;
       default:
@@ -5,11 +5,15 @@ package com.azure.autorest.template;
 // Licensed under the MIT License. See License.txt in the project root for license information.
 
 
+import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.model.clientmodel.ListType;
 import com.azure.autorest.model.clientmodel.XmlSequenceWrapper;
 import com.azure.autorest.model.javamodel.JavaFile;
 import com.azure.autorest.util.CodeNamer;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Writes an XmlSequenceWrapper to a JavaFile.
  */
@@ -31,16 +35,29 @@ public class XmlSequenceWrapperTemplate implements IJavaTemplate<XmlSequenceWrap
 
         ListType sequenceType = xmlSequenceWrapper.getSequenceType();
 
-        javaFile.declareImport(xmlSequenceWrapper.getImports());
+        StreamStyleXmlSerializationTemplate streamStyleXmlSerialization =
+                StreamStyleXmlSerializationTemplate.getInstance();
+        boolean streamStyle = streamStyleXmlSerialization.isStreamStyleSerialization(xmlSequenceWrapper);
+
+        Set<String> imports = new HashSet<>(xmlSequenceWrapper.getImports());
+        if (streamStyle) {
+            streamStyleXmlSerialization.addImportsTo(imports, xmlSequenceWrapper);
+        }
+        javaFile.declareImport(imports);
 
         javaFile.javadocComment(comment ->
         {
             comment.description(String.format("A wrapper around %1$s which provides top-level metadata for serialization.", sequenceType));
         });
+        if (streamStyle) {
+            streamStyleXmlSerialization.writeClassAnnotations(xmlSequenceWrapper.getWrapperClassName(), javaFile);
+        }
         javaFile.annotation(String.format("JacksonXmlRootElement(localName = \"%1$s\")", xmlRootElementName));
         javaFile.publicFinalClass(xmlSequenceWrapper.getWrapperClassName(), classBlock ->
         {
-            classBlock.annotation(String.format("JacksonXmlProperty(localName = \"%1$s\")", xmlListElementName));
+            if (!streamStyle) {
+                classBlock.annotation(String.format("JacksonXmlProperty(localName = \"%1$s\")", xmlListElementName));
+            }
             classBlock.privateFinalMemberVariable(sequenceType.toString(), xmlElementNameCamelCase);
 
             classBlock.javadocComment(comment ->
@@ -48,8 +65,12 @@ public class XmlSequenceWrapperTemplate implements IJavaTemplate<XmlSequenceWrap
                 comment.description(String.format("Creates an instance of %1$s.", xmlSequenceWrapper.getWrapperClassName()));
                 comment.param(xmlElementNameCamelCase, "the list");
             });
-            classBlock.annotation("JsonCreator");
-            classBlock.publicConstructor(String.format("%1$s(@JsonProperty(\"%2$s\") %3$s %4$s)", xmlSequenceWrapper.getWrapperClassName(), xmlListElementName, sequenceType, xmlElementNameCamelCase), constructor ->
+            String listAnnotation = "";
+            if (!streamStyle) {
+                classBlock.annotation("JsonCreator");
+                listAnnotation = String.format("@JsonProperty(\"%1$s\") ", xmlListElementName);
+            }
+            classBlock.publicConstructor(String.format("%1$s(%2$s%3$s %4$s)", xmlSequenceWrapper.getWrapperClassName(), listAnnotation, sequenceType, xmlElementNameCamelCase), constructor ->
             {
                 constructor.line(String.format("this.%1$s = %2$s;", xmlElementNameCamelCase, xmlElementNameCamelCase));
             });
@@ -63,6 +84,11 @@ public class XmlSequenceWrapperTemplate implements IJavaTemplate<XmlSequenceWrap
             {
                 function.methodReturn(xmlElementNameCamelCase);
             });
+
+            if (streamStyle) {
+                streamStyleXmlSerialization.writeSerializationMethods(xmlSequenceWrapper, classBlock,
+                        JavaSettings.getInstance());
+            }
         });
     }
 }
@@ -1,5 +1,6 @@
 package com.azure.autorest.util;
 
+import com.azure.autorest.extension.base.plugin.SessionContext;
 import org.atteo.evo.inflector.English;
 
 import java.util.ArrayList;
@@ -77,14 +78,21 @@ public class CodeNamer {
             "String", "Object", "header", "_"
     ));
 
-    private static NamerFactory factory = new DefaultNamerFactory();
-
+    /**
+     * Sets the factory of the namers of the current session.
+     *
+     * @param templateFactory the factory
+     */
     public static void setFactory(NamerFactory templateFactory) {
-        factory = templateFactory;
+        SessionContext.current().set(NamerFactory.class, templateFactory);
+    }
+
+    private static NamerFactory getFactory() {
+        return SessionContext.current().get(NamerFactory.class, DefaultNamerFactory::new);
     }
 
     public static ModelNamer getModelNamer() {
-        return factory.getModelNamer();
+        return getFactory().getModelNamer();
     }
 
     private CodeNamer() {
@@ -269,9 +277,15 @@ public class CodeNamer {
     public static List<String> wordWrap(String text, int width) {
         Objects.requireNonNull(text);
         List<String> ret = new ArrayList<>();
-        String[] lines = text.split("\r?\n", -1);
-        for (String line : lines) {
-            String processedLine = line.trim();
+        int lineStart = 0;
+        while (lineStart <= text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd == -1) {
+                lineEnd = text.length();
+            }
+            // trim also removes the '\r' of "\r\n"
+            String processedLine = text.substring(lineStart, lineEnd).trim();
+            lineStart = lineEnd + 1;
 
             // yield empty lines as they are (probably) intentional
             if (processedLine.length() == 0) {
@@ -280,22 +294,20 @@ public class CodeNamer {
 
             // feast on the line until it's gone
             while (processedLine.length() > 0) {
-                // determine potential wrapping points
-                List<Integer> whitespacePositions = new ArrayList<>();
-                for (int i = 0; i != processedLine.length(); i++) {
-                    if (Character.isWhitespace(processedLine.charAt(i))) {
-                        whitespacePositions.add(i);
-                    }
-                }
-                whitespacePositions.add(processedLine.length());
+                // determine the wrapping point: the last whitespace within the width, or else the first after it
                 int preWidthWrapAt = -1;
                 int postWidthWrapAt = -1;
-                for (int i = 0; i != whitespacePositions.size() - 1; i++) {
-                    if (whitespacePositions.get(i + 1) > width) {
-                        preWidthWrapAt = whitespacePositions.get(i);
-                        postWidthWrapAt = whitespacePositions.get(i + 1);
+                int previousWhitespace = -1;
+                for (int i = 0; i <= processedLine.length(); i++) {
+                    if (i < processedLine.length() && !Character.isWhitespace(processedLine.charAt(i))) {
+                        continue;
+                    }
+                    if (previousWhitespace != -1 && i > width) {
+                        preWidthWrapAt = previousWhitespace;
+                        postWidthWrapAt = i;
                         break;
                     }
+                    previousWhitespace = i;
                 }
                 int wrapAt = processedLine.length();
                 if (preWidthWrapAt > 0) {
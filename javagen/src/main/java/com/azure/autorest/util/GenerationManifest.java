@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.util;
+
+import com.azure.autorest.extension.base.util.HashUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The manifest of the files written by the last generation, for incremental generation.
+ * <p>
+ * It maps each output path to the hash of the source rendered by the template, before formatting, and to the hash of
+ * the output written. A file whose rendered source has the same hash, from a generation with the same settings hash,
+ * and whose content in the output folder still has the hash of the output, is unchanged and need not be formatted or
+ * written again.
+ */
+public class GenerationManifest {
+
+    /**
+     * The name of the manifest file, in the output folder.
+     */
+    public static final String FILE_NAME = ".autorest-java-manifest.json";
+
+    private String settingsHash;
+    private Map<String, FileHashes> files = new TreeMap<>();
+
+    public GenerationManifest() {
+    }
+
+    public GenerationManifest(String settingsHash) {
+        this.settingsHash = settingsHash;
+    }
+
+    public String getSettingsHash() {
+        return settingsHash;
+    }
+
+    public Map<String, FileHashes> getFiles() {
+        return files;
+    }
+
+    /**
+     * Reads the manifest in the output folder.
+     *
+     * @param outputFolder the output folder.
+     * @param mapper the JSON mapper.
+     * @return the manifest, or null if there is none.
+     * @throws IOException if the manifest cannot be read.
+     */
+    public static GenerationManifest read(Path outputFolder, ObjectMapper mapper) throws IOException {
+        Path file = outputFolder.resolve(FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        return mapper.readValue(file.toFile(), GenerationManifest.class);
+    }
+
+    /**
+     * Checks whether the file is unchanged since the generation of this manifest, and still in the output folder as it
+     * was written.
+     *
+     * @param outputFolder the output folder.
+     * @param settingsHash the hash of the settings of this generation.
+     * @param path the output path of the file.
+     * @param sourceHash the hash of the rendered source of the file.
+     * @return whether the file is unchanged.
+     */
+    public boolean isUnchanged(Path outputFolder, String settingsHash, String path, String sourceHash) {
+        FileHashes fileHashes = files.get(path);
+        if (this.settingsHash == null || !this.settingsHash.equals(settingsHash)
+                || fileHashes == null || !sourceHash.equals(fileHashes.getSourceHash())
+                || fileHashes.getOutputHash() == null) {
+            return false;
+        }
+        // the file may have been edited, or only partly written
+        Path file = outputFolder.resolve(path);
+        try {
+            return Files.isRegularFile(file)
+                    && fileHashes.getOutputHash().equals(HashUtil.sha256(Files.readAllBytes(file)));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the files of the generation of this manifest that are not in the manifest of the current generation, and
+     * are still in the output folder.
+     *
+     * @param outputFolder the output folder.
+     * @param currentManifest the manifest of the current generation.
+     * @return the paths of the files no longer generated.
+     */
+    public List<Path> getRemovedFiles(Path outputFolder, GenerationManifest currentManifest) {
+        List<Path> removedFiles = new ArrayList<>();
+        for (String path : files.keySet()) {
+            if (!currentManifest.getFiles().containsKey(path)) {
+                Path file = outputFolder.resolve(path).normalize();
+                // a manifest edited to point out of the output folder is not trusted
+                if (file.startsWith(outputFolder) && Files.isRegularFile(file)) {
+                    removedFiles.add(file);
+                }
+            }
+        }
+        return removedFiles;
+    }
+
+    /**
+     * Gets the output folder as a local path.
+     *
+     * @param outputFolder the "output-folder" setting.
+     * @return the output folder, or null if it is not an absolute local path.
+     */
+    public static Path getOutputFolderPath(String outputFolder) {
+        if (outputFolder == null || outputFolder.isEmpty()) {
+            return null;
+        }
+        Path path = outputFolder.startsWith("file:") ? Paths.get(URI.create(outputFolder)) : Paths.get(outputFolder);
+        return path.isAbsolute() ? path.normalize() : null;
+    }
+
+    /**
+     * The hashes of a generated file.
+     */
+    public static class FileHashes {
+        private String sourceHash;
+        private String outputHash;
+
+        public FileHashes() {
+        }
+
+        public FileHashes(String sourceHash, String outputHash) {
+            this.sourceHash = sourceHash;
+            this.outputHash = outputHash;
+        }
+
+        /**
+         * @return the hash of the source rendered by the template.
+         */
+        public String getSourceHash() {
+            return sourceHash;
+        }
+
+        /**
+         * @return the hash of the output written, in UTF-8.
+         */
+        public String getOutputHash() {
+            return outputHash;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.azure.autorest;
+
+import com.azure.autorest.extension.base.jsonrpc.Connection;
+import com.azure.autorest.extension.base.model.Message;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelLoader;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.extension.base.plugin.NewPlugin;
+import com.azure.autorest.extension.base.plugin.SessionContext;
+import com.azure.autorest.mapper.Mappers;
+import com.azure.autorest.model.clientmodel.AsyncSyncClient;
+import com.azure.autorest.model.clientmodel.BinaryUpload;
+import com.azure.autorest.model.clientmodel.Client;
+import com.azure.autorest.model.clientmodel.ClientException;
+import com.azure.autorest.model.clientmodel.ClientModel;
+import com.azure.autorest.model.clientmodel.ClientResponse;
+import com.azure.autorest.model.clientmodel.EnumType;
+import com.azure.autorest.model.clientmodel.FluxInputStream;
+import com.azure.autorest.model.clientmodel.MethodGroupClient;
+import com.azure.autorest.model.clientmodel.PackageInfo;
+import com.azure.autorest.model.clientmodel.XmlSequenceWrapper;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.autorest.model.javamodel.JavaPackage;
+import com.azure.autorest.util.ClientModelUtil;
+import org.junit.Assert;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.Callable;
+
+public class TestUtils {
+
+    /**
+     * A plugin without the AutoRest core, which answers the settings from a map.
+     */
+    public static class MockPlugin extends NewPlugin {
+        private final Map<String, Object> settings;
+
+        public MockPlugin(Map<String, Object> settings) {
+            super(new Connection(new ByteArrayOutputStream(), new ByteArrayInputStream(new byte[0])), "javagen",
+                    "mock");
+            this.settings = settings;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getValue(Type type, String key) {
+            return (T) settings.get(key);
+        }
+
+        @Override
+        public void message(Message message) {
+        }
+
+        @Override
+        public boolean processInternal() {
+            return true;
+        }
+    }
+
+    /**
+     * Calls the task in a session with the settings, added to the settings of a vanilla client.
+     *
+     * @param settings the settings, by their names.
+     * @param task the task.
+     * @param <T> the result of the task.
+     * @return the result of the task.
+     */
+    public static <T> T callWithSettings(Map<String, Object> settings, Callable<T> task) throws Exception {
+        Map<String, Object> allSettings = new HashMap<>();
+        allSettings.put("namespace", "com.azure.mock");
+        allSettings.put("sync-methods", "all");
+        allSettings.put("client-side-validations", true);
+        allSettings.putAll(settings);
+        return new SessionContext(new MockPlugin(allSettings)).call(task);
+    }
+
+    /**
+     * Reads a resource of the tests.
+     *
+     * @param name the name of the resource.
+     * @return the content of the resource.
+     */
+    public static String readResource(String name) throws Exception {
+        try (InputStream inputStream = TestUtils.class.getClassLoader().getResourceAsStream(name)) {
+            Assert.assertNotNull("resource not found: " + name, inputStream);
+            return new Scanner(inputStream, StandardCharsets.UTF_8.name()).useDelimiter("\\A").next();
+        }
+    }
+
+    /**
+     * Maps the code model, and writes the Java files of the client, as the generator does before formatting. The
+     * settings are added to, or replace, the settings of a vanilla client with interfaces, and sync and async
+     * clients.
+     *
+     * @param settings the settings, by their names.
+     * @param yaml the code model.
+     * @return the Java files.
+     */
+    public static List<JavaFile> writeJavaFiles(Map<String, Object> settings, String yaml) throws Exception {
+        Map<String, Object> allSettings = new HashMap<>();
+        allSettings.put("generate-client-interfaces", true);
+        allSettings.put("generate-sync-async-clients", true);
+        allSettings.put("add-context-parameter", true);
+        allSettings.put("context-client-method-parameter", true);
+        allSettings.put("client-logger", true);
+        allSettings.putAll(settings);
+        return callWithSettings(allSettings, () -> {
+            Client client = Mappers.getClientMapper().map(CodeModelLoader.load(yaml));
+
+            JavaSettings javaSettings = JavaSettings.getInstance();
+            JavaPackage javaPackage = new JavaPackage(new MockPlugin(allSettings));
+            javaPackage.addServiceClient(client.getServiceClient().getPackage(),
+                    client.getServiceClient().getClassName(), client.getServiceClient());
+            if (javaSettings.shouldGenerateClientInterfaces()) {
+                javaPackage.addServiceClientInterface(client.getServiceClient().getInterfaceName(),
+                        client.getServiceClient());
+            }
+            javaPackage.addServiceClientBuilder(
+                    ClientModelUtil.getServiceClientBuilderPackageName(client.getServiceClient()),
+                    client.getServiceClient().getInterfaceName() + ClientModelUtil.getBuilderSuffix(),
+                    client.getServiceClient());
+
+            if (javaSettings.shouldGenerateSyncAsyncClients()) {
+                List<AsyncSyncClient> asyncClients = new ArrayList<>();
+                List<AsyncSyncClient> syncClients = new ArrayList<>();
+                ClientModelUtil.getAsyncSyncClients(client.getServiceClient(), asyncClients, syncClients);
+                for (AsyncSyncClient asyncClient : asyncClients) {
+                    javaPackage.addAsyncServiceClient(asyncClient.getPackageName(), asyncClient);
+                }
+                for (AsyncSyncClient syncClient : syncClients) {
+                    javaPackage.addSyncServiceClient(syncClient.getPackageName(), syncClient);
+                }
+            }
+
+            for (MethodGroupClient methodGroupClient : client.getServiceClient().getMethodGroupClients()) {
+                javaPackage.addMethodGroup(methodGroupClient.getPackage(), methodGroupClient.getClassName(),
+                        methodGroupClient);
+                if (javaSettings.shouldGenerateClientInterfaces()) {
+                    javaPackage.addMethodGroupInterface(methodGroupClient.getInterfaceName(), methodGroupClient);
+                }
+            }
+            for (ClientResponse response : client.getResponseModels()) {
+                javaPackage.addClientResponse(response.getPackage(), response.getName(), response);
+            }
+            for (ClientModel model : client.getModels()) {
+                javaPackage.addModel(model.getPackage(), model.getName(), model);
+            }
+            for (EnumType enumType : client.getEnums()) {
+                javaPackage.addEnum(enumType.getPackage(), enumType.getName(), enumType);
+            }
+            for (ClientException exception : client.getExceptions()) {
+                javaPackage.addException(exception.getPackage(), exception.getName(), exception);
+            }
+            for (XmlSequenceWrapper xmlSequenceWrapper : client.getXmlSequenceWrappers()) {
+                javaPackage.addXmlSequenceWrapper(xmlSequenceWrapper.getPackage(),
+                        xmlSequenceWrapper.getWrapperClassName(), xmlSequenceWrapper);
+            }
+            for (PackageInfo packageInfo : client.getPackageInfos()) {
+                javaPackage.addPackageInfo(packageInfo.getPackage(), "package-info", packageInfo);
+            }
+            for (FluxInputStream fluxInputStream : client.getFluxInputStreams()) {
+                javaPackage.addFluxInputStream(fluxInputStream);
+            }
+            for (BinaryUpload binaryUpload : client.getBinaryUploads()) {
+                javaPackage.addBinaryUpload(binaryUpload);
+            }
+            return javaPackage.getJavaFiles();
+        });
+    }
+
+    /**
+     * Compiles the sources into a temporary directory, against the libraries of the classes.
+     *
+     * @param sources the sources, by their relative paths.
+     * @param libraryClasses the classes of the libraries.
+     * @return the class loader of the compiled classes.
+     */
+    public static ClassLoader compile(Map<String, String> sources, Class<?>... libraryClasses) throws Exception {
+        Path directory = Files.createTempDirectory("javagen-test");
+        List<File> files = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path file = directory.resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getValue().getBytes(StandardCharsets.UTF_8));
+            files.add(file.toFile());
+        }
+
+        // the locations of the classes, as the class path of the tests may be a manifest-only jar
+        List<String> classpath = new ArrayList<>();
+        for (Class<?> libraryClass : libraryClasses) {
+            String location = Paths.get(libraryClass.getProtectionDomain().getCodeSource().getLocation().toURI())
+                    .toString();
+            if (!classpath.contains(location)) {
+                classpath.add(location);
+            }
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+                StandardCharsets.UTF_8)) {
+            boolean compiled = compiler.getTask(null, fileManager, diagnostics,
+                    Arrays.asList("-classpath", String.join(File.pathSeparator, classpath),
+                            "-d", directory.toString(), "-encoding", "UTF-8"),
+                    null, fileManager.getJavaFileObjectsFromFiles(files)).call();
+            Assert.assertTrue(diagnostics.getDiagnostics().toString(), compiled);
+        }
+        return new URLClassLoader(new URL[] { directory.toUri().toURL() }, TestUtils.class.getClassLoader());
+    }
+}
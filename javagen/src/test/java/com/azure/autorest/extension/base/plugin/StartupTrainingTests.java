@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.extension.base.plugin;
+
+import com.azure.autorest.Javagen;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+
+public class StartupTrainingTests {
+
+    /**
+     * The generation of the "cds" profile of the pom, which fails the build if it fails.
+     */
+    @Test
+    public void testTrainingGenerationSucceeds() throws Exception {
+        String codeModel = Paths.get(StartupTrainingTests.class.getClassLoader()
+                .getResource("code-model-locks.yaml").toURI()).toString();
+        Assert.assertTrue(StartupTraining.run(new PluginServer("javagen", Javagen::new), "javagen", new String[] {
+            codeModel,
+            "namespace=com.azure.autorest.training",
+            "sync-methods=all",
+            "add-context-parameter=true",
+            "context-client-method-parameter=true",
+            "client-side-validations=true",
+            "client-logger=true",
+            "generate-client-interfaces=true",
+            "required-parameter-client-methods=true"
+        }));
+    }
+}
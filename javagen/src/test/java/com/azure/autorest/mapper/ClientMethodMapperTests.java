@@ -0,0 +1,135 @@
+package com.azure.autorest.mapper;
+
+import com.azure.autorest.TestUtils;
+import com.azure.autorest.extension.base.model.codemodel.RequestParameterLocation;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.ClientMethod;
+import com.azure.autorest.model.clientmodel.ClientMethodParameter;
+import com.azure.autorest.model.clientmodel.ClientMethodType;
+import com.azure.autorest.model.clientmodel.GenericType;
+import com.azure.autorest.model.clientmodel.IType;
+import com.azure.autorest.model.clientmodel.PrimitiveType;
+import com.azure.autorest.model.clientmodel.ProxyMethod;
+import com.azure.autorest.model.clientmodel.ProxyMethodParameter;
+import com.azure.autorest.model.clientmodel.ReturnValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class ClientMethodMapperTests {
+    @Test
+    public void uploadOverloadsReplaceBodyAndContentLength() throws Exception {
+        List<ClientMethod> methods = addUploadOverloads(Collections.emptyMap(), GenericType.FluxByteBuffer,
+                "containerName", "body", "contentLength");
+
+        Assert.assertEquals(Arrays.asList("uploadAsync", "upload", "uploadAsync", "upload", "uploadAsync", "upload"),
+                methods.stream().map(ClientMethod::getName).collect(Collectors.toList()));
+        Assert.assertEquals(Arrays.asList(ClientMethodType.SimpleAsync, ClientMethodType.SimpleSync),
+                methods.stream().map(ClientMethod::getType).distinct().collect(Collectors.toList()));
+
+        Assert.assertEquals(Arrays.asList("containerName", "file"), parameterNames(methods.get(0)));
+        Assert.assertEquals(Arrays.asList("containerName", "fileChannel"), parameterNames(methods.get(2)));
+        Assert.assertEquals(Arrays.asList("containerName", "data"), parameterNames(methods.get(4)));
+        Assert.assertEquals(ClassType.Path, methods.get(0).getParameters().get(1).getClientType());
+        Assert.assertEquals(ClassType.FileChannel, methods.get(2).getParameters().get(1).getClientType());
+        Assert.assertEquals(ClassType.BinaryData, methods.get(4).getParameters().get(1).getClientType());
+
+        for (ClientMethod method : methods) {
+            Assert.assertEquals("body", method.getMethodUploadDetails().getBodyParameterName());
+            Assert.assertEquals("contentLength", method.getMethodUploadDetails().getContentLengthParameterName());
+            Assert.assertSame(method.getParameters().get(1), method.getMethodUploadDetails().getUploadParameter());
+            // the overloads call the client method with the body and the length
+            ClientMethod uploadMethod = method.getMethodUploadDetails().getUploadMethod();
+            Assert.assertEquals("uploadAsync", uploadMethod.getName());
+            Assert.assertEquals(Arrays.asList("containerName", "body", "contentLength"), parameterNames(uploadMethod));
+            Assert.assertNull(uploadMethod.getMethodUploadDetails());
+        }
+    }
+
+    @Test
+    public void uploadOverloadsSkipNameCollisions() throws Exception {
+        List<ClientMethod> methods = addUploadOverloads(Collections.emptyMap(), GenericType.FluxByteBuffer,
+                "file", "body", "contentLength");
+
+        Assert.assertEquals(4, methods.size());
+        Assert.assertEquals(Arrays.asList("file", "fileChannel"), parameterNames(methods.get(0)));
+        Assert.assertEquals(Arrays.asList("file", "data"), parameterNames(methods.get(2)));
+    }
+
+    @Test
+    public void uploadOverloadsOnlyAsyncWithEssentialSyncMethods() throws Exception {
+        List<ClientMethod> methods = addUploadOverloads(Collections.singletonMap("sync-methods", "essential"),
+                GenericType.FluxByteBuffer, "containerName", "body", "contentLength");
+
+        Assert.assertEquals(3, methods.size());
+        Assert.assertTrue(methods.stream().allMatch(m -> m.getType() == ClientMethodType.SimpleAsync));
+    }
+
+    @Test
+    public void noUploadOverloadsWithoutContentLength() throws Exception {
+        Assert.assertTrue(addUploadOverloads(Collections.emptyMap(), GenericType.FluxByteBuffer,
+                "containerName", "body").isEmpty());
+    }
+
+    @Test
+    public void noUploadOverloadsWithoutBinaryBody() throws Exception {
+        Assert.assertTrue(addUploadOverloads(Collections.emptyMap(), ClassType.String,
+                "containerName", "body", "contentLength").isEmpty());
+    }
+
+    /*
+     * The parameters are a path parameter, the body, and the Content-Length header, in the given order. The last two
+     * are omitted if not named.
+     */
+    private static List<ClientMethod> addUploadOverloads(Map<String, Object> settings, IType bodyType,
+                                                         String... parameterNames) throws Exception {
+        return TestUtils.callWithSettings(settings, () -> {
+            List<ProxyMethodParameter> proxyParameters = new ArrayList<>();
+            List<ClientMethodParameter> parameters = new ArrayList<>();
+            for (int i = 0; i < parameterNames.length; ++i) {
+                IType type = i == 0 ? ClassType.String : (i == 1 ? bodyType : PrimitiveType.Long);
+                RequestParameterLocation location = i == 0 ? RequestParameterLocation.Path
+                        : (i == 1 ? RequestParameterLocation.Body : RequestParameterLocation.Header);
+                proxyParameters.add(new ProxyMethodParameter.Builder()
+                        .name(parameterNames[i])
+                        .requestParameterName(i == 2 ? "Content-Length" : parameterNames[i])
+                        .requestParameterLocation(location)
+                        .wireType(type)
+                        .clientType(type)
+                        .isRequired(true)
+                        .build());
+                parameters.add(new ClientMethodParameter.Builder()
+                        .name(parameterNames[i])
+                        .wireType(type)
+                        .annotations(new ArrayList<>())
+                        .isRequired(true)
+                        .build());
+            }
+            ProxyMethod proxyMethod = new ProxyMethod.Builder()
+                    .name("upload")
+                    .returnType(GenericType.Mono(GenericType.Response(PrimitiveType.Void.asNullable())))
+                    .parameters(proxyParameters)
+                    .build();
+
+            List<ClientMethod> methods = new ArrayList<>();
+            ClientMethodMapper.getInstance().addUploadOverloads(methods,
+                    new ClientMethod.Builder().description("Uploads the body.").proxyMethod(proxyMethod),
+                    proxyMethod, parameters,
+                    new ReturnValue(null, GenericType.Mono(ClassType.Void)),
+                    new ReturnValue(null, PrimitiveType.Void),
+                    JavaSettings.getInstance());
+            return methods;
+        });
+    }
+
+    private static List<String> parameterNames(ClientMethod method) {
+        return method.getParameters().stream().map(ClientMethodParameter::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,44 @@
+package com.azure.autorest.mapper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class MapperCacheTests {
+
+    @Test
+    public void testComputeOnceConcurrentlyAndRecursively() {
+        MapperCache<Integer, Long> cache = new MapperCache<>();
+        AtomicInteger computeCount = new AtomicInteger();
+
+        IntStream.range(0, 1000).parallel().forEach(i -> fibonacci(cache, computeCount, i % 50));
+
+        Assert.assertEquals(12586269025L, (long) fibonacci(cache, computeCount, 50));
+        Assert.assertEquals(51, computeCount.get());
+        Assert.assertEquals(51, cache.values().size());
+    }
+
+    @Test
+    public void testFailureNotCached() {
+        MapperCache<String, String> cache = new MapperCache<>();
+        try {
+            cache.computeIfAbsent("key", key -> {
+                throw new IllegalStateException();
+            });
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        Assert.assertEquals("value", cache.computeIfAbsent("key", key -> "value"));
+        Assert.assertNull(cache.computeIfAbsent("null", key -> null));
+    }
+
+    private static Long fibonacci(MapperCache<Integer, Long> cache, AtomicInteger computeCount, int n) {
+        return cache.computeIfAbsent(n, key -> {
+            computeCount.incrementAndGet();
+            return key < 2 ? (long) key : fibonacci(cache, computeCount, key - 1) + fibonacci(cache, computeCount, key - 2);
+        });
+    }
+}
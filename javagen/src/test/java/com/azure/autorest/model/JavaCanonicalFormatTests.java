@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.azure.autorest.model;
+
+import com.azure.autorest.TestUtils;
+import com.azure.autorest.extension.base.util.JavaFormatterService;
+import com.azure.autorest.model.javamodel.JavaFile;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Checks that the files emitted in the layout of the formatter with direct emission are the files the formatter
+ * would write, over the output of the templates for a code model.
+ */
+public class JavaCanonicalFormatTests {
+
+    private static final String CODE_MODEL = "code-model-locks.yaml";
+
+    @Test
+    public void canonicalFilesAreUnchangedByFormatter() throws Exception {
+        Assume.assumeTrue("google-java-format is not on the class path", JavaFormatterService.isAvailable());
+
+        List<JavaFile> javaFiles = TestUtils.writeJavaFiles(Collections.singletonMap("direct-emission", true),
+                TestUtils.readResource(CODE_MODEL));
+        int canonicalFiles = 0;
+        for (JavaFile javaFile : javaFiles) {
+            String canonical = javaFile.getContents().toCanonicalString();
+            if (canonical == null) {
+                continue;
+            }
+            ++canonicalFiles;
+
+            Assert.assertEquals(javaFile.getFilePath(), canonical, JavaFormatterService.format(canonical));
+            Assert.assertEquals(javaFile.getFilePath(), canonical,
+                    JavaFormatterService.format(javaFile.getContents().toString()));
+        }
+        Assert.assertTrue("no file of " + CODE_MODEL + " is in the layout of the formatter", canonicalFiles > 0);
+    }
+}
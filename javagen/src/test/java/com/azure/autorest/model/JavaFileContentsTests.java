@@ -5,10 +5,13 @@
 
 package com.azure.autorest.model;
 
+import com.azure.autorest.model.javamodel.JavaFile;
 import com.azure.autorest.model.javamodel.JavaFileContents;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.regex.Pattern;
 
@@ -39,4 +42,178 @@ public class JavaFileContentsTests {
                         .allMatch(line -> Pattern.matches("^ *\\* *[^ ]+$", line))
         );
     }
+
+    @Test
+    public void canIndentWithoutIndentingBlankLines() {
+        JavaFileContents javaFileContents = new JavaFileContents();
+        javaFileContents.block("class Foo", block -> {
+            block.line("int bar;");
+            block.line();
+            block.indent(() -> block.line("// %s", "comment"));
+        });
+        javaFileContents.lineComment(comment -> {
+            comment.line("first");
+            comment.line("");
+        });
+
+        String separator = System.lineSeparator();
+        Assert.assertEquals("class Foo {" + separator
+                + "    int bar;" + separator
+                + separator
+                + "        // comment" + separator
+                + "}" + separator
+                + "// first" + separator
+                + "// " + separator,
+            javaFileContents.toString());
+    }
+
+    @Test
+    public void canWriteToWriter() throws IOException {
+        JavaFileContents javaFileContents = new JavaFileContents();
+        for (int i = 0; i < 1000; ++i) {
+            javaFileContents.line("line %d", i);
+        }
+        StringWriter writer = new StringWriter();
+        javaFileContents.writeTo(writer);
+        Assert.assertEquals(javaFileContents.toString(), writer.toString());
+        Assert.assertArrayEquals(javaFileContents.toString().split("\n", -1), javaFileContents.getLines());
+    }
+
+    @Test
+    public void canEmitJavadocInFormatterLayout() {
+        JavaFileContents javaFileContents = new JavaFileContents();
+        javaFileContents.setDirectEmission(true);
+        javaFileContents.javadocComment("The description");
+        javaFileContents.javadocComment(WIDTH, comment -> comment.methodReturns("the value"));
+        javaFileContents.line("class Foo {");
+        javaFileContents.indent(() -> javaFileContents.javadocComment(WIDTH, comment -> {
+            comment.description("Subscription credentials which uniquely identify Microsoft Azure subscription. The "
+                + "subscription ID forms part of the URI for every service call.");
+            comment.param("subscriptionId", "The subscription ID, which forms part of the URI for every service call"
+                + " made by the client of the service");
+            comment.methodReturns("the value");
+        }));
+        javaFileContents.line("}");
+
+        String separator = System.lineSeparator();
+        Assert.assertEquals("/** The description. */" + separator
+                + "/** @return the value. */" + separator
+                + "class Foo {" + separator
+                + "    /**" + separator
+                + "     * Subscription credentials which uniquely identify Microsoft Azure subscription. The subscription ID forms"
+                + " part of" + separator
+                + "     * the URI for every service call." + separator
+                + "     *" + separator
+                + "     * @param subscriptionId The subscription ID, which forms part of the URI for every service call made by the"
+                + " client" + separator
+                + "     *     of the service." + separator
+                + "     * @return the value." + separator
+                + "     */" + separator
+                + "}" + separator,
+            javaFileContents.toString());
+    }
+
+    @Test
+    public void canRemoveUnusedImportsInDirectEmission() {
+        JavaFile javaFile = new JavaFile("src/main/java/com/azure/foo/Foo.java");
+        javaFile.getContents().setDirectEmission(true);
+        javaFile.declarePackage("com.azure.foo");
+        javaFile.line();
+        javaFile.declareImport("com.azure.b.Zeta", "com.azure.a.alpha.Beta", "com.azure.c.Unused",
+            "com.azure.d.FooException", "com.azure.foo.Sibling");
+        javaFile.javadocComment(comment -> comment.description("The Foo"));
+        javaFile.publicFinalClass("Foo", classBlock -> {
+            classBlock.privateFinalMemberVariable("Zeta", "zeta", "Beta.create()");
+            classBlock.javadocComment(comment -> comment.methodThrows("FooException", "if it fails"));
+            classBlock.publicMethod("void run()", methodBlock -> methodBlock.line("zeta.Unused.run();"));
+        });
+
+        String separator = System.lineSeparator();
+        Assert.assertEquals("package com.azure.foo;" + separator
+                + separator
+                + "import com.azure.a.alpha.Beta;" + separator
+                + "import com.azure.b.Zeta;" + separator
+                + "import com.azure.d.FooException;" + separator
+                + separator
+                + "/** The Foo. */" + separator
+                + "public final class Foo {" + separator
+                + "    private final Zeta zeta = Beta.create();" + separator
+                + separator
+                + "    /** @throws FooException if it fails. */" + separator
+                + "    public void run() {" + separator
+                + "        zeta.Unused.run();" + separator
+                + "    }" + separator
+                + "}" + separator,
+            javaFile.getContents().toCanonicalString());
+    }
+
+    @Test
+    public void formatsWhenNotKnownToBeInFormatterLayout() {
+        // not direct emission
+        JavaFileContents javaFileContents = new JavaFileContents();
+        javaFileContents.line("class Foo {");
+        javaFileContents.line("}");
+        Assert.assertNull(javaFileContents.toCanonicalString());
+
+        // inline tag in javadoc
+        javaFileContents = new JavaFileContents();
+        javaFileContents.setDirectEmission(true);
+        javaFileContents.javadocComment("Creates a {@link Foo}");
+        javaFileContents.line("class Foo {");
+        javaFileContents.line("}");
+        Assert.assertNull(javaFileContents.toCanonicalString());
+
+        // javadoc written as text
+        javaFileContents = new JavaFileContents();
+        javaFileContents.setDirectEmission(true);
+        javaFileContents.line("/** Foo */");
+        javaFileContents.line("class Foo {");
+        javaFileContents.line("}");
+        Assert.assertNull(javaFileContents.toCanonicalString());
+
+        // line break inside a statement
+        javaFileContents = new JavaFileContents();
+        javaFileContents.setDirectEmission(true);
+        javaFileContents.block("class Foo", classBlock -> {
+            classBlock.line("private final String bar = String.join(\",\",");
+            classBlock.line("    \"a\", \"b\");");
+        });
+        Assert.assertNull(javaFileContents.toCanonicalString());
+    }
+
+    @Test
+    public void canResolveExactImports() {
+        JavaFile javaFile = new JavaFile("src/main/java/com/azure/foo/Foo.java");
+        javaFile.declarePackage("com.azure.foo");
+        javaFile.line();
+        javaFile.declareImport("com.azure.core.util.Context", "com.azure.core.http.rest.Response",
+            "com.azure.core.exception.HttpResponseException", "com.azure.core.util.FluxUtil",
+            "com.azure.core.util.CoreUtils", "java.util.List");
+        javaFile.javadocComment(comment -> comment.description("The Foo, which returns a Response of a List"));
+        javaFile.publicFinalClass("Foo", classBlock -> {
+            classBlock.javadocComment(comment -> comment.methodThrows("HttpResponseException", "if it fails"));
+            classBlock.publicMethod("String run(Context context)", methodBlock -> {
+                methodBlock.line("// CoreUtils is not used");
+                methodBlock.line("context.FluxUtil.run();");
+                methodBlock.methodReturn("\"Response of \" + context");
+            });
+        });
+
+        String separator = System.lineSeparator();
+        Assert.assertTrue(javaFile.getContents().toImportCleanString().startsWith("package com.azure.foo;" + separator
+            + separator
+            + "import com.azure.core.exception.HttpResponseException;" + separator
+            + "import com.azure.core.util.Context;" + separator
+            + separator
+            + "/**" + separator));
+
+        // static imports
+        javaFile = new JavaFile("src/main/java/com/azure/foo/Foo.java");
+        javaFile.declarePackage("com.azure.foo");
+        javaFile.line();
+        javaFile.declareImport("static com.azure.core.util.FluxUtil.withContext");
+        javaFile.publicFinalClass("Foo", classBlock -> {
+        });
+        Assert.assertNull(javaFile.getContents().toImportCleanString());
+    }
 }
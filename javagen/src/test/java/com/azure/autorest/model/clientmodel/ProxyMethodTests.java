@@ -0,0 +1,38 @@
+package com.azure.autorest.model.clientmodel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProxyMethodTests {
+    @Test
+    public void syncReturnTypeIsTheTypeOfTheMono() {
+        ProxyMethod proxyMethod = new ProxyMethod.Builder()
+                .name("getString")
+                .returnType(GenericType.Mono(GenericType.Response(ClassType.String)))
+                .build();
+
+        Assert.assertEquals("getStringSync", proxyMethod.getSyncMethodName());
+        Assert.assertEquals(GenericType.Response(ClassType.String), proxyMethod.getSyncReturnType());
+    }
+
+    @Test
+    public void noSyncReturnTypeForRawLongRunningResponse() {
+        ProxyMethod proxyMethod = new ProxyMethod.Builder()
+                .name("createOrUpdate")
+                .returnType(GenericType.Mono(GenericType.Response(GenericType.FluxByteBuffer)))
+                .build();
+
+        Assert.assertNull(proxyMethod.getSyncReturnType());
+    }
+
+    @Test
+    public void noSyncReturnTypeForResumableMethod() {
+        ProxyMethod proxyMethod = new ProxyMethod.Builder()
+                .name("resume")
+                .returnType(GenericType.Mono(GenericType.Response(ClassType.String)))
+                .isResumable(true)
+                .build();
+
+        Assert.assertNull(proxyMethod.getSyncReturnType());
+    }
+}
@@ -0,0 +1,114 @@
+package com.azure.autorest.template;
+
+import com.azure.autorest.TestUtils;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.ClientMethod;
+import com.azure.autorest.model.clientmodel.ClientMethodType;
+import com.azure.autorest.model.clientmodel.GenericType;
+import com.azure.autorest.model.clientmodel.MethodPageDetails;
+import com.azure.autorest.model.clientmodel.ProxyMethod;
+import com.azure.autorest.model.clientmodel.ReturnValue;
+import com.azure.autorest.model.javamodel.JavaClass;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.core.http.rest.PagedIterable;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ClientMethodTemplateTests {
+    @Test
+    public void pagingSyncStackWrapsPagedFluxByDefault() throws Exception {
+        String content = writePagingSync(false);
+
+        Assert.assertTrue(content, content.contains("return new PagedIterable<>(listAsync());"));
+        Assert.assertFalse(content, content.contains("listSinglePage"));
+    }
+
+    @Test
+    public void pagingSyncStackCallsSinglePageMethods() throws Exception {
+        String content = writePagingSync(true);
+
+        Assert.assertTrue(content, content.contains("return new PagedIterable<>("));
+        Assert.assertTrue(content, content.contains("() -> listSinglePage(),"));
+        Assert.assertTrue(content, content.contains("nextLink -> listNextSinglePage("));
+        Assert.assertFalse(content, content.contains("listAsync()"));
+    }
+
+    /**
+     * Compiles the client of a code model generated with sync-stack against the azure-core the generator targets.
+     */
+    @Test
+    public void syncStackOutputCompiles() throws Exception {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("sync-stack", true);
+        // the builder of the sync and async clients does not compile with the client interfaces
+        settings.put("generate-client-interfaces", false);
+        List<JavaFile> javaFiles = TestUtils.writeJavaFiles(settings, TestUtils.readResource("code-model-locks.yaml"));
+
+        Map<String, String> sources = new HashMap<>();
+        for (JavaFile javaFile : javaFiles) {
+            sources.put(javaFile.getFilePath(), javaFile.getContents().toString());
+        }
+        String serviceClient = sources.entrySet().stream()
+                .filter(entry -> entry.getKey().endsWith("ManagementLocksImpl.java"))
+                .map(Map.Entry::getValue)
+                .findFirst().orElse("");
+        Assert.assertTrue(serviceClient, serviceClient.contains("Response<ManagementLockObject> getByScopeSync("));
+        // without sync-stack-paging no client method calls the sync proxy methods of the paging operations
+        Assert.assertFalse(serviceClient, serviceClient.contains("listByScopeSync("));
+        Assert.assertFalse(serviceClient, serviceClient.contains("listByScopeNextSync("));
+
+        TestUtils.compile(sources, PagedIterable.class, Mono.class, Publisher.class, JsonProperty.class,
+                ObjectMapper.class, JsonParser.class, Logger.class);
+    }
+
+    private static String writePagingSync(boolean syncStackPaging) throws Exception {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("sync-stack", true);
+        settings.put("sync-stack-paging", syncStackPaging);
+
+        return TestUtils.callWithSettings(settings, () -> {
+            ClientMethod nextMethod = new ClientMethod.Builder()
+                    .name("listNext")
+                    .type(ClientMethodType.PagingSyncSinglePage)
+                    .returnValue(new ReturnValue("", GenericType.PagedResponse(ClassType.String)))
+                    .parameters(Collections.emptyList())
+                    .proxyMethod(proxyMethod("listNext"))
+                    .build();
+            ClientMethod clientMethod = new ClientMethod.Builder()
+                    .name("list")
+                    .description("Lists the values.")
+                    .type(ClientMethodType.PagingSync)
+                    .returnValue(new ReturnValue("the values", GenericType.PagedIterable(ClassType.String)))
+                    .parameters(Collections.emptyList())
+                    .requiredNullableParameterExpressions(Collections.emptyList())
+                    .validateExpressions(Collections.emptyMap())
+                    .proxyMethod(proxyMethod("list"))
+                    .methodPageDetails(new MethodPageDetails("nextLink", "value", nextMethod, null))
+                    .build();
+
+            JavaFile javaFile = new JavaFile("dummy");
+            ClientMethodTemplate.getInstance().write(clientMethod, new JavaClass(javaFile.getContents()));
+            return javaFile.getContents().toString();
+        });
+    }
+
+    private static ProxyMethod proxyMethod(String name) {
+        return new ProxyMethod.Builder()
+                .name(name)
+                .returnType(GenericType.Mono(GenericType.Response(ClassType.String)))
+                .parameters(Collections.emptyList())
+                .responseExpectedStatusCodes(Collections.emptyList())
+                .build();
+    }
+}
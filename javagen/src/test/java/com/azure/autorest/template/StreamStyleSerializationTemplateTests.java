@@ -0,0 +1,281 @@
+package com.azure.autorest.template;
+
+import com.azure.autorest.TestUtils;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.ArrayType;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.ClientModel;
+import com.azure.autorest.model.clientmodel.ClientModelProperty;
+import com.azure.autorest.model.clientmodel.ClientModels;
+import com.azure.autorest.model.clientmodel.IType;
+import com.azure.autorest.model.clientmodel.ListType;
+import com.azure.autorest.model.clientmodel.MapType;
+import com.azure.autorest.model.clientmodel.PrimitiveType;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.autorest.model.javamodel.JavaFileFactory;
+import com.azure.core.annotation.Fluent;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Round trips JSON through the models written with stream-style serialization, and compares the JSON with that of the
+ * models written with Jackson annotations, as serialized by jackson-databind.
+ */
+public class StreamStyleSerializationTemplateTests {
+    private static final String STREAM_STYLE_PACKAGE = "com.azure.mock.streamstyle";
+    private static final String ANNOTATION_PACKAGE = "com.azure.mock.annotation";
+
+    // configured as the serializer adapter of azure-core
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE, false)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private static ClassLoader classLoader;
+
+    @BeforeClass
+    public static void compileModels() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.putAll(writeModels(STREAM_STYLE_PACKAGE, true));
+        sources.putAll(writeModels(ANNOTATION_PACKAGE, false));
+        classLoader = TestUtils.compile(sources, Fluent.class, JsonProperty.class, JsonParser.class,
+                ObjectMapper.class);
+    }
+
+    @Test
+    public void flatModel() throws Exception {
+        assertRoundTrip("Owner", "{\"name\":\"o\",\"id\":7,\"raw\":\"AQI=\"}",
+                "{\"name\":\"o\",\"id\":7,\"raw\":\"AQI=\"}");
+        assertRoundTrip("Owner", "{\"id\":7}", "{\"id\":7}");
+        // the primitive is written without a value
+        assertRoundTrip("Owner", "{\"name\":\"o\"}", "{\"name\":\"o\",\"id\":0}");
+    }
+
+    @Test
+    public void polymorphicModelWithDiscriminatorNotFirst() throws Exception {
+        String json = "{\"name\":\"rex\",\"best\":{\"name\":\"b\",\"id\":1},\"kind\":\"dog\",\"barks\":true,"
+                + "\"owners\":[{\"name\":\"o\",\"id\":2}]}";
+        assertRoundTrip("Pet", json, "{\"kind\":\"dog\",\"name\":\"rex\",\"barks\":true,"
+                + "\"best\":{\"name\":\"b\",\"id\":1},\"owners\":[{\"name\":\"o\",\"id\":2}]}");
+        Assert.assertEquals("Dog", read(STREAM_STYLE_PACKAGE, "Pet", json).getClass().getSimpleName());
+
+        // the last field is the discriminator
+        assertRoundTrip("Pet", "{\"name\":\"rex\",\"kind\":\"dog\"}", "{\"kind\":\"dog\",\"name\":\"rex\"}");
+        // the model of a discriminator without a derived model is the base model
+        assertRoundTrip("Pet", "{\"name\":\"tom\",\"kind\":\"cat\"}", "{\"kind\":\"Pet\",\"name\":\"tom\"}");
+        assertRoundTrip("Pet", "{\"name\":\"tom\"}", "{\"kind\":\"Pet\",\"name\":\"tom\"}");
+        // the derived model read as itself
+        assertRoundTrip("Dog", "{\"barks\":false,\"name\":\"rex\",\"kind\":\"dog\"}",
+                "{\"kind\":\"dog\",\"name\":\"rex\",\"barks\":false}");
+    }
+
+    @Test
+    public void fieldsOfParentModelArePrivate() throws Exception {
+        for (Field field : classLoader.loadClass(STREAM_STYLE_PACKAGE + ".Pet").getDeclaredFields()) {
+            Assert.assertTrue(field.getName(), Modifier.isPrivate(field.getModifiers()));
+        }
+    }
+
+    @Test
+    public void flattenedModel() throws Exception {
+        // jackson-databind does not flatten without the serializer adapter of azure-core, hence the JSON is compared
+        // with the expected JSON only
+        assertStreamStyleRoundTrip("Product", "{\"a.b\":\"d\",\"properties\":{\"body\":{\"weight\":1.5},\"age\":3},"
+                + "\"name\":\"p\"}", "{\"name\":\"p\",\"properties\":{\"age\":3,\"body\":{\"weight\":1.5}},"
+                + "\"a.b\":\"d\"}");
+        assertStreamStyleRoundTrip("Product", "{\"name\":\"p\",\"properties\":{\"age\":null,\"unknown\":{}}}",
+                "{\"name\":\"p\",\"properties\":{\"body\":{\"weight\":0.0}}}");
+        // a field which is not the expected object is skipped
+        assertStreamStyleRoundTrip("Product", "{\"properties\":[1,{\"age\":2}],\"name\":\"p\"}",
+                "{\"name\":\"p\",\"properties\":{\"body\":{\"weight\":0.0}}}");
+        // a serialized name with a quote, a backslash and a character outside of ASCII
+        assertStreamStyleRoundTrip("Product", "{\"say \\\"hi\\\\\\u00e9\":\"note\"}",
+                "{\"properties\":{\"body\":{\"weight\":0.0}},\"say \\\"hi\\\\\\u00e9\":\"note\"}");
+    }
+
+    @Test
+    public void additionalProperties() throws Exception {
+        assertRoundTrip("Bag", "{\"extra\":{\"a\":[1]},\"size\":2,\"more\":\"s\"}",
+                "{\"size\":2,\"extra\":{\"a\":[1]},\"more\":\"s\"}");
+        assertRoundTrip("Bag", "{\"size\":2}", "{\"size\":2}");
+    }
+
+    @Test
+    public void nullValues() throws Exception {
+        Assert.assertNull(read(STREAM_STYLE_PACKAGE, "Pet", "null"));
+        Assert.assertNull(read(STREAM_STYLE_PACKAGE, "Owner", "null"));
+
+        assertRoundTrip("Pet", "{\"kind\":\"dog\",\"name\":null,\"best\":null,\"barks\":null,"
+                + "\"owners\":[null,{\"name\":null}],\"tags\":{\"k\":[\"a\",null],\"n\":null}}",
+                "{\"kind\":\"dog\",\"owners\":[null,{\"id\":0}],\"tags\":{\"k\":[\"a\",null]}}");
+        assertRoundTrip("Owner", "{\"name\":null,\"id\":null,\"raw\":null}", "{\"id\":0}");
+        assertRoundTrip("Bag", "{\"size\":1,\"none\":null,\"some\":[null]}", "{\"size\":1,\"some\":[null]}");
+    }
+
+    @Test
+    public void nonScalarValuesOfScalarFields() throws Exception {
+        // the values are skipped, with the fields after them read
+        assertStreamStyleRoundTrip("Owner", "{\"name\":{\"first\":[\"o\"]},\"id\":[7],\"raw\":\"AQI=\"}",
+                "{\"id\":0,\"raw\":\"AQI=\"}");
+        assertStreamStyleRoundTrip("Pet", "{\"name\":[\"rex\"],\"tags\":{\"k\":[{\"a\":1},\"b\"]},\"kind\":\"dog\"}",
+                "{\"kind\":\"dog\",\"tags\":{\"k\":[null,\"b\"]}}");
+        // a discriminator which is not a scalar is skipped
+        assertStreamStyleRoundTrip("Pet", "{\"kind\":{\"name\":\"dog\"},\"name\":\"rex\"}",
+                "{\"kind\":\"Pet\",\"name\":\"rex\"}");
+    }
+
+    /*
+     * Asserts the JSON written by the models of both styles from the JSON read by them.
+     */
+    private static void assertRoundTrip(String modelName, String json, String expectedJson) throws Exception {
+        assertStreamStyleRoundTrip(modelName, json, expectedJson);
+
+        Object model = read(ANNOTATION_PACKAGE, modelName, json);
+        Assert.assertEquals(MAPPER.readTree(expectedJson), tree(model));
+        // the JSON written by either style is read by the other
+        Object streamStyleModel = read(STREAM_STYLE_PACKAGE, modelName, MAPPER.writeValueAsString(model));
+        Assert.assertEquals(MAPPER.readTree(expectedJson), tree(streamStyleModel));
+        model = read(ANNOTATION_PACKAGE, modelName, MAPPER.writeValueAsString(streamStyleModel));
+        Assert.assertEquals(MAPPER.readTree(expectedJson), tree(model));
+    }
+
+    private static void assertStreamStyleRoundTrip(String modelName, String json, String expectedJson)
+            throws Exception {
+        Object model = read(STREAM_STYLE_PACKAGE, modelName, json);
+        String writtenJson = MAPPER.writeValueAsString(model);
+        Assert.assertEquals(writtenJson, MAPPER.readTree(expectedJson), MAPPER.readTree(writtenJson));
+        // the written JSON is read as the same model
+        Object readModel = read(STREAM_STYLE_PACKAGE, modelName, writtenJson);
+        Assert.assertEquals(model.getClass(), readModel.getClass());
+        Assert.assertEquals(writtenJson, MAPPER.writeValueAsString(readModel));
+    }
+
+    /*
+     * The tree of the JSON written, rather than the tree of the model, which has the nodes of the Java types.
+     */
+    private static JsonNode tree(Object model) throws Exception {
+        return MAPPER.readTree(MAPPER.writeValueAsString(model));
+    }
+
+    private static Object read(String packageName, String modelName, String json) throws Exception {
+        return MAPPER.readValue(json, classLoader.loadClass(packageName + "." + modelName));
+    }
+
+    private static Map<String, String> writeModels(String packageName, boolean streamStyle) throws Exception {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("stream-style-serialization", streamStyle);
+        settings.put("client-side-validations", false);
+        return TestUtils.callWithSettings(settings, () -> {
+            List<ClientModel> models = models(packageName, streamStyle);
+            models.forEach(ClientModels.getInstance()::addModel);
+
+            Map<String, String> sources = new LinkedHashMap<>();
+            for (ClientModel model : models) {
+                JavaFile javaFile = new JavaFileFactory(JavaSettings.getInstance())
+                        .createSourceFile(packageName, model.getName());
+                ModelTemplate.getInstance().write(model, javaFile);
+                sources.put(javaFile.getFilePath(), javaFile.getContents().toString());
+            }
+            return sources;
+        });
+    }
+
+    /*
+     * The models, where the serialized names are those of the code model, with the dots of the names which are not
+     * flattened escaped.
+     */
+    private static List<ClientModel> models(String packageName, boolean streamStyle) {
+        ClassType owner = new ClassType.Builder().packageName(packageName).name("Owner").build();
+        List<ClientModel> models = new ArrayList<>();
+        models.add(model(packageName, "Owner")
+                .properties(Arrays.asList(
+                        property("name", "name", ClassType.String),
+                        property("id", "id", PrimitiveType.Long),
+                        property("raw", "raw", ArrayType.ByteArray)))
+                .build());
+
+        ClientModel dog = model(packageName, "Dog")
+                .isPolymorphic(true)
+                .polymorphicDiscriminator("kind")
+                .serializedName("dog")
+                .parentModelName("Pet")
+                .properties(Arrays.asList(
+                        property("barks", "barks", ClassType.Boolean),
+                        property("best", "best", owner)))
+                .build();
+        models.add(model(packageName, "Pet")
+                .isPolymorphic(true)
+                .polymorphicDiscriminator("kind")
+                .serializedName("Pet")
+                .derivedModels(Arrays.asList(dog))
+                .properties(Arrays.asList(
+                        property("name", "name", ClassType.String),
+                        property("owners", "owners", new ListType(owner)),
+                        property("tags", "tags", new MapType(new ListType(ClassType.String)))))
+                .build());
+        models.add(dog);
+
+        models.add(model(packageName, "Bag")
+                .properties(Arrays.asList(
+                        property("size", "size", PrimitiveType.Int),
+                        new ClientModelProperty.Builder()
+                                .name("additionalProperties")
+                                .description("The additional properties.")
+                                .serializedName("")
+                                .wireType(new MapType(ClassType.Object))
+                                .clientType(new MapType(ClassType.Object))
+                                .isAdditionalProperties(true)
+                                .build()))
+                .build());
+
+        if (streamStyle) {
+            models.add(model(packageName, "Product")
+                    .needsFlatten(true)
+                    .properties(Arrays.asList(
+                            property("name", "name", ClassType.String),
+                            property("age", "properties.age", ClassType.Integer),
+                            property("weight", "properties.body.weight", PrimitiveType.Double),
+                            property("dotted", "a\\\\.b", ClassType.String),
+                            property("note", "say \"hi\\\u00e9", ClassType.String)))
+                    .build());
+        }
+        return models;
+    }
+
+    private static ClientModel.Builder model(String packageName, String name) {
+        return new ClientModel.Builder()
+                .packageName(packageName)
+                .name(name)
+                .description("The " + name + ".")
+                .imports(new ArrayList<>())
+                .derivedModels(new ArrayList<>())
+                .properties(new ArrayList<>());
+    }
+
+    private static ClientModelProperty property(String name, String serializedName, IType type) {
+        return new ClientModelProperty.Builder()
+                .name(name)
+                .description("The " + name + ".")
+                .serializedName(serializedName)
+                .annotationArguments(String.format("value = \"%1$s\"", serializedName))
+                .wireType(type)
+                .clientType(type.getClientType())
+                .build();
+    }
+}
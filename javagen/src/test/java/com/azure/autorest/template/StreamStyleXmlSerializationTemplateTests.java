@@ -0,0 +1,291 @@
+package com.azure.autorest.template;
+
+import com.azure.autorest.TestUtils;
+import com.azure.autorest.extension.base.plugin.JavaSettings;
+import com.azure.autorest.model.clientmodel.ArrayType;
+import com.azure.autorest.model.clientmodel.ClassType;
+import com.azure.autorest.model.clientmodel.ClientModel;
+import com.azure.autorest.model.clientmodel.ClientModelProperty;
+import com.azure.autorest.model.clientmodel.ClientModels;
+import com.azure.autorest.model.clientmodel.IType;
+import com.azure.autorest.model.clientmodel.ListType;
+import com.azure.autorest.model.clientmodel.MapType;
+import com.azure.autorest.model.clientmodel.PrimitiveType;
+import com.azure.autorest.model.javamodel.JavaFile;
+import com.azure.autorest.model.javamodel.JavaFileFactory;
+import com.azure.core.annotation.Fluent;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.codehaus.stax2.XMLStreamReader2;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Round trips XML through the models written with stream-style XML serialization, and compares the XML with that of
+ * the models written with Jackson annotations, as serialized by jackson-dataformat-xml.
+ */
+public class StreamStyleXmlSerializationTemplateTests {
+    private static final String STREAM_STYLE_PACKAGE = "com.azure.mock.streamstyle";
+    private static final String ANNOTATION_PACKAGE = "com.azure.mock.annotation";
+    private static final String NAMESPACE = "http://ns";
+
+    // configured as the XML serializer adapter of azure-core
+    private static final XmlMapper MAPPER = new XmlMapper();
+
+    static {
+        MAPPER.setDefaultUseWrapper(false);
+        MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        MAPPER.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        // the fields are serialized, not the getters and setters of the client types
+        MAPPER.setVisibility(MAPPER.getSerializationConfig().getDefaultVisibilityChecker()
+                .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
+                .withSetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withIsGetterVisibility(JsonAutoDetect.Visibility.NONE));
+    }
+
+    private static ClassLoader classLoader;
+
+    @BeforeClass
+    public static void compileModels() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.putAll(writeModels(STREAM_STYLE_PACKAGE, true));
+        sources.putAll(writeModels(ANNOTATION_PACKAGE, false));
+        classLoader = TestUtils.compile(sources, Fluent.class, JsonProperty.class, JsonParser.class,
+                ObjectMapper.class, XmlMapper.class, XMLStreamReader2.class);
+    }
+
+    @Test
+    public void streamStyleModels() throws Exception {
+        // otherwise the models of both packages would be serialized by their Jackson annotations
+        for (String modelName : Arrays.asList("Blob", "Item")) {
+            Assert.assertNotNull(classLoader.loadClass(STREAM_STYLE_PACKAGE + "." + modelName)
+                    .getAnnotation(JsonDeserialize.class));
+            Assert.assertNull(classLoader.loadClass(ANNOTATION_PACKAGE + "." + modelName)
+                    .getAnnotation(JsonDeserialize.class));
+        }
+    }
+
+    @Test
+    public void attributesAndElements() throws Exception {
+        assertRoundTrip("<Blob name=\"b\"><Size>3</Size><Deleted>true</Deleted><Content>AQI=</Content></Blob>",
+                "<Blob name=\"b\"><Size>3</Size><Deleted>true</Deleted><Content>AQI=</Content></Blob>");
+        // the primitive is written without a value, and the null values are not
+        assertRoundTrip("<Blob name=\"b\"/>", "<Blob name=\"b\"><Size>0</Size></Blob>");
+        assertRoundTrip("<Blob><Deleted>false</Deleted></Blob>", "<Blob><Size>0</Size><Deleted>false</Deleted></Blob>");
+    }
+
+    @Test
+    public void listsAndMaps() throws Exception {
+        assertRoundTrip("<Blob><Metadata><k>v</k><l>w</l></Metadata><Item id=\"1\"><Value>one</Value></Item>"
+                        + "<Item><Value>two</Value></Item><Tags><Tag>x</Tag><Tag>y</Tag></Tags></Blob>",
+                "<Blob><Size>0</Size><Tags><Tag>x</Tag><Tag>y</Tag></Tags><Item id=\"1\"><Value>one</Value></Item>"
+                        + "<Item><Value>two</Value></Item><Metadata><k>v</k><l>w</l></Metadata></Blob>");
+    }
+
+    @Test
+    public void namespaces() throws Exception {
+        // a model with XML namespaces keeps the Jackson annotations
+        Assert.assertNull(classLoader.loadClass(STREAM_STYLE_PACKAGE + ".Signed").getAnnotation(JsonDeserialize.class));
+        assertRoundTrip("Signed", "<Signed xmlns=\"http://ns\" id=\"s\"><Key>k</Key></Signed>",
+                "<Signed xmlns=\"http://ns\" id=\"s\"><Key>k</Key></Signed>");
+    }
+
+    @Test
+    public void unknownElements() throws Exception {
+        assertRoundTrip("<Blob name=\"b\" other=\"o\"><Unknown><Size>9</Size></Unknown><Size>3</Size>"
+                        + "<Item id=\"1\"><Unknown/><Value>one</Value></Item></Blob>",
+                "<Blob name=\"b\"><Size>3</Size><Item id=\"1\"><Value>one</Value></Item></Blob>");
+    }
+
+    @Test
+    public void readAndWriteWithStax() throws Exception {
+        // the text, comments and empty elements between the elements
+        String xml = "<?xml version=\"1.0\"?><Blob name=\"b\">\n  <!-- comment -->\n  <Tags/>\n  <Size>3</Size>\n"
+                + "  <Content></Content><Metadata><a>1</a><b/></Metadata><Item/>\n</Blob>";
+        XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+        Class<?> blobClass = classLoader.loadClass(STREAM_STYLE_PACKAGE + ".Blob");
+        Object blob = blobClass.getMethod("fromXml", XMLStreamReader.class).invoke(null, reader);
+        // the reader is at the end element of the model
+        Assert.assertEquals(XMLStreamConstants.END_ELEMENT, reader.getEventType());
+        Assert.assertEquals("Blob", reader.getLocalName());
+
+        StringWriter xmlWriter = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(xmlWriter);
+        blobClass.getMethod("toXml", XMLStreamWriter.class).invoke(blob, writer);
+        writer.flush();
+        assertXmlEquals("<Blob name=\"b\"><Size>3</Size><Tags/><Item/><Metadata><a>1</a><b/></Metadata></Blob>",
+                xmlWriter.toString());
+    }
+
+    @Test
+    public void readRootElementOnly() throws Exception {
+        Class<?> blobClass = classLoader.loadClass(STREAM_STYLE_PACKAGE + ".Blob");
+        try {
+            MAPPER.readValue("<Blobs><Blob name=\"a\"/><Blob name=\"b\"/></Blobs>",
+                    MAPPER.getTypeFactory().constructCollectionType(List.class, blobClass));
+            Assert.fail();
+        } catch (JsonMappingException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("Blob is deserialized from the root element "
+                    + "only"));
+        }
+    }
+
+    /*
+     * Asserts the XML written by the models of both styles from the XML read by them.
+     */
+    private static void assertRoundTrip(String xml, String expectedXml) throws Exception {
+        assertRoundTrip("Blob", xml, expectedXml);
+    }
+
+    private static void assertRoundTrip(String modelName, String xml, String expectedXml) throws Exception {
+        Object model = read(STREAM_STYLE_PACKAGE, modelName, xml);
+        String writtenXml = MAPPER.writeValueAsString(model);
+        assertXmlEquals(expectedXml, writtenXml);
+        Assert.assertEquals(writtenXml, MAPPER.writeValueAsString(read(STREAM_STYLE_PACKAGE, modelName, writtenXml)));
+
+        Object annotationModel = read(ANNOTATION_PACKAGE, modelName, xml);
+        assertXmlEquals(expectedXml, MAPPER.writeValueAsString(annotationModel));
+        // the XML written by either style is read by the other
+        assertXmlEquals(expectedXml, MAPPER.writeValueAsString(read(STREAM_STYLE_PACKAGE, modelName,
+                MAPPER.writeValueAsString(annotationModel))));
+        assertXmlEquals(expectedXml, MAPPER.writeValueAsString(read(ANNOTATION_PACKAGE, modelName, writtenXml)));
+    }
+
+    private static Object read(String packageName, String xml) throws Exception {
+        return read(packageName, "Blob", xml);
+    }
+
+    private static Object read(String packageName, String modelName, String xml) throws Exception {
+        return MAPPER.readValue(xml, classLoader.loadClass(packageName + "." + modelName));
+    }
+
+    /*
+     * Asserts that the elements are equal, apart from the order of the attributes.
+     */
+    private static void assertXmlEquals(String expectedXml, String xml) throws Exception {
+        Assert.assertTrue(String.format("expected %1$s but was %2$s", expectedXml, xml),
+                parse(expectedXml).isEqualNode(parse(xml)));
+    }
+
+    private static Element parse(String xml) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new InputSource(new StringReader(xml)))
+                .getDocumentElement();
+    }
+
+    private static Map<String, String> writeModels(String packageName, boolean streamStyle) throws Exception {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("enable-xml", true);
+        settings.put("stream-style-serialization", streamStyle);
+        settings.put("client-side-validations", false);
+        return TestUtils.callWithSettings(settings, () -> {
+            List<ClientModel> models = models(packageName);
+            models.forEach(ClientModels.getInstance()::addModel);
+
+            Map<String, String> sources = new LinkedHashMap<>();
+            for (ClientModel model : models) {
+                JavaFile javaFile = new JavaFileFactory(JavaSettings.getInstance())
+                        .createSourceFile(packageName, model.getName());
+                ModelTemplate.getInstance().write(model, javaFile);
+                sources.put(javaFile.getFilePath(), javaFile.getContents().toString());
+            }
+            return sources;
+        });
+    }
+
+    private static List<ClientModel> models(String packageName) {
+        ClassType item = new ClassType.Builder().packageName(packageName).name("Item").build();
+        return Arrays.asList(
+                model(packageName, "Item")
+                        .properties(Arrays.asList(
+                                attribute("id", ClassType.Integer),
+                                element("value", "Value", ClassType.String)))
+                        .build(),
+                model(packageName, "Blob")
+                        .properties(Arrays.asList(
+                                attribute("name", ClassType.String),
+                                element("size", "Size", PrimitiveType.Long),
+                                element("deleted", "Deleted", ClassType.Boolean),
+                                element("content", "Content", ArrayType.ByteArray),
+                                list("tags", "Tags", "Tag", ClassType.String, true),
+                                list("items", "Items", "Item", item, false),
+                                element("metadata", "Metadata", new MapType(ClassType.String))))
+                        .build(),
+                model(packageName, "Signed")
+                        .xmlNamespace(NAMESPACE)
+                        .properties(Arrays.asList(
+                                attribute("id", ClassType.String),
+                                property("key", "Key", ClassType.String).xmlNamespace(NAMESPACE).build()))
+                        .build());
+    }
+
+    private static ClientModel.Builder model(String packageName, String name) {
+        return new ClientModel.Builder()
+                .packageName(packageName)
+                .name(name)
+                .xmlName(name)
+                .description("The " + name + ".")
+                .imports(new ArrayList<>(Arrays.asList(
+                        "com.fasterxml.jackson.annotation.JsonCreator",
+                        "com.fasterxml.jackson.annotation.JsonProperty",
+                        "com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty",
+                        "com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement",
+                        "java.util.ArrayList")))
+                .derivedModels(new ArrayList<>());
+    }
+
+    private static ClientModelProperty attribute(String name, IType type) {
+        return property(name, name, type)
+                .isXmlAttribute(true)
+                .build();
+    }
+
+    private static ClientModelProperty element(String name, String xmlName, IType type) {
+        return property(name, xmlName, type).build();
+    }
+
+    private static ClientModelProperty list(String name, String xmlName, String xmlListElementName,
+                                            IType elementType, boolean isXmlWrapper) {
+        return property(name, xmlName, new ListType(elementType))
+                .xmlListElementName(xmlListElementName)
+                .isXmlWrapper(isXmlWrapper)
+                .build();
+    }
+
+    private static ClientModelProperty.Builder property(String name, String xmlName, IType type) {
+        return new ClientModelProperty.Builder()
+                .name(name)
+                .description("The " + name + ".")
+                .serializedName(xmlName)
+                .xmlName(xmlName)
+                .annotationArguments(String.format("value = \"%1$s\"", xmlName))
+                .wireType(type)
+                .clientType(type.getClientType());
+    }
+}
@@ -0,0 +1,90 @@
+package com.azure.autorest.util;
+
+import com.azure.autorest.extension.base.util.HashUtil;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+public class GenerationManifestTests {
+
+    @Test
+    public void testReadAndIsUnchanged() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setVisibility(mapper.getSerializationConfig().getDefaultVisibilityChecker()
+            .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
+            .withGetterVisibility(JsonAutoDetect.Visibility.NONE));
+
+        Path outputFolder = Files.createTempDirectory("generation-manifest");
+        try {
+            Assert.assertNull(GenerationManifest.read(outputFolder, mapper));
+
+            String output = "class Model {}";
+            GenerationManifest manifest = new GenerationManifest("settings");
+            manifest.getFiles().put("Model.java", new GenerationManifest.FileHashes("hash", HashUtil.sha256(output)));
+            Files.write(outputFolder.resolve(GenerationManifest.FILE_NAME),
+                mapper.writeValueAsString(manifest).getBytes(StandardCharsets.UTF_8));
+
+            GenerationManifest previousManifest = GenerationManifest.read(outputFolder, mapper);
+            // file deleted from output folder
+            Assert.assertFalse(previousManifest.isUnchanged(outputFolder, "settings", "Model.java", "hash"));
+
+            Files.write(outputFolder.resolve("Model.java"), output.getBytes(StandardCharsets.UTF_8));
+            Assert.assertTrue(previousManifest.isUnchanged(outputFolder, "settings", "Model.java", "hash"));
+            Assert.assertFalse(previousManifest.isUnchanged(outputFolder, "settings", "Model.java", "other"));
+            Assert.assertFalse(previousManifest.isUnchanged(outputFolder, "other", "Model.java", "hash"));
+            Assert.assertFalse(previousManifest.isUnchanged(outputFolder, "settings", "Other.java", "hash"));
+
+            // file edited, or only partly written
+            Files.write(outputFolder.resolve("Model.java"), "class Model {".getBytes(StandardCharsets.UTF_8));
+            Assert.assertFalse(previousManifest.isUnchanged(outputFolder, "settings", "Model.java", "hash"));
+        } finally {
+            Files.deleteIfExists(outputFolder.resolve("Model.java"));
+            Files.deleteIfExists(outputFolder.resolve(GenerationManifest.FILE_NAME));
+            Files.deleteIfExists(outputFolder);
+        }
+    }
+
+    @Test
+    public void testGetRemovedFiles() throws IOException {
+        Path outputFolder = Files.createTempDirectory("generation-manifest");
+        try {
+            Files.write(outputFolder.resolve("Model.java"), new byte[0]);
+            Files.write(outputFolder.resolve("Removed.java"), new byte[0]);
+
+            GenerationManifest.FileHashes fileHashes = new GenerationManifest.FileHashes("hash", "output");
+            GenerationManifest previousManifest = new GenerationManifest("settings");
+            previousManifest.getFiles().put("Model.java", fileHashes);
+            previousManifest.getFiles().put("Removed.java", fileHashes);
+            // already deleted
+            previousManifest.getFiles().put("Deleted.java", fileHashes);
+            // out of the output folder
+            previousManifest.getFiles().put("../Outside.java", fileHashes);
+
+            GenerationManifest manifest = new GenerationManifest("settings");
+            manifest.getFiles().put("Model.java", fileHashes);
+            manifest.getFiles().put("Added.java", fileHashes);
+
+            Assert.assertEquals(Collections.singletonList(outputFolder.resolve("Removed.java")),
+                previousManifest.getRemovedFiles(outputFolder, manifest));
+        } finally {
+            Files.deleteIfExists(outputFolder.resolve("Model.java"));
+            Files.deleteIfExists(outputFolder.resolve("Removed.java"));
+            Files.deleteIfExists(outputFolder);
+        }
+    }
+
+    @Test
+    public void testGetOutputFolderPath() {
+        Assert.assertNull(GenerationManifest.getOutputFolderPath(null));
+        Assert.assertNull(GenerationManifest.getOutputFolderPath("generated"));
+        Assert.assertNotNull(GenerationManifest.getOutputFolderPath("/tmp/generated"));
+        Assert.assertNotNull(GenerationManifest.getOutputFolderPath("file:///tmp/generated"));
+    }
+}
@@ -0,0 +1,276 @@
+package com.azure.autorest.postprocessor;
+
+import com.azure.autorest.customization.Customization;
+import com.azure.autorest.customization.implementation.Utils;
+import com.azure.autorest.extension.base.util.HashUtil;
+import com.azure.autorest.extension.base.util.PrivateFiles;
+import org.slf4j.Logger;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Compiles a customization class from its source, in memory with the system Java compiler, and loads it from the bytes
+ * of its classes. The classes are cached on disk by the hash of the source, so an unchanged customization is not
+ * compiled again.
+ * <p>
+ * The cache is under the home of the user, in a directory only the user may write, as the cached classes are loaded
+ * and run. If the directory is not private to the user, the cache is not used.
+ */
+final class CustomizationCompiler {
+  private static final String CLASS_FILE_EXTENSION = ".class";
+  private static final Path CACHE_DIRECTORY =
+      Paths.get(System.getProperty("user.home"), ".autorest-java", "customization-classes");
+
+  private CustomizationCompiler() {
+  }
+
+  /**
+   * Loads the customization class from the cache, or compiles it.
+   *
+   * @param className the binary name of the customization class.
+   * @param code the source of the customization class.
+   * @param cacheKeyCode the source the classes are cached by, e.g. the source before its imports were organized.
+   * @param logger the logger.
+   * @return the customization class, or null if there is no system Java compiler, or the source does not compile.
+   */
+  static Class<?> compile(String className, String code, String cacheKeyCode, Logger logger) {
+    Path cacheDirectory = privateCacheDirectory(logger);
+    if (cacheDirectory != null) {
+      cacheDirectory = cacheDirectory.resolve(cacheKey(cacheKeyCode));
+    }
+    Map<String, byte[]> classes = cacheDirectory == null ? null : readClasses(cacheDirectory);
+    if (classes == null) {
+      JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+      if (compiler == null) {
+        logger.info("No Java compiler in the runtime, the language server compiles the customization");
+        return null;
+      }
+      classes = compile(compiler, className, code, logger);
+      if (classes == null) {
+        return null;
+      }
+      if (cacheDirectory != null) {
+        writeClasses(cacheDirectory, classes, logger);
+      }
+    } else {
+      logger.info("Loaded customization class {} compiled before", className);
+    }
+
+    try {
+      return Class.forName(className, true, new ByteArrayClassLoader(classes,
+          Customization.class.getClassLoader()));
+    } catch (ClassNotFoundException | LinkageError e) {
+      logger.warn("Unable to load compiled customization class " + className, e);
+      return null;
+    }
+  }
+
+  /*
+   * Creates the cache directory as owner-only, or checks that the existing one is. Other users must not be able to
+   * place classes in it.
+   */
+  private static Path privateCacheDirectory(Logger logger) {
+    try {
+      return PrivateFiles.createDirectories(CACHE_DIRECTORY);
+    } catch (IOException e) {
+      logger.warn("Not caching compiled customization classes: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /*
+   * The classes depend on the source, the runtime, and the customization API they are compiled against.
+   */
+  private static String cacheKey(String code) {
+    return HashUtil.sha256(code + '\n' + System.getProperty("java.version") + '\n'
+        + System.getProperty("java.class.path"));
+  }
+
+  private static Map<String, byte[]> compile(JavaCompiler compiler, String className, String code, Logger logger) {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics, null,
+        StandardCharsets.UTF_8);
+    Map<String, ByteArrayOutputStream> outputs = new HashMap<>();
+    try (InMemoryFileManager fileManager = new InMemoryFileManager(standardFileManager, outputs)) {
+      List<String> options = Arrays.asList("-classpath", classPath(), "-proc:none", "-nowarn");
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+          Collections.singletonList(new SourceFileObject(className, code)));
+      if (!task.call()) {
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+          if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+            logger.info("Customization does not compile, line {}: {}", diagnostic.getLineNumber(),
+                diagnostic.getMessage(null));
+          }
+        }
+        return null;
+      }
+    } catch (IOException e) {
+      logger.warn("Unable to compile customization class " + className, e);
+      return null;
+    }
+
+    Map<String, byte[]> classes = new HashMap<>();
+    outputs.forEach((name, output) -> classes.put(name, output.toByteArray()));
+    return classes;
+  }
+
+  /*
+   * The class path of the postprocessor, and the location of the customization API, in case it is loaded by another
+   * class loader.
+   */
+  private static String classPath() {
+    String classPath = System.getProperty("java.class.path");
+    try {
+      String customizationLocation = Paths.get(Customization.class.getProtectionDomain().getCodeSource()
+          .getLocation().toURI()).toString();
+      return classPath == null || classPath.isEmpty()
+          ? customizationLocation
+          : classPath + File.pathSeparator + customizationLocation;
+    } catch (Exception e) {
+      return classPath;
+    }
+  }
+
+  private static Map<String, byte[]> readClasses(Path directory) {
+    if (!Files.isDirectory(directory)) {
+      return null;
+    }
+    Map<String, byte[]> classes = new HashMap<>();
+    try {
+      PrivateFiles.checkPrivate(directory);
+    } catch (IOException e) {
+      return null;
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        String fileName = file.getFileName().toString();
+        if (fileName.endsWith(CLASS_FILE_EXTENSION)) {
+          classes.put(fileName.substring(0, fileName.length() - CLASS_FILE_EXTENSION.length()),
+              Files.readAllBytes(file));
+        }
+      }
+    } catch (IOException e) {
+      return null;
+    }
+    return classes.isEmpty() ? null : classes;
+  }
+
+  /*
+   * Written to a temporary directory and moved, so that a concurrent run never reads a partial cache entry.
+   */
+  private static void writeClasses(Path directory, Map<String, byte[]> classes, Logger logger) {
+    Path temporaryDirectory = null;
+    try {
+      temporaryDirectory = Files.createTempDirectory(CACHE_DIRECTORY, "compiling");
+      for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+        Files.write(temporaryDirectory.resolve(entry.getKey() + CLASS_FILE_EXTENSION), entry.getValue());
+      }
+      try {
+        Files.move(temporaryDirectory, directory, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporaryDirectory, directory);
+      }
+      temporaryDirectory = null;
+    } catch (FileAlreadyExistsException e) {
+      // cached by a concurrent run
+    } catch (IOException e) {
+      logger.warn("Unable to cache compiled customization classes in " + directory, e);
+    } finally {
+      if (temporaryDirectory != null) {
+        Utils.deleteDirectory(temporaryDirectory.toFile());
+      }
+    }
+  }
+
+  private static final class SourceFileObject extends SimpleJavaFileObject {
+    private final String code;
+
+    private SourceFileObject(String className, String code) {
+      super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+      this.code = code;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return code;
+    }
+  }
+
+  private static final class ClassFileObject extends SimpleJavaFileObject {
+    private final ByteArrayOutputStream output;
+
+    private ClassFileObject(String className, ByteArrayOutputStream output) {
+      super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+      this.output = output;
+    }
+
+    @Override
+    public OutputStream openOutputStream() {
+      return output;
+    }
+  }
+
+  /*
+   * Keeps the classes written by the compiler in memory, by binary name.
+   */
+  private static final class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+    private final Map<String, ByteArrayOutputStream> outputs;
+
+    private InMemoryFileManager(StandardJavaFileManager fileManager, Map<String, ByteArrayOutputStream> outputs) {
+      super(fileManager);
+      this.outputs = outputs;
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                               FileObject sibling) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      outputs.put(className, output);
+      return new ClassFileObject(className, output);
+    }
+  }
+
+  private static final class ByteArrayClassLoader extends ClassLoader {
+    private final Map<String, byte[]> classes;
+
+    private ByteArrayClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+      super(parent);
+      this.classes = classes;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+      byte[] bytes = classes.get(name);
+      if (bytes == null) {
+        throw new ClassNotFoundException(name);
+      }
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+}
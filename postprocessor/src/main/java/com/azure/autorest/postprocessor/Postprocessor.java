@@ -4,6 +4,7 @@ import com.azure.autorest.customization.Customization;
 import com.azure.autorest.customization.Editor;
 import com.azure.autorest.customization.implementation.Utils;
 import com.azure.autorest.customization.implementation.ls.EclipseLanguageClient;
+import com.azure.autorest.customization.implementation.ls.EclipseLanguageServerPool;
 import com.azure.autorest.customization.implementation.ls.models.CodeAction;
 import com.azure.autorest.customization.implementation.ls.models.CodeActionKind;
 import com.azure.autorest.customization.implementation.ls.models.SymbolInformation;
@@ -13,13 +14,11 @@ import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.plugin.JavaSettings;
 import com.azure.autorest.extension.base.plugin.NewPlugin;
 import com.azure.autorest.extension.base.plugin.PluginLogger;
-import com.google.googlejavaformat.java.Formatter;
-import com.google.googlejavaformat.java.FormatterException;
+import com.azure.autorest.extension.base.util.JavaFormatterService;
 import org.slf4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -27,6 +26,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -35,6 +36,8 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class Postprocessor extends NewPlugin {
+  private static final String README_POM_RESOURCE = "/readme/pom.xml";
+
   private final Logger logger = new PluginLogger(this, Postprocessor.class);
 
   public Postprocessor(Connection connection, String plugin, String sessionId) {
@@ -44,17 +47,25 @@ public class Postprocessor extends NewPlugin {
   @SuppressWarnings("unchecked")
   @Override
   public boolean processInternal() {
-    List<String> files = listInputs();
-    Map<String, String> fileContents = files.stream().collect(Collectors.toMap(f -> f, this::readFile));
-
     String jarPath = JavaSettings.getInstance().getCustomizationJarPath();
     String className = JavaSettings.getInstance().getCustomizationClass();
+    if (className != null) {
+      // start the language server while the files are read, and the customization class is loaded
+      Customization.prewarm();
+    }
+
+    List<String> files = listInputs().stream()
+        .filter(f -> !f.endsWith(JavaFormatterService.FORMATTED_HASHES_FILE_NAME))
+        .collect(Collectors.toList());
+    Map<String, String> fileContents = files.stream().collect(Collectors.toMap(f -> f, this::readFile));
+    Map<String, String> formattedHashes = readFormattedHashes();
+
     Map.Entry<String, String> readme = getReadme();
 
     if (className == null) {
       try {
-        writeToFiles(fileContents);
-      } catch (FormatterException e) {
+        writeToFiles(fileContents, formattedHashes);
+      } catch (Exception e) {
         return false;
       }
       return true;
@@ -111,7 +122,7 @@ public class Postprocessor extends NewPlugin {
       }
 
       //Step 2: Print to files
-      writeToFiles(fileContents);
+      writeToFiles(fileContents, formattedHashes);
     } catch (Exception e) {
       logger.error("Failed to complete postprocessing.", e);
       return false;
@@ -119,22 +130,31 @@ public class Postprocessor extends NewPlugin {
     return true;
   }
 
-  private void writeToFiles(Map<String, String> fileContents) throws FormatterException {
-    Formatter formatter = new Formatter();
-    for (Map.Entry<String, String> javaFile : fileContents.entrySet()) {
-      String formattedSource = javaFile.getValue();
-      if (javaFile.getKey().endsWith(".java")) {
-        try {
-          formattedSource = formatter.formatSourceAndFixImports(formattedSource);
-        } catch (Exception e) {
-          logger.error("Unable to format output file " + javaFile.getKey(), e);
-          throw e;
-        }
+  /*
+   * Files unchanged since javagen formatted them, i.e. not edited by customization, are not formatted again.
+   */
+  private void writeToFiles(Map<String, String> fileContents, Map<String, String> formattedHashes) throws Exception {
+    long formatStart = System.nanoTime();
+    List<JavaFormatterService.FormatResult> formatResults = JavaFormatterService.formatAll(
+        new ArrayList<>(fileContents.entrySet()), Map.Entry::getKey, Map.Entry::getValue, formattedHashes);
+    JavaFormatterService.logFormatTimes(logger, formatResults, System.nanoTime() - formatStart);
+    for (JavaFormatterService.FormatResult formatResult : formatResults) {
+      if (formatResult.getError() != null) {
+        logger.error("Unable to format output file " + formatResult.getPath(), formatResult.getError());
+        throw formatResult.getError();
       }
-      writeFile(javaFile.getKey(), formattedSource, null);
+      writeFile(formatResult.getPath(), formatResult.getContent(), null);
     }
   }
 
+  private Map<String, String> readFormattedHashes() {
+    List<String> hashFiles = listInputs(JavaFormatterService.FORMATTED_HASHES_ARTIFACT_TYPE);
+    if (hashFiles == null || hashFiles.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    return JavaFormatterService.readFormattedHashes(readFile(hashFiles.get(0)));
+  }
+
   private Map.Entry<String, String> getReadme() {
     LinkedHashMap<String, String> configurationFiles = getValue(LinkedHashMap.class, "configurationFiles");
     return configurationFiles.entrySet().stream().filter(key -> !key.getKey().contains(".autorest")).findFirst().orElse(null);
@@ -186,27 +206,24 @@ public class Postprocessor extends NewPlugin {
 
   @SuppressWarnings("unchecked")
   private Class<? extends Customization> loadCustomizationClass(String className, String fileName, String code) {
-    Path tempDirWithPrefix;
+    // Compile in process, the language server is only needed if the imports are not organized
+    Class<?> compiledClass = CustomizationCompiler.compile(className, code, code, logger);
+    if (compiledClass != null) {
+      return (Class<? extends Customization>) compiledClass;
+    }
 
-    // Populate editor
-    Editor editor;
+    // Start language client, or reuse a warm one
+    EclipseLanguageServerPool pool = EclipseLanguageServerPool.getInstance();
+    String pom = Utils.readResource(Postprocessor.class, README_POM_RESOURCE);
+    EclipseLanguageClient languageClient = pool.acquire(pom);
+    boolean reusable = false;
     try {
-      tempDirWithPrefix = Files.createTempDirectory("temp");
-      editor = new Editor(new HashMap<>(), tempDirWithPrefix);
-      InputStream pomStream = Postprocessor.class.getResourceAsStream("/readme/pom.xml");
-      byte[] buffer = new byte[pomStream.available()];
-      pomStream.read(buffer);
-      editor.addFile("pom.xml", new String(buffer, StandardCharsets.UTF_8));
+      // Populate editor
+      Path workspaceDir = languageClient.getWorkspaceDir();
+      Editor editor = new Editor(new HashMap<>(), workspaceDir);
       editor.addFile(fileName, code);
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
+      EclipseLanguageServerPool.addFiles(languageClient, Collections.singletonList(fileName));
 
-    // Start language client
-    EclipseLanguageClient languageClient = null;
-    try {
-      languageClient = new EclipseLanguageClient(tempDirWithPrefix.toString());
-      languageClient.initialize();
       SymbolInformation classSymbol = languageClient.findWorkspaceSymbol(className)
               .stream().filter(si -> si.getLocation().getUri().toString().endsWith(className + ".java"))
               .findFirst().get();
@@ -223,17 +240,24 @@ public class Postprocessor extends NewPlugin {
           }
         }
       }
+      // cached by the original code, so the next run does not need the language server
+      compiledClass = CustomizationCompiler.compile(className, editor.getFileContent(fileName), code, logger);
+      if (compiledClass != null) {
+        reusable = true;
+        return (Class<? extends Customization>) compiledClass;
+      }
+
       languageClient.buildWorkspace(true);
-      URL fileUrl = new URI(Paths.get(tempDirWithPrefix.toString(), "target", "classes").toUri().toString()).toURL();
+      URL fileUrl = new URI(Paths.get(workspaceDir.toString(), "target", "classes").toUri().toString()).toURL();
       URLClassLoader classLoader = URLClassLoader.newInstance(new URL[]{fileUrl}, ClassLoader.getSystemClassLoader());
-      return (Class<? extends Customization>) Class.forName(className, true, classLoader);
+      Class<? extends Customization> customizationClass =
+              (Class<? extends Customization>) Class.forName(className, true, classLoader);
+      reusable = true;
+      return customizationClass;
     } catch (Exception e) {
       throw new RuntimeException(e);
     } finally {
-      Utils.deleteDirectory(tempDirWithPrefix.toFile());
-      if (languageClient != null) {
-        languageClient.exit();
-      }
+      pool.release(pom, languageClient, reusable);
     }
   }
 }
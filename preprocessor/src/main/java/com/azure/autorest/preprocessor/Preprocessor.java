@@ -3,6 +3,7 @@ package com.azure.autorest.preprocessor;
 import com.azure.autorest.extension.base.jsonrpc.Connection;
 import com.azure.autorest.extension.base.model.codemodel.ChoiceValue;
 import com.azure.autorest.extension.base.model.codemodel.CodeModel;
+import com.azure.autorest.extension.base.model.codemodel.CodeModelJsonWriter;
 import com.azure.autorest.extension.base.model.codemodel.ConstantSchema;
 import com.azure.autorest.extension.base.model.codemodel.Schema;
 import com.azure.autorest.extension.base.model.codemodel.SealedChoiceSchema;
@@ -55,12 +56,7 @@ public class Preprocessor extends NewPlugin {
 
     CodeModel codeModel;
     try {
-      if (!file.startsWith("{")) {
-        // YAML
-        codeModel = yamlMapper.loadAs(file, CodeModel.class);
-      } else {
-        codeModel = jsonMapper.readValue(file, CodeModel.class);
-      }
+      codeModel = loadCodeModel(file);
     } catch (Exception e) {
       System.err.println("Got an error " + e.getMessage());
       connection.sendError(1, 500, "Cannot parse input into code model: " + e.getMessage());
@@ -70,6 +66,30 @@ public class Preprocessor extends NewPlugin {
     performPretransformUpdates(codeModel);
     codeModel = new Transformer().transform(codeModel);
 
+    String output;
+    String outputFileName;
+    if (JavaSettings.getInstance().getCodeModelFormat() == JavaSettings.CodeModelFormat.JSON) {
+      output = CodeModelJsonWriter.write(codeModel);
+      outputFileName = "code-model-processed-no-tags.json";
+    } else {
+      output = dumpYaml(codeModel);
+      outputFileName = "code-model-processed-no-tags.yaml";
+    }
+    try {
+      File tempFile = new File(outputFileName);
+      if (!tempFile.exists()) {
+        tempFile.createNewFile();
+      }
+      new FileOutputStream(tempFile).write(output.getBytes(StandardCharsets.UTF_8));
+      writeFile(tempFile.getName(), output, null);
+    } catch (Exception e) {
+      logger.error("Failed to pre-process the code model.", e);
+      return false;
+    }
+    return true;
+  }
+
+  private static String dumpYaml(CodeModel codeModel) {
     Representer representer = new Representer() {
       @Override
       protected NodeTuple representJavaBeanProperty(Object javaBean, Property property, Object propertyValue,
@@ -84,19 +104,7 @@ public class Preprocessor extends NewPlugin {
       }
     };
     Yaml newYaml  = new Yaml(representer);
-    String output = newYaml.dump(codeModel);
-    try {
-      File tempFile = new File("code-model-processed-no-tags.yaml");
-      if (!tempFile.exists()) {
-        tempFile.createNewFile();
-      }
-      new FileOutputStream(tempFile).write(output.getBytes(StandardCharsets.UTF_8));
-      writeFile(tempFile.getName(), output, null);
-    } catch (Exception e) {
-      logger.error("Failed to pre-process the code model.", e);
-      return false;
-    }
-    return true;
+    return newYaml.dump(codeModel);
   }
 
 